@@ -19,6 +19,7 @@
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import io.smallrye.common.annotation.Identifier;
@@ -79,8 +80,7 @@ public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
             return newExchange;
         }
         try {
-            ObjectNode oldBody = (ObjectNode) objectMapper.readTree(oldExchange.getMessage().getBody(String.class));
-            processPayload(oldExchange, newExchange, oldBody);
+            processPayload(oldExchange, newExchange, getAggregatedBody(oldExchange));
         } catch (JsonProcessingException e) {
             log.error(e.getMessage());
         }
@@ -184,11 +184,24 @@ private void clearBranchName(Exchange exchange) {
         exchange.removeProperty(CamelConstants.Properties.SPLIT_ID_CHAIN);
     }
 
+    /**
+     * Returns the body aggregated so far. It is kept as a live {@link ObjectNode}
+     * between merges, so branches are attached to it without reading it again.
+     */
+    private ObjectNode getAggregatedBody(Exchange exchange) throws JsonProcessingException {
+        Object body = exchange.getMessage().getBody();
+        if (body instanceof ObjectNode aggregatedBody) {
+            return aggregatedBody;
+        }
+        return (ObjectNode) objectMapper.readTree(exchange.getMessage().getBody(String.class));
+    }
+
     private void processPayload(Exchange oldExchange, Exchange newExchange, ObjectNode oldBody) {
         String rawExchange = newExchange.getMessage().getBody(String.class);
         try {
             JsonNode newBody = objectMapper.readTree(rawExchange);
-            oldBody.replace(getBranchName(newExchange), objectMapper.readTree(objectMapper.writeValueAsString(newBody)));
+            // an empty payload is stored as null
+            oldBody.replace(getBranchName(newExchange), newBody.isMissingNode() ? NullNode.getInstance() : newBody);
         } catch (JsonProcessingException | ClassCastException | IllegalArgumentException e) {
             oldBody.replace(getBranchName(newExchange), new TextNode(rawExchange));
         }
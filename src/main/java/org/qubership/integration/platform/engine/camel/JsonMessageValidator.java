@@ -27,8 +27,12 @@
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.qubership.integration.platform.engine.errorhandling.ValidationException;
+import org.qubership.integration.platform.engine.service.debugger.metrics.MetricsStore;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -38,17 +42,35 @@ public class JsonMessageValidator {
     private static final String PARSE_MESSAGE_BODY_ERROR = "Unable to parse message body";
     private static final String EMPTY_BODY_ERROR = "Message body is empty";
 
+    private static final JsonSchemaFactory SCHEMA_FACTORY = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
+
     private final ObjectMapper objectMapper;
+    private final MetricsStore metricsStore;
+
+    // <schema text, compiled schema>, in access order. Schemas are shared by chains with the same text,
+    // so schemas of undeployed chains are left to be evicted as least recently used.
+    private final Map<String, JsonSchema> schemaCache;
 
     @Inject
-    public JsonMessageValidator(@Identifier("jsonMapper") ObjectMapper objectMapper) {
+    public JsonMessageValidator(
+            @Identifier("jsonMapper") ObjectMapper objectMapper,
+            MetricsStore metricsStore,
+            @ConfigProperty(name = "qip.validation.json-schema-cache-size", defaultValue = "256") int schemaCacheSize
+    ) {
         this.objectMapper = objectMapper;
+        this.metricsStore = metricsStore;
+        this.schemaCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JsonSchema> eldest) {
+                return size() > schemaCacheSize;
+            }
+        };
     }
 
     public void validate(String jsonMessageAsString, String jsonSchemaAsString) {
+        long startTime = System.nanoTime();
         try {
-            JsonSchemaFactory factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
-            JsonSchema schemaNode = factory.getSchema(jsonSchemaAsString);
+            JsonSchema schemaNode = getSchema(jsonSchemaAsString);
 
             if (StringUtils.isBlank(jsonMessageAsString)) {
                 throw new ValidationException(EMPTY_BODY_ERROR);
@@ -65,6 +87,30 @@ public void validate(String jsonMessageAsString, String jsonSchemaAsString) {
             }
         } catch (JsonProcessingException e) {
             throw new ValidationException(PARSE_MESSAGE_BODY_ERROR);
+        } finally {
+            metricsStore.processJsonValidation(System.nanoTime() - startTime);
+        }
+    }
+
+    int getCachedSchemasCount() {
+        synchronized (schemaCache) {
+            return schemaCache.size();
+        }
+    }
+
+    private JsonSchema getSchema(String jsonSchemaAsString) {
+        JsonSchema schema;
+        synchronized (schemaCache) {
+            schema = schemaCache.get(jsonSchemaAsString);
+        }
+        metricsStore.processJsonSchemaCacheLookup(schema != null);
+        if (schema == null) {
+            // compiled outside the lock, a concurrent compilation of the same schema is harmless
+            schema = SCHEMA_FACTORY.getSchema(jsonSchemaAsString);
+            synchronized (schemaCache) {
+                schemaCache.putIfAbsent(jsonSchemaAsString, schema);
+            }
         }
+        return schema;
     }
 }
@@ -179,6 +179,11 @@ public ExecutorService createExecutor() {
                 "KafkaConsumer[" + configuration.getTopic() + "]", configuration.getConsumersCount());
     }
 
+    public ExecutorService createLaneExecutor() {
+        return getCamelContext().getExecutorServiceManager().newFixedThreadPool(this,
+                "KafkaConsumerLane[" + configuration.getTopic() + "]", configuration.getLaneWorkerPoolSize());
+    }
+
     public ExecutorService createProducerExecutor() {
         int core = getConfiguration().getWorkerPoolCoreSize();
         int max = getConfiguration().getWorkerPoolMaxSize();
@@ -2,10 +2,13 @@
 
 import com.netcracker.cloud.maas.bluegreen.kafka.BGKafkaConsumer;
 import com.netcracker.cloud.maas.bluegreen.kafka.CommitMarker;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.common.Metric;
 import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 
 public interface BGKafkaConsumerExtended<K, V> extends BGKafkaConsumer<K, V> {
@@ -16,5 +19,16 @@
 
     void commitSync(CommitMarker marker, Duration timeout);
 
+    void commitAsync(CommitMarker marker);
+
+    void pause(Collection<TopicPartition> partitions);
+
+    void resume(Collection<TopicPartition> partitions);
+
+    /**
+     * Listener notified after the internal offset alignment on each rebalance of the underlying consumer.
+     */
+    void setPartitionsListener(ConsumerRebalanceListener partitionsListener);
+
     void wakeup();
 }
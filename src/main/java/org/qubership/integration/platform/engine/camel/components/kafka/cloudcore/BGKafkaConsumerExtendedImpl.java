@@ -55,6 +55,8 @@
     private BlueGreenState activeState;
     @Setter
     private Runnable onCloseCallback = () -> {};
+    @Setter
+    private ConsumerRebalanceListener partitionsListener;
     private final AtomicReference<BlueGreenState> bgStateRef = new AtomicReference<>();
 
     private final java.util.function.Consumer<BlueGreenState> stateListenerCallback;
@@ -167,6 +169,20 @@ public void commitSync(CommitMarker marker, Duration timeout) {
         }
     }
 
+    @Override
+    public void commitAsync(CommitMarker marker) {
+        if (activeState.getCurrent().equals(marker.getVersion())) {
+            log.debug("Committing marker asynchronously: {}", marker);
+            kafkaConsumer.commitAsync(marker.getPosition(), (offsets, exception) -> {
+                if (exception != null) {
+                    log.warn("Failed to commit offsets {}: {}", offsets, exception.getMessage());
+                }
+            });
+        } else {
+            log.warn("Skip commits for non active consumer for: {}", marker.getVersion());
+        }
+    }
+
     @Override
     public void wakeup() {
         kafkaConsumer.wakeup();
@@ -194,6 +210,20 @@ public void resume() {
         });
     }
 
+    @Override
+    public void pause(Collection<TopicPartition> partitions) {
+        Optional.ofNullable(kafkaConsumer).ifPresentOrElse(c -> c.pause(partitions), () -> {
+            throw new IllegalStateException("Consumer not initiated yet. Initiate with poll()");
+        });
+    }
+
+    @Override
+    public void resume(Collection<TopicPartition> partitions) {
+        Optional.ofNullable(kafkaConsumer).ifPresentOrElse(c -> c.resume(partitions), () -> {
+            throw new IllegalStateException("Consumer not initiated yet. Initiate with poll()");
+        });
+    }
+
     @Override
     public Set<TopicPartition> paused() {
         return Optional.ofNullable(kafkaConsumer).map(Consumer::paused)
@@ -242,6 +272,9 @@ private BlueGreenState reinitializeConsumerIfNeeded(BlueGreenState bgState) {
             @Override
             public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
                 log.debug("Partitions were revoked: {}", partitions);
+                if (partitionsListener != null) {
+                    partitionsListener.onPartitionsRevoked(partitions);
+                }
             }
 
             @Override
@@ -255,6 +288,9 @@ public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
                         .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
                 log.debug("Adjusting current consumer offsets to: {}", alignedOffsets);
                 alignedOffsets.forEach(((topicPartition, offsetAndMetadata) -> kafkaConsumer.seek(topicPartition, offsetAndMetadata)));
+                if (partitionsListener != null) {
+                    partitionsListener.onPartitionsAssigned(partitions);
+                }
             }
         };
         log.debug("Subscribing kafka consumer to the topics: {}", config.getTopics().stream().sorted().toList());
@@ -138,6 +138,24 @@ public class KafkaCustomConfiguration implements Cloneable, HeaderFilterStrategy
     private Long commitTimeoutMs = 5000L;
     @UriParam(label = "consumer,advanced", defaultValue = "read_uncommitted", enums = "read_uncommitted,read_committed")
     private String isolationLevel;
+    @UriParam(label = "consumer", defaultValue = "SEQUENTIAL", enums = "SEQUENTIAL,PARTITION,KEY,BATCH")
+    private String processingMode = "SEQUENTIAL";
+    @UriParam(label = "consumer", defaultValue = "10")
+    private int laneWorkerPoolSize = 10;
+    @UriParam(label = "consumer", defaultValue = "8")
+    private int keyLanesPerPartition = 8;
+    @UriParam(label = "consumer", defaultValue = "1000")
+    private int maxInFlightPerPartition = 1000;
+    @UriParam(label = "consumer", defaultValue = "5000", javaType = "java.time.Duration")
+    private Long laneCommitIntervalMs = 5000L;
+    @UriParam(label = "consumer", defaultValue = "1000")
+    private int laneCommitBatchSize = 1000;
+    @UriParam(label = "consumer", defaultValue = "500")
+    private int batchMaxRecords = 500;
+    @UriParam(label = "consumer", defaultValue = "0")
+    private long batchMaxBytes;
+    @UriParam(label = "consumer", defaultValue = "0", javaType = "java.time.Duration")
+    private Long batchLingerMs = 0L;
 
     // Producer configuration properties
     @UriParam(label = "producer")
@@ -1841,6 +1859,114 @@ public void setCommitTimeoutMs(Long commitTimeoutMs) {
         this.commitTimeoutMs = commitTimeoutMs;
     }
 
+    public String getProcessingMode() {
+        return processingMode;
+    }
+
+    /**
+     * How polled records are processed. SEQUENTIAL processes them one by one on the consumer thread. PARTITION
+     * dispatches them to one lane per partition and KEY to a fixed number of lanes per partition selected by the
+     * record key. Lanes are run on a bounded worker pool, records of one lane are processed in order and only
+     * offsets of completed records are committed. BATCH processes records on the consumer thread as exchanges
+     * with a list body and commits offsets when the batch exchange completes.
+     */
+    public void setProcessingMode(String processingMode) {
+        this.processingMode = processingMode;
+    }
+
+    public int getLaneWorkerPoolSize() {
+        return laneWorkerPoolSize;
+    }
+
+    /**
+     * Number of worker threads shared by the lanes of the consumer when processingMode is PARTITION or KEY.
+     */
+    public void setLaneWorkerPoolSize(int laneWorkerPoolSize) {
+        this.laneWorkerPoolSize = laneWorkerPoolSize;
+    }
+
+    public int getKeyLanesPerPartition() {
+        return keyLanesPerPartition;
+    }
+
+    /**
+     * Number of lanes the records of one partition are spread over by key when processingMode is KEY.
+     */
+    public void setKeyLanesPerPartition(int keyLanesPerPartition) {
+        this.keyLanesPerPartition = keyLanesPerPartition;
+    }
+
+    public int getMaxInFlightPerPartition() {
+        return maxInFlightPerPartition;
+    }
+
+    /**
+     * Maximum number of dispatched but not yet completed records of one partition. The partition is paused when the
+     * limit is reached and resumed when half of the records are completed.
+     */
+    public void setMaxInFlightPerPartition(int maxInFlightPerPartition) {
+        this.maxInFlightPerPartition = maxInFlightPerPartition;
+    }
+
+    public Long getLaneCommitIntervalMs() {
+        return laneCommitIntervalMs;
+    }
+
+    /**
+     * The maximum time, in milliseconds, between asynchronous commits of completed offsets when processingMode is
+     * PARTITION or KEY.
+     */
+    public void setLaneCommitIntervalMs(Long laneCommitIntervalMs) {
+        this.laneCommitIntervalMs = laneCommitIntervalMs;
+    }
+
+    public int getLaneCommitBatchSize() {
+        return laneCommitBatchSize;
+    }
+
+    /**
+     * Number of completed records after which completed offsets are committed asynchronously without waiting for
+     * laneCommitIntervalMs when processingMode is PARTITION or KEY.
+     */
+    public void setLaneCommitBatchSize(int laneCommitBatchSize) {
+        this.laneCommitBatchSize = laneCommitBatchSize;
+    }
+
+    public int getBatchMaxRecords() {
+        return batchMaxRecords;
+    }
+
+    /**
+     * Maximum number of records in one batch exchange when processingMode is BATCH.
+     */
+    public void setBatchMaxRecords(int batchMaxRecords) {
+        this.batchMaxRecords = batchMaxRecords;
+    }
+
+    public long getBatchMaxBytes() {
+        return batchMaxBytes;
+    }
+
+    /**
+     * Maximum serialized size of keys and values in one batch exchange when processingMode is BATCH. The batch is
+     * delivered once the size is reached, 0 means no limit.
+     */
+    public void setBatchMaxBytes(long batchMaxBytes) {
+        this.batchMaxBytes = batchMaxBytes;
+    }
+
+    public Long getBatchLingerMs() {
+        return batchLingerMs;
+    }
+
+    /**
+     * The time, in milliseconds, to keep collecting records from subsequent polls before a batch that is not full
+     * is delivered when processingMode is BATCH. With 0 the records of each poll are delivered right away.
+     */
+    public void setBatchLingerMs(Long batchLingerMs) {
+        this.batchLingerMs = batchLingerMs;
+    }
+
     public String getIsolationLevel() {
         return isolationLevel;
     }
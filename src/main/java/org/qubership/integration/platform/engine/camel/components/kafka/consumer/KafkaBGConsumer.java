@@ -30,6 +30,7 @@
 public class KafkaBGConsumer extends DefaultConsumer {
 
     protected ExecutorService executor;
+    protected ExecutorService laneWorkerPool;
     private final KafkaCustomEndpoint endpoint;
     // This list helps to work around the infinite loop of KAFKA-1894
     private final List<KafkaBGFetchRecords> tasks = new ArrayList<>();
@@ -69,6 +70,11 @@ private Properties getProps() {
         ObjectHelper.ifNotEmpty(configuration.getGroupInstanceId(),
             v -> props.put(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, v));
 
+        if (getProcessingMode() != KafkaProcessingMode.SEQUENTIAL) {
+            // auto commit would also cover records that are still processed on lanes or wait in a batch
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        }
+
         return props;
     }
 
@@ -92,6 +98,10 @@ protected void doStart() throws Exception {
         }
 
         executor = endpoint.createExecutor();
+        KafkaProcessingMode processingMode = getProcessingMode();
+        if (processingMode.isLaneMode()) {
+            laneWorkerPool = endpoint.createLaneExecutor();
+        }
 
         String topic = endpoint.getConfiguration().getTopic();
         Pattern pattern = null;
@@ -103,7 +113,7 @@ protected void doStart() throws Exception {
         for (int i = 0; i < endpoint.getConfiguration().getConsumersCount(); i++) {
             KafkaBGFetchRecords task = new KafkaBGFetchRecords(
                 this, bridge, topic, pattern, Integer.toString(i), getProps(),
-                getConsistencyMode(), endpoint.getConfiguration().getPollOnError());
+                getConsistencyMode(), endpoint.getConfiguration().getPollOnError(), processingMode);
             executor.submit(task);
 
             tasks.add(task);
@@ -148,6 +158,12 @@ protected void doStop() throws Exception {
         tasks.clear();
         executor = null;
 
+        if (laneWorkerPool != null) {
+            // consumer threads have already waited for their lanes to finish
+            laneWorkerPool.shutdownNow();
+            laneWorkerPool = null;
+        }
+
         if (stopOffsetRepo) {
             StateRepository<String, String> repo = endpoint.getConfiguration()
                 .getOffsetRepository();
@@ -158,6 +174,22 @@ protected void doStop() throws Exception {
         super.doStop();
     }
 
+    ExecutorService getLaneWorkerPool() {
+        return laneWorkerPool;
+    }
+
+    private KafkaProcessingMode getProcessingMode() {
+        String processingMode = endpoint.getConfiguration().getProcessingMode();
+        try {
+            return KafkaProcessingMode.valueOf(processingMode);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(
+                "Invalid enum value for processingMode property: ["
+                    + processingMode + "]."
+                    + " Allowed: [SEQUENTIAL, PARTITION, KEY, BATCH]", e);
+        }
+    }
+
     // blue-green consistency mode
     private ConsumerConsistencyMode getConsistencyMode() {
         String consumerConsistencyMode = endpoint.getConfiguration().getConsumerConsistencyMode();
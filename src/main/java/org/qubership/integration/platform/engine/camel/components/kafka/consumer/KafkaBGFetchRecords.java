@@ -10,10 +10,13 @@
 import org.apache.camel.component.kafka.PollOnError;
 import org.apache.camel.support.BridgeExceptionHandlerToErrorHandler;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.InterruptException;
 import org.apache.kafka.common.errors.WakeupException;
 import org.qubership.integration.platform.engine.camel.components.kafka.cloudcore.BGKafkaConsumerExtended;
+import org.qubership.integration.platform.engine.camel.components.kafka.configuration.KafkaCustomConfiguration;
 
 import java.time.Duration;
 import java.util.*;
@@ -28,7 +31,8 @@
  * {@link KafkaBGFetchRecords#startPolling}, {@link KafkaBGFetchRecords#seekToNextOffset},
  * {@link KafkaBGFetchRecords#processPolledRecords},
  * {@link KafkaBGFetchRecords#handleAccordingToStrategy} has many changes for support blue-green
- * mode.
+ * mode. {@link KafkaBGFetchRecords#startLanePolling} is added to process records on lanes and
+ * {@link KafkaBGFetchRecords#startBatchPolling} to process them in batches.
  */
 @Slf4j
 public class KafkaBGFetchRecords implements Runnable {
@@ -42,6 +46,7 @@ public class KafkaBGFetchRecords implements Runnable {
     private final Properties kafkaProps;
     private final ConsumerConsistencyMode consistencyMode;
     private final PollOnError pollOnError;
+    private final KafkaProcessingMode processingMode;
     private final BridgeExceptionHandlerToErrorHandler bridge;
     private final ReentrantLock lock = new ReentrantLock();
     private final AtomicBoolean stopping = new AtomicBoolean(false);
@@ -54,7 +59,8 @@ public class KafkaBGFetchRecords implements Runnable {
     KafkaBGFetchRecords(KafkaBGConsumer kafkaConsumer,
         BridgeExceptionHandlerToErrorHandler bridge, String topicName, Pattern topicPattern,
         String id,
-        Properties kafkaProps, ConsumerConsistencyMode consistencyMode, PollOnError pollOnError) {
+        Properties kafkaProps, ConsumerConsistencyMode consistencyMode, PollOnError pollOnError,
+        KafkaProcessingMode processingMode) {
         this.kafkaConsumer = kafkaConsumer;
         this.bridge = bridge;
         this.topicName = topicName;
@@ -63,6 +69,7 @@ public class KafkaBGFetchRecords implements Runnable {
         this.threadId = topicName + "-" + "Thread " + id;
         this.kafkaProps = kafkaProps;
         this.consistencyMode = consistencyMode;
+        this.processingMode = processingMode;
     }
 
     @Override
@@ -126,6 +133,15 @@ protected void createConsumer() {
     }
 
     protected void startPolling() {
+        if (processingMode.isLaneMode()) {
+            startLanePolling();
+            return;
+        }
+        if (processingMode == KafkaProcessingMode.BATCH) {
+            startBatchPolling();
+            return;
+        }
+
         Pair<KafkaBGRecordProcessor.ProcessResult, Record<Object, Object>> lastResult = null;
         KafkaBGRecordProcessor kafkaRecordProcessor = buildKafkaRecordProcessor();
         try {
@@ -218,6 +234,295 @@ protected void startPolling() {
         }
     }
 
+    protected void startLanePolling() {
+        KafkaCustomConfiguration configuration = kafkaConsumer.getEndpoint().getConfiguration();
+        KafkaBGRecordProcessor kafkaRecordProcessor = buildKafkaRecordProcessor();
+        KafkaLaneDispatcher dispatcher = new KafkaLaneDispatcher(processingMode,
+            kafkaConsumer.getLaneWorkerPool(), configuration.getKeyLanesPerPartition(),
+            configuration.getMaxInFlightPerPartition(), configuration.getLaneCommitIntervalMs(),
+            configuration.getLaneCommitBatchSize());
+        consumer.setPartitionsListener(new ConsumerRebalanceListener() {
+            @Override
+            public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                // records still in flight are redelivered to the new owner of the partitions
+                try {
+                    dispatcher.revoke(partitions).ifPresent(
+                        marker -> kafkaRecordProcessor.commitOffset(marker, true, false));
+                } catch (Exception e) {
+                    log.warn("Failed to commit completed offsets of revoked partitions {}: {}",
+                        partitions, e.getMessage());
+                }
+            }
+
+            @Override
+            public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            }
+        });
+
+        boolean closeAfterPolling = false;
+        try {
+            lock.lock();
+
+            long pollTimeoutMs = configuration.getPollTimeoutMs();
+
+            if (log.isTraceEnabled()) {
+                log.trace("Polling {} from {} with timeout: {} in {} processing mode", threadId,
+                    getPrintableTopic(), pollTimeoutMs, processingMode);
+            }
+
+            Duration pollDuration = Duration.ofMillis(pollTimeoutMs);
+            while (isKafkaConsumerRunnable() && isRetrying() && isConnected() && !isStopping()) {
+                Optional<RecordsBatch<Object, Object>> allRecords = consumer.poll(pollDuration);
+
+                if (allRecords.isPresent()) {
+                    logRecords(allRecords.get());
+                    for (Record<Object, Object> record : allRecords.get().getBatch()) {
+                        dispatcher.dispatch(record,
+                            r -> processLaneRecord(kafkaRecordProcessor, r));
+                    }
+                }
+
+                applyBackpressure(dispatcher);
+                dispatcher.takeCommitMarker(false).ifPresent(consumer::commitAsync);
+
+                if (dispatcher.isBreakOnErrorHit()) {
+                    log.debug("We hit an error ... setting flags to force reconnect");
+                    forceReconnect();
+                }
+            }
+        } catch (InterruptException e) {
+            kafkaConsumer.getExceptionHandler()
+                .handleException("Interrupted while consuming " + threadId + " from kafka topic",
+                    e);
+            closeAfterPolling = true;
+            Thread.currentThread().interrupt();
+        } catch (WakeupException e) {
+            // This is normal: it raises this exception when calling the wakeUp (which happens when we stop)
+
+            if (log.isTraceEnabled()) {
+                log.trace("The kafka consumer was woken up while polling on thread {} for {}",
+                    threadId, getPrintableTopic());
+            }
+            closeAfterPolling = true;
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.warn("Exception {} caught while polling {} from kafka {}: {}",
+                    e.getClass().getName(), threadId, getPrintableTopic(), e.getMessage(), e);
+            } else {
+                log.warn("Exception {} caught while polling {} from kafka {}: {}",
+                    e.getClass().getName(), threadId, getPrintableTopic(), e.getMessage());
+            }
+
+            handleAccordingToStrategy(e);
+        } finally {
+            boolean completed = completeLanes(dispatcher, kafkaRecordProcessor);
+            if (!completed && !closeAfterPolling && isRetrying() && isConnected()) {
+                // the consumer position is ahead of the skipped records, re-create it to resume from
+                // the committed offsets
+                log.debug("Not all polled records were processed ... setting flags to force reconnect");
+                forceReconnect();
+            }
+
+            lock.unlock();
+
+            if (closeAfterPolling || !isRetrying()) {
+                log.debug("Closing consumer {}", threadId);
+                closeConsumer();
+            }
+        }
+    }
+
+    protected void startBatchPolling() {
+        KafkaCustomConfiguration configuration = kafkaConsumer.getEndpoint().getConfiguration();
+        KafkaBGRecordProcessor kafkaRecordProcessor = buildKafkaRecordProcessor();
+        KafkaRecordBatch batch = new KafkaRecordBatch(configuration.getBatchMaxRecords(),
+            configuration.getBatchMaxBytes(), configuration.getBatchLingerMs());
+        consumer.setPartitionsListener(new ConsumerRebalanceListener() {
+            @Override
+            public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                // a batch may span polls, records of revoked partitions are redelivered to their new owner
+                int dropped = batch.removePartitions(partitions);
+                if (dropped > 0) {
+                    log.debug("Dropped {} batched records of revoked partitions {}", dropped, partitions);
+                }
+            }
+
+            @Override
+            public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            }
+        });
+        try {
+            lock.lock();
+
+            long pollTimeoutMs = configuration.getPollTimeoutMs();
+
+            if (log.isTraceEnabled()) {
+                log.trace("Polling {} from {} with timeout: {} in batch processing mode", threadId,
+                    getPrintableTopic(), pollTimeoutMs);
+            }
+
+            while (isKafkaConsumerRunnable() && isRetrying() && isConnected() && !isStopping()) {
+                Optional<RecordsBatch<Object, Object>> allRecords =
+                    consumer.poll(batch.getPollDuration(pollTimeoutMs));
+
+                if (allRecords.isPresent()) {
+                    logRecords(allRecords.get());
+                    for (Record<Object, Object> record : allRecords.get().getBatch()) {
+                        if (!batch.accepts(record) && !processBatch(batch, kafkaRecordProcessor)) {
+                            break;
+                        }
+                        logRecord(record);
+                        batch.add(record);
+                        if (batch.isFull() && !processBatch(batch, kafkaRecordProcessor)) {
+                            break;
+                        }
+                    }
+                }
+
+                if (isConnected() && batch.isLingerExpired()) {
+                    processBatch(batch, kafkaRecordProcessor);
+                }
+            }
+        } catch (InterruptException e) {
+            kafkaConsumer.getExceptionHandler()
+                .handleException("Interrupted while consuming " + threadId + " from kafka topic",
+                    e);
+
+            log.debug("Closing consumer {}", threadId);
+            closeConsumer();
+            Thread.currentThread().interrupt();
+        } catch (WakeupException e) {
+            // This is normal: it raises this exception when calling the wakeUp (which happens when we stop)
+
+            if (log.isTraceEnabled()) {
+                log.trace("The kafka consumer was woken up while polling on thread {} for {}",
+                    threadId, getPrintableTopic());
+            }
+
+            log.debug("Closing consumer {}", threadId);
+            closeConsumer();
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.warn("Exception {} caught while polling {} from kafka {}: {}",
+                    e.getClass().getName(), threadId, getPrintableTopic(), e.getMessage(), e);
+            } else {
+                log.warn("Exception {} caught while polling {} from kafka {}: {}",
+                    e.getClass().getName(), threadId, getPrintableTopic(), e.getMessage());
+            }
+
+            handleAccordingToStrategy(e);
+            if (!batch.isEmpty() && isRetrying() && isConnected()) {
+                // the consumer position is ahead of the collected records, re-create it to resume from
+                // the committed offsets
+                log.debug("Batch was not processed ... setting flags to force reconnect");
+                forceReconnect();
+            }
+        } finally {
+            lock.unlock();
+
+            if (!isRetrying()) {
+                log.debug("Closing consumer {}", threadId);
+                closeConsumer();
+            }
+        }
+    }
+
+    // returns false if the batch failed and the consumer has to reconnect
+    private boolean processBatch(KafkaRecordBatch batch, KafkaBGRecordProcessor kafkaRecordProcessor) {
+        if (log.isDebugEnabled()) {
+            log.debug("Processing batch of {} records on thread {}", batch.size(), threadId);
+        }
+
+        Exchange exchange = kafkaConsumer.createExchange(false);
+
+        boolean breakOnErrorHit = kafkaRecordProcessor.processBatchExchange(exchange,
+            batch.getRecords(), batch.getCommitMarker(), kafkaConsumer.getExceptionHandler());
+
+        kafkaConsumer.releaseExchange(exchange, false);
+        batch.clear();
+
+        if (breakOnErrorHit) {
+            log.debug("We hit an error ... setting flags to force reconnect");
+            forceReconnect();
+        }
+        return !breakOnErrorHit;
+    }
+
+    private boolean processLaneRecord(KafkaBGRecordProcessor kafkaRecordProcessor,
+        Record<Object, Object> record) {
+        logRecord(record);
+
+        Exchange exchange = kafkaConsumer.createExchange(false);
+
+        boolean completed = kafkaRecordProcessor.processExchangeInLane(exchange, record,
+            kafkaConsumer.getExceptionHandler());
+
+        kafkaConsumer.releaseExchange(exchange, false);
+
+        return completed;
+    }
+
+    private void applyBackpressure(KafkaLaneDispatcher dispatcher) {
+        if (!dispatcher.hasPartitions()) {
+            return;
+        }
+
+        Set<TopicPartition> paused = consumer.paused();
+        Set<TopicPartition> toPause = dispatcher.getPartitionsToPause(paused);
+        toPause.retainAll(consumer.assignment());
+        if (!toPause.isEmpty()) {
+            log.debug("Pausing partitions {} of {}", toPause, getPrintableTopic());
+            consumer.pause(toPause);
+        }
+
+        Set<TopicPartition> toResume = dispatcher.getPartitionsToResume(paused);
+        if (!toResume.isEmpty()) {
+            log.debug("Resuming partitions {} of {}", toResume, getPrintableTopic());
+            consumer.resume(toResume);
+        }
+    }
+
+    // wait for the lanes and commit completed offsets, returns false if some records were skipped
+    private boolean completeLanes(KafkaLaneDispatcher dispatcher,
+        KafkaBGRecordProcessor kafkaRecordProcessor) {
+        boolean completed = dispatcher.close(
+            kafkaConsumer.getEndpoint().getConfiguration().getShutdownTimeout());
+        try {
+            dispatcher.takeCommitMarker(true)
+                .ifPresent(marker -> kafkaRecordProcessor.commitOffset(marker, true, false));
+            if (completed && dispatcher.hasPartitions()) {
+                consumer.resume(consumer.paused());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to commit completed offsets on thread {} for {}: {}", threadId,
+                getPrintableTopic(), e.getMessage());
+        }
+        return completed;
+    }
+
+    // for errors that are not bound to a record, completed records are already committed
+    private void handleAccordingToStrategy(Exception e) {
+        switch (pollOnError) {
+            case DISCARD -> // completed offsets are committed, continue with next poll
+                log.warn(
+                    "Requesting the consumer to continue polling based on polling exception strategy");
+            case ERROR_HANDLER -> {
+                log.warn(
+                    "Deferring processing to the exception handler based on polling exception strategy");
+                bridge.handleException(e);
+            }
+            case RECONNECT -> handlePollReconnect();
+            case RETRY -> handlePollRetry();
+            case STOP -> handlePollStop();
+        }
+    }
+
+    private void forceReconnect() {
+        setReconnect(true);
+        setConnected(false);
+        setRetry(false); // to close the current consumer
+    }
+
     private void closeConsumer() {
         if (consumer != null) {
             consumer.close();
@@ -11,13 +11,15 @@
 import org.apache.camel.component.kafka.serde.KafkaHeaderDeserializer;
 import org.apache.camel.spi.ExceptionHandler;
 import org.apache.camel.spi.HeaderFilterStrategy;
+import org.apache.camel.support.DefaultExchange;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.Header;
 import org.qubership.integration.platform.engine.camel.components.kafka.cloudcore.BGKafkaConsumerExtended;
 import org.qubership.integration.platform.engine.camel.components.kafka.configuration.KafkaCustomConfiguration;
 
 import java.time.Duration;
-import java.util.stream.StreamSupport;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Based on {@link KafkaRecordProcessor}
@@ -90,10 +92,12 @@ private void propagateHeaders(Record<Object, Object> record, Exchange exchange)
         HeaderFilterStrategy headerFilterStrategy = configuration.getHeaderFilterStrategy();
         KafkaHeaderDeserializer headerDeserializer = configuration.getHeaderDeserializer();
 
-        StreamSupport.stream(record.getConsumerRecord().headers().spliterator(), false)
-            .filter(header -> shouldBeFiltered(header, exchange, headerFilterStrategy))
-            .forEach(header -> exchange.getIn().setHeader(header.key(),
-                headerDeserializer.deserialize(header.key(), header.value())));
+        for (Header header : record.getConsumerRecord().headers()) {
+            if (shouldBeFiltered(header, exchange, headerFilterStrategy)) {
+                exchange.getIn().setHeader(header.key(),
+                    headerDeserializer.deserialize(header.key(), header.value()));
+            }
+        }
     }
 
     public ProcessResult processExchange(
@@ -117,6 +121,79 @@ public ProcessResult processExchange(
         return new ProcessResult(false, record.getCommitMarker());
     }
 
+    /**
+     * Processes the record on a lane worker. Offsets are never committed here as the consumer is not
+     * thread safe, the caller tracks completed records instead.
+     *
+     * @return {@code false} if processing failed and breakOnFirstError is set
+     */
+    public boolean processExchangeInLane(
+        Exchange exchange, Record<Object, Object> record, ExceptionHandler exceptionHandler) {
+
+        Message message = exchange.getMessage();
+
+        setupExchangeMessage(message, record);
+        propagateHeaders(record, exchange);
+
+        try {
+            processor.process(exchange);
+        } catch (Exception e) {
+            exchange.setException(e);
+            if (configuration.isBreakOnFirstError()) {
+                if (log.isWarnEnabled()) {
+                    log.warn("Error during processing {}", exchange, exchange.getException());
+                    log.warn("Will reconnect consumer and resume from the last completed offset of partition {}",
+                        record.getConsumerRecord().partition());
+                }
+                return false;
+            }
+            exceptionHandler.handleException("Error during processing", exchange,
+                exchange.getException());
+        }
+
+        return true;
+    }
+
+    /**
+     * Processes the batch as one exchange with a list of per-record exchanges as body and commits the batch
+     * when the exchange completes. A failed batch is committed as well unless breakOnFirstError is set.
+     *
+     * @return {@code true} if processing failed and breakOnFirstError is set
+     */
+    public boolean processBatchExchange(
+        Exchange exchange, List<Record<Object, Object>> records, CommitMarker batchLastOffset,
+        ExceptionHandler exceptionHandler) {
+
+        List<Exchange> exchanges = new ArrayList<>(records.size());
+        for (Record<Object, Object> record : records) {
+            Exchange recordExchange = new DefaultExchange(exchange.getContext());
+            setupExchangeMessage(recordExchange.getMessage(), record);
+            propagateHeaders(record, recordExchange);
+            exchanges.add(recordExchange);
+        }
+        exchange.setProperty(Exchange.BATCH_SIZE, exchanges.size());
+        exchange.getMessage().setBody(exchanges);
+
+        try {
+            processor.process(exchange);
+        } catch (Exception e) {
+            exchange.setException(e);
+            if (configuration.isBreakOnFirstError()) {
+                if (log.isWarnEnabled()) {
+                    log.warn("Error during processing batch of {} records {}", exchanges.size(),
+                        exchange, exchange.getException());
+                    log.warn("Will reconnect consumer and poll the batch again");
+                }
+                return true;
+            }
+            exceptionHandler.handleException("Error during processing", exchange,
+                exchange.getException());
+        }
+
+        commitOffset(batchLastOffset, false, true);
+        return false;
+    }
+
     private boolean processException(Exchange exchange, CommitMarker partitionLastOffset,
         ExceptionHandler exceptionHandler) {
 
@@ -0,0 +1,330 @@
+package org.qubership.integration.platform.engine.camel.components.kafka.consumer;
+
+import com.netcracker.cloud.bluegreen.api.model.NamespaceVersion;
+import com.netcracker.cloud.maas.bluegreen.kafka.CommitMarker;
+import com.netcracker.cloud.maas.bluegreen.kafka.Record;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Dispatches polled records to lanes run on a shared worker pool. Records of one lane are processed in
+ * poll order, lanes are either partitions or key buckets of partitions.
+ * <p>
+ * For each partition the offset after the last contiguous completed record is tracked, so the commit markers
+ * built here never cover a record that is still in flight.
+ * <p>
+ * Except for the lane tasks, all methods must be called from the consumer thread.
+ */
+@Slf4j
+public class KafkaLaneDispatcher {
+
+    private static final int MAX_TASKS_PER_RUN = 64;
+
+    private final KafkaProcessingMode processingMode;
+    private final Executor workerPool;
+    private final int keyLanesPerPartition;
+    private final int maxInFlightPerPartition;
+    private final long commitIntervalMs;
+    private final int commitBatchSize;
+
+    private final Map<TopicPartition, PartitionState> partitions = new ConcurrentHashMap<>();
+    private final Map<LaneId, Lane> lanes = new HashMap<>();
+    private final AtomicBoolean breakOnErrorHit = new AtomicBoolean(false);
+    private final AtomicInteger completedSinceCommit = new AtomicInteger();
+    private final Object idleMonitor = new Object();
+    private int pendingTasks; // guarded by idleMonitor
+    private volatile boolean closed;
+    private NamespaceVersion version;
+    private long lastCommitTime = System.currentTimeMillis();
+
+    private record LaneId(TopicPartition partition, int bucket) {
+    }
+
+    public KafkaLaneDispatcher(KafkaProcessingMode processingMode, Executor workerPool,
+        int keyLanesPerPartition, int maxInFlightPerPartition,
+        long commitIntervalMs, int commitBatchSize) {
+        if (!processingMode.isLaneMode()) {
+            throw new IllegalArgumentException("Lanes are not used in " + processingMode + " processing mode");
+        }
+        this.processingMode = processingMode;
+        this.workerPool = workerPool;
+        this.keyLanesPerPartition = Math.max(1, keyLanesPerPartition);
+        this.maxInFlightPerPartition = Math.max(1, maxInFlightPerPartition);
+        this.commitIntervalMs = commitIntervalMs;
+        this.commitBatchSize = commitBatchSize;
+    }
+
+    /**
+     * Queues the record on its lane. The handler returns {@code true} when the record is completed and
+     * {@code false} when processing must break, in which case the record and every record queued after it
+     * stay uncompleted.
+     */
+    public void dispatch(Record<Object, Object> record, Predicate<Record<Object, Object>> handler) {
+        ConsumerRecord<Object, Object> consumerRecord = record.getConsumerRecord();
+        NamespaceVersion recordVersion = record.getCommitMarker().getVersion();
+        if (!Objects.equals(version, recordVersion)) {
+            // consumer was re-initialized for a new blue-green state, offsets of the previous one are obsolete
+            partitions.values().forEach(PartitionState::revoke);
+            partitions.clear();
+            version = recordVersion;
+        }
+
+        TopicPartition topicPartition = new TopicPartition(consumerRecord.topic(),
+            consumerRecord.partition());
+        PartitionState state = partitions.computeIfAbsent(topicPartition, PartitionState::new);
+        long offset = consumerRecord.offset();
+        state.dispatched(offset);
+
+        synchronized (idleMonitor) {
+            pendingTasks++;
+        }
+        lanes.computeIfAbsent(getLaneId(topicPartition, consumerRecord.key()), id -> new Lane())
+            .submit(() -> process(state, offset, record, handler));
+    }
+
+    private LaneId getLaneId(TopicPartition topicPartition, Object key) {
+        if (processingMode == KafkaProcessingMode.PARTITION) {
+            return new LaneId(topicPartition, 0);
+        }
+        int hash = key instanceof byte[] bytes ? Arrays.hashCode(bytes) : Objects.hashCode(key);
+        return new LaneId(topicPartition, Math.floorMod(hash, keyLanesPerPartition));
+    }
+
+    private void process(PartitionState state, long offset, Record<Object, Object> record,
+        Predicate<Record<Object, Object>> handler) {
+        try {
+            // revoked records are redelivered to the new owner, records left after a break or close
+            // are redelivered after reconnect
+            if (closed || breakOnErrorHit.get() || state.isRevoked()) {
+                return;
+            }
+
+            boolean completed;
+            try {
+                completed = handler.test(record);
+            } catch (Exception e) {
+                log.warn("Unhandled exception while processing record of {} at offset {}: {}",
+                    state.getTopicPartition(), offset, e.getMessage(), e);
+                completed = false;
+            }
+
+            if (completed) {
+                state.completed(offset);
+                completedSinceCommit.incrementAndGet();
+            } else {
+                breakOnErrorHit.set(true);
+            }
+        } finally {
+            synchronized (idleMonitor) {
+                if (--pendingTasks == 0) {
+                    idleMonitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    public boolean isBreakOnErrorHit() {
+        return breakOnErrorHit.get();
+    }
+
+    public boolean hasPartitions() {
+        return !partitions.isEmpty();
+    }
+
+    public int getInFlight(TopicPartition topicPartition) {
+        PartitionState state = partitions.get(topicPartition);
+        return state == null ? 0 : state.getInFlight();
+    }
+
+    public Set<TopicPartition> getPartitionsToPause(Collection<TopicPartition> paused) {
+        Set<TopicPartition> result = new HashSet<>();
+        partitions.forEach((topicPartition, state) -> {
+            if (!paused.contains(topicPartition)
+                && state.getInFlight() >= maxInFlightPerPartition) {
+                result.add(topicPartition);
+            }
+        });
+        return result;
+    }
+
+    public Set<TopicPartition> getPartitionsToResume(Collection<TopicPartition> paused) {
+        Set<TopicPartition> result = new HashSet<>();
+        for (TopicPartition topicPartition : paused) {
+            if (getInFlight(topicPartition) <= maxInFlightPerPartition / 2) {
+                result.add(topicPartition);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a marker with the completed offsets that advanced since the previous marker. Unless forced,
+     * the marker is built only when the commit interval has elapsed or enough records were completed.
+     */
+    public Optional<CommitMarker> takeCommitMarker(boolean force) {
+        long now = System.currentTimeMillis();
+        if (!force && completedSinceCommit.get() < commitBatchSize
+            && now - lastCommitTime < commitIntervalMs) {
+            return Optional.empty();
+        }
+        lastCommitTime = now;
+        completedSinceCommit.set(0);
+        return buildCommitMarker(partitions.values());
+    }
+
+    /**
+     * Stops tracking the partitions and returns a marker with their completed offsets.
+     */
+    public Optional<CommitMarker> revoke(Collection<TopicPartition> revoked) {
+        List<PartitionState> states = new ArrayList<>();
+        for (TopicPartition topicPartition : revoked) {
+            PartitionState state = partitions.remove(topicPartition);
+            if (state != null) {
+                state.revoke();
+                states.add(state);
+            }
+        }
+        return buildCommitMarker(states);
+    }
+
+    private Optional<CommitMarker> buildCommitMarker(Collection<PartitionState> states) {
+        Map<TopicPartition, OffsetAndMetadata> position = new HashMap<>();
+        for (PartitionState state : states) {
+            long committable = state.takeCommittablePosition();
+            if (committable >= 0) {
+                position.put(state.getTopicPartition(), new OffsetAndMetadata(committable));
+            }
+        }
+        return position.isEmpty()
+            ? Optional.empty()
+            : Optional.of(new CommitMarker(version, position));
+    }
+
+    /**
+     * Waits for the dispatched records to be processed. Records still queued when the timeout expires
+     * are skipped.
+     *
+     * @return {@code true} if every dispatched record of the tracked partitions is completed
+     */
+    public boolean close(long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        try {
+            synchronized (idleMonitor) {
+                while (pendingTasks > 0) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        log.warn("Processing of {} records did not finish within {} milliseconds",
+                            pendingTasks, timeoutMs);
+                        return false;
+                    }
+                    idleMonitor.wait(remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            closed = true;
+        }
+        return partitions.values().stream().allMatch(state -> state.getInFlight() == 0);
+    }
+
+    private final class Lane implements Runnable {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        void submit(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    workerPool.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    log.warn("Lane worker pool rejected the task: {}", e.getMessage());
+                    // skipped records are never completed, so their offsets are not committed
+                    closed = true;
+                    Runnable task;
+                    while ((task = tasks.poll()) != null) {
+                        task.run();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            // give other lanes a chance when the pool is smaller than the number of busy lanes
+            Runnable task;
+            for (int i = 0; i < MAX_TASKS_PER_RUN && (task = tasks.poll()) != null; i++) {
+                task.run();
+            }
+            scheduled.set(false);
+            // a task may have been queued after the last poll but before the flag was reset
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    private static final class PartitionState {
+        private final TopicPartition topicPartition;
+        private final NavigableSet<Long> inFlight = new TreeSet<>();
+        private long position = -1;
+        private long committed = -1;
+        private volatile boolean revoked;
+
+        PartitionState(TopicPartition topicPartition) {
+            this.topicPartition = topicPartition;
+        }
+
+        TopicPartition getTopicPartition() {
+            return topicPartition;
+        }
+
+        synchronized void dispatched(long offset) {
+            inFlight.add(offset);
+            position = Math.max(position, offset + 1);
+        }
+
+        synchronized void completed(long offset) {
+            inFlight.remove(offset);
+        }
+
+        synchronized int getInFlight() {
+            return inFlight.size();
+        }
+
+        // the position after the last contiguous completed record, -1 if it was already taken
+        synchronized long takeCommittablePosition() {
+            long committable = inFlight.isEmpty() ? position : inFlight.first();
+            if (committable <= committed) {
+                return -1;
+            }
+            committed = committable;
+            return committable;
+        }
+
+        boolean isRevoked() {
+            return revoked;
+        }
+
+        void revoke() {
+            revoked = true;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.qubership.integration.platform.engine.camel.components.kafka.consumer;
+
+public enum KafkaProcessingMode {
+    /**
+     * Records are processed one by one on the consumer thread
+     */
+    SEQUENTIAL,
+    /**
+     * Records are processed on the lane of their partition
+     */
+    PARTITION,
+    /**
+     * Records are processed on one of the lanes of their partition selected by the record key
+     */
+    KEY,
+    /**
+     * Records are processed on the consumer thread in batches, one exchange with a list body per batch
+     */
+    BATCH;
+
+    public boolean isLaneMode() {
+        return this == PARTITION || this == KEY;
+    }
+}
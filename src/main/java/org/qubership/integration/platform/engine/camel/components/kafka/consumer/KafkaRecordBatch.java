@@ -0,0 +1,119 @@
+package org.qubership.integration.platform.engine.camel.components.kafka.consumer;
+
+import com.netcracker.cloud.bluegreen.api.model.NamespaceVersion;
+import com.netcracker.cloud.maas.bluegreen.kafka.CommitMarker;
+import com.netcracker.cloud.maas.bluegreen.kafka.Record;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Collects polled records into a batch limited by record count, serialized size and linger time.
+ * Records of one batch may come from several polls, the commit marker covers all of them.
+ */
+public class KafkaRecordBatch {
+
+    private final int maxRecords;
+    private final long maxBytes;
+    private final long lingerMs;
+
+    private final List<Record<Object, Object>> records = new ArrayList<>();
+    private final Map<TopicPartition, OffsetAndMetadata> position = new HashMap<>();
+    private NamespaceVersion version;
+    private long bytes;
+    private long startTime;
+
+    public KafkaRecordBatch(int maxRecords, long maxBytes, long lingerMs) {
+        this.maxRecords = Math.max(1, maxRecords);
+        this.maxBytes = maxBytes;
+        this.lingerMs = lingerMs;
+    }
+
+    public boolean isEmpty() {
+        return records.isEmpty();
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Records of different blue-green versions are committed by different consumers, so they never share a batch.
+     */
+    public boolean accepts(Record<Object, Object> record) {
+        return records.isEmpty() || Objects.equals(version, record.getCommitMarker().getVersion());
+    }
+
+    public void add(Record<Object, Object> record) {
+        if (records.isEmpty()) {
+            startTime = System.currentTimeMillis();
+            version = record.getCommitMarker().getVersion();
+        }
+        records.add(record);
+
+        ConsumerRecord<Object, Object> consumerRecord = record.getConsumerRecord();
+        bytes += sizeOf(consumerRecord);
+        position.merge(new TopicPartition(consumerRecord.topic(), consumerRecord.partition()),
+            new OffsetAndMetadata(consumerRecord.offset() + 1),
+            (current, next) -> current.offset() >= next.offset() ? current : next);
+    }
+
+    /**
+     * Drops records of the partitions, as of revoked ones, whose records are redelivered to their new owner.
+     *
+     * @return number of dropped records
+     */
+    public int removePartitions(Collection<TopicPartition> partitions) {
+        int size = records.size();
+        records.removeIf(record -> {
+            ConsumerRecord<Object, Object> consumerRecord = record.getConsumerRecord();
+            if (!partitions.contains(new TopicPartition(consumerRecord.topic(), consumerRecord.partition()))) {
+                return false;
+            }
+            bytes -= sizeOf(consumerRecord);
+            return true;
+        });
+        position.keySet().removeAll(partitions);
+        return size - records.size();
+    }
+
+    public boolean isFull() {
+        return records.size() >= maxRecords || (maxBytes > 0 && bytes >= maxBytes);
+    }
+
+    public boolean isLingerExpired() {
+        return !records.isEmpty() && System.currentTimeMillis() - startTime >= lingerMs;
+    }
+
+    /**
+     * Poll timeout that does not keep a started batch waiting longer than the linger time.
+     */
+    public Duration getPollDuration(long pollTimeoutMs) {
+        if (records.isEmpty() || lingerMs <= 0) {
+            return Duration.ofMillis(pollTimeoutMs);
+        }
+        long remaining = startTime + lingerMs - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(0, Math.min(pollTimeoutMs, remaining)));
+    }
+
+    public List<Record<Object, Object>> getRecords() {
+        return records;
+    }
+
+    public CommitMarker getCommitMarker() {
+        return new CommitMarker(version, new HashMap<>(position));
+    }
+
+    private static long sizeOf(ConsumerRecord<Object, Object> consumerRecord) {
+        return Math.max(0, consumerRecord.serializedKeySize()) + Math.max(0, consumerRecord.serializedValueSize());
+    }
+
+    public void clear() {
+        records.clear();
+        position.clear();
+        bytes = 0;
+    }
+}
@@ -23,15 +23,32 @@ public class DefaultKafkaBGClientFactory implements KafkaBGClientFactory {
 
     private final KafkaClientFactory delegate;
     private final BlueGreenStatePublisher blueGreenStatePublisher;
+    private final KafkaProducerPool producerPool;
 
+    // creates a producer per endpoint
     public DefaultKafkaBGClientFactory(KafkaClientFactory delegate, BlueGreenStatePublisher blueGreenStatePublisher) {
+        this(delegate, blueGreenStatePublisher, null);
+    }
+
+    /**
+     * @param producerPool pool to share producers with identical properties, {@code null} to create a producer
+     *                     per endpoint
+     */
+    public DefaultKafkaBGClientFactory(KafkaClientFactory delegate, BlueGreenStatePublisher blueGreenStatePublisher,
+                                       KafkaProducerPool producerPool) {
         this.delegate = delegate;
         this.blueGreenStatePublisher = blueGreenStatePublisher;
+        this.producerPool = producerPool;
     }
 
+    // the callback closes the producer or releases it to the pool
     @Override
     public Pair<Producer, Runnable> getProducerWithCloseCallback(Properties kafkaProps) {
-        return Pair.of((Producer<?, ?>) delegate.getProducer(kafkaProps), () -> {});
+        if (producerPool != null) {
+            return producerPool.acquire(kafkaProps, props -> (Producer<?, ?>) delegate.getProducer(props));
+        }
+        Producer<?, ?> producer = delegate.getProducer(kafkaProps);
+        return Pair.of(producer, producer::close);
     }
 
     // kafkaProps contains ONLY consumer props (not camel specific)
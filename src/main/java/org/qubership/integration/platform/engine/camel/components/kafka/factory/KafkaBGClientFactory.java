@@ -15,6 +15,9 @@
  */
 public interface KafkaBGClientFactory {
 
+    /**
+     * Returns the producer and the callback to run instead of closing the producer, as it may be shared.
+     */
     Pair<Producer, Runnable> getProducerWithCloseCallback(Properties kafkaProps);
 
     BGKafkaConsumerExtended getConsumer(Properties kafkaProps,
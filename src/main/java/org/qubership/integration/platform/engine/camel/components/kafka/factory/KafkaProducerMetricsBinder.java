@@ -0,0 +1,72 @@
+package org.qubership.integration.platform.engine.camel.components.kafka.factory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.kafka.KafkaClientMetrics;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.apache.kafka.clients.producer.Producer;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Binds metrics of producers shared by {@link KafkaProducerPool}. Endpoints using the same producer with
+ * the same tags share meters, so the meters are removed when the last of them is released.
+ */
+@ApplicationScoped
+public class KafkaProducerMetricsBinder {
+
+    // producers don't override equals, so bindings are per producer instance
+    private record BindingKey(Producer<?, ?> producer, MeterRegistry meterRegistry, List<Tag> tags) {
+    }
+
+    private static final class Binding {
+        private final KafkaClientMetrics metrics;
+        private int references;
+
+        private Binding(KafkaClientMetrics metrics) {
+            this.metrics = metrics;
+        }
+    }
+
+    private final Map<BindingKey, Binding> bindings = new HashMap<>();
+
+    /**
+     * Returns a callback releasing the binding, calling it more than once has no effect.
+     */
+    public synchronized Runnable bind(Producer<?, ?> producer, MeterRegistry meterRegistry, Collection<Tag> tags) {
+        BindingKey key = new BindingKey(producer, meterRegistry, List.copyOf(tags));
+        Binding binding = bindings.get(key);
+        if (binding == null) {
+            binding = new Binding(new KafkaClientMetrics(producer, tags));
+            binding.metrics.bindTo(meterRegistry);
+            bindings.put(key, binding);
+        }
+        binding.references++;
+
+        Binding bound = binding;
+        AtomicBoolean released = new AtomicBoolean(false);
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                release(key, bound);
+            }
+        };
+    }
+
+    private void release(BindingKey key, Binding binding) {
+        synchronized (this) {
+            if (--binding.references > 0) {
+                return;
+            }
+            bindings.remove(key, binding);
+        }
+        binding.metrics.close();
+    }
+
+    synchronized int size() {
+        return bindings.size();
+    }
+}
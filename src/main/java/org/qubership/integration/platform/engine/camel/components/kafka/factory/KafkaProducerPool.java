@@ -0,0 +1,95 @@
+package org.qubership.integration.platform.engine.camel.components.kafka.factory;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.kafka.clients.producer.Producer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Shares producers between endpoints with identical effective producer properties. A producer is created
+ * on the first acquire and closed when the last endpoint using it releases it.
+ */
+@Slf4j
+@ApplicationScoped
+public class KafkaProducerPool {
+
+    private final boolean enabled;
+    private final Map<Map<Object, Object>, PooledProducer> producers = new HashMap<>();
+
+    private static final class PooledProducer {
+        private final Map<Object, Object> key;
+        private final Producer<?, ?> producer;
+        private int references;
+
+        private PooledProducer(Map<Object, Object> key, Producer<?, ?> producer) {
+            this.key = key;
+            this.producer = producer;
+        }
+    }
+
+    @Inject
+    public KafkaProducerPool(
+            @ConfigProperty(name = "qip.camel.component.kafka.producer-pool.enabled", defaultValue = "true")
+            boolean enabled
+    ) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the producer for the properties and a callback releasing it. The callback closes the producer
+     * when no other endpoint uses it and flushes it otherwise, so records sent by the releasing endpoint
+     * are delivered before it stops. Calling it more than once has no effect.
+     */
+    @SuppressWarnings("rawtypes")
+    public synchronized Pair<Producer, Runnable> acquire(Properties kafkaProps,
+                                                        Function<Properties, Producer<?, ?>> producerFactory) {
+        Map<Object, Object> key = new HashMap<>(kafkaProps);
+        PooledProducer pooled = producers.get(key);
+        if (pooled == null) {
+            pooled = new PooledProducer(key, producerFactory.apply(kafkaProps));
+            producers.put(key, pooled);
+            log.debug("Created shared KafkaProducer: {}", pooled.producer);
+        }
+        pooled.references++;
+
+        PooledProducer acquired = pooled;
+        AtomicBoolean released = new AtomicBoolean(false);
+        return Pair.of(pooled.producer, () -> {
+            if (released.compareAndSet(false, true)) {
+                release(acquired);
+            }
+        });
+    }
+
+    private void release(PooledProducer pooled) {
+        boolean lastReference;
+        synchronized (this) {
+            lastReference = --pooled.references == 0;
+            if (lastReference) {
+                producers.remove(pooled.key, pooled);
+            }
+        }
+        if (!lastReference) {
+            pooled.producer.flush();
+            return;
+        }
+        log.debug("Closing shared KafkaProducer: {}", pooled.producer);
+        pooled.producer.close();
+    }
+
+    public synchronized int size() {
+        return producers.size();
+    }
+}
@@ -23,24 +23,36 @@
 public class TaggedMetricsKafkaBGClientFactory extends DefaultKafkaBGClientFactory {
     private final MeterRegistry meterRegistry;
     private final Collection<Tag> tags;
+    private final KafkaProducerMetricsBinder producerMetricsBinder;
 
+    /**
+     * @param producerPool pool to share producers with identical properties, {@code null} to create a producer
+     *                     per endpoint
+     */
     public TaggedMetricsKafkaBGClientFactory(
             KafkaClientFactory delegate,
             MeterRegistry meterRegistry,
             Collection<Tag> tags,
-            BlueGreenStatePublisher deploymentVersionTracker
+            BlueGreenStatePublisher deploymentVersionTracker,
+            KafkaProducerPool producerPool,
+            KafkaProducerMetricsBinder producerMetricsBinder
     ) {
-        super(delegate, deploymentVersionTracker);
+        super(delegate, deploymentVersionTracker, producerPool);
         this.meterRegistry = meterRegistry;
         this.tags = tags;
+        this.producerMetricsBinder = producerMetricsBinder;
     }
 
+    // metrics of a shared producer are bound once per endpoint tags
     @Override
     public Pair<Producer, Runnable> getProducerWithCloseCallback(Properties kafkaProps) {
-        Producer<?, ?> producer = super.getProducerWithCloseCallback(kafkaProps).getLeft();
-        KafkaClientMetrics kafkaClientMetrics = new KafkaClientMetrics(producer, tags);
-        kafkaClientMetrics.bindTo(meterRegistry);
-        return Pair.of(producer, kafkaClientMetrics::close);
+        Pair<Producer, Runnable> producerWithCloseCallback = super.getProducerWithCloseCallback(kafkaProps);
+        Producer<?, ?> producer = producerWithCloseCallback.getLeft();
+        Runnable unbindMetrics = producerMetricsBinder.bind(producer, meterRegistry, tags);
+        return Pair.of(producer, () -> {
+            unbindMetrics.run();
+            producerWithCloseCallback.getRight().run();
+        });
     }
 
     @Override
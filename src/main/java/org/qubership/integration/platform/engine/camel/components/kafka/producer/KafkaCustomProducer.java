@@ -133,8 +133,8 @@ private void createProducer(Properties props) {
     protected void doStop() throws Exception {
         if (kafkaProducer != null && closeKafkaProducer) {
             LOG.debug("Closing KafkaProducer: {}", kafkaProducer);
+            // closes the producer, or flushes and releases it when shared with other endpoints
             onCloseCallback.run();
-            kafkaProducer.close();
             kafkaProducer = null;
         }
 
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.engine.camel.components.servlet;
+
+import org.apache.camel.http.common.HttpConsumer;
+import org.apache.camel.support.RestConsumerContextPathMatcher.ConsumerPath;
+import org.qubership.integration.platform.engine.camel.components.servlet.RestConsumerContextPathCustomMatcher.CompiledPath;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Consumer paths indexed by path segments, kept up to date as consumers are connected and
+ * disconnected. A request is matched only against the paths found by walking the trie with the
+ * request segments (literal segments ignoring case, { } tokens matching any segment) and
+ * against the paths matched on URI prefix. The best of them is selected by
+ * {@link RestConsumerContextPathCustomMatcher}, so the result is the same as matching all
+ * consumer paths.
+ */
+class ConsumerPathTrie {
+    private static final String ANY_METHOD = "";
+    private static final int MAX_CACHED_METHODS = 16;
+
+    private static class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node wildcard;
+        private final List<CompiledPath> paths = new ArrayList<>();
+
+        private Node getOrCreateChild(String segment) {
+            if (RestConsumerContextPathCustomMatcher.isWildcard(segment)) {
+                if (wildcard == null) {
+                    wildcard = new Node();
+                }
+                return wildcard;
+            }
+            return literals.computeIfAbsent(segment.toLowerCase(Locale.ENGLISH), key -> new Node());
+        }
+
+        private boolean isEmpty() {
+            return literals.isEmpty() && wildcard == null && paths.isEmpty();
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<HttpConsumer, CompiledPath> paths = new HashMap<>();
+    private final List<CompiledPath> prefixPaths = new ArrayList<>();
+
+    // <request method in lower case or ANY_METHOD, whether any consumer path with wildcards serves it>
+    private final Map<String, Boolean> wildcardPathsByMethod = new ConcurrentHashMap<>();
+
+    void add(ConsumerPath<HttpConsumer> consumerPath) {
+        CompiledPath path = CompiledPath.compile(consumerPath);
+        lock.writeLock().lock();
+        try {
+            CompiledPath previous = paths.put(consumerPath.getConsumer(), path);
+            if (previous != null) {
+                unlink(previous);
+            }
+            if (path.segments() != null) {
+                Node node = root;
+                for (String segment : path.segments()) {
+                    node = node.getOrCreateChild(segment);
+                }
+                node.paths.add(path);
+            }
+            if (consumerPath.isMatchOnUriPrefix()) {
+                prefixPaths.add(path);
+            }
+            wildcardPathsByMethod.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(HttpConsumer consumer) {
+        lock.writeLock().lock();
+        try {
+            CompiledPath path = paths.remove(consumer);
+            if (path != null) {
+                unlink(path);
+                wildcardPathsByMethod.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return paths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @see RestConsumerContextPathCustomMatcher#matchBestPath(String, String, List)
+     */
+    ConsumerPath<HttpConsumer> matchBestPath(String requestMethod, String requestPath) {
+        String[] requestSegments = RestConsumerContextPathCustomMatcher.splitPath(requestPath);
+        lock.readLock().lock();
+        try {
+            List<CompiledPath> candidates = new ArrayList<>();
+            if (requestSegments != null) {
+                collect(root, requestSegments, 0, candidates);
+            }
+            for (CompiledPath prefixPath : prefixPaths) {
+                if (candidates.stream().noneMatch(candidate -> candidate == prefixPath)) {
+                    candidates.add(prefixPath);
+                }
+            }
+            return RestConsumerContextPathCustomMatcher.matchBestPath(
+                    requestMethod, requestPath, requestSegments, candidates, this::hasWildcardPaths);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean hasWildcardPaths(String method) {
+        String key = method == null ? ANY_METHOD : method.toLowerCase(Locale.ENGLISH);
+        // request methods come from clients, so only a few of them are remembered
+        if (wildcardPathsByMethod.size() >= MAX_CACHED_METHODS) {
+            Boolean cached = wildcardPathsByMethod.get(key);
+            return cached != null ? cached : findWildcardPaths(method);
+        }
+        return wildcardPathsByMethod.computeIfAbsent(key, k -> findWildcardPaths(method));
+    }
+
+    private boolean findWildcardPaths(String method) {
+        return paths.values().stream().anyMatch(path -> path.wildcards() > 0
+                && (method == null || RestConsumerContextPathCustomMatcher.matchRestMethod(method, path.restrictMethod())));
+    }
+
+    private void unlink(CompiledPath path) {
+        prefixPaths.removeIf(prefixPath -> prefixPath == path);
+        if (path.segments() != null) {
+            unlink(root, path.segments(), 0, path);
+        }
+    }
+
+    /**
+     * @return <tt>true</tt> if the node has nothing left and can be dropped
+     */
+    private static boolean unlink(Node node, String[] segments, int index, CompiledPath path) {
+        if (index == segments.length) {
+            node.paths.removeIf(nodePath -> nodePath == path);
+            return node.isEmpty();
+        }
+
+        String segment = segments[index];
+        if (RestConsumerContextPathCustomMatcher.isWildcard(segment)) {
+            if (node.wildcard != null && unlink(node.wildcard, segments, index + 1, path)) {
+                node.wildcard = null;
+            }
+        } else {
+            String key = segment.toLowerCase(Locale.ENGLISH);
+            Node child = node.literals.get(key);
+            if (child != null && unlink(child, segments, index + 1, path)) {
+                node.literals.remove(key);
+            }
+        }
+        return node.isEmpty();
+    }
+
+    private static void collect(Node node, String[] segments, int index, List<CompiledPath> result) {
+        if (index == segments.length) {
+            result.addAll(node.paths);
+            return;
+        }
+
+        Node literal = node.literals.get(segments[index].toLowerCase(Locale.ENGLISH));
+        if (literal != null) {
+            collect(literal, segments, index + 1, result);
+        }
+        if (node.wildcard != null) {
+            collect(node.wildcard, segments, index + 1, result);
+        }
+    }
+}
@@ -31,12 +31,16 @@
 public class CustomCamelHttpTransportServlet extends CamelHttpTransportServlet {
 
     private final ConcurrentMap<String, HttpConsumer> consumers = new ConcurrentHashMap<>();
+    // the same instance is passed on every request, consumers are indexed by it
+    private final Map<String, HttpConsumer> consumersView = Collections.unmodifiableMap(consumers);
 
     @Override
     public void init(ServletConfig config) throws ServletException {
         log.debug("CustomCamelHttpTransportServlet init");
         super.init(config);
-        this.setServletResolveConsumerStrategy(CDI.current().select(CustomHttpRestServletResolveConsumerStrategy.class).get());
+        CustomHttpRestServletResolveConsumerStrategy strategy = CDI.current().select(CustomHttpRestServletResolveConsumerStrategy.class).get();
+        consumers.values().forEach(consumer -> strategy.addConsumer(consumersView, consumer));
+        this.setServletResolveConsumerStrategy(strategy);
     }
 
     @Override
@@ -44,19 +48,36 @@ public void connect(HttpConsumer consumer) {
         ServletEndpoint endpoint = getServletEndpoint(consumer);
         if (endpoint.getServletName() != null && endpoint.getServletName().equals(getServletName())) {
             log.debug("Connecting consumer: {}", consumer);
-            consumers.put(consumer.getEndpoint().getEndpointUri(), consumer);
+            HttpConsumer previous = consumers.put(consumer.getEndpoint().getEndpointUri(), consumer);
+            if (getServletResolveConsumerStrategy() instanceof CustomHttpRestServletResolveConsumerStrategy strategy) {
+                if (previous != null) {
+                    strategy.removeConsumer(consumersView, previous);
+                }
+                strategy.addConsumer(consumersView, consumer);
+            }
         }
     }
 
     @Override
     public void disconnect(HttpConsumer consumer) {
         log.debug("Disconnecting consumer: {}", consumer);
-        consumers.remove(consumer.getEndpoint().getEndpointUri());
+        HttpConsumer removed = consumers.remove(consumer.getEndpoint().getEndpointUri());
+        if (removed != null && getServletResolveConsumerStrategy() instanceof CustomHttpRestServletResolveConsumerStrategy strategy) {
+            strategy.removeConsumer(consumersView, removed);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (getServletResolveConsumerStrategy() instanceof CustomHttpRestServletResolveConsumerStrategy strategy) {
+            strategy.removeConsumers(consumersView);
+        }
+        super.destroy();
     }
 
     @Override
     public Map<String, HttpConsumer> getConsumers() {
-        return Collections.unmodifiableMap(consumers);
+        return consumersView;
     }
 
     private ServletEndpoint getServletEndpoint(HttpConsumer consumer) {
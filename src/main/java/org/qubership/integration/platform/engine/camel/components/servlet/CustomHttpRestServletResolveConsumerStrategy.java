@@ -24,6 +24,7 @@
 import org.apache.camel.http.common.HttpRestServletResolveConsumerStrategy;
 import org.apache.camel.support.RestConsumerContextPathMatcher;
 
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +32,48 @@
 @ApplicationScoped
 public class CustomHttpRestServletResolveConsumerStrategy extends HttpRestServletResolveConsumerStrategy {
 
+    // <consumer map of a servlet, its consumers indexed>, copied on write as servlets are few
+    private volatile Map<Map<String, HttpConsumer>, ConsumerPathTrie> consumerPathTries = new IdentityHashMap<>();
+
+    /**
+     * @param consumers consumer map of the servlet, the same instance it passes to {@link #resolve}
+     */
+    public void addConsumer(Map<String, HttpConsumer> consumers, HttpConsumer consumer) {
+        getOrCreateTrie(consumers).add(new HttpRestConsumerPath(consumer));
+    }
+
+    public void removeConsumer(Map<String, HttpConsumer> consumers, HttpConsumer consumer) {
+        ConsumerPathTrie consumerPathTrie = consumerPathTries.get(consumers);
+        if (consumerPathTrie != null) {
+            consumerPathTrie.remove(consumer);
+        }
+    }
+
+    public synchronized void removeConsumers(Map<String, HttpConsumer> consumers) {
+        if (consumerPathTries.containsKey(consumers)) {
+            Map<Map<String, HttpConsumer>, ConsumerPathTrie> tries = new IdentityHashMap<>(consumerPathTries);
+            tries.remove(consumers);
+            consumerPathTries = tries;
+        }
+    }
+
+    private ConsumerPathTrie getOrCreateTrie(Map<String, HttpConsumer> consumers) {
+        ConsumerPathTrie consumerPathTrie = consumerPathTries.get(consumers);
+        if (consumerPathTrie != null) {
+            return consumerPathTrie;
+        }
+        synchronized (this) {
+            consumerPathTrie = consumerPathTries.get(consumers);
+            if (consumerPathTrie == null) {
+                Map<Map<String, HttpConsumer>, ConsumerPathTrie> tries = new IdentityHashMap<>(consumerPathTries);
+                consumerPathTrie = new ConsumerPathTrie();
+                tries.put(consumers, consumerPathTrie);
+                consumerPathTries = tries;
+            }
+            return consumerPathTrie;
+        }
+    }
+
     @Override
     protected HttpConsumer doResolve(HttpServletRequest request, String method, Map<String, HttpConsumer> consumers) {
         return resolvePath(request.getPathInfo(), method, consumers);
@@ -41,6 +84,14 @@ public HttpConsumer resolvePath(String path, String method, Map<String, HttpCons
             return null;
         }
 
+        // consumers are indexed per servlet as they are connected, the trie is bypassed
+        // for maps of other servlets or when it doesn't hold the same consumers as the map
+        ConsumerPathTrie consumerPathTrie = consumerPathTries.get(consumers);
+        if (consumerPathTrie != null && consumerPathTrie.size() == consumers.size()) {
+            RestConsumerContextPathMatcher.ConsumerPath<HttpConsumer> best = consumerPathTrie.matchBestPath(method, path);
+            return best != null ? best.getConsumer() : null;
+        }
+
         List<RestConsumerContextPathMatcher.ConsumerPath<HttpConsumer>> consumerPaths = consumers.values()
                 .stream()
                 .<RestConsumerContextPathMatcher.ConsumerPath<HttpConsumer>>map(HttpRestConsumerPath::new)
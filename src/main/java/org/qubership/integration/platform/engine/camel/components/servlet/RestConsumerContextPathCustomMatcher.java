@@ -24,6 +24,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 
 /**
@@ -31,6 +32,26 @@
  */
 public class RestConsumerContextPathCustomMatcher {
 
+    /**
+     * Consumer path split into segments once, so matching a request doesn't split it again.
+     *
+     * @param consumerPath  the consumer context path details
+     * @param segments      the consumer path segments without the starting slash, or <tt>null</tt> if there is no path
+     * @param wildcards     number of { } tokens in the path
+     * @param restrictMethod the consumer configured HTTP restrict method in lower case, or <tt>null</tt>
+     */
+    record CompiledPath(ConsumerPath<HttpConsumer> consumerPath, String[] segments, int wildcards, String restrictMethod) {
+        static CompiledPath compile(ConsumerPath<HttpConsumer> consumerPath) {
+            String[] segments = splitPath(consumerPath.getConsumerPath());
+            String restrictMethod = consumerPath.getRestrictMethod();
+            return new CompiledPath(
+                    consumerPath,
+                    segments,
+                    countWildcards(segments),
+                    restrictMethod == null ? null : restrictMethod.toLowerCase(Locale.ENGLISH));
+        }
+    }
+
     /**
      * Finds the best matching of the list of consumer paths that should service the incoming
      * request.
@@ -41,34 +62,57 @@ public class RestConsumerContextPathCustomMatcher {
      * @return the best matched consumer, or <tt>null</tt> if none could be determined.
      */
     public static ConsumerPath<HttpConsumer> matchBestPath(String requestMethod, String requestPath, List<ConsumerPath<HttpConsumer>> consumerPaths) {
-        List<ConsumerPath<HttpConsumer>> candidates = new ArrayList<>();
+        List<CompiledPath> compiledPaths = consumerPaths.stream().map(CompiledPath::compile).toList();
+        return matchBestPath(requestMethod, requestPath, splitPath(requestPath), compiledPaths,
+                method -> compiledPaths.stream().anyMatch(path -> path.wildcards() > 0
+                        && (method == null || matchRestMethod(method, path.restrictMethod()))));
+    }
+
+    /**
+     * Finds the best matching consumer path among the given ones.
+     *
+     * <p>{@code consumerPaths} may be narrowed down to the paths that can match the request
+     * at all, see {@link ConsumerPathTrie}. Whether there are consumers with wildcards is
+     * asked from {@code hasWildcardPaths} instead, as it is decided over all consumers: it is
+     * called with the request method, or with <tt>null</tt> when consumers of any method count.
+     */
+    static ConsumerPath<HttpConsumer> matchBestPath(
+            String requestMethod,
+            String requestPath,
+            String[] requestSegments,
+            List<CompiledPath> consumerPaths,
+            Predicate<String> hasWildcardPaths
+    ) {
+        List<CompiledPath> candidates = new ArrayList<>();
 
         // first match by http method
-        for (ConsumerPath<HttpConsumer> entry : consumerPaths) {
-            if (matchRestMethod(requestMethod, entry.getRestrictMethod())) {
+        for (CompiledPath entry : consumerPaths) {
+            if (matchRestMethod(requestMethod, entry.restrictMethod())) {
                 candidates.add(entry);
             }
         }
 
         // then see if we got a direct match
-        ConsumerPath<HttpConsumer> answer = matchRestPathAndTime(requestPath, candidates);
+        ConsumerPath<HttpConsumer> answer = matchRestPathAndTime(requestSegments, candidates);
+        boolean anyMethod = false;
 
         // we could not find a direct match, and if the request is OPTIONS then we need all candidates
         if (answer == null && isOptionsMethod(requestMethod)) {
             candidates.clear();
             candidates.addAll(consumerPaths);
+            anyMethod = true;
 
             // then try again to see if we can find a direct match
-            answer = matchRestPathAndTime(requestPath, candidates);
+            answer = matchRestPathAndTime(requestSegments, candidates);
         }
 
         // if there are no wildcards, then select the matching with the longest path
-        boolean noWildcards = candidates.stream().allMatch(p -> countWildcards(p.getConsumerPath()) == 0);
+        boolean noWildcards = !hasWildcardPaths.test(anyMethod ? null : requestMethod);
         if (noWildcards) {
             // grab first which is the longest that matched the request path
             answer = matchNewerConsumer(candidates.stream()
-                    .filter(c -> RestConsumerContextPathMatcher.matchPath(requestPath, c.getConsumerPath(),
-                            c.isMatchOnUriPrefix()))
+                    .filter(c -> matchPath(requestPath, c.consumerPath().getConsumerPath(),
+                            c.consumerPath().isMatchOnUriPrefix()))
                     // TODO not working with (isMatchOnUriPrefix == true)
                     //.sorted(Comparator.comparingInt(o -> -1 * o.getConsumerPath().length()))
                     .toList());
@@ -76,23 +120,23 @@ public static ConsumerPath<HttpConsumer> matchBestPath(String requestMethod, Str
 
         // then match by wildcard path
         if (answer == null) {
-            Iterator<ConsumerPath<HttpConsumer>> it = candidates.iterator();
+            Iterator<CompiledPath> it = candidates.iterator();
             while (it.hasNext()) {
-                ConsumerPath<HttpConsumer> consumer = it.next();
+                CompiledPath consumer = it.next();
                 // filter non matching paths
-                if (!matchRestPath(requestPath, consumer.getConsumerPath(), true)) {
+                if (!matchRestPath(requestSegments, consumer.segments(), true)) {
                     it.remove();
                 }
             }
 
             // if there is multiple candidates with wildcards then pick anyone with the least number of wildcards
             int bestWildcard = Integer.MAX_VALUE;
-            List<ConsumerPath<HttpConsumer>> wildcardCandidates = null;
+            List<CompiledPath> wildcardCandidates = null;
             if (candidates.size() > 1) {
                 it = candidates.iterator();
                 while (it.hasNext()) {
-                    ConsumerPath<HttpConsumer> entry = it.next();
-                    int wildcards = countWildcards(entry.getConsumerPath());
+                    CompiledPath entry = it.next();
+                    int wildcards = entry.wildcards();
                     if (wildcards > 0) {
                         if (wildcardCandidates == null || wildcards < bestWildcard) {
                             wildcardCandidates = new ArrayList<>();
@@ -114,25 +158,66 @@ public static ConsumerPath<HttpConsumer> matchBestPath(String requestMethod, Str
 
             // if there is one left then its our answer
             if (answer == null && candidates.size() == 1) {
-                answer = candidates.getFirst();
+                answer = candidates.getFirst().consumerPath();
             }
         }
 
         return answer;
     }
 
-    private static ConsumerPath<HttpConsumer> matchRestPathAndTime(String requestPath, @Nonnull List<ConsumerPath<HttpConsumer>> candidates) {
-        List<ConsumerPath<HttpConsumer>> sameCandidates = candidates.stream()
-                .filter(path -> matchRestPath(requestPath, path.getConsumerPath(), false)).toList();
+    /**
+     * Splits the path into segments, ignoring the starting slash. An ending slash gives an empty
+     * last segment, so <tt>/a/b/</tt> and <tt>/a/b</tt> are different paths.
+     *
+     * @param path the request or consumer path
+     * @return path segments, or <tt>null</tt> if the path is <tt>null</tt>
+     */
+    static String[] splitPath(String path) {
+        if (path == null) {
+            return null;
+        }
+
+        // remove starting slash
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+
+        // split using single char / is optimized in the jdk, keeping trailing empty segments
+        return path.split("/", -1);
+    }
+
+    /**
+     * Matches the request path with the consumer path like {@link RestConsumerContextPathMatcher#matchPath},
+     * but ignores only the starting slash, consistently with {@link #splitPath}.
+     */
+    private static boolean matchPath(String requestPath, String consumerPath, boolean matchOnUriPrefix) {
+        if (requestPath == null || consumerPath == null) {
+            return requestPath == null && consumerPath == null;
+        }
+
+        String request = requestPath.startsWith("/") ? requestPath.substring(1) : requestPath;
+        String consumer = consumerPath.startsWith("/") ? consumerPath.substring(1) : consumerPath;
+        return request.equalsIgnoreCase(consumer)
+                || (matchOnUriPrefix && request.regionMatches(true, 0, consumer, 0, consumer.length()));
+    }
+
+    static boolean isWildcard(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}");
+    }
+
+    private static ConsumerPath<HttpConsumer> matchRestPathAndTime(String[] requestSegments, @Nonnull List<CompiledPath> candidates) {
+        List<CompiledPath> sameCandidates = candidates.stream()
+                .filter(path -> matchRestPath(requestSegments, path.segments(), false)).toList();
         return matchNewerConsumer(sameCandidates);
     }
 
-    private static ConsumerPath<HttpConsumer> matchNewerConsumer(List<ConsumerPath<HttpConsumer>> consumers) {
+    private static ConsumerPath<HttpConsumer> matchNewerConsumer(List<CompiledPath> consumers) {
         return consumers.stream()
+                .map(CompiledPath::consumerPath)
                 .filter(consumer -> consumer.getConsumer() instanceof ServletCustomConsumer)
-                .max((c1, c2) -> Math.toIntExact(
-                        ((ServletCustomConsumer) c1.getConsumer()).getCreationTime()
-                                - ((ServletCustomConsumer) c2.getConsumer()).getCreationTime()))
+                .max((c1, c2) -> Long.compare(
+                        ((ServletCustomConsumer) c1.getConsumer()).getCreationTime(),
+                        ((ServletCustomConsumer) c2.getConsumer()).getCreationTime()))
                 .orElse(null);
     }
 
@@ -140,15 +225,15 @@ private static ConsumerPath<HttpConsumer> matchNewerConsumer(List<ConsumerPath<H
      * Matches the given request HTTP method with the configured HTTP method of the consumer.
      *
      * @param method   the request HTTP method
-     * @param restrict the consumer configured HTTP restrict method
+     * @param restrict the consumer configured HTTP restrict method in lower case
      * @return <tt>true</tt> if matched, <tt>false</tt> otherwise
      */
-    private static boolean matchRestMethod(String method, String restrict) {
+    static boolean matchRestMethod(String method, String restrict) {
         if (restrict == null) {
             return true;
         }
 
-        return restrict.toLowerCase(Locale.ENGLISH).contains(method.toLowerCase(Locale.ENGLISH));
+        return restrict.contains(method.toLowerCase(Locale.ENGLISH));
     }
 
     /**
@@ -163,39 +248,20 @@ private static boolean isOptionsMethod(String method) {
     /**
      * Matches the given request path with the configured consumer path
      *
-     * @param requestPath  the request path
-     * @param consumerPath the consumer path which may use { } tokens
+     * @param requestPaths  the request path segments
+     * @param consumerPaths the consumer path segments which may use { } tokens
      * @return <tt>true</tt> if matched, <tt>false</tt> otherwise
      */
-    private static boolean matchRestPath(String requestPath, String consumerPath,
+    private static boolean matchRestPath(String[] requestPaths, String[] consumerPaths,
                                          boolean wildcard) {
         // deal with null parameters
-        if (requestPath == null && consumerPath == null) {
+        if (requestPaths == null && consumerPaths == null) {
             return true;
         }
-        if (requestPath == null || consumerPath == null) {
+        if (requestPaths == null || consumerPaths == null) {
             return false;
         }
 
-        // remove starting/ending slashes
-        if (requestPath.startsWith("/")) {
-            requestPath = requestPath.substring(1);
-        }
-        if (requestPath.endsWith("/")) {
-            requestPath = requestPath.substring(0, requestPath.length() - 1);
-        }
-        // remove starting/ending slashes
-        if (consumerPath.startsWith("/")) {
-            consumerPath = consumerPath.substring(1);
-        }
-        if (consumerPath.endsWith("/")) {
-            consumerPath = consumerPath.substring(0, consumerPath.length() - 1);
-        }
-
-        // split using single char / is optimized in the jdk
-        String[] requestPaths = requestPath.split("/");
-        String[] consumerPaths = consumerPath.split("/");
-
         // must be same number of path's
         if (requestPaths.length != consumerPaths.length) {
             return false;
@@ -205,7 +271,7 @@ private static boolean matchRestPath(String requestPath, String consumerPath,
             String p1 = requestPaths[i];
             String p2 = consumerPaths[i];
 
-            if (wildcard && p2.startsWith("{") && p2.endsWith("}")) {
+            if (wildcard && isWildcard(p2)) {
                 // always matches
                 continue;
             }
@@ -222,23 +288,17 @@ private static boolean matchRestPath(String requestPath, String consumerPath,
     /**
      * Counts the number of wildcards in the path
      *
-     * @param consumerPath the consumer path which may use { } tokens
+     * @param consumerPaths the consumer path segments which may use { } tokens
      * @return number of wildcards, or <tt>0</tt> if no wildcards
      */
-    private static int countWildcards(String consumerPath) {
-        int wildcards = 0;
-
-        // remove starting/ending slashes
-        if (consumerPath.startsWith("/")) {
-            consumerPath = consumerPath.substring(1);
-        }
-        if (consumerPath.endsWith("/")) {
-            consumerPath = consumerPath.substring(0, consumerPath.length() - 1);
+    private static int countWildcards(String[] consumerPaths) {
+        if (consumerPaths == null) {
+            return 0;
         }
 
-        String[] consumerPaths = consumerPath.split("/");
+        int wildcards = 0;
         for (String p2 : consumerPaths) {
-            if (p2.startsWith("{") && p2.endsWith("}")) {
+            if (isWildcard(p2)) {
                 wildcards++;
             }
         }
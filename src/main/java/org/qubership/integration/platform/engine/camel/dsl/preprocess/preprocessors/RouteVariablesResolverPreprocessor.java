@@ -8,8 +8,11 @@
 import org.qubership.integration.platform.engine.metadata.RouteRegistrationInfo;
 import org.qubership.integration.platform.engine.metadata.RouteType;
 import org.qubership.integration.platform.engine.service.RouteRegistrationService;
+import org.qubership.integration.platform.engine.service.VariablesTemplate;
 
-import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -17,6 +20,8 @@
 @ApplicationScoped
 @Priority(1)
 public class RouteVariablesResolverPreprocessor implements ResourceContentPreprocessor {
+    private static final String VARIABLE_PREFIX = "%%{";
+
     private final CamelContext camelContext;
 
     @Inject
@@ -26,21 +31,18 @@ public RouteVariablesResolverPreprocessor(CamelContext camelContext) {
 
     @Override
     public String apply(String content) throws Exception {
-        Collection<RouteRegistrationInfo> routesRegistrationInfo = camelContext.getRegistry()
+        Map<String, String> gatewayPrefixes = new HashMap<>();
+        camelContext.getRegistry()
                 .findByType(RouteRegistrationInfo.class)
                 .stream()
                 .map(RouteRegistrationService::formatServiceRoutes)
                 .filter(this::isExternalRouteAndHasVariableName)
-                .toList();
-
-        String result = content;
-        for (RouteRegistrationInfo routeInfo : routesRegistrationInfo) {
-            String variablePlaceholder = String.format("%%%%{%s}", routeInfo.getVariableName());
-            String gatewayPrefix = routeInfo.getGatewayPrefix();
-            result = result.replace(variablePlaceholder,
-                    isNull(gatewayPrefix) ? "" : gatewayPrefix);
-        }
-        return result;
+                .forEach(routeInfo -> gatewayPrefixes.putIfAbsent(routeInfo.getVariableName(),
+                        isNull(routeInfo.getGatewayPrefix()) ? "" : routeInfo.getGatewayPrefix()));
+
+        return gatewayPrefixes.isEmpty()
+                ? content
+                : VariablesTemplate.compile(content, VARIABLE_PREFIX).render(gatewayPrefixes, Set.of());
     }
 
     private boolean isExternalRouteAndHasVariableName(RouteRegistrationInfo routeInfo) {
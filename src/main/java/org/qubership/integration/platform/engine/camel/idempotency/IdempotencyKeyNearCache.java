@@ -0,0 +1,87 @@
+package org.qubership.integration.platform.engine.camel.idempotency;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Keys inserted into the idempotency store by this engine, kept until their records expire.
+ * Keys inserted by other replicas are not cached: such a key is removed there when its exchange fails,
+ * and a stale local entry would then reject the redelivered message.
+ * Keys are kept in insertion order, expired and, when the cache is full, oldest keys are evicted from the head.
+ * Entries are timed with a monotonic clock and expire {@link #EXPIRY_MARGIN_MILLIS} before their records,
+ * which the database times with its own clock.
+ */
+class IdempotencyKeyNearCache {
+    static final long EXPIRY_MARGIN_MILLIS = 1000L;
+
+    private final int maxSize;
+    private final LongSupplier clock;
+    // <key, expiry time by the clock>, in insertion order
+    private final LinkedHashMap<String, Long> expiries = new LinkedHashMap<>();
+
+    IdempotencyKeyNearCache(int maxSize) {
+        this(maxSize, () -> System.nanoTime() / 1_000_000L);
+    }
+
+    IdempotencyKeyNearCache(int maxSize, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    long now() {
+        return clock.getAsLong();
+    }
+
+    synchronized boolean contains(String key) {
+        Long expiresAt = expiries.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt > clock.getAsLong()) {
+            return true;
+        }
+        expiries.remove(key);
+        return false;
+    }
+
+    /**
+     * @param insertedAt time taken before the insert, so the entry never outlives the record
+     *                   whose expiry the database computes from its own later {@code now()}
+     */
+    synchronized void put(String key, long insertedAt, int ttlSeconds) {
+        long ttlMillis = ttlSeconds * 1000L - EXPIRY_MARGIN_MILLIS;
+        // a re-inserted key moves to the tail
+        expiries.remove(key);
+        if (!isEnabled() || ttlMillis <= 0) {
+            return;
+        }
+        evictFromHead();
+        expiries.put(key, insertedAt + ttlMillis);
+    }
+
+    synchronized void remove(String key) {
+        expiries.remove(key);
+    }
+
+    synchronized int size() {
+        return expiries.size();
+    }
+
+    // keys of routes with a shorter ttl may expire behind the head, they are removed by contains() or later here
+    private void evictFromHead() {
+        long now = clock.getAsLong();
+        Iterator<Long> iterator = expiries.values().iterator();
+        while (iterator.hasNext()) {
+            long expiresAt = iterator.next();
+            if (expiresAt > now && expiries.size() < maxSize) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+}
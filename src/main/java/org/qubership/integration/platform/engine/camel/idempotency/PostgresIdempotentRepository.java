@@ -8,6 +8,7 @@
 import org.apache.camel.api.management.ManagedOperation;
 import org.apache.camel.spi.IdempotentRepository;
 import org.apache.camel.support.service.ServiceSupport;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.qubership.integration.platform.engine.service.IdempotencyRecordService;
 
 import static org.qubership.integration.platform.engine.model.constants.CamelConstants.SYSTEM_PROPERTY_PREFIX;
@@ -20,10 +21,20 @@ public class PostgresIdempotentRepository extends ServiceSupport implements Idem
     private static final String EXPIRY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "keyExpiry";
 
     private final IdempotencyRecordService idempotencyRecordService;
+    private final IdempotencyKeyNearCache nearCache;
 
     @Inject
-    public PostgresIdempotentRepository(IdempotencyRecordService idempotencyRecordService) {
+    public PostgresIdempotentRepository(
+            IdempotencyRecordService idempotencyRecordService,
+            @ConfigProperty(name = "qip.idempotency.near-cache.max-size", defaultValue = "10000") int nearCacheMaxSize
+    ) {
+        this(idempotencyRecordService, new IdempotencyKeyNearCache(nearCacheMaxSize));
+    }
+
+    PostgresIdempotentRepository(IdempotencyRecordService idempotencyRecordService,
+                                 IdempotencyKeyNearCache nearCache) {
         this.idempotencyRecordService = idempotencyRecordService;
+        this.nearCache = nearCache;
     }
 
     @Override
@@ -35,26 +46,39 @@ public boolean add(String key) {
     @Override
     @ManagedOperation(description = "Adds the key to the store")
     public boolean add(Exchange exchange, String key) {
+        return addKeyToStore(key, getTtl(exchange));
+    }
+
+    private int getTtl(Exchange exchange) {
         int ttl = exchange.getProperty(EXPIRY_PROPERTY, DEFAULT_KEY_EXPIRY, Integer.class);
         if (ttl <= 0) {
             throw new IllegalArgumentException("TTL must be greater than 0");
         }
-        return addKeyToStore(key, ttl);
+        return ttl;
     }
 
     private boolean addKeyToStore(String key, int ttl) {
-        return idempotencyRecordService.insertIfNotExists(key, ttl);
+        if (nearCache.contains(key)) {
+            return false;
+        }
+        long insertedAt = nearCache.now();
+        boolean added = idempotencyRecordService.insertIfNotExists(key, ttl);
+        if (added) {
+            nearCache.put(key, insertedAt, ttl);
+        }
+        return added;
     }
 
     @Override
     @ManagedOperation(description = "Does the store contain the given key")
     public boolean contains(String key) {
-        return idempotencyRecordService.exists(key);
+        return nearCache.contains(key) || idempotencyRecordService.exists(key);
     }
 
     @Override
     @ManagedOperation(description = "Remove the key from the store")
     public boolean remove(String key) {
+        nearCache.remove(key);
         return idempotencyRecordService.delete(key);
     }
 
@@ -1,13 +1,11 @@
 package org.qubership.integration.platform.engine.camel.listeners.actions.routes.added;
 
-import groovy.lang.GroovyShell;
-import groovy.lang.Script;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.NamedNode;
 import org.apache.camel.model.ExpressionNode;
-import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.model.ProcessorDefinitionHelper;
 import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.model.language.ExpressionDefinition;
 import org.apache.camel.spi.CamelEvent;
@@ -15,8 +13,11 @@
 import org.qubership.integration.platform.engine.camel.listeners.EventProcessingAction;
 import org.qubership.integration.platform.engine.camel.listeners.qualifiers.OnRouteAdded;
 import org.qubership.integration.platform.engine.errorhandling.DeploymentRetriableException;
-import org.qubership.integration.platform.engine.service.groovy.CustomGroovyShellFactory;
 import org.qubership.integration.platform.engine.service.groovy.GroovyLanguageWithResettableCache;
+import org.qubership.integration.platform.engine.service.groovy.GroovyScriptCompiler;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.util.Objects.isNull;
 
@@ -25,7 +26,7 @@
 @ApplicationScoped
 public class CompileGroovyScriptsAction implements EventProcessingAction<CamelEvent.RouteAddedEvent> {
     @Inject
-    CustomGroovyShellFactory groovyShellFactory;
+    GroovyScriptCompiler groovyScriptCompiler;
 
     @Inject
     GroovyLanguageWithResettableCache groovyLanguage;
@@ -39,31 +40,24 @@ public void process(CamelEvent.RouteAddedEvent event) throws Exception {
     }
 
     private void compileGroovyScripts(RouteDefinition routeDefinition) {
-        for (ProcessorDefinition<?> processor : routeDefinition.getOutputs()) {
-            if (!(processor instanceof ExpressionNode)) {
-                continue;
-            }
-            ExpressionDefinition expression = ((ExpressionNode) processor).getExpression();
-            if (!expression.getLanguage().equals("groovy")) {
+        // nested processors too, like the ones in split, choice or try blocks
+        List<String> texts = new ArrayList<>();
+        for (ExpressionNode processor : ProcessorDefinitionHelper.filterTypeInOutputs(
+                routeDefinition.getOutputs(), ExpressionNode.class)) {
+            ExpressionDefinition expression = processor.getExpression();
+            if (isNull(expression) || !"groovy".equals(expression.getLanguage())) {
                 continue;
             }
 
             log.debug("Compiling groovy script for processor {}", processor.getId());
-            compileGroovyScript(expression);
+            texts.add(getScriptText(expression));
+        }
+        if (texts.isEmpty()) {
+            return;
         }
-    }
 
-    @SuppressWarnings("unchecked")
-    private void compileGroovyScript(ExpressionDefinition expression) {
         try {
-            String text = expression.getExpression();
-            if (isNull(expression.getTrim()) || Boolean.parseBoolean(expression.getTrim())) {
-                text = text.trim();
-            }
-
-            GroovyShell groovyShell = groovyShellFactory.createGroovyShell(null);
-            Class<Script> scriptClass = groovyShell.getClassLoader().parseClass(text);
-            groovyLanguage.addScriptToCache(text, scriptClass);
+            groovyScriptCompiler.compile(texts).forEach(groovyLanguage::addScriptToCache);
         } catch (CompilationFailedException exception) {
             if (isClassResolveError(exception)) {
                 throw new DeploymentRetriableException("Failed to compile groovy script.",
@@ -74,6 +68,14 @@ private void compileGroovyScript(ExpressionDefinition expression) {
         }
     }
 
+    private static String getScriptText(ExpressionDefinition expression) {
+        String text = expression.getExpression();
+        if (isNull(expression.getTrim()) || Boolean.parseBoolean(expression.getTrim())) {
+            text = text.trim();
+        }
+        return text;
+    }
+
     private static boolean isClassResolveError(CompilationFailedException exception) {
         return exception.getMessage().contains("unable to resolve class");
     }
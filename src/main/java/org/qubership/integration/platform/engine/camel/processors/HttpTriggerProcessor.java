@@ -35,11 +35,13 @@
 import org.qubership.integration.platform.engine.service.debugger.util.DebuggerUtils;
 import org.qubership.integration.platform.engine.service.debugger.util.MessageHelper;
 import org.qubership.integration.platform.engine.service.debugger.util.PayloadExtractor;
+import org.qubership.integration.platform.engine.util.PathVariablesExtractor;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Processor is used to parse path variables from uri of input http request
@@ -50,8 +52,7 @@
 @Named("httpTriggerProcessor")
 public class HttpTriggerProcessor implements Processor {
 
-    private static final Pattern URI_REGEXP = Pattern.compile("(\\/?\\{?[^\\/]*}?\\/?)");
-    private static final Pattern VARIABLE_REGEXP = Pattern.compile("^\\/?\\{[^\\/]*}\\/?$");
+    private static final int MAX_CACHED_URI_TEMPLATES = 4096;
     private static final String RESPONSE_FILTER_EXCLUDE_QUERY_PARAM = "excludeFields";
     private static final String RESPONSE_FILTER_INCLUDE_QUERY_PARAM = "fields";
 
@@ -59,6 +60,9 @@ public class HttpTriggerProcessor implements Processor {
 
     private final JsonMessageValidator validator;
 
+    // <uri template, extractor>, templates are consumer context paths of deployed triggers
+    private final ConcurrentMap<String, PathVariablesExtractor> pathVariablesExtractors = new ConcurrentHashMap<>();
+
     @Inject
     public HttpTriggerProcessor(CorrelationIdSetter correlationIdSetter, JsonMessageValidator validator) {
         this.correlationIdSetter = correlationIdSetter;
@@ -88,31 +92,20 @@ private void parsePathVariables(Exchange exchange) {
         var uriTemplate = "routes/" + getHeader(exchange, Headers.URI_TEMPLATE);
         var actualUri = getHeader(exchange, Exchange.HTTP_URI);
 
-        var templateMatcher = URI_REGEXP.matcher(uriTemplate);
-        var valuesMatcher = URI_REGEXP.matcher(actualUri);
-
-        while (templateMatcher.find()) {
-            var name = templateMatcher.group();
-
-            if (StringUtils.isNotBlank(name)) {
-                var matcher = VARIABLE_REGEXP.matcher(name);
-                var isParam = matcher.find();
-                var foundValue = valuesMatcher.find();
+        getPathVariablesExtractor(uriTemplate).extract(actualUri, exchange::setProperty);
 
-                if (isParam && foundValue) {
-                    var value = valuesMatcher.group();
-
-                    if (StringUtils.isNotBlank(value)) {
-                        var variableName = removeServiceSymbols(name);
-                        var variableValue = removeServiceSymbols(value);
+        correlationIdSetter.setCorrelationId(exchange);
+    }
 
-                        exchange.setProperty(variableName, variableValue);
-                    }
-                }
+    private PathVariablesExtractor getPathVariablesExtractor(String uriTemplate) {
+        PathVariablesExtractor extractor = pathVariablesExtractors.get(uriTemplate);
+        if (extractor == null) {
+            extractor = PathVariablesExtractor.compile(uriTemplate);
+            if (pathVariablesExtractors.size() < MAX_CACHED_URI_TEMPLATES) {
+                pathVariablesExtractors.putIfAbsent(uriTemplate, extractor);
             }
         }
-
-        correlationIdSetter.setCorrelationId(exchange);
+        return extractor;
     }
 
     private String getHeader(Exchange exchange, String headerName) {
@@ -122,12 +115,6 @@ private String getHeader(Exchange exchange, String headerName) {
         return header == null ? StringUtils.EMPTY : header;
     }
 
-    private String removeServiceSymbols(String str) {
-        return str.replace("}", "")
-                .replace("{", "")
-                .replace("/", "");
-    }
-
     private void removeHeaders(Exchange exchange) {
         var message = exchange.getMessage();
         message.removeHeader(Exchange.HTTP_URI);
@@ -19,6 +19,7 @@
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import io.atlasmap.api.AtlasSession;
@@ -26,6 +27,7 @@
 import io.atlasmap.core.DefaultAtlasFunctionResolver;
 import io.atlasmap.json.v2.JsonDataSource;
 import io.atlasmap.v2.*;
+import io.atlasmap.xml.v2.XmlDataSource;
 import io.smallrye.common.annotation.Identifier;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -40,6 +42,7 @@
 import org.apache.commons.text.StringEscapeUtils;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.qubership.integration.platform.engine.mapper.atlasmap.CustomAtlasContext;
+import org.qubership.integration.platform.engine.mapper.atlasmap.CustomAtlasContextPool;
 import org.qubership.integration.platform.engine.mapper.atlasmap.ValidationResult;
 import org.qubership.integration.platform.engine.model.constants.CamelConstants.Properties;
 import org.qubership.integration.platform.engine.util.ExchangeUtil;
@@ -47,7 +50,6 @@
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -75,6 +77,7 @@ public class MapperProcessor implements Processor {
     private static final String TARGET_DOC_ID = "target";
     private static final String SOURCE_DOC_ID = "source";
     private static final String VARIABLES_PROPERTY = "variables";
+    private static final String XML_DATA_SOURCE_URI_PREFIX = "atlas:cip:xml";
     private static final String UNABLE_TO_READ_PROPERTY_ERROR_MESSAGE = "Unable to read complex property: ";
 
     private final DefaultAtlasContextFactory factory;
@@ -83,6 +86,9 @@ public class MapperProcessor implements Processor {
     @ConfigProperty(name = "qip.mapper.cache-enabled")
     boolean cacheEnabled;
 
+    @ConfigProperty(name = "qip.mapper.context-pool-size", defaultValue = "16")
+    int contextPoolSize;
+
     @Inject
     public MapperProcessor(
             @Identifier("jsonMapper") ObjectMapper objectMapper
@@ -98,15 +104,21 @@ public void process(Exchange exchange) throws Exception {
         String mapping = exchange.getProperty(Properties.MAPPING_CONFIG, String.class);
         AtlasMapping atlasMapping = null;
         ValidationResult cachedValidationResult = null;
+        CustomAtlasContextPool contextPool = null;
         if (cacheEnabled) {
             String mappingId = exchange.getProperty(Properties.MAPPING_ID, String.class);
             if (StringUtils.isNotEmpty(mappingId)) {
                 atlasMapping = camelContext.getRegistry().lookupByNameAndType(mappingId, AtlasMapping.class);
                 cachedValidationResult = camelContext.getRegistry().lookupByNameAndType(mappingId, ValidationResult.class);
+                contextPool = camelContext.getRegistry().lookupByNameAndType(mappingId, CustomAtlasContextPool.class);
                 if (atlasMapping == null) {
                     atlasMapping = getAtlasMappingObj(mapping);
                     camelContext.getRegistry().bind(mappingId, AtlasMapping.class, atlasMapping);
                 }
+                if (contextPool == null || contextPool.getMapping() != atlasMapping) {
+                    contextPool = new CustomAtlasContextPool(factory, atlasMapping, contextPoolSize);
+                    camelContext.getRegistry().bind(mappingId, CustomAtlasContextPool.class, contextPool);
+                }
             } else {
                 log.warn("Mapping ID is missing from the configuration");
             }
@@ -116,8 +128,25 @@ public void process(Exchange exchange) throws Exception {
             atlasMapping = getAtlasMappingObj(mapping);
         }
 
-        CustomAtlasContext context = new CustomAtlasContext(factory, atlasMapping);
+        CustomAtlasContext context = nonNull(contextPool)
+                ? contextPool.borrow()
+                : new CustomAtlasContext(factory, atlasMapping);
+        try {
+            process(exchange, atlasMapping, context, cachedValidationResult);
+        } finally {
+            if (nonNull(contextPool)) {
+                contextPool.release(context);
+            }
+        }
+    }
 
+    private void process(
+            Exchange exchange,
+            AtlasMapping atlasMapping,
+            CustomAtlasContext context,
+            ValidationResult cachedValidationResult
+    ) throws Exception {
+        CamelContext camelContext = exchange.getContext();
         if (nonNull(cachedValidationResult)) {
             context.setCachedValidationResult(cachedValidationResult);
         }
@@ -238,25 +267,52 @@ private void setDataSourcesDocuments(Exchange exchange, AtlasMapping atlasMappin
                 .forEach(propertyDataSource -> {
                     String propertyName = propertyDataSource.getName();
                     Object propertyValue = propertyName.equals(VARIABLES_PROPERTY)
-                            ? getVariablesPropertyValue((HashMap<String, String>) exchange.getProperty(propertyName))
+                            ? getVariablesPropertyValue((Map<String, String>) exchange.getProperty(propertyName))
                             : exchange.getProperty(propertyName);
-                    try {
-                        session.setSourceDocument(propertyName, propertyValue != null ? objectMapper.writeValueAsString(propertyValue) : null);
-                    } catch (JsonProcessingException e) {
-                        throw new RuntimeException(UNABLE_TO_READ_PROPERTY_ERROR_MESSAGE.concat(propertyName), e);
-                    }
+                    session.setSourceDocument(propertyName, toSourceDocument(propertyName, propertyValue, propertyDataSource));
                 });
     }
 
-    private ObjectNode getVariablesPropertyValue(HashMap<String, String> variables) {
+    private Object toSourceDocument(String propertyName, Object propertyValue, DataSource dataSource) {
+        if (isNull(propertyValue)) {
+            return null;
+        }
+        boolean isXml = isXmlDataSource(dataSource);
+        // Variables tree is built from parsed values, so the JSON module can read it as is.
+        if (!isXml && propertyName.equals(VARIABLES_PROPERTY)) {
+            return propertyValue;
+        }
+        try {
+            return isXml
+                    ? objectMapper.writeValueAsString(propertyValue)
+                    : objectMapper.writeValueAsBytes(propertyValue);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(UNABLE_TO_READ_PROPERTY_ERROR_MESSAGE.concat(propertyName), e);
+        }
+    }
+
+    private static boolean isXmlDataSource(DataSource dataSource) {
+        return dataSource instanceof XmlDataSource
+                || (nonNull(dataSource.getUri()) && dataSource.getUri().startsWith(XML_DATA_SOURCE_URI_PREFIX));
+    }
+
+    private ObjectNode getVariablesPropertyValue(Map<String, String> variables) {
         ObjectNode rootObject = objectMapper.createObjectNode();
         variables.keySet().forEach(
                 key -> {
                     String value = variables.get(key);
                     JsonNode valueObject;
-                    try {
-                        valueObject = objectMapper.readTree(value);
-                    } catch (JsonProcessingException e) {
+                    if (mayBeJson(value)) {
+                        try {
+                            valueObject = objectMapper.readTree(value);
+                            // blank value, written as null when the tree was serialized
+                            if (valueObject.isMissingNode()) {
+                                valueObject = NullNode.getInstance();
+                            }
+                        } catch (JsonProcessingException e) {
+                            valueObject = new TextNode(value);
+                        }
+                    } else {
                         valueObject = new TextNode(value);
                     }
                     rootObject.set(key, valueObject);
@@ -265,6 +321,24 @@ private ObjectNode getVariablesPropertyValue(HashMap<String, String> variables)
         return rootObject;
     }
 
+    /**
+     * Returns false only for values that definitely fail to parse as JSON, so most plain text
+     * variables skip the parser and its exception.
+     */
+    private static boolean mayBeJson(String value) {
+        if (isNull(value)) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c > ' ') {
+                return c == '{' || c == '[' || c == '"' || c == '-' || (c >= '0' && c <= '9')
+                        || c == 't' || c == 'f' || c == 'n';
+            }
+        }
+        return true;
+    }
+
     private void getDataSourcesDocuments(Exchange exchange, AtlasMapping atlasMapping, AtlasSession session) {
         Object target = session.getTargetDocument(TARGET_DOC_ID);
         exchange.getMessage().setBody(target);
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.engine.camel.processors.checkpoint;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary format of checkpoint property values and bodies.
+ *
+ * <p>Encoded data starts with a marker byte, a format version and flags. The marker can start neither
+ * a Java serialization stream nor a UTF-8 string, so values written before this format
+ * (Java-serialized properties and raw UTF-8 bodies) are still read as they are.
+ *
+ * <p>Strings, boxed primitives, {@link BigDecimal}, byte arrays and {@link ArrayList}, {@link HashMap},
+ * {@link LinkedHashMap} of them are written natively, any other value is Java-serialized inside the envelope.
+ * A value whose lists and maps are nested deeper than {@link #MAX_NATIVE_DEPTH} or reached more than once
+ * (cycles, shared references) is Java-serialized as a whole, which keeps its object identity.
+ * Data over {@link #COMPRESSION_THRESHOLD} bytes is deflated when that makes it smaller.
+ *
+ * <p>Engines that only read Java serialization may share the checkpoint tables during an upgrade, so
+ * {@link #serializeProperty} is used for writing until the format is switched on.
+ */
+public final class CheckpointCodec {
+    static final int COMPRESSION_THRESHOLD = 4096;
+    static final int MAX_NATIVE_DEPTH = 64;
+
+    // deflate can't expand data more than about 1032 times
+    private static final int MAX_DEFLATE_RATIO = 1032;
+
+    private static final byte MARKER = (byte) 0xC1;
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 3;
+    private static final byte FLAG_DEFLATED = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte BIG_DECIMAL = 6;
+    private static final byte BYTES = 7;
+    private static final byte ARRAY_LIST = 8;
+    private static final byte HASH_MAP = 9;
+    private static final byte LINKED_HASH_MAP = 10;
+    private static final byte SERIALIZED = 11;
+
+    /**
+     * Thrown when a value can't be written natively without losing its object identity.
+     */
+    private static final class IdentityRequiredException extends Exception {
+        private IdentityRequiredException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private CheckpointCodec() {
+    }
+
+    /**
+     * @throws NotSerializableException if the value or one of its elements can't be Java-serialized
+     */
+    public static byte[] encodeProperty(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            try {
+                writeValue(out, value, new IdentityHashMap<>(), 0);
+            } catch (IdentityRequiredException e) {
+                bytes.reset();
+                writeSerializedValue(out, value);
+            }
+        }
+        return wrap(bytes.toByteArray());
+    }
+
+    /**
+     * Writes the property with Java serialization, the format used before this codec.
+     *
+     * @throws NotSerializableException if the value or one of its elements can't be Java-serialized
+     */
+    public static byte[] serializeProperty(Object value) throws IOException {
+        return writeSerialized(value);
+    }
+
+    public static Object decodeProperty(byte[] data) throws IOException, ClassNotFoundException {
+        if (!isEncoded(data)) {
+            return readSerialized(data);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(unwrap(data)))) {
+            return readValue(in);
+        }
+    }
+
+    /**
+     * Bodies below the compression threshold stay plain UTF-8.
+     */
+    public static byte[] encodeBody(String body) {
+        byte[] utf8 = body.getBytes(StandardCharsets.UTF_8);
+        return utf8.length < COMPRESSION_THRESHOLD ? utf8 : wrap(utf8);
+    }
+
+    public static String decodeBody(byte[] data) throws IOException {
+        return new String(isEncoded(data) ? unwrap(data) : data, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isEncoded(byte[] data) {
+        return data.length >= HEADER_SIZE && data[0] == MARKER;
+    }
+
+    private static byte[] wrap(byte[] payload) {
+        byte[] deflated = payload.length >= COMPRESSION_THRESHOLD ? deflate(payload) : null;
+        boolean compress = deflated != null && deflated.length + Integer.BYTES < payload.length;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                HEADER_SIZE + Integer.BYTES + (compress ? deflated.length : payload.length));
+        bytes.write(MARKER);
+        bytes.write(VERSION);
+        bytes.write(compress ? FLAG_DEFLATED : 0);
+        if (compress) {
+            bytes.write(payload.length >>> 24);
+            bytes.write(payload.length >>> 16);
+            bytes.write(payload.length >>> 8);
+            bytes.write(payload.length);
+            bytes.writeBytes(deflated);
+        } else {
+            bytes.writeBytes(payload);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] unwrap(byte[] data) throws IOException {
+        if (data[1] != VERSION) {
+            throw new IOException("Unsupported checkpoint data format version: " + data[1]);
+        }
+        if ((data[2] & FLAG_DEFLATED) == 0) {
+            return Arrays.copyOfRange(data, HEADER_SIZE, data.length);
+        }
+        int offset = HEADER_SIZE + Integer.BYTES;
+        if (data.length < offset) {
+            throw new EOFException("Truncated checkpoint data");
+        }
+        int length = ((data[3] & 0xFF) << 24) | ((data[4] & 0xFF) << 16) | ((data[5] & 0xFF) << 8) | (data[6] & 0xFF);
+        if (length < 0 || length > (long) (data.length - offset) * MAX_DEFLATE_RATIO) {
+            throw new IOException("Corrupted checkpoint data, invalid length: " + length);
+        }
+        return inflate(data, offset, length);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, data.length - offset);
+            byte[] result = new byte[length];
+            int inflated = 0;
+            while (inflated < length && !inflater.finished()) {
+                int count = inflater.inflate(result, inflated, length - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != length) {
+                throw new EOFException("Truncated checkpoint data");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted checkpoint data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * @param containers lists and maps written so far
+     */
+    private static void writeValue(
+            DataOutputStream out,
+            Object value,
+            Map<Object, Boolean> containers,
+            int depth
+    ) throws IOException, IdentityRequiredException {
+        if (value == null) {
+            out.writeByte(NULL);
+            return;
+        }
+        Class<?> type = value.getClass();
+        if (type == String.class) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (type == Boolean.class) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (type == Integer.class) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (type == Long.class) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (type == Double.class) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (type == BigDecimal.class) {
+            out.writeByte(BIG_DECIMAL);
+            writeString(out, value.toString());
+        } else if (type == byte[].class) {
+            out.writeByte(BYTES);
+            out.writeInt(((byte[]) value).length);
+            out.write((byte[]) value);
+        } else if (type == ArrayList.class) {
+            visitContainer(value, containers, depth);
+            out.writeByte(ARRAY_LIST);
+            List<?> list = (List<?>) value;
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element, containers, depth + 1);
+            }
+        } else if (type == HashMap.class || type == LinkedHashMap.class) {
+            visitContainer(value, containers, depth);
+            out.writeByte(type == HashMap.class ? HASH_MAP : LINKED_HASH_MAP);
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(out, entry.getKey(), containers, depth + 1);
+                writeValue(out, entry.getValue(), containers, depth + 1);
+            }
+        } else {
+            writeSerializedValue(out, value);
+        }
+    }
+
+    private static void visitContainer(
+            Object container,
+            Map<Object, Boolean> containers,
+            int depth
+    ) throws IdentityRequiredException {
+        if (depth >= MAX_NATIVE_DEPTH || containers.put(container, Boolean.TRUE) != null) {
+            throw new IdentityRequiredException();
+        }
+    }
+
+    private static void writeSerializedValue(DataOutputStream out, Object value) throws IOException {
+        out.writeByte(SERIALIZED);
+        byte[] serialized = writeSerialized(value);
+        out.writeInt(serialized.length);
+        out.write(serialized);
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException, ClassNotFoundException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(in);
+            case BOOLEAN:
+                return in.readBoolean();
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case BIG_DECIMAL:
+                return new BigDecimal(readString(in));
+            case BYTES:
+                return readBytes(in);
+            case ARRAY_LIST: {
+                int size = readSize(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            }
+            case HASH_MAP:
+            case LINKED_HASH_MAP: {
+                int size = readSize(in);
+                Map<Object, Object> map = tag == HASH_MAP ? new HashMap<>() : new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readValue(in), readValue(in));
+                }
+                return map;
+            }
+            case SERIALIZED:
+                return readSerialized(readBytes(in));
+            default:
+                throw new IOException("Unknown checkpoint value tag: " + tag);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] value = new byte[readSize(in)];
+        in.readFully(value);
+        return value;
+    }
+
+    // every element takes at least a byte, so a size over the remaining data is corrupted
+    private static int readSize(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0 || size > in.available()) {
+            throw new IOException("Corrupted checkpoint data, invalid size: " + size);
+        }
+        return size;
+    }
+
+    private static byte[] writeSerialized(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object readSerialized(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+}
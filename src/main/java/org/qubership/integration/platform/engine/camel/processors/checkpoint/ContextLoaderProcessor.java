@@ -39,7 +39,8 @@
 import org.qubership.integration.platform.engine.util.CheckpointUtils;
 import org.qubership.integration.platform.engine.util.ExchangeUtil;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
@@ -119,7 +120,7 @@ private void restorePayloadFromCheckpoint(Exchange exchange, Checkpoint checkpoi
                 checkpointMapper.readValue(checkpoint.getHeaders(), new TypeReference<Map<String, Object>>() {
                 }));
         byte[] body = checkpoint.getBody() == null ? checkpoint.getDeprecatedBody() : checkpoint.getBody();
-        message.setBody(body == null ? null : new String(body, StandardCharsets.UTF_8));
+        message.setBody(body == null ? null : CheckpointCodec.decodeBody(body));
     }
 
     private void updatePayloadFromRequest(Exchange exchange, CheckpointPayloadOptions replaceOptions) {
@@ -173,11 +174,10 @@ private Object safeDeserializeWithoutType(byte[] value) {
         }
     }
 
-    // deserialize properties with Serializable interface
+    // deserialize properties with Serializable interface, written by the codec or Java-serialized
     static Object deserializeWithMetadata(byte[] bytes) {
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
-             ObjectInput in = new ObjectInputStream(bis)) {
-            return in.readObject();
+        try {
+            return CheckpointCodec.decodeProperty(bytes);
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
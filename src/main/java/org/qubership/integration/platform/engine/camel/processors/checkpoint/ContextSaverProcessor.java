@@ -30,18 +30,18 @@
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.qubership.integration.platform.engine.camel.components.context.propagation.ContextOperationsWrapper;
 import org.qubership.integration.platform.engine.model.constants.CamelConstants;
 import org.qubership.integration.platform.engine.persistence.shared.entity.Checkpoint;
 import org.qubership.integration.platform.engine.persistence.shared.entity.Property;
 import org.qubership.integration.platform.engine.service.CheckpointSessionService;
+import org.qubership.integration.platform.engine.service.checkpoints.CheckpointWriteBehindService;
 import org.qubership.integration.platform.engine.service.debugger.util.MessageHelper;
 import org.qubership.integration.platform.engine.util.ExchangeUtil;
 import org.qubership.integration.platform.engine.util.ExchangeUtils;
 import org.qubership.integration.platform.engine.util.InjectUtil;
 
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -54,18 +54,25 @@
 public class ContextSaverProcessor implements Processor {
 
     private final CheckpointSessionService checkpointSessionService;
+    private final CheckpointWriteBehindService checkpointWriteBehindService;
     private final ObjectMapper checkpointMapper;
     private final ContextOperationsWrapper contextOperations;
+    private final boolean binaryFormatEnabled;
 
     @Inject
     public ContextSaverProcessor(
             CheckpointSessionService checkpointSessionService,
+            CheckpointWriteBehindService checkpointWriteBehindService,
             @Identifier("checkpointMapper") ObjectMapper checkpointMapper,
-            Instance<ContextOperationsWrapper> contextOperations
+            Instance<ContextOperationsWrapper> contextOperations,
+            @ConfigProperty(name = "qip.sessions.checkpoints.binary-format.enabled", defaultValue = "false")
+            boolean binaryFormatEnabled
     ) {
         this.checkpointSessionService = checkpointSessionService;
+        this.checkpointWriteBehindService = checkpointWriteBehindService;
         this.checkpointMapper = checkpointMapper;
         this.contextOperations = InjectUtil.injectOptional(contextOperations).orElse(ContextManager::getSerializableContextData);
+        this.binaryFormatEnabled = binaryFormatEnabled;
     }
 
     @Override
@@ -82,7 +89,7 @@ public void process(Exchange exchange) throws Exception {
                                 ExchangeUtils.filterExchangeMap(
                                         exchange.getMessage().getHeaders(),
                                         entry -> !CamelConstants.isInternalHeader(entry.getKey()))))
-                        .body(body == null ? null : body.getBytes(StandardCharsets.UTF_8))
+                        .body(body == null ? null : serializeBody(body))
                         .properties(getPropertiesForSave(
                                 ExchangeUtils.filterExchangeMap(
                                         exchange.getProperties(),
@@ -93,7 +100,11 @@ public void process(Exchange exchange) throws Exception {
                 // dump propagation and tracing context
                 checkpoint.setContextData(checkpointMapper.writeValueAsString(contextOperations.getSerializableContextData()));
 
-                checkpointSessionService.saveAndAssignCheckpoint(checkpoint, ExchangeUtil.getSessionId(exchange));
+                if (checkpointWriteBehindService.isEnabled()) {
+                    checkpointWriteBehindService.saveAndAssignCheckpoint(checkpoint, ExchangeUtil.getSessionId(exchange));
+                } else {
+                    checkpointSessionService.saveAndAssignCheckpoint(checkpoint, ExchangeUtil.getSessionId(exchange));
+                }
             } else {
                 log.info("Checkpoint {} skipped due to chain triggered via chain call", exchange.getProperty(
                         CamelConstants.Properties.CHECKPOINT_ELEMENT_ID, String.class));
@@ -104,6 +115,10 @@ public void process(Exchange exchange) throws Exception {
         }
     }
 
+    byte[] serializeBody(String body) {
+        return binaryFormatEnabled ? CheckpointCodec.encodeBody(body) : body.getBytes(StandardCharsets.UTF_8);
+    }
+
     List<Property> getPropertiesForSave(Map<String, Object> properties) {
         return properties.entrySet().stream()
                 .map(entry -> Property.builder()
@@ -124,8 +139,7 @@ byte[] serializeProperty(Class<?> propertyClass, Object property) {
             }
 
             if (Serializable.class.isAssignableFrom(propertyClass) && !GroovyObject.class.isAssignableFrom(propertyClass)) {
-
-                return serializeWithIOLibrary(property);
+                return serializeWithCodec(property);
             }
         } catch (GroovyRuntimeException groovyRuntimeException) {
             //WA for put all classes that inherit groovy.xml.slurpersupport.GPathResult
@@ -149,12 +163,11 @@ byte[] serializeWithObjectMapper(Object property) {
     }
 
     // serialize properties with Serializable interface
-    byte[] serializeWithIOLibrary(final Object obj) throws Exception {
-        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-             ObjectOutputStream out = new ObjectOutputStream(bos)) {
-            out.writeObject(obj);
-            out.flush();
-            return bos.toByteArray();
+    byte[] serializeWithCodec(final Object obj) throws Exception {
+        try {
+            return binaryFormatEnabled
+                    ? CheckpointCodec.encodeProperty(obj)
+                    : CheckpointCodec.serializeProperty(obj);
         } catch (Exception ex) {
             throw new Exception(ex);
         }
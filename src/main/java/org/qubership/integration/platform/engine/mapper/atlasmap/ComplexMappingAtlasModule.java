@@ -33,7 +33,9 @@
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
 import static java.util.Objects.isNull;
@@ -44,6 +46,9 @@ public abstract class ComplexMappingAtlasModule extends DelegatingAtlasModule {
     private static final Logger LOG = LoggerFactory.getLogger(ComplexMappingAtlasModule.class);
 
     private static final String SOURCE_DOCUMENT_PROPERTY_PREFIX = "Atlas.SourceDocument.";
+    private static final int MAX_CACHED_DOCUMENT_PATHS = 1024;
+
+    private final Map<String, List<AtlasPath.SegmentContext>> documentPathSegments = new ConcurrentHashMap<>();
 
     public ComplexMappingAtlasModule(BaseAtlasModule atlasModule) {
         super(atlasModule);
@@ -60,21 +65,26 @@ public void processPreSourceExecution(AtlasInternalSession session) throws Atlas
             handleSourceLoadError("document is blank.");
         }
         try {
-            super.processPreSourceExecution(session);
+            loadSourceDocument(session);
         } catch (Exception exception) {
             handleSourceLoadError(exception);
         }
-        Object source = session.getSourceDocument(getDocId());
-        if (source instanceof String sourceText) {
-            try {
-                session.getSourceProperties().put(
-                        SOURCE_DOCUMENT_PROPERTY_PREFIX + getDocId(),
-                        getInspectionService().apply(session, sourceText)
-                );
-            } catch (Exception exception) {
-                AtlasUtil.addAudit(session, getDocId(), exception.getMessage(), AuditStatus.ERROR, null);
-            }
-        }
+    }
+
+    /**
+     * Creates the field reader for the source document. Modules that can parse the document
+     * once and share the result with {@link #inspectSourceDocument} override this.
+     */
+    protected void loadSourceDocument(AtlasInternalSession session) throws AtlasException {
+        super.processPreSourceExecution(session);
+    }
+
+    /**
+     * Builds the document model used to restore complex source fields, or returns null
+     * if the source document has a form this module can't inspect.
+     */
+    protected Document inspectSourceDocument(AtlasInternalSession session, Object source) {
+        return source instanceof String sourceText ? getInspectionService().apply(session, sourceText) : null;
     }
 
     private void handleSourceLoadError(String detail) throws AtlasException {
@@ -316,11 +326,30 @@ private Field copyFieldWithPathPrefixChange(Field field, String oldPathPrefix, S
     }
 
     private Optional<Field> buildFieldFromSourceDocument(AtlasInternalSession session, String path) {
-        return Optional.ofNullable(session.getSourceProperties().get(SOURCE_DOCUMENT_PROPERTY_PREFIX + getDocId()))
-                .map(Document.class::cast)
+        return Optional.ofNullable(getInspectedSourceDocument(session))
                 .flatMap(document -> findFieldsInDocument(document, path).stream().findFirst());
     }
 
+    /**
+     * The source document is inspected on the first read of a complex field without children
+     * and the result is kept for the rest of the session. Most mappings never need it.
+     */
+    private Document getInspectedSourceDocument(AtlasInternalSession session) {
+        String propertyName = SOURCE_DOCUMENT_PROPERTY_PREFIX + getDocId();
+        Object document = session.getSourceProperties().get(propertyName);
+        if (isNull(document)) {
+            try {
+                document = inspectSourceDocument(session, session.getSourceDocument(getDocId()));
+            } catch (Exception exception) {
+                AtlasUtil.addAudit(session, getDocId(), exception.getMessage(), AuditStatus.ERROR, null);
+            }
+            if (nonNull(document)) {
+                session.getSourceProperties().put(propertyName, document);
+            }
+        }
+        return (Document) document;
+    }
+
     Field populateComplexField(AtlasInternalSession session, Field sourceField, Field targetField)
             throws AtlasException {
         if (targetField instanceof ComplexField complexField) {
@@ -352,12 +381,22 @@ private List<Field> findFieldsInDocument(Document document, String path) {
         FieldGroup rootField = new FieldGroup();
         rootField.setFieldType(FieldType.COMPLEX);
         rootField.getField().addAll(document.getFields().getField());
-        AtlasPath atlasPath = new AtlasPath(path);
-        CollectionType collectionType = atlasPath.getRootSegment().getCollectionType();
-        boolean rootIsCollection = CollectionType.LIST.equals(collectionType)
-                || CollectionType.ARRAY.equals(collectionType);
-        List<AtlasPath.SegmentContext> segments = atlasPath.getSegments(rootIsCollection);
-        return findFields(rootField, segments);
+        return findFields(rootField, getDocumentPathSegments(path));
+    }
+
+    private List<AtlasPath.SegmentContext> getDocumentPathSegments(String path) {
+        List<AtlasPath.SegmentContext> segments = documentPathSegments.get(path);
+        if (isNull(segments)) {
+            AtlasPath atlasPath = new AtlasPath(path);
+            CollectionType collectionType = atlasPath.getRootSegment().getCollectionType();
+            boolean rootIsCollection = CollectionType.LIST.equals(collectionType)
+                    || CollectionType.ARRAY.equals(collectionType);
+            segments = List.copyOf(atlasPath.getSegments(rootIsCollection));
+            if (documentPathSegments.size() < MAX_CACHED_DOCUMENT_PATHS) {
+                documentPathSegments.put(path, segments);
+            }
+        }
+        return segments;
     }
 
     private List<Field> findFields(Field field, List<AtlasPath.SegmentContext> path) {
@@ -41,6 +41,8 @@
 
 @Slf4j
 public class CustomAtlasContext extends DefaultAtlasContext {
+    private static final java.lang.reflect.Field DEFAULT_TARGET_DOCUMENT_ID_FIELD = getDefaultTargetDocumentIdField();
+
     private ValidationResult cachedValidationResult;
 
     public CustomAtlasContext(URI atlasMappingUri) {
@@ -159,14 +161,29 @@ public AtlasSession createSession() throws AtlasException {
 
     private void overrideDefaultDocumentId(AtlasSession session) {
         try {
-            java.lang.reflect.Field f1 = session.getClass().getDeclaredField("defaultTargetDocumentId");
-            f1.setAccessible(true);
-            f1.set(session, "");
+            if (session.getClass() == DefaultAtlasSession.class && nonNull(DEFAULT_TARGET_DOCUMENT_ID_FIELD)) {
+                DEFAULT_TARGET_DOCUMENT_ID_FIELD.set(session, "");
+            } else {
+                java.lang.reflect.Field f1 = session.getClass().getDeclaredField("defaultTargetDocumentId");
+                f1.setAccessible(true);
+                f1.set(session, "");
+            }
         } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException exception) {
             log.error("Failed to override AtlasMap default document ID.", exception);
         }
     }
 
+    private static java.lang.reflect.Field getDefaultTargetDocumentIdField() {
+        try {
+            java.lang.reflect.Field field = DefaultAtlasSession.class.getDeclaredField("defaultTargetDocumentId");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | SecurityException exception) {
+            // looked up again on each session creation, which logs the error
+            return null;
+        }
+    }
+
     private void processSourceFieldGroup(DefaultAtlasSession session, FieldGroup sourceFieldGroup) throws AtlasException {
         processSourceFields(session, sourceFieldGroup.getField());
         session.head().setSourceField(sourceFieldGroup);
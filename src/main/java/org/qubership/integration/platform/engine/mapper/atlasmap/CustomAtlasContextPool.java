@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.engine.mapper.atlasmap;
+
+import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.v2.AtlasMapping;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of contexts for one mapping. A context resolves and initializes its modules
+ * when the first session is created and keeps them, so a borrowed context creates
+ * sessions without doing that again. A context is used by one exchange at a time.
+ */
+public class CustomAtlasContextPool {
+    private final DefaultAtlasContextFactory factory;
+    private final AtlasMapping mapping;
+    private final int maxIdle;
+    private final Queue<CustomAtlasContext> idleContexts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    public CustomAtlasContextPool(DefaultAtlasContextFactory factory, AtlasMapping mapping, int maxIdle) {
+        this.factory = factory;
+        this.mapping = mapping;
+        this.maxIdle = maxIdle;
+    }
+
+    public AtlasMapping getMapping() {
+        return mapping;
+    }
+
+    public CustomAtlasContext borrow() {
+        CustomAtlasContext context = idleContexts.poll();
+        if (context == null) {
+            return new CustomAtlasContext(factory, mapping);
+        }
+        idleCount.decrementAndGet();
+        return context;
+    }
+
+    /**
+     * Returns the context to the pool, or drops it if the pool already keeps {@code maxIdle} contexts.
+     */
+    public void release(CustomAtlasContext context) {
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idleContexts.offer(context);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    int getIdleCount() {
+        return idleCount.get();
+    }
+}
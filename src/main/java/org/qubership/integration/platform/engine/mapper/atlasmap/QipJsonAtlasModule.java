@@ -25,7 +25,6 @@
 import io.atlasmap.core.validate.BaseModuleValidationService;
 import io.atlasmap.json.core.JsonFieldWriter;
 import io.atlasmap.json.inspect.JsonInspectionException;
-import io.atlasmap.json.inspect.JsonInspectionService;
 import io.atlasmap.json.module.JsonModule;
 import io.atlasmap.json.v2.AtlasJsonModelFactory;
 import io.atlasmap.json.v2.JsonComplexType;
@@ -50,7 +49,7 @@
 public class QipJsonAtlasModule extends ComplexMappingAtlasModule {
     private static final Logger LOG = LoggerFactory.getLogger(QipJsonAtlasModule.class);
 
-    private final JsonInspectionService inspectionService;
+    private final QipJsonInspectionService inspectionService;
 
     public QipJsonAtlasModule() {
         super(new JsonModule());
@@ -87,22 +86,37 @@ public void processPreTargetExecution(AtlasInternalSession session) throws Atlas
     }
 
     @Override
-    public void processPreSourceExecution(AtlasInternalSession session) throws AtlasException {
-        super.processPreSourceExecution(session);
+    protected void loadSourceDocument(AtlasInternalSession session) throws AtlasException {
         Object sourceDocument = session.getSourceDocument(getDocId());
-        String sourceDocumentString = null;
-        if (sourceDocument == null || !(sourceDocument instanceof String)) {
+        QipAtlasJsonFieldReader fieldReader = new QipAtlasJsonFieldReader(getConversionService());
+        if (sourceDocument instanceof String text) {
+            fieldReader.setDocument(text);
+        } else if (sourceDocument instanceof JsonNode node) {
+            fieldReader.setDocument(node);
+        } else if (sourceDocument instanceof byte[] bytes) {
+            fieldReader.setDocument(bytes);
+        } else {
             AtlasUtil.addAudit(session, getDocId(), String.format(
                             "Null or non-String source document: docId='%s'", getDocId()),
                     AuditStatus.WARN, null);
-        } else {
-            sourceDocumentString = String.class.cast(sourceDocument);
         }
-        QipAtlasJsonFieldReader fieldReader = new QipAtlasJsonFieldReader(getConversionService());
-        fieldReader.setDocument(sourceDocumentString);
         session.setFieldReader(getDocId(), fieldReader);
     }
 
+    @Override
+    protected Document inspectSourceDocument(AtlasInternalSession session, Object source) {
+        QipAtlasJsonFieldReader fieldReader = session.getFieldReader(getDocId(), QipAtlasJsonFieldReader.class);
+        if (fieldReader == null || fieldReader.getDocument() == null) {
+            return super.inspectSourceDocument(session, source);
+        }
+        try {
+            return convertComplexObjectsToFieldGroups(inspectionService.inspectJsonDocument(fieldReader.getDocument()));
+        } catch (JsonInspectionException exception) {
+            AtlasUtil.addAudit(session, getDocId(), exception.getMessage(), AuditStatus.ERROR, "");
+            return AtlasJsonModelFactory.createJsonDocument();
+        }
+    }
+
     @Override
     public void processPostTargetExecution(AtlasInternalSession session) throws AtlasException {
         try {
@@ -30,7 +30,7 @@ static Expression parse(String expessionText, FunctionResolver functionResolver)
                 throw new ParseException("Function not found: " + name);
             };
         }
-        Object result = CACHE.get(expessionText);
+        Object result = ParsedExpressionCache.get(expessionText);
         if (result instanceof ExpressionException) {
             throw (ExpressionException) result;
         } else if (result instanceof Expression) {
@@ -41,11 +41,11 @@ static Expression parse(String expessionText, FunctionResolver functionResolver)
                 CustomExpressionParser parser = new CustomExpressionParser(new StringReader(actual));
                 parser.functionResolver = functionResolver;
                 Expression e = parser.parse();
-                CACHE.put(expessionText, e);
+                ParsedExpressionCache.put(expessionText, e);
                 return e;
             } catch (Throwable e) {
                 ExpressionException fe = new ExpressionException(actual, e);
-                CACHE.put(expessionText, fe);
+                ParsedExpressionCache.put(expessionText, fe);
                 throw fe;
             }
         }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.engine.mapper.atlasmap.expressions;
+
+import io.atlasmap.expression.Expression;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed expressions and parse errors by expression text, for {@link CustomExpression#parse}.
+ * Kept apart from {@link Expression#CACHE}, which the default parser fills with its own expressions
+ * for the same text. Lookups don't lock; the cache is cleared when it is full, mappings reparse
+ * their expressions once after that.
+ */
+final class ParsedExpressionCache {
+    static final int MAX_SIZE = 10_000;
+
+    // <expression text, Expression or ExpressionException>
+    private static final Map<String, Object> CACHE = new ConcurrentHashMap<>();
+
+    private ParsedExpressionCache() {
+    }
+
+    static Object get(String expressionText) {
+        return CACHE.get(expressionText);
+    }
+
+    static void put(String expressionText, Object result) {
+        if (CACHE.size() >= MAX_SIZE) {
+            CACHE.clear();
+        }
+        CACHE.putIfAbsent(expressionText, result);
+    }
+
+    static int size() {
+        return CACHE.size();
+    }
+}
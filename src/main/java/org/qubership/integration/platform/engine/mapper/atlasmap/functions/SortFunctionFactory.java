@@ -26,6 +26,7 @@
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldGroup;
 import io.atlasmap.v2.FieldType;
+import org.eclipse.microprofile.config.ConfigProvider;
 import org.qubership.integration.platform.engine.mapper.atlasmap.FieldUtils;
 
 import java.math.BigDecimal;
@@ -33,9 +34,22 @@
 import java.util.*;
 import java.util.function.Function;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.qubership.integration.platform.engine.mapper.atlasmap.FieldUtils.*;
 
 public class SortFunctionFactory extends BaseFunctionFactory {
+    /**
+     * Collections of at least this size are sorted with {@link Arrays#parallelSort}, zero or less disables it.
+     */
+    private static final int PARALLEL_SORT_THRESHOLD = ConfigProvider.getConfig()
+            .getOptionalValue("qip.mapper.sort-parallel-threshold", Integer.class)
+            .orElse(0);
+
+    private static final Comparator<Field> SCALAR_FIELD_COMPARATOR = getScalarFieldComparator();
+    private static final Comparator<Field> COLLECTION_FIELD_COMPARATOR =
+            getFieldCollectionComparator(SCALAR_FIELD_COMPARATOR);
+
     @Override
     public String getName() {
         return "sort";
@@ -66,30 +80,174 @@ public Expression create(List<Expression> args) throws ParseException {
                     return null;
                 }
             };
-            Comparator<Field> comparator = getFieldComparator(sortingKeyGetter);
-            collection.stream().sorted(comparator).forEachOrdered(f -> {
+            for (Field f : sort(collection, sortingKeyGetter)) {
                 replacePathPrefix(f, f.getPath(), field.getPath());
                 sorted.getField().add(f);
-            });
+            }
             return sorted;
         };
     }
 
-    private static Comparator<Field> getFieldComparator(Function<Field, Field> sortingKeyGetter) {
-        Comparator<Field> scalarFieldComparator = getScalarFieldComparator();
-        Comparator<Field> collectionFieldComparator = getFieldCollectionComparator(scalarFieldComparator);
-        return Comparator.comparing(
-                sortingKeyGetter,
-                Comparator.<Field, Boolean>comparing(Objects::isNull)
-                        .thenComparing(SortFunctionFactory::getFieldType)
-                        .thenComparing(field -> hasNotIndexedCollection(new AtlasPath(field.getPath())))
-                        .thenComparing((field1, field2) -> {
-                            Comparator<Field> comparator = hasNotIndexedCollection(new AtlasPath(field1.getPath()))
-                                    ? collectionFieldComparator
-                                    : scalarFieldComparator;
-                            return comparator.compare(field1, field2);
-                        })
-        );
+    /**
+     * Stable sort that evaluates the sorting key once per element instead of once per comparison.
+     */
+    static List<Field> sort(List<Field> collection, Function<Field, Field> sortingKeyGetter) {
+        if (collection.size() < 2) {
+            return collection;
+        }
+        SortKey[] keys = new SortKey[collection.size()];
+        for (int i = 0; i < keys.length; i++) {
+            Field element = collection.get(i);
+            keys[i] = new SortKey(element, sortingKeyGetter.apply(element));
+        }
+        if (PARALLEL_SORT_THRESHOLD > 0 && keys.length >= PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+        List<Field> result = new ArrayList<>(keys.length);
+        for (SortKey key : keys) {
+            result.add(key.element);
+        }
+        return result;
+    }
+
+    /**
+     * Sorting key of a collection element. Missing keys come last, then keys are ordered
+     * by field type, scalars before collections, then by value. Scalar values are converted once
+     * into the representation the field type is compared by.
+     */
+    private static final class SortKey implements Comparable<SortKey> {
+        private final Field element;
+        private final Field key;
+        private final FieldType fieldType;
+        private final boolean collection;
+        private final ScalarValue value;
+
+        private SortKey(Field element, Field key) {
+            this.element = element;
+            this.key = key;
+            this.fieldType = getFieldType(key);
+            this.collection = nonNull(key) && hasNotIndexedCollection(new AtlasPath(key.getPath()));
+            this.value = isNull(key) || collection ? null : ScalarValue.of(fieldType, key.getValue());
+        }
+
+        @Override
+        public int compareTo(SortKey other) {
+            if (isNull(key) || isNull(other.key)) {
+                return Boolean.compare(isNull(key), isNull(other.key));
+            }
+            int result = fieldType.compareTo(other.fieldType);
+            if (result != 0) {
+                return result;
+            }
+            result = Boolean.compare(collection, other.collection);
+            if (result != 0) {
+                return result;
+            }
+            return collection
+                    ? COLLECTION_FIELD_COMPARATOR.compare(key, other.key)
+                    : value.compareTo(other.value);
+        }
+    }
+
+    /**
+     * Scalar value in the form it's compared by: a primitive for integral, character and boolean
+     * types, a double or {@link BigDecimal} for decimal types and a comparable object otherwise.
+     * Null values come first. A value that can't be converted fails the sort when it's compared,
+     * as it did when values were converted inside the comparator.
+     */
+    private static final class ScalarValue implements Comparable<ScalarValue> {
+        private enum Kind { LONG, DOUBLE, OBJECT }
+
+        private final boolean present;
+        private final Kind kind;
+        private final long longValue;
+        private final double doubleValue;
+        private final Comparable<Object> objectValue;
+        private final RuntimeException conversionError;
+
+        private ScalarValue(
+                boolean present,
+                Kind kind,
+                long longValue,
+                double doubleValue,
+                Comparable<Object> objectValue,
+                RuntimeException conversionError
+        ) {
+            this.present = present;
+            this.kind = kind;
+            this.longValue = longValue;
+            this.doubleValue = doubleValue;
+            this.objectValue = objectValue;
+            this.conversionError = conversionError;
+        }
+
+        static ScalarValue of(FieldType fieldType, Object value) {
+            try {
+                return switch (fieldType) {
+                    case CHAR -> ofLong(value, (char) value);
+                    case BOOLEAN -> ofLong(value, (boolean) value ? 1 : 0);
+                    case INTEGER -> ofLong(value, (Integer) value);
+                    case SHORT -> ofLong(value, value instanceof Short || value instanceof Byte
+                            ? ((Number) value).longValue()
+                            : Short.parseShort(String.valueOf(value)));
+                    case LONG -> ofLong(value, isIntegral(value)
+                            ? ((Number) value).longValue()
+                            : Long.parseLong(String.valueOf(value)));
+                    case BYTE -> ofLong(value, value instanceof Byte b ? b : Byte.parseByte(String.valueOf(value)));
+                    case DOUBLE, FLOAT, NUMBER -> value instanceof Double d && Double.isFinite(d)
+                            ? new ScalarValue(true, Kind.DOUBLE, 0, d, null, null)
+                            : ofObject(value, new BigDecimal(String.valueOf(value)));
+                    case BIG_INTEGER -> ofObject(value, new BigInteger(String.valueOf(value)));
+                    default -> ofObject(value, String.valueOf(value));
+                };
+            } catch (RuntimeException exception) {
+                return new ScalarValue(nonNull(value), Kind.OBJECT, 0, 0, null, exception);
+            }
+        }
+
+        private static ScalarValue ofLong(Object value, long longValue) {
+            return new ScalarValue(nonNull(value), Kind.LONG, longValue, 0, null, null);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static ScalarValue ofObject(Object value, Comparable<?> objectValue) {
+            return new ScalarValue(nonNull(value), Kind.OBJECT, 0, 0, (Comparable<Object>) objectValue, null);
+        }
+
+        private static boolean isIntegral(Object value) {
+            return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+        }
+
+        @Override
+        public int compareTo(ScalarValue other) {
+            if (present != other.present) {
+                return Boolean.compare(present, other.present);
+            }
+            if (nonNull(conversionError)) {
+                throw conversionError;
+            }
+            if (nonNull(other.conversionError)) {
+                throw other.conversionError;
+            }
+            if (kind == Kind.LONG && other.kind == Kind.LONG) {
+                return Long.compare(longValue, other.longValue);
+            }
+            if (kind == Kind.DOUBLE && other.kind == Kind.DOUBLE) {
+                // BigDecimal comparison treats -0.0 and 0.0 as equal
+                return doubleValue < other.doubleValue ? -1 : (doubleValue > other.doubleValue ? 1 : 0);
+            }
+            return getObjectValue().compareTo(other.getObjectValue());
+        }
+
+        @SuppressWarnings("unchecked")
+        private Comparable<Object> getObjectValue() {
+            // a double compared with another decimal representation
+            return kind == Kind.DOUBLE
+                    ? (Comparable<Object>) (Comparable<?>) new BigDecimal(String.valueOf(doubleValue))
+                    : objectValue;
+        }
     }
 
     private static Comparator<Field> getFieldCollectionComparator(Comparator<Field> elementComparator) {
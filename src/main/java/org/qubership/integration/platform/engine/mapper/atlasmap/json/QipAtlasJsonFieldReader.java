@@ -16,7 +16,6 @@
 
 package org.qubership.integration.platform.engine.mapper.atlasmap.json;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.MapperFeature;
@@ -42,6 +41,9 @@
 
 @Slf4j
 public class QipAtlasJsonFieldReader implements AtlasFieldReader {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(MapperFeature.BLOCK_UNSAFE_POLYMORPHIC_BASE_TYPES);
+
     private AtlasConversionService conversionService;
     private JsonNode rootNode;
 
@@ -354,15 +356,32 @@ public void setDocument(String document) throws AtlasException {
             return;
         }
 
-        try {
-            JsonFactory factory = new JsonFactory();
-            ObjectMapper mapper = new ObjectMapper()
-                    .enable(MapperFeature.BLOCK_UNSAFE_POLYMORPHIC_BASE_TYPES);
-            JsonParser parser = factory.createParser(document);
-            this.rootNode = mapper.readTree(parser);
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(document)) {
+            this.rootNode = OBJECT_MAPPER.readTree(parser);
+        } catch (Exception e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    public void setDocument(byte[] document) throws AtlasException {
+        if (document == null || document.length == 0) {
+            this.rootNode = null;
+            return;
+        }
+
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(document)) {
+            this.rootNode = OBJECT_MAPPER.readTree(parser);
         } catch (Exception e) {
             throw new AtlasException(e);
         }
     }
 
+    public void setDocument(JsonNode document) {
+        this.rootNode = document;
+    }
+
+    public JsonNode getDocument() {
+        return rootNode;
+    }
+
 }
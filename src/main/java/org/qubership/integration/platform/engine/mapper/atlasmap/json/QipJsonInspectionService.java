@@ -16,6 +16,7 @@
 
 package org.qubership.integration.platform.engine.mapper.atlasmap.json;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.atlasmap.json.inspect.JsonInspectionException;
 import io.atlasmap.json.inspect.JsonInspectionService;
 import io.atlasmap.json.inspect.JsonSchemaInspector;
@@ -34,6 +35,16 @@ public JsonDocument inspectJsonDocument(String sourceDocument) throws JsonInspec
         return StringUtils.isBlank(sourceDocument) ? new JsonDocument() : doInspectJsonDocument(sourceDocument);
     }
 
+    public JsonDocument inspectJsonDocument(JsonNode sourceDocument) throws JsonInspectionException {
+        if (sourceDocument == null || sourceDocument.isMissingNode()) {
+            return new JsonDocument();
+        }
+        if (sourceDocument.isContainerNode()) {
+            return jsonInstanceInspector.inspect(sourceDocument);
+        }
+        throw new JsonInspectionException("JSON data must begin with either '{' or '['");
+    }
+
     @Override
     public JsonDocument inspectJsonSchema(String jsonSchema) throws JsonInspectionException {
         return StringUtils.isBlank(jsonSchema) ? new JsonDocument() : doInspectJsonSchema(jsonSchema);
@@ -46,6 +46,8 @@ public class QipJsonInstanceInspector implements JsonInspector {
 
 
     private static final Logger LOG = LoggerFactory.getLogger(QipJsonInstanceInspector.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(MapperFeature.BLOCK_UNSAFE_POLYMORPHIC_BASE_TYPES);
 
     public QipJsonInstanceInspector() {
     }
@@ -58,36 +60,39 @@ public JsonDocument inspect(String instance) throws JsonInspectionException {
             throw new IllegalArgumentException("JSON instance cannot be null");
         }
         try {
-            JsonDocument jsonDocument = AtlasJsonModelFactory.createJsonDocument();
-            ObjectMapper objectMapper = new ObjectMapper()
-                .enable(MapperFeature.BLOCK_UNSAFE_POLYMORPHIC_BASE_TYPES);
-
-            JsonNode rootNode = objectMapper.readTree(instance);
-            if (rootNode.isObject()) {
-                Iterator<Entry<String, JsonNode>> fields = rootNode.fields();
-                while (fields.hasNext()) {
-                    Entry<String, JsonNode> e = fields.next();
-                    String key = e.getKey();
-                    JsonNode node = e.getValue();
-                    if (node.isObject()) {
-                        handleObjectNode(jsonDocument, null, key, (ObjectNode) node, false);
-                    } else if (node.isArray()) {
-                        handleArrayNode(jsonDocument, null, key, (ArrayNode) node);
-                    } else {
-                        createChildJsonField(jsonDocument, null, key, (ValueNode) node, false);
-                    }
-                }
-            } else if (rootNode.isArray()) {
-                handleArrayNode(jsonDocument, null, "", (ArrayNode) rootNode);
-            } else {
-                throw new IllegalArgumentException("JSON root must be object or array");
-            }
-            return jsonDocument;
+            return inspect(OBJECT_MAPPER.readTree(instance));
         } catch (IOException e) {
             throw new JsonInspectionException(e);
         }
     }
 
+    public JsonDocument inspect(JsonNode rootNode) {
+        if (rootNode == null) {
+            throw new IllegalArgumentException("JSON instance cannot be null");
+        }
+        JsonDocument jsonDocument = AtlasJsonModelFactory.createJsonDocument();
+        if (rootNode.isObject()) {
+            Iterator<Entry<String, JsonNode>> fields = rootNode.fields();
+            while (fields.hasNext()) {
+                Entry<String, JsonNode> e = fields.next();
+                String key = e.getKey();
+                JsonNode node = e.getValue();
+                if (node.isObject()) {
+                    handleObjectNode(jsonDocument, null, key, (ObjectNode) node, false);
+                } else if (node.isArray()) {
+                    handleArrayNode(jsonDocument, null, key, (ArrayNode) node);
+                } else {
+                    createChildJsonField(jsonDocument, null, key, (ValueNode) node, false);
+                }
+            }
+        } else if (rootNode.isArray()) {
+            handleArrayNode(jsonDocument, null, "", (ArrayNode) rootNode);
+        } else {
+            throw new IllegalArgumentException("JSON root must be object or array");
+        }
+        return jsonDocument;
+    }
+
     private JsonComplexType handleObjectNode(JsonDocument rootDocument, JsonComplexType parent, String key, ObjectNode objectNode, boolean isArray) {
         if (LOG.isTraceEnabled()) {
             LOG.trace("Handling object node: {}", objectNode);
@@ -6,26 +6,6 @@
 import java.util.function.Supplier;
 
 public class CachingPayloadSupplierWrapper implements Payload {
-    private static class CachingSupplier<T> implements Supplier<T> {
-        private final Supplier<T> delegate;
-        private T cached;
-
-        public CachingSupplier(Supplier<T> delegate) {
-            this.delegate = delegate;
-            this.cached = null;
-        }
-
-        @Override
-        public T get() {
-            synchronized (this) {
-                if (cached == null) {
-                    cached = delegate.get();
-                }
-            }
-            return cached;
-        }
-    }
-
     private final Supplier<Map<String, String>> headerSupplier;
     private final Supplier<Map<String, String>> contextSupplier;
     private final Supplier<Map<String, SessionElementProperty>> propertiesSupplier;
@@ -0,0 +1,27 @@
+package org.qubership.integration.platform.engine.model.logging;
+
+import java.util.function.Supplier;
+
+/**
+ * Supplier that calls its delegate at most once (unless the delegate returns null)
+ * and returns the cached value afterwards.
+ */
+public class CachingSupplier<T> implements Supplier<T> {
+    private final Supplier<T> delegate;
+    private T cached;
+
+    public CachingSupplier(Supplier<T> delegate) {
+        this.delegate = delegate;
+        this.cached = null;
+    }
+
+    @Override
+    public T get() {
+        synchronized (this) {
+            if (cached == null) {
+                cached = delegate.get();
+            }
+        }
+        return cached;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.engine.opensearch;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.JsonpSerializable;
+import org.opensearch.client.json.JsonpUtils;
+import org.opensearch.client.json.jackson.JacksonJsonpGenerator;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Document that is already serialized to JSON. Lets a bulk request reuse the bytes
+ * produced for size accounting instead of serializing the document object again.
+ */
+public class PreSerializedDocument implements JsonpSerializable {
+    private final byte[] json;
+
+    public PreSerializedDocument(byte[] json) {
+        this.json = json;
+    }
+
+    public int size() {
+        return json.length;
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, JsonpMapper mapper) {
+        if (generator instanceof JacksonJsonpGenerator jacksonGenerator) {
+            try {
+                jacksonGenerator.jacksonGenerator().writeRawValue(new RawJson(json));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            try (JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(json))) {
+                JsonpUtils.copy(parser, generator);
+            }
+        }
+    }
+
+    /**
+     * Raw value handing its UTF-8 bytes to byte-based generators as is. Generators writing characters
+     * get the decoded string.
+     */
+    private static final class RawJson implements SerializableString {
+        private final byte[] json;
+        private SerializedString decoded;
+
+        private RawJson(byte[] json) {
+            this.json = json;
+        }
+
+        private SerializedString decoded() {
+            if (decoded == null) {
+                decoded = new SerializedString(new String(json, StandardCharsets.UTF_8));
+            }
+            return decoded;
+        }
+
+        @Override
+        public String getValue() {
+            return decoded().getValue();
+        }
+
+        @Override
+        public int charLength() {
+            return decoded().charLength();
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return decoded().asQuotedChars();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return json;
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return decoded().asQuotedUTF8();
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            return decoded().appendQuotedUTF8(buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            return decoded().appendQuoted(buffer, offset);
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + json.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(json, 0, buffer, offset, json.length);
+            return json.length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            return decoded().appendUnquoted(buffer, offset);
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            return decoded().writeQuotedUTF8(out);
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(json);
+            return json.length;
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+            return decoded().putQuotedUTF8(buffer);
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) throws IOException {
+            if (json.length > buffer.remaining()) {
+                return -1;
+            }
+            buffer.put(json);
+            return json.length;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.engine.persistence;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Deletes expired records in chunks, each in its own transaction, pausing between chunks,
+ * so a backlog of expired records does not hold locks and WAL in one long transaction.
+ */
+@ApplicationScoped
+public class ExpiredRecordsCleaner {
+    private final TransactionHandler transactionHandler;
+
+    @Inject
+    public ExpiredRecordsCleaner(TransactionHandler transactionHandler) {
+        this.transactionHandler = transactionHandler;
+    }
+
+    /**
+     * Builds a statement deleting at most {@code :limit} records of the table whose {@code expires_at}
+     * has passed. Rows are picked by ctid, and rows locked by a concurrent cleanup on another engine
+     * are skipped.
+     */
+    public static String deleteExpiredChunkSql(String table) {
+        return """
+            delete from
+                    %1$s r
+                where
+                    r.ctid = any(array(
+                        select
+                            e.ctid
+                        from
+                            %1$s e
+                        where
+                            e.expires_at < now()
+                        limit :limit
+                        for update skip locked
+                    ))
+        """.formatted(table);
+    }
+
+    /**
+     * Runs {@code deleteChunk} with {@code chunkSize} as the limit until a chunk comes back short
+     * or the thread is interrupted during a pause.
+     *
+     * @param deleteChunk deletes at most the given number of records and returns the number deleted
+     * @param chunkDeleted receives the number of records deleted by each committed chunk
+     */
+    public void deleteInChunks(int chunkSize, Duration pause, IntUnaryOperator deleteChunk, IntConsumer chunkDeleted) {
+        AtomicInteger deleted = new AtomicInteger();
+        do {
+            transactionHandler.runInNewSchedulerTransaction(() -> deleted.set(deleteChunk.applyAsInt(chunkSize)));
+            chunkDeleted.accept(deleted.get());
+        } while (deleted.get() >= chunkSize && pause(pause));
+    }
+
+    private static boolean pause(Duration pause) {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -18,15 +18,40 @@
 
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
+import org.qubership.integration.platform.engine.persistence.ExpiredRecordsCleaner;
 import org.qubership.integration.platform.engine.persistence.shared.entity.ContextSystemRecords;
 
-import java.sql.Timestamp;
-import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
 public class ContextStorageRepository implements PanacheRepositoryBase<ContextSystemRecords, String> {
+    // the new key is merged into value -> 'context' by the database, which locks the row on conflict
+    static final String UPSERT_CONTEXT_VALUE_SQL = """
+        insert into
+                engine.context_system_records as r
+                    (id, value, context_service_id, context_id, created_at, updated_at, expires_at)
+            values (
+                :id,
+                jsonb_build_object('context', jsonb_build_object(:contextKey ::text, :contextValue ::text)),
+                :contextServiceId,
+                :contextId,
+                now(),
+                now(),
+                now() + make_interval(secs => :ttl)
+            )
+            on conflict (context_service_id, context_id) do update
+                set
+                    value = jsonb_set(
+                        coalesce(r.value, '{}'::jsonb),
+                        '{context}',
+                        coalesce(r.value -> 'context', '{}'::jsonb) || (excluded.value -> 'context')
+                    ),
+                    updated_at = now(),
+                    expires_at = excluded.expires_at
+    """;
+
     public Optional<ContextSystemRecords> findByContextServiceIdAndContextId(
             String contextServiceId,
             String contextId
@@ -43,12 +68,36 @@ public void deleteRecordByContextServiceIdAndContextId(
         delete("contextServiceId = ?1 and contextId = ?2", contextServiceId, contextId);
     }
 
-    public @Transactional
-    List<ContextSystemRecords> findAllByExpiresAtBefore(Timestamp expiresAt) {
-        return list("expiresAt < ?1", expiresAt);
+    /**
+     * Creates the record or merges the key into the context of the existing one in a single statement,
+     * so concurrent writers to the same context do not overwrite each other's keys.
+     */
+    @Transactional
+    public void upsertContextValue(
+            String id,
+            String contextServiceId,
+            String contextId,
+            String contextKey,
+            String contextValue,
+            long ttl
+    ) {
+        Query query = getEntityManager().createNativeQuery(UPSERT_CONTEXT_VALUE_SQL, ContextSystemRecords.class);
+        query.setParameter("id", id);
+        query.setParameter("contextServiceId", contextServiceId);
+        query.setParameter("contextId", contextId);
+        query.setParameter("contextKey", contextKey);
+        query.setParameter("contextValue", contextValue);
+        query.setParameter("ttl", ttl);
+        query.executeUpdate();
     }
 
-    public void deleteByIds(List<String> ids) {
-        delete("id in (?1)", ids);
+    /**
+     * Deletes at most {@code limit} expired records without loading them.
+     */
+    public int deleteExpired(int limit) {
+        Query query = getEntityManager().createNativeQuery(
+                ExpiredRecordsCleaner.deleteExpiredChunkSql("engine.context_system_records"), ContextSystemRecords.class);
+        query.setParameter("limit", limit);
+        return query.executeUpdate();
     }
 }
@@ -3,6 +3,7 @@
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.Query;
+import org.qubership.integration.platform.engine.persistence.ExpiredRecordsCleaner;
 import org.qubership.integration.platform.engine.persistence.shared.entity.IdempotencyRecord;
 
 @ApplicationScoped
@@ -83,11 +84,13 @@ r.expires_at < now()
         return query.executeUpdate();
     }
 
-    public int deleteExpired() {
-        String sql = """
-            delete from engine.idempotency_records r where r.expires_at < now()
-        """;
-        Query query = getEntityManager().createNativeQuery(sql, IdempotencyRecord.class);
+    /**
+     * Deletes at most {@code limit} expired records found by the expires_at index.
+     */
+    public int deleteExpired(int limit) {
+        Query query = getEntityManager().createNativeQuery(
+                ExpiredRecordsCleaner.deleteExpiredChunkSql("engine.idempotency_records"), IdempotencyRecord.class);
+        query.setParameter("limit", limit);
         return query.executeUpdate();
     }
 
@@ -30,6 +30,7 @@
 import org.qubership.integration.platform.engine.service.VariablesService;
 import org.qubership.integration.platform.engine.service.contextstorage.ContextStorageService;
 import org.qubership.integration.platform.engine.service.debugger.ChainRuntimePropertiesService;
+import org.qubership.integration.platform.engine.service.debugger.sessions.OpenSearchWriter;
 
 import java.util.List;
 import java.util.Map;
@@ -60,6 +61,9 @@ public class TasksScheduler {
     @Inject
     ContextStorageService contextStorageService;
 
+    @Inject
+    OpenSearchWriter openSearchWriter;
+
     @Scheduled(
             every = "PT2.5S",
             concurrentExecution = Scheduled.ConcurrentExecution.SKIP,
@@ -80,6 +84,16 @@ public void refreshSecuredVariables() {
         variableService.refreshSecuredVariables();
     }
 
+    @Scheduled(
+            every = "1s",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP,
+            skipExecutionIf = Scheduled.ApplicationNotRunning.class,
+            executeWith = Scheduled.SIMPLE
+    )
+    public void flushDeferredSessionElements() {
+        openSearchWriter.flushDeferredElements();
+    }
+
     @Scheduled(
             cron = "${qip.sessions.checkpoints.cleanup.cron}",
             concurrentExecution = Scheduled.ConcurrentExecution.SKIP,
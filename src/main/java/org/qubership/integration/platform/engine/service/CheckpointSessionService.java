@@ -172,6 +172,11 @@ public void saveAndAssignCheckpoint(Checkpoint checkpoint, String sessionId) {
         sessionInfo.assignCheckpoint(checkpoint);
     }
 
+    @Transactional
+    public boolean checkpointExists(String checkpointId) {
+        return checkpointRepository.count("id", checkpointId) > 0;
+    }
+
     @Transactional
     public Checkpoint findCheckpoint(String sessionId, String chainId, String checkpointElementId) {
         return checkpointRepository.findFirstBySessionIdAndSessionChainIdAndCheckpointElementId(
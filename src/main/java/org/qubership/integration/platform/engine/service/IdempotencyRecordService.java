@@ -24,23 +24,43 @@
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.qubership.integration.platform.engine.camel.idempotency.IdempotencyRecordData;
 import org.qubership.integration.platform.engine.camel.idempotency.IdempotencyRecordStatus;
+import org.qubership.integration.platform.engine.persistence.ExpiredRecordsCleaner;
 import org.qubership.integration.platform.engine.persistence.shared.repository.IdempotencyRecordRepository;
+import org.qubership.integration.platform.engine.service.debugger.metrics.MetricsStore;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @ApplicationScoped
 public class IdempotencyRecordService {
     private final ObjectMapper objectMapper;
     private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ExpiredRecordsCleaner expiredRecordsCleaner;
+    private final MetricsStore metricsStore;
+    private final int cleanupChunkSize;
+    private final Duration cleanupChunkPause;
 
     @Inject
     public IdempotencyRecordService(
             @Identifier("jsonMapper") ObjectMapper objectMapper,
-            IdempotencyRecordRepository idempotencyRecordRepository
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            ExpiredRecordsCleaner expiredRecordsCleaner,
+            MetricsStore metricsStore,
+            @ConfigProperty(name = "qip.idempotency.expired-records-cleanup-chunk-size", defaultValue = "5000")
+            int cleanupChunkSize,
+            @ConfigProperty(name = "qip.idempotency.expired-records-cleanup-chunk-pause", defaultValue = "100ms")
+            Duration cleanupChunkPause
     ) {
         this.objectMapper = objectMapper;
         this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.expiredRecordsCleaner = expiredRecordsCleaner;
+        this.metricsStore = metricsStore;
+        this.cleanupChunkSize = Math.max(1, cleanupChunkSize);
+        this.cleanupChunkPause = cleanupChunkPause;
     }
 
     @Transactional
@@ -67,14 +87,27 @@ public boolean delete(String key) {
         return idempotencyRecordRepository.deleteByKeyAndNotExpired(key) > 0;
     }
 
+    /**
+     * Deletes expired records in chunks, see {@link ExpiredRecordsCleaner}.
+     */
     @Scheduled(
             cron = "${qip.idempotency.expired-records-cleanup-cron:0 */5 * ? * *}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP,
             executeWith = Scheduled.SIMPLE
     )
-    @Transactional
     public void deleteExpired() {
         log.debug("Deleting expired idempotency records.");
-        idempotencyRecordRepository.deleteExpired();
+        long startTime = System.nanoTime();
+        AtomicLong deleted = new AtomicLong();
+        boolean failed = true;
+        try {
+            expiredRecordsCleaner.deleteInChunks(cleanupChunkSize, cleanupChunkPause,
+                    idempotencyRecordRepository::deleteExpired, deleted::addAndGet);
+            failed = false;
+        } finally {
+            metricsStore.processIdempotencyCleanup(System.nanoTime() - startTime, deleted.get(), failed);
+            log.debug("Deleted {} expired idempotency records.", deleted.get());
+        }
     }
 
     private String buildIdempotencyRecordData() {
@@ -14,21 +14,87 @@
  * limitations under the License.
  */
 
+
 package org.qubership.integration.platform.engine.service;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.*;
+import java.util.function.BiConsumer;
 
-public class MergedVariablesMap<K, V> extends HashMap<K, V> {
-    private final Set<K> securedVariableNames;
+/**
+ * Variables map of an exchange.
+ *
+ * <p>A map created by {@link #overlay(Map)} reads through to a shared read-only snapshot of the variables:
+ * writes go to the map's own entries and removed keys, reads look at them first and then at the snapshot.
+ * The snapshot is never copied and reads never change the map, so sub-exchanges of parallel splits and
+ * multicasts sharing the map can read it concurrently.
+ */
+public class MergedVariablesMap<K, V> extends AbstractMap<K, V> implements Serializable {
+    private final Set<K> securedVariableNames = new HashSet<>();
+
+    // never changed, entries of it not overridden by own entries or removed are entries of the map
+    private Map<? extends K, ? extends V> snapshot = Collections.emptyMap();
+    private final Map<K, V> ownEntries = new HashMap<>();
+    // keys of the snapshot removed from the map, never own entries keys
+    private final Set<Object> removedKeys = new HashSet<>();
+    private int size;
 
     MergedVariablesMap() {
-        this.securedVariableNames = new HashSet<>();
     }
 
-    private Set<K> getSecuredVariableNames() {
+    /**
+     * @param snapshot variables map that is never changed afterward
+     */
+    static <K, V> MergedVariablesMap<K, V> overlay(Map<? extends K, ? extends V> snapshot) {
+        MergedVariablesMap<K, V> map = new MergedVariablesMap<>();
+        if (snapshot instanceof MergedVariablesMap<? extends K, ? extends V> merged) {
+            map.securedVariableNames.addAll(merged.getSecuredVariableNames());
+        }
+        map.snapshot = snapshot;
+        map.size = snapshot.size();
+        return map;
+    }
+
+    private Set<? extends K> getSecuredVariableNames() {
         return securedVariableNames;
     }
 
+    private boolean isVisible(Object key) {
+        return !ownEntries.containsKey(key) && !removedKeys.contains(key) && snapshot.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return ownEntries.containsKey(key) || (!removedKeys.contains(key) && snapshot.containsKey(key));
+    }
+
+    @Override
+    public V get(Object key) {
+        V value = ownEntries.get(key);
+        if (value != null || ownEntries.containsKey(key) || removedKeys.contains(key)) {
+            return value;
+        }
+        return snapshot.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        boolean present = containsKey(key);
+        V previous = get(key);
+        ownEntries.put(key, value);
+        removedKeys.remove(key);
+        if (!present) {
+            size++;
+        }
+        return previous;
+    }
+
     @Override
     public void putAll(Map<? extends K, ? extends V> map) {
         if (map instanceof MergedVariablesMap) {
@@ -36,7 +102,7 @@ public void putAll(Map<? extends K, ? extends V> map) {
                     ((MergedVariablesMap<K, V>) map).getSecuredVariableNames());
         }
 
-        super.putAll(map);
+        map.forEach(this::put);
     }
 
     public void putAll(Map<? extends K, ? extends V> map, boolean isSecret) {
@@ -44,21 +110,164 @@ public void putAll(Map<? extends K, ? extends V> map, boolean isSecret) {
             securedVariableNames.addAll(map.keySet());
         }
 
-        super.putAll(map);
+        map.forEach(this::put);
     }
 
     @Override
     public V remove(Object key) {
         securedVariableNames.remove(key);
 
-        return super.remove(key);
+        if (!containsKey(key)) {
+            return null;
+        }
+        V previous = get(key);
+        ownEntries.remove(key);
+        removed(key);
+        return previous;
+    }
+
+    // bookkeeping of a key removed from the own entries, or of a removed visible snapshot entry
+    private void removed(Object key) {
+        if (snapshot.containsKey(key)) {
+            removedKeys.add(key);
+        }
+        size--;
     }
 
     @Override
-    public boolean remove(Object key, Object value) {
-        securedVariableNames.remove(key);
+    public void clear() {
+        snapshot = Collections.emptyMap();
+        ownEntries.clear();
+        removedKeys.clear();
+        size = 0;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        ownEntries.forEach(action);
+        snapshot.forEach((key, value) -> {
+            if (isVisible(key)) {
+                action.accept(key, value);
+            }
+        });
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySetView();
+    }
+
+    // the snapshot is serialized as own entries, so the serialized map doesn't depend on it
+    @Serial
+    private Object writeReplace() {
+        if (snapshot.isEmpty()) {
+            return this;
+        }
+        MergedVariablesMap<K, V> copy = new MergedVariablesMap<>();
+        copy.securedVariableNames.addAll(securedVariableNames);
+        forEach(copy::put);
+        return copy;
+    }
+
+    /**
+     * Own entries, then visible snapshot entries. {@link Entry#setValue} of snapshot entries
+     * puts an own entry.
+     */
+    private final class MergedIterator implements Iterator<Entry<K, V>> {
+        private final Iterator<Entry<K, V>> own = ownEntries.entrySet().iterator();
+        private final Iterator<? extends Entry<? extends K, ? extends V>> shared = snapshot.entrySet().iterator();
+        private Entry<K, V> nextShared;
+        private Entry<K, V> current;
+        private boolean currentOwn;
+
+        @Override
+        public boolean hasNext() {
+            return own.hasNext() || advanceShared();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (own.hasNext()) {
+                current = own.next();
+                currentOwn = true;
+            } else if (advanceShared()) {
+                current = nextShared;
+                currentOwn = false;
+                nextShared = null;
+            } else {
+                throw new NoSuchElementException();
+            }
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            if (currentOwn) {
+                own.remove();
+                securedVariableNames.remove(current.getKey());
+                removed(current.getKey());
+            } else {
+                MergedVariablesMap.this.remove(current.getKey());
+            }
+            current = null;
+        }
+
+        private boolean advanceShared() {
+            while (nextShared == null && shared.hasNext()) {
+                Entry<? extends K, ? extends V> entry = shared.next();
+                if (isVisible(entry.getKey())) {
+                    nextShared = new SharedEntry(entry.getKey(), entry.getValue());
+                }
+            }
+            return nextShared != null;
+        }
+    }
+
+    private final class SharedEntry extends SimpleEntry<K, V> {
+        private SharedEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            super.setValue(value);
+            return MergedVariablesMap.this.put(getKey(), value);
+        }
+    }
+
+    private final class EntrySetView extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new MergedIterator();
+        }
 
-        return super.remove(key, value);
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Entry<?, ?> entry && containsKey(entry.getKey())
+                    && Objects.equals(get(entry.getKey()), entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            MergedVariablesMap.this.remove(((Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            MergedVariablesMap.this.clear();
+        }
     }
 
     @Override
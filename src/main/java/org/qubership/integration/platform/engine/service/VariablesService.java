@@ -38,12 +38,15 @@
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Slf4j
 @ApplicationScoped
@@ -51,16 +54,24 @@ public class VariablesService {
     private static final Pattern VARIABLE_PATTERN = Pattern.compile("#\\{[a-zA-Z0-9:._-]+\\}");
     private static final String SECRET_VARIABLE_SEPARATOR = ":";
     public static final String NAMESPACE_VARIABLE = "namespace";
+    // route XML is resolved once per deployment, keeping it compiled isn't worth the memory
+    private static final int MAX_CACHED_TEXT_LENGTH = 64 * 1024;
 
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
     private Map<String, String> commonVariables = Collections.emptyMap();
     private Map<String, String> securedVariables = Collections.emptyMap();
-    private Map<String, String> mergedVariables = Collections.emptyMap();
+    // replaced, never changed, exchanges read through to it
+    private volatile Map<String, String> mergedVariables = Collections.emptyMap();
 
+    private Map<String, String> escapedVariables = Collections.emptyMap();
+    private Set<String> blankVariables = Collections.emptySet();
     private StringSubstitutor substitutor;
     private StringSubstitutor substitutorEscaped;
 
+    // <text, compiled text>, in access order
+    private final Map<String, VariablesTemplate> templateCache;
+
     private final KubeOperator operator;
     private final ApplicationConfiguration applicationConfiguration;
     private final UpdateGetterHelper<Map<String, String>> commonVariablesUpdateGetter;
@@ -75,7 +86,8 @@ public VariablesService(
             @Named("commonVariablesUpdateGetter") UpdateGetterHelper<Map<String, String>> commonVariablesUpdateGetter,
             @ConfigProperty(name = "kubernetes.variables-secret.label") String kubeSecretsLabel,
             @ConfigProperty(name = "kubernetes.variables-secret.name") String kubeSecretV2Name,
-            StartupErrorHandlingConfiguration startupErrorHandlingConfiguration
+            StartupErrorHandlingConfiguration startupErrorHandlingConfiguration,
+            @ConfigProperty(name = "qip.variables.template-cache-size", defaultValue = "128") int templateCacheSize
     ) {
         this.operator = operator;
         this.commonVariablesUpdateGetter = commonVariablesUpdateGetter;
@@ -83,6 +95,12 @@ public VariablesService(
         this.kubeSecretV2Name = kubeSecretV2Name;
         this.kubeSecretsLabel = Pair.of(kubeSecretsLabel, "secured");
         this.startupErrorHandlingConfiguration = startupErrorHandlingConfiguration;
+        this.templateCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VariablesTemplate> eldest) {
+                return size() > templateCacheSize;
+            }
+        };
         updateSubstitutors(Collections.emptyMap());
     }
 
@@ -108,24 +126,12 @@ public String injectVariables(String text, boolean escapeDesignTimeVariables) {
             return null;
         }
 
+        VariablesTemplate template = getTemplate(text);
         lock.readLock().lock();
         try {
-            // remove empty properties in components
-            for (Map.Entry<String, String> entry : mergedVariables.entrySet()) {
-                if (entry.getValue().trim().isEmpty()) {
-                    text = text
-                        .replaceAll("(&amp;)?[a-zA-Z0-9_-]+=#?\\{" + entry.getKey() + "\\}", "");
-                }
-            }
-
-            // substitute variables
-            // #{var}
-            if (!escapeDesignTimeVariables) {
-                text = substitutor.replace(text);
-            } else {
-                text = substitutorEscaped.replace(text);
-            }
-
+            String result = template.render(
+                    escapeDesignTimeVariables ? escapedVariables : mergedVariables, blankVariables);
+            text = result != null ? result : substituteVariables(text, escapeDesignTimeVariables);
         } finally {
             lock.readLock().unlock();
         }
@@ -138,10 +144,49 @@ public String injectVariables(String text, boolean escapeDesignTimeVariables) {
         return text;
     }
 
+    private VariablesTemplate getTemplate(String text) {
+        if (text.length() > MAX_CACHED_TEXT_LENGTH) {
+            return VariablesTemplate.compile(text);
+        }
+        synchronized (templateCache) {
+            VariablesTemplate template = templateCache.get(text);
+            if (template != null) {
+                return template;
+            }
+        }
+        VariablesTemplate template = VariablesTemplate.compile(text);
+        synchronized (templateCache) {
+            templateCache.put(text, template);
+        }
+        return template;
+    }
+
+    // resolves text the template can't render, must be called under the read lock
+    String substituteVariables(String text, boolean escapeDesignTimeVariables) {
+        // remove empty properties in components
+        for (String variable : blankVariables) {
+            text = text
+                .replaceAll("(&amp;)?[a-zA-Z0-9_-]+=#?\\{" + variable + "\\}", "");
+        }
+
+        // substitute variables
+        // #{var}
+        return escapeDesignTimeVariables ? substitutorEscaped.replace(text) : substitutor.replace(text);
+    }
+
+    /**
+     * Exposes the variables to the exchange as a map reading through to the current variables,
+     * so creating an exchange doesn't copy them.
+     */
     public void injectVariablesToExchangeProperties(Map<String, Object> properties) {
-        ((MergedVariablesMap<String, Object>) properties.computeIfAbsent(
-                CamelConstants.Properties.VARIABLES_PROPERTY_MAP_NAME, k -> new MergedVariablesMap<String, Object>()))
-                .putAll(mergedVariables);
+        Map<String, String> variables = mergedVariables;
+        Object current = properties.get(CamelConstants.Properties.VARIABLES_PROPERTY_MAP_NAME);
+        if (current == null) {
+            properties.put(CamelConstants.Properties.VARIABLES_PROPERTY_MAP_NAME,
+                    MergedVariablesMap.<String, Object>overlay(variables));
+        } else {
+            ((MergedVariablesMap<String, Object>) current).putAll(variables);
+        }
     }
 
     public void refreshSecuredVariables() {
@@ -213,12 +258,13 @@ private void mergeVariables() {
         lock.writeLock().lock();
         try {
             // merge variables
-            mergedVariables = new MergedVariablesMap<>();
-            mergedVariables.putAll(commonVariables);
-            mergedVariables.putAll(securedVariables);
+            Map<String, String> variables = new MergedVariablesMap<>();
+            variables.putAll(commonVariables);
+            variables.putAll(securedVariables);
 
             // build substitutors
-            updateSubstitutors(mergedVariables);
+            updateSubstitutors(variables);
+            mergedVariables = variables;
         } finally {
             lock.writeLock().unlock();
         }
@@ -229,6 +275,11 @@ private void updateSubstitutors(Map<String, String> variables) {
         Map<String, String> variablesToEscape = new HashMap<>(variables);
         variablesToEscape.forEach((k, v) -> variablesToEscape.replace(k, StringEscapeUtils.escapeXml10(v)));
         substitutorEscaped = buildSubst(variablesToEscape, "#{");
+        escapedVariables = variablesToEscape;
+        blankVariables = variables.entrySet().stream()
+                .filter(entry -> entry.getValue().trim().isEmpty())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
     }
 
     private StringSubstitutor buildSubst(Map<String, String> variables, String prefix) {
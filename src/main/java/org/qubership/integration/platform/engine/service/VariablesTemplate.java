@@ -0,0 +1,252 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.engine.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Text split once into literals and placeholders, rendered in a single pass.
+ *
+ * <p>{@link #compile(String)} parses {@code #{variable}} placeholders the way {@link VariablesService} substitutes
+ * them: {@code #{variable:-default}} falls back to the default, undefined variables are left as they are,
+ * {@code $#{variable}} is not substituted. Query parameters like {@code &amp;name=#{variable}} or
+ * {@code name={variable}} are dropped when the variable is blank.
+ *
+ * <p>Substituted values or dropped parameters can change how the rest of the text is parsed, for example when
+ * a value ending with {@code $} is followed by a placeholder. Such text is not rendered, {@link #render} returns
+ * {@code null} and the caller resolves it as a whole.
+ */
+public final class VariablesTemplate {
+    private static final String VARIABLE_PREFIX = "#{";
+    private static final char SUFFIX = '}';
+    private static final char ESCAPE = '$';
+    private static final String DEFAULT_VALUE_DELIMITER = ":-";
+    private static final String PARAMETER_SEPARATOR = "&amp;";
+    private static final Pattern VARIABLE_NAME = Pattern.compile("[a-zA-Z0-9:._-]+");
+    // besides parameter name chars
+    private static final String JOINABLE_BEFORE = "=#{:.;&$";
+    private static final String JOINABLE_AFTER = "=#{}:.;";
+
+    private static final VariablesTemplate IRREGULAR = new VariablesTemplate(null);
+
+    // null when the text can't be rendered segment by segment
+    private final List<Segment> segments;
+
+    private VariablesTemplate(List<Segment> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles text with {@code #{variable}} placeholders.
+     */
+    public static VariablesTemplate compile(String text) {
+        List<Parameter> parameters = findParameters(text);
+        List<Segment> segments = new ArrayList<>();
+        int literalStart = 0;
+        int position = 0;
+        int nextParameter = 0;
+        while (position < text.length()) {
+            Parameter parameter = nextParameter < parameters.size() ? parameters.get(nextParameter) : null;
+            int parameterStart = parameter == null ? text.length() : parameter.start;
+            int start = text.indexOf(VARIABLE_PREFIX, position);
+            if (start < 0 || start >= parameterStart) {
+                if (parameter == null) {
+                    break;
+                }
+                addLiteral(segments, text, literalStart, parameter.start);
+                segments.add(parameter);
+                nextParameter++;
+                position = literalStart = parameter.end;
+                continue;
+            }
+            if (start > 0 && text.charAt(start - 1) == ESCAPE) {
+                position = start + 1;
+                continue;
+            }
+            int end = text.indexOf(SUFFIX, start + VARIABLE_PREFIX.length());
+            if (end < 0) {
+                break;
+            }
+            if (end >= parameterStart) {
+                return IRREGULAR;
+            }
+            addLiteral(segments, text, literalStart, start);
+            segments.add(placeholder(text.substring(start, end + 1)));
+            position = literalStart = end + 1;
+        }
+        addLiteral(segments, text, literalStart, text.length());
+        return new VariablesTemplate(segments);
+    }
+
+    /**
+     * Compiles text with plain placeholders like {@code %%{name}}, replaced when the name is defined.
+     */
+    public static VariablesTemplate compile(String text, String prefix) {
+        List<Segment> segments = new ArrayList<>();
+        int literalStart = 0;
+        int start;
+        while ((start = text.indexOf(prefix, literalStart)) >= 0) {
+            int end = text.indexOf(SUFFIX, start + prefix.length());
+            if (end < 0) {
+                break;
+            }
+            // the innermost placeholder, as in "%%{a %%{name}"
+            start = text.lastIndexOf(prefix, end - prefix.length());
+            addLiteral(segments, text, literalStart, start);
+            segments.add(new Placeholder(text.substring(start, end + 1),
+                    text.substring(start + prefix.length(), end), null, false));
+            literalStart = end + 1;
+        }
+        addLiteral(segments, text, literalStart, text.length());
+        return new VariablesTemplate(segments);
+    }
+
+    /**
+     * @param blankVariables variables whose query parameters are dropped
+     * @return rendered text or {@code null} if the text has to be resolved as a whole
+     */
+    public String render(Map<String, String> values, Set<String> blankVariables) {
+        if (segments == null) {
+            return null;
+        }
+        StringBuilder out = new StringBuilder();
+        for (Segment segment : segments) {
+            if (!segment.render(out, values, blankVariables)) {
+                return null;
+            }
+        }
+        return out.toString();
+    }
+
+    private static void addLiteral(List<Segment> segments, String text, int start, int end) {
+        if (start < end) {
+            segments.add(new Literal(text.substring(start, end)));
+        }
+    }
+
+    private static Placeholder placeholder(String raw) {
+        String expression = raw.substring(VARIABLE_PREFIX.length(), raw.length() - 1);
+        int delimiter = expression.indexOf(DEFAULT_VALUE_DELIMITER);
+        int nestedPrefix = expression.indexOf(VARIABLE_PREFIX);
+        if (delimiter >= 0 && (nestedPrefix < 0 || delimiter < nestedPrefix)) {
+            return new Placeholder(raw, expression.substring(0, delimiter),
+                    expression.substring(delimiter + DEFAULT_VALUE_DELIMITER.length()), true);
+        }
+        return new Placeholder(raw, expression, null, true);
+    }
+
+    // "&amp;name={variable}" and "name=#{variable}", in text order
+    private static List<Parameter> findParameters(String text) {
+        List<Parameter> parameters = new ArrayList<>();
+        int position = 0;
+        int previousEnd = 0;
+        int equals;
+        while ((equals = text.indexOf('=', position)) >= 0) {
+            position = equals + 1;
+            int open = text.startsWith(VARIABLE_PREFIX, position) ? position + 1 : position;
+            if (open >= text.length() || text.charAt(open) != '{') {
+                continue;
+            }
+            int end = text.indexOf(SUFFIX, open + 1);
+            if (end < 0) {
+                break;
+            }
+            String variable = text.substring(open + 1, end);
+            int start = equals;
+            while (start > previousEnd && isParameterNameChar(text.charAt(start - 1))) {
+                start--;
+            }
+            if (start == equals || !VARIABLE_NAME.matcher(variable).matches()) {
+                continue;
+            }
+            if (start - PARAMETER_SEPARATOR.length() >= previousEnd
+                    && text.startsWith(PARAMETER_SEPARATOR, start - PARAMETER_SEPARATOR.length())) {
+                start -= PARAMETER_SEPARATOR.length();
+            }
+
+            List<Segment> segments = new ArrayList<>();
+            addLiteral(segments, text, start, position);
+            String value = text.substring(position, end + 1);
+            segments.add(open > position ? placeholder(value) : new Literal(value));
+            parameters.add(new Parameter(start, end + 1, end + 1 < text.length() ? text.charAt(end + 1) : 0,
+                    variable, segments));
+            position = previousEnd = end + 1;
+        }
+        return parameters;
+    }
+
+    private static boolean isParameterNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    private static boolean isJoinable(char c, String joinableChars) {
+        return isParameterNameChar(c) || joinableChars.indexOf(c) >= 0;
+    }
+
+    private interface Segment {
+        /**
+         * @return false if the text rendered so far changes how the segment is parsed
+         */
+        boolean render(StringBuilder out, Map<String, String> values, Set<String> blankVariables);
+    }
+
+    private record Literal(String text) implements Segment {
+        @Override
+        public boolean render(StringBuilder out, Map<String, String> values, Set<String> blankVariables) {
+            out.append(text);
+            return true;
+        }
+    }
+
+    private record Placeholder(String raw, String name, String defaultValue, boolean escapable) implements Segment {
+        @Override
+        public boolean render(StringBuilder out, Map<String, String> values, Set<String> blankVariables) {
+            if (escapable && !out.isEmpty() && out.charAt(out.length() - 1) == ESCAPE) {
+                return false;
+            }
+            String value = values.get(name);
+            if (value == null) {
+                value = defaultValue;
+            }
+            out.append(value == null ? raw : value);
+            return true;
+        }
+    }
+
+    private record Parameter(int start, int end, char next, String variable, List<Segment> segments) implements Segment {
+        @Override
+        public boolean render(StringBuilder out, Map<String, String> values, Set<String> blankVariables) {
+            if (blankVariables.contains(variable)) {
+                // text around a dropped parameter can join into another parameter or placeholder
+                return out.isEmpty() || next == 0
+                        || !isJoinable(out.charAt(out.length() - 1), JOINABLE_BEFORE)
+                        || !isJoinable(next, JOINABLE_AFTER);
+            }
+            for (Segment segment : segments) {
+                if (!segment.render(out, values, blankVariables)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
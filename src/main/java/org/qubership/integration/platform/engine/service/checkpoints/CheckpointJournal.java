@@ -0,0 +1,266 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.engine.service.checkpoints;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal of checkpoints that are not in the database yet. Entries are appended to
+ * segment files in batches, one fsync per batch. A segment is deleted once it is no longer
+ * appended to and all its entries are released. Segments left by a previous run are read by
+ * {@link #recover} before the first append. Each entry is {@code <length><crc32><payload>},
+ * a torn entry at the end of a segment is ignored.
+ */
+@Slf4j
+class CheckpointJournal {
+    private static final String SEGMENT_PREFIX = "checkpoints-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int ENTRY_HEADER_SIZE = Integer.BYTES + Long.BYTES;
+
+    static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+        private int pending;
+        private boolean closed;
+
+        private Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final List<Path> previousSegments;
+    private long nextSequence;
+    private Segment current;
+
+    CheckpointJournal(Path directory, long maxSegmentBytes) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.previousSegments = listSegments(directory);
+        this.nextSequence = previousSegments.isEmpty()
+                ? 0
+                : sequenceOf(previousSegments.getLast()) + 1;
+    }
+
+    boolean hasPreviousSegments() {
+        return !previousSegments.isEmpty();
+    }
+
+    /**
+     * Reads entries of the segments left by a previous run in chunks of {@code chunkSize}.
+     * A segment is deleted once all its entries are handled, or rewritten with the entries
+     * the consumer failed to handle, to be read again on the next start.
+     *
+     * @param chunkConsumer handles a chunk and returns whether each of its entries is handled
+     */
+    void recover(int chunkSize, Function<List<byte[]>, boolean[]> chunkConsumer) throws IOException {
+        for (Path segment : List.copyOf(previousSegments)) {
+            List<byte[]> chunk = new ArrayList<>(chunkSize);
+            List<byte[]> failed = new ArrayList<>();
+            long remaining = Files.size(segment);
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+                byte[] entry;
+                while ((entry = readEntry(in, remaining, segment)) != null) {
+                    remaining -= ENTRY_HEADER_SIZE + entry.length;
+                    chunk.add(entry);
+                    if (chunk.size() >= chunkSize) {
+                        consumeChunk(chunk, chunkConsumer, failed);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                consumeChunk(chunk, chunkConsumer, failed);
+            }
+            if (failed.isEmpty()) {
+                Files.deleteIfExists(segment);
+                previousSegments.remove(segment);
+            } else {
+                log.warn("Keeping {} checkpoints in journal segment {} until the next start", failed.size(), segment);
+                rewriteSegment(segment, failed);
+            }
+        }
+    }
+
+    private static void consumeChunk(List<byte[]> chunk, Function<List<byte[]>, boolean[]> chunkConsumer,
+                                     List<byte[]> failed) {
+        boolean[] handled = chunkConsumer.apply(chunk);
+        for (int i = 0; i < chunk.size(); i++) {
+            if (!handled[i]) {
+                failed.add(chunk.get(i));
+            }
+        }
+    }
+
+    // written aside and moved, so that a crash leaves either the old or the new segment
+    private void rewriteSegment(Path segment, List<byte[]> entries) throws IOException {
+        Path temporary = Files.createTempFile(directory, SEGMENT_PREFIX, ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            writeEntries(channel, entries);
+            channel.force(false);
+        }
+        Files.move(temporary, segment, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Appends the entries and forces them to disk.
+     *
+     * @return segment the entries were written to, to be passed to {@link #release}
+     */
+    synchronized Segment append(List<byte[]> entries) throws IOException {
+        if (current == null || current.size >= maxSegmentBytes) {
+            rotate();
+        }
+        Segment segment = current;
+        try {
+            long written = writeEntries(segment.channel, entries);
+            segment.channel.force(false);
+            segment.size += written;
+            segment.pending += entries.size();
+            return segment;
+        } catch (IOException e) {
+            // entries after a torn write would not be readable, continue in a new segment
+            closeSegment(segment);
+            current = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Marks {@code count} entries of the segment as written to the database.
+     */
+    synchronized void release(Segment segment, int count) throws IOException {
+        segment.pending -= count;
+        if (segment.pending <= 0 && segment != current) {
+            deleteSegment(segment);
+        }
+    }
+
+    synchronized void close() throws IOException {
+        if (current != null) {
+            if (current.pending <= 0) {
+                deleteSegment(current);
+            } else {
+                closeSegment(current);
+            }
+            current = null;
+        }
+    }
+
+    private void rotate() throws IOException {
+        Segment previous = current;
+        if (previous != null) {
+            if (previous.pending <= 0) {
+                deleteSegment(previous);
+            } else {
+                closeSegment(previous);
+            }
+        }
+        Path path = directory.resolve(SEGMENT_PREFIX + String.format("%016d", nextSequence++) + SEGMENT_SUFFIX);
+        current = new Segment(path, FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    private static long writeEntries(FileChannel channel, List<byte[]> entries) throws IOException {
+        long written = 0;
+        CRC32 crc = new CRC32();
+        for (byte[] entry : entries) {
+            crc.reset();
+            crc.update(entry);
+            ByteBuffer buffer = ByteBuffer.allocate(ENTRY_HEADER_SIZE + entry.length);
+            buffer.putInt(entry.length).putLong(crc.getValue()).put(entry).flip();
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+        }
+        return written;
+    }
+
+    private static void closeSegment(Segment segment) throws IOException {
+        if (!segment.closed) {
+            segment.closed = true;
+            segment.channel.close();
+        }
+    }
+
+    private static void deleteSegment(Segment segment) throws IOException {
+        closeSegment(segment);
+        Files.deleteIfExists(segment.path);
+    }
+
+    private static byte[] readEntry(DataInputStream in, long remaining, Path segment) throws IOException {
+        if (remaining < ENTRY_HEADER_SIZE) {
+            return null;
+        }
+        try {
+            int length = in.readInt();
+            long checksum = in.readLong();
+            if (length < 0 || length > remaining - ENTRY_HEADER_SIZE) {
+                log.warn("Ignoring corrupted tail of checkpoint journal {}", segment);
+                return null;
+            }
+            byte[] entry = new byte[length];
+            in.readFully(entry);
+            CRC32 crc = new CRC32();
+            crc.update(entry);
+            if (crc.getValue() != checksum) {
+                log.warn("Ignoring corrupted tail of checkpoint journal {}", segment);
+                return null;
+            }
+            return entry;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList());
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.engine.service.checkpoints;
+
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.qubership.integration.platform.engine.persistence.TransactionHandler;
+import org.qubership.integration.platform.engine.persistence.shared.entity.Checkpoint;
+import org.qubership.integration.platform.engine.service.CheckpointSessionService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind persistence of checkpoints. A checkpoint is appended to a local journal, and the
+ * exchange proceeds as soon as the journal is forced to disk. A writer thread then inserts
+ * journaled checkpoints into the database in batches. Checkpoints journaled but not inserted
+ * before a crash are inserted on the next start. When the queue is full or the journal
+ * can't be written, the checkpoint is saved synchronously.
+ */
+@Slf4j
+@ApplicationScoped
+public class CheckpointWriteBehindService {
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final CheckpointSessionService checkpointSessionService;
+    private final TransactionHandler transactionHandler;
+    private final boolean enabled;
+    private final String directory;
+    private final int batchSize;
+    private final long maxSegmentBytes;
+    private final Duration awaitTimeout;
+
+    private final Semaphore inFlight;
+    private final BlockingQueue<PendingCheckpoint> journalQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<PendingCheckpoint> writeQueue = new LinkedBlockingQueue<>();
+    // <sessionId, completion of the checkpoints of the session, failed if any of them is not written>
+    private final Map<String, CompletableFuture<Void>> lastWrites = new ConcurrentHashMap<>();
+
+    private CheckpointJournal journal;
+    private Thread journalThread;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private static final class PendingCheckpoint {
+        private final JournaledCheckpoint entry;
+        private final byte[] bytes;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+        // taken either by the journal thread or by the caller withdrawing the checkpoint
+        private final AtomicBoolean taken = new AtomicBoolean();
+        private CompletableFuture<Void> sessionWrites;
+        private CheckpointJournal.Segment segment;
+
+        private PendingCheckpoint(JournaledCheckpoint entry, byte[] bytes) {
+            this.entry = entry;
+            this.bytes = bytes;
+        }
+
+        private boolean take() {
+            return taken.compareAndSet(false, true);
+        }
+    }
+
+    @Inject
+    public CheckpointWriteBehindService(
+            CheckpointSessionService checkpointSessionService,
+            TransactionHandler transactionHandler,
+            @ConfigProperty(name = "qip.sessions.checkpoints.write-behind.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "qip.sessions.checkpoints.write-behind.directory", defaultValue = "/tmp/checkpoints-journal")
+            String directory,
+            @ConfigProperty(name = "qip.sessions.checkpoints.write-behind.capacity", defaultValue = "1000") int capacity,
+            @ConfigProperty(name = "qip.sessions.checkpoints.write-behind.batch-size", defaultValue = "100") int batchSize,
+            @ConfigProperty(name = "qip.sessions.checkpoints.write-behind.segment-size-mb", defaultValue = "64") int segmentSizeMb,
+            @ConfigProperty(name = "qip.sessions.checkpoints.write-behind.await-timeout", defaultValue = "30s")
+            Duration awaitTimeout
+    ) {
+        this.checkpointSessionService = checkpointSessionService;
+        this.transactionHandler = transactionHandler;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.inFlight = new Semaphore(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.maxSegmentBytes = Math.max(1, segmentSizeMb) * 1024L * 1024L;
+        this.awaitTimeout = awaitTimeout;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Writes checkpoints left in the journal by a previous run to the database and starts
+     * the journal and writer threads.
+     */
+    @Startup
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            journal = new CheckpointJournal(Path.of(directory), maxSegmentBytes);
+            if (journal.hasPreviousSegments()) {
+                log.info("Writing checkpoints left in the journal {} to the database", directory);
+                journal.recover(batchSize, this::writeRecovered);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open checkpoint journal in " + directory, e);
+        }
+        running = true;
+        journalThread = new Thread(this::runJournal, "checkpoints-journal");
+        writerThread = new Thread(this::runWriter, "checkpoints-writer");
+        journalThread.start();
+        writerThread.start();
+    }
+
+    /**
+     * Saves the checkpoint and assigns it to the session. Returns once the checkpoint is in the journal,
+     * or in the database when write-behind is disabled or can't take the checkpoint.
+     */
+    public void saveAndAssignCheckpoint(Checkpoint checkpoint, String sessionId) throws Exception {
+        if (!running || !inFlight.tryAcquire()) {
+            checkpointSessionService.saveAndAssignCheckpoint(checkpoint, sessionId);
+            return;
+        }
+        PendingCheckpoint pending;
+        try {
+            JournaledCheckpoint entry = new JournaledCheckpoint(sessionId, checkpoint);
+            pending = new PendingCheckpoint(entry, entry.toBytes());
+        } catch (Exception e) {
+            inFlight.release();
+            throw e;
+        }
+        pending.sessionWrites = lastWrites.compute(sessionId, (key, previous) ->
+                previous == null || (previous.isDone() && !previous.isCompletedExceptionally())
+                        ? pending.written
+                        : CompletableFuture.allOf(previous, pending.written));
+        journalQueue.add(pending);
+        // the journal thread may have drained the queue and exited after stop()
+        if (!running && pending.take()) {
+            finish(pending, true);
+            checkpointSessionService.saveAndAssignCheckpoint(checkpoint, sessionId);
+            return;
+        }
+        awaitJournaled(pending);
+    }
+
+    private void awaitJournaled(PendingCheckpoint pending) throws Exception {
+        Checkpoint checkpoint = pending.entry.checkpoint();
+        String sessionId = pending.entry.sessionId();
+        boolean interrupted = false;
+        try {
+            try {
+                pending.durable.get(awaitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                return;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (TimeoutException e) {
+                log.warn("Checkpoint {} is not journaled in {}", checkpoint.getId(), awaitTimeout);
+            }
+            if (pending.take()) {
+                // withdrawn before the journal thread took it, so it is never written behind
+                finish(pending, true);
+                if (interrupted) {
+                    throw new IllegalStateException("Interrupted while journaling checkpoint " + checkpoint.getId());
+                }
+                checkpointSessionService.saveAndAssignCheckpoint(checkpoint, sessionId);
+                return;
+            }
+            // being appended to the journal, which either succeeds or fails shortly
+            while (true) {
+                try {
+                    pending.durable.get();
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            log.warn("Failed to journal checkpoint {}, saving it synchronously", checkpoint.getId(), e.getCause());
+            checkpointSessionService.saveAndAssignCheckpoint(checkpoint, sessionId);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Waits until the journaled checkpoints of the session are written to the database,
+     * so the session is not finished or deleted before its checkpoints are stored.
+     *
+     * @return false if any checkpoint of the session failed to be written or is not written in time,
+     *         such checkpoints stay in the journal and are written on the next start
+     */
+    public boolean awaitWritten(String sessionId) {
+        CompletableFuture<Void> sessionWrites = lastWrites.get(sessionId);
+        if (sessionWrites == null) {
+            return true;
+        }
+        try {
+            sessionWrites.get(awaitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            lastWrites.remove(sessionId, sessionWrites);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            lastWrites.remove(sessionId, sessionWrites);
+            log.warn("Checkpoints of session {} failed to be written to the database", sessionId, e.getCause());
+            return false;
+        } catch (TimeoutException e) {
+            log.warn("Checkpoints of session {} are not written to the database yet", sessionId);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            journalThread.join(awaitTimeout.toMillis());
+            writerThread.join(awaitTimeout.toMillis());
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Failed to close checkpoint journal", e);
+        }
+    }
+
+    private void runJournal() {
+        List<PendingCheckpoint> batch = new ArrayList<>(batchSize);
+        while (running || !journalQueue.isEmpty()) {
+            try {
+                if (!takeBatch(journalQueue, batch)) {
+                    continue;
+                }
+                batch.removeIf(pending -> !pending.take());
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                List<byte[]> entries = new ArrayList<>(batch.size());
+                batch.forEach(pending -> entries.add(pending.bytes));
+                try {
+                    CheckpointJournal.Segment segment = journal.append(entries);
+                    for (PendingCheckpoint pending : batch) {
+                        pending.segment = segment;
+                        writeQueue.add(pending);
+                        pending.durable.complete(null);
+                    }
+                } catch (IOException e) {
+                    log.error("Failed to write {} checkpoints to the journal", batch.size(), e);
+                    for (PendingCheckpoint pending : batch) {
+                        // the caller saves it synchronously
+                        finish(pending, true);
+                        pending.durable.completeExceptionally(e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void runWriter() {
+        List<PendingCheckpoint> batch = new ArrayList<>(batchSize);
+        while (running || journalThread.isAlive() || !writeQueue.isEmpty()) {
+            try {
+                if (!takeBatch(writeQueue, batch)) {
+                    continue;
+                }
+                boolean[] written = write(batch.stream().map(pending -> pending.entry).toList(), false);
+                for (int i = 0; i < batch.size(); i++) {
+                    PendingCheckpoint pending = batch.get(i);
+                    // checkpoints that failed stay in the journal and are retried on the next start
+                    if (written[i]) {
+                        releaseFromJournal(pending);
+                    }
+                    finish(pending, written[i]);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean takeBatch(BlockingQueue<PendingCheckpoint> queue, List<PendingCheckpoint> batch)
+            throws InterruptedException {
+        PendingCheckpoint first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return false;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        return true;
+    }
+
+    /**
+     * Writes the checkpoints in one transaction. If it fails, every checkpoint is written
+     * in its own transaction, so one checkpoint of a deleted session does not fail the others.
+     *
+     * @return whether each checkpoint is in the database
+     */
+    private boolean[] write(List<JournaledCheckpoint> entries, boolean skipExisting) {
+        boolean[] written = new boolean[entries.size()];
+        try {
+            transactionHandler.runInNewCheckpointTransaction(
+                    () -> entries.forEach(entry -> writeEntry(entry, skipExisting)));
+            Arrays.fill(written, true);
+            return written;
+        } catch (Exception e) {
+            log.debug("Failed to write {} checkpoints in one transaction, writing them one by one",
+                    entries.size(), e);
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            JournaledCheckpoint entry = entries.get(i);
+            try {
+                transactionHandler.runInNewCheckpointTransaction(() -> writeEntry(entry, skipExisting));
+                written[i] = true;
+            } catch (Exception e) {
+                log.error("Failed to write checkpoint {} of session {}",
+                        entry.checkpoint().getId(), entry.sessionId(), e);
+            }
+        }
+        return written;
+    }
+
+    private void writeEntry(JournaledCheckpoint entry, boolean skipExisting) {
+        if (skipExisting) {
+            if (checkpointSessionService.checkpointExists(entry.checkpoint().getId())) {
+                return;
+            }
+            if (checkpointSessionService.findSession(entry.sessionId()) == null) {
+                log.warn("Skipping checkpoint {} of deleted session {}", entry.checkpoint().getId(), entry.sessionId());
+                return;
+            }
+        }
+        checkpointSessionService.saveAndAssignCheckpoint(entry.checkpoint(), entry.sessionId());
+    }
+
+    private void releaseFromJournal(PendingCheckpoint pending) {
+        try {
+            journal.release(pending.segment, 1);
+        } catch (IOException e) {
+            log.error("Failed to delete checkpoint journal segment", e);
+        }
+    }
+
+    private void finish(PendingCheckpoint pending, boolean written) {
+        if (written) {
+            pending.written.complete(null);
+            // failures are kept for awaitWritten
+            if (!pending.sessionWrites.isCompletedExceptionally()) {
+                lastWrites.remove(pending.entry.sessionId(), pending.sessionWrites);
+            }
+        } else {
+            pending.written.completeExceptionally(new IllegalStateException(
+                    "Failed to write checkpoint " + pending.entry.checkpoint().getId()));
+        }
+        inFlight.release();
+    }
+
+    /**
+     * Writes checkpoints of the previous run, skipping the ones already in the database.
+     * Unreadable entries are reported as handled, as they can never be written.
+     */
+    private boolean[] writeRecovered(List<byte[]> chunk) {
+        boolean[] written = new boolean[chunk.size()];
+        List<JournaledCheckpoint> entries = new ArrayList<>(chunk.size());
+        List<Integer> positions = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                entries.add(JournaledCheckpoint.fromBytes(chunk.get(i)));
+                positions.add(i);
+            } catch (IOException e) {
+                log.error("Skipping unreadable checkpoint journal entry", e);
+                written[i] = true;
+            }
+        }
+        boolean[] entriesWritten = write(entries, true);
+        for (int i = 0; i < entries.size(); i++) {
+            written[positions.get(i)] = entriesWritten[i];
+        }
+        return written;
+    }
+}
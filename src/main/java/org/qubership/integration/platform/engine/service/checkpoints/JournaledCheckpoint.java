@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.engine.service.checkpoints;
+
+import org.qubership.integration.platform.engine.persistence.shared.entity.Checkpoint;
+import org.qubership.integration.platform.engine.persistence.shared.entity.Property;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checkpoint of a session as it is written to the checkpoint journal.
+ */
+record JournaledCheckpoint(String sessionId, Checkpoint checkpoint) {
+    private static final int VERSION = 1;
+
+    byte[] toBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(VERSION);
+            writeString(out, sessionId);
+            writeString(out, checkpoint.getId());
+            writeString(out, checkpoint.getCheckpointElementId());
+            writeString(out, checkpoint.getHeaders());
+            writeString(out, checkpoint.getContextData());
+            writeBytes(out, checkpoint.getBody());
+            out.writeLong(checkpoint.getTimestamp().getTime());
+            List<Property> properties = checkpoint.getProperties();
+            out.writeInt(properties.size());
+            for (Property property : properties) {
+                writeString(out, property.getId());
+                writeString(out, property.getName());
+                writeString(out, property.getType());
+                writeBytes(out, property.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static JournaledCheckpoint fromBytes(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint journal entry version: " + version);
+            }
+            String sessionId = readString(in);
+            Checkpoint checkpoint = Checkpoint.builder()
+                    .id(readString(in))
+                    .checkpointElementId(readString(in))
+                    .headers(readString(in))
+                    .contextData(readString(in))
+                    .body(readBytes(in))
+                    .timestamp(new Timestamp(in.readLong()))
+                    .build();
+            int propertyCount = in.readInt();
+            List<Property> properties = new ArrayList<>(propertyCount);
+            for (int i = 0; i < propertyCount; i++) {
+                properties.add(Property.builder()
+                        .id(readString(in))
+                        .name(readString(in))
+                        .type(readString(in))
+                        .value(readBytes(in))
+                        .build());
+            }
+            checkpoint.setProperties(properties);
+            return new JournaledCheckpoint(sessionId, checkpoint);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] value = readBytes(in);
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        in.readFully(value);
+        return value;
+    }
+}
@@ -23,13 +23,17 @@
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.qubership.integration.platform.engine.errorhandling.ContextStorageException;
+import org.qubership.integration.platform.engine.persistence.ExpiredRecordsCleaner;
 import org.qubership.integration.platform.engine.persistence.shared.entity.ContextSystemRecords;
 import org.qubership.integration.platform.engine.persistence.shared.repository.ContextStorageRepository;
 
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -38,31 +42,34 @@ public class ContextStorageService {
 
     private static final String CONTEXT = "context";
     private final ContextStorageRepository contextStorageRepository;
+    private final ExpiredRecordsCleaner expiredRecordsCleaner;
 
     private final ObjectMapper objectMapper;
+    private final int cleanupChunkSize;
+    private final Duration cleanupChunkPause;
 
     @Inject
     public ContextStorageService(
             ContextStorageRepository contextStorageRepository,
-            @Identifier("objectMapper") ObjectMapper objectMapper
+            ExpiredRecordsCleaner expiredRecordsCleaner,
+            @Identifier("objectMapper") ObjectMapper objectMapper,
+            @ConfigProperty(name = "qip.context-service.cleanup.chunk-size", defaultValue = "5000") int cleanupChunkSize,
+            @ConfigProperty(name = "qip.context-service.cleanup.chunk-pause", defaultValue = "100ms") Duration cleanupChunkPause
     ) {
         this.contextStorageRepository = contextStorageRepository;
+        this.expiredRecordsCleaner = expiredRecordsCleaner;
         this.objectMapper = objectMapper;
+        this.cleanupChunkSize = Math.max(1, cleanupChunkSize);
+        this.cleanupChunkPause = cleanupChunkPause;
     }
 
     public void storeValue(String contextKey, String contextValue, String contextServiceId, String contextId, long ttl) {
-        Optional<ContextSystemRecords> oldRecord = contextStorageRepository.findByContextServiceIdAndContextId(contextServiceId, contextId);
-        ContextData existingContext = contextKeyExits(contextKey, contextValue, contextServiceId, contextId);
-        ContextSystemRecords contextSystemRecords = ContextSystemRecords.builder()
-                .id(oldRecord.isPresent() ? oldRecord.get().getId() : UUID.randomUUID().toString())
-                .value(objectMapper.convertValue(existingContext, JsonNode.class))
-                .contextServiceId(contextServiceId)
-                .contextId(contextId)
-                .createdAt(oldRecord.isPresent() ? oldRecord.get().getCreatedAt() : Timestamp.from(Instant.now()))
-                .expiresAt(Timestamp.from(Instant.now().plusSeconds(ttl)))
-                .updatedAt(Timestamp.from(Instant.now()))
-                .build();
-        contextStorageRepository.persist(contextSystemRecords);
+        try {
+            contextStorageRepository.upsertContextValue(UUID.randomUUID().toString(), contextServiceId, contextId,
+                    contextKey, contextValue, ttl);
+        } catch (Exception e) {
+            throw new ContextStorageException("Error occurred while processing contextKey: " + contextKey + " contextServiceId: " + contextServiceId + " contextId: " + contextId, e);
+        }
         log.debug("Value stored successfully for contextKey: {}, contextServiceId: {}, contextId: {}", contextKey, contextServiceId, contextId);
     }
 
@@ -93,50 +100,17 @@ public void deleteValue(String contextServiceID, String contextId) {
         }
     }
 
+    /**
+     * Deletes expired records in chunks, see {@link ExpiredRecordsCleaner}.
+     */
     public void deleteOldRecords() {
         try {
-            List<ContextSystemRecords> oldRecords  = contextStorageRepository.findAllByExpiresAtBefore(Timestamp.from(Instant.now()));
-            if (oldRecords != null && !oldRecords.isEmpty()) {
-                contextStorageRepository.deleteByIds(oldRecords.stream().map(ContextSystemRecords::getId).collect(Collectors.toList()));
-                log.debug("Deleted old records from context storage");
-            } else {
-                log.debug("No old records found to delete");
-            }
+            AtomicLong deleted = new AtomicLong();
+            expiredRecordsCleaner.deleteInChunks(cleanupChunkSize, cleanupChunkPause,
+                    contextStorageRepository::deleteExpired, deleted::addAndGet);
+            log.debug("Deleted {} old records from context storage", deleted.get());
         } catch (Exception e) {
             throw new ContextStorageException("Error occurred while deleting old records from context storage", e);
         }
     }
-
-    private ContextData contextKeyExits(String contextKey, String contextValue, String contextServiceId, String contextId) {
-        try {
-            return contextStorageRepository.findByContextServiceIdAndContextId(contextServiceId, contextId).map(existingStorage -> {
-                JsonNode existingContext = existingStorage.getValue();
-                Map<String, String> updatedContext = new HashMap<>();
-                if (existingContext != null) {
-                    log.debug("Updating existing context for contextKey: {}", contextKey);
-                    JsonNode contextNode = existingContext.get(CONTEXT);
-                    contextNode.fields().forEachRemaining(entry -> updatedContext.put(entry.getKey(), entry.getKey().equals(contextKey) ? contextValue : entry.getValue().asText()));
-                    updatedContext.putIfAbsent(contextKey, contextValue);
-                } else {
-                    log.debug("No existing context found, creating new context for contextKey: {}", contextKey);
-                    updatedContext.put(contextKey, contextValue);
-                }
-                return ContextData.builder().context(updatedContext).build();
-            }).orElseGet(() -> {
-                log.debug("No existing storage found, creating new context for contextKey: {}", contextKey);
-                return createNewContext(contextKey, contextValue);
-            });
-        } catch (Exception e) {
-            throw new ContextStorageException("Error occurred while processing contextKey: " + contextKey + " contextServiceId: " + contextServiceId + " contextId: " + contextId, e);
-
-        }
-    }
-
-    private ContextData createNewContext(String key, String value) {
-        Map<String, String> updatedContext = new HashMap<>();
-        updatedContext.put(key, value);
-        log.info("Creating new context with key: {} and value: {}", key, value);
-        return ContextData.builder().context(updatedContext).build();
-    }
-
 }
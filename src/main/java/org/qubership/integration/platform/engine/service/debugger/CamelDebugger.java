@@ -50,6 +50,7 @@
 import org.qubership.integration.platform.engine.service.ExchangePropertyService;
 import org.qubership.integration.platform.engine.service.ExecutionStatus;
 import org.qubership.integration.platform.engine.service.VariablesService;
+import org.qubership.integration.platform.engine.service.checkpoints.CheckpointWriteBehindService;
 import org.qubership.integration.platform.engine.service.debugger.kafkareporting.SessionsKafkaReportingService;
 import org.qubership.integration.platform.engine.service.debugger.logging.ChainLogger;
 import org.qubership.integration.platform.engine.service.debugger.metrics.MetricsService;
@@ -79,6 +80,7 @@ public class CamelDebugger extends DefaultDebugger {
     private final EngineInfo engineInfo;
     private final TracingService tracingService;
     private final CheckpointSessionService checkpointSessionService;
+    private final CheckpointWriteBehindService checkpointWriteBehindService;
     private final MetricsService metricsService;
     private final ChainLogger chainLogger;
     private final Optional<SessionsKafkaReportingService> sessionsKafkaReportingService;
@@ -94,6 +96,7 @@ public CamelDebugger(
             EngineInfo engineInfo,
             TracingService tracingService,
             CheckpointSessionService checkpointSessionService,
+            CheckpointWriteBehindService checkpointWriteBehindService,
             MetricsService metricsService,
             ChainLogger chainLogger,
             Instance<SessionsKafkaReportingService> sessionsKafkaReportingService,
@@ -107,6 +110,7 @@ public CamelDebugger(
         this.engineInfo = engineInfo;
         this.tracingService = tracingService;
         this.checkpointSessionService = checkpointSessionService;
+        this.checkpointWriteBehindService = checkpointWriteBehindService;
         this.metricsService = metricsService;
         this.chainLogger = chainLogger;
         this.sessionsKafkaReportingService = InjectUtil.injectOptional(sessionsKafkaReportingService);
@@ -195,9 +199,14 @@ public boolean beforeProcess(Exchange exchange, Processor processor, NamedNode d
             boolean isElementForSessionsLevel = ChainElementType.isElementForInfoSessionsLevel(
                     chainElementType);
 
-            Payload payload = payloadExtractor.extractPayload(exchange);
+            boolean isStep = definition instanceof StepDefinition;
+            PayloadCapturePlan capturePlan = PayloadCapturePlan.beforeProcess(
+                    chainRuntimeProperties, sessionLevel, sessionShouldBeLogged, chainElementType, isStep);
+            Payload payload = capturePlan.isCaptureRequired()
+                    ? payloadExtractor.extractPayload(exchange, chainRuntimeProperties)
+                    : null;
 
-            if (!(definition instanceof StepDefinition)) { // not a step
+            if (!isStep) {
 
                 String sessionElementId = UUID.randomUUID().toString();
                 switch (sessionLevel) {
@@ -280,7 +289,12 @@ public boolean afterProcess(
                     chainElementType);
 
             setFailedElementId(exchange, elementInfo);
-            Payload payload = payloadExtractor.extractPayload(exchange);
+            PayloadCapturePlan capturePlan = PayloadCapturePlan.afterProcess(
+                    chainRuntimeProperties, actualSessionLevel, sessionShouldBeLogged, chainElementType,
+                    DebuggerUtils.isFailedOperation(exchange));
+            Payload payload = capturePlan.isCaptureRequired()
+                    ? payloadExtractor.extractPayload(exchange, chainRuntimeProperties)
+                    : null;
             switch (actualSessionLevel) {
                 case INFO:
                     if (!isElementForSessionsLevel) {
@@ -540,6 +554,10 @@ public void finishCheckpointSession(
             ExecutionStatus executionStatus,
             long duration
     ) {
+        if (!checkpointWriteBehindService.awaitWritten(sessionId)) {
+            log.warn("Not all checkpoints of session {} are stored, the session can't be retried from them yet",
+                    sessionId);
+        }
         SessionInfo checkpointSession = checkpointSessionService.findSession(sessionId);
         if (checkpointSession != null) {
             if (executionStatus == ExecutionStatus.COMPLETED_WITH_ERRORS) {
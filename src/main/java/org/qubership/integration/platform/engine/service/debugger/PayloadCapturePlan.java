@@ -0,0 +1,54 @@
+package org.qubership.integration.platform.engine.service.debugger;
+
+import org.qubership.integration.platform.engine.model.ChainElementType;
+import org.qubership.integration.platform.engine.model.ChainRuntimeProperties;
+import org.qubership.integration.platform.engine.model.logging.SessionsLoggingLevel;
+import org.qubership.integration.platform.engine.service.debugger.logging.ChainLogger;
+
+/**
+ * Tells which consumers of a processed node need a payload snapshot.
+ * The payload is extracted only if sessions or the chain logger are going to use it.
+ *
+ * @param sessionElement session element is recorded with the payload
+ * @param logging        chain logger prints the payload
+ */
+public record PayloadCapturePlan(boolean sessionElement, boolean logging) {
+
+    public static PayloadCapturePlan beforeProcess(
+            ChainRuntimeProperties runtimeProperties,
+            SessionsLoggingLevel sessionLevel,
+            boolean sessionShouldBeLogged,
+            ChainElementType elementType,
+            boolean step
+    ) {
+        boolean sessionElement = !step && switch (sessionLevel) {
+            case ERROR, INFO -> true;
+            case DEBUG -> sessionShouldBeLogged;
+            default -> false;
+        };
+        boolean logging = ChainLogger.isPayloadLoggedBeforeProcess(
+                runtimeProperties.getLogLoggingLevel(), elementType);
+        return new PayloadCapturePlan(sessionElement, logging);
+    }
+
+    public static PayloadCapturePlan afterProcess(
+            ChainRuntimeProperties runtimeProperties,
+            SessionsLoggingLevel sessionLevel,
+            boolean sessionShouldBeLogged,
+            ChainElementType elementType,
+            boolean failedOperation
+    ) {
+        boolean sessionElement = sessionShouldBeLogged && switch (sessionLevel) {
+            case INFO -> ChainElementType.isElementForInfoSessionsLevel(elementType);
+            case DEBUG -> true;
+            default -> false;
+        };
+        boolean logging = ChainLogger.isPayloadLoggedAfterProcess(
+                runtimeProperties.getLogLoggingLevel(), elementType, failedOperation);
+        return new PayloadCapturePlan(sessionElement, logging);
+    }
+
+    public boolean isCaptureRequired() {
+        return sessionElement || logging;
+    }
+}
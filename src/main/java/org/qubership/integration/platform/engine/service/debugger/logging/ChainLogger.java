@@ -57,6 +57,7 @@
 import org.slf4j.MDC;
 
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -73,6 +74,79 @@ public class ChainLogger {
     public static final String MDC_TRACE_ID = "trace_id";
     public static final String MDC_SNAP_ID = "span_id";
 
+    /**
+     * Message logged by {@link #logBeforeProcess}. Element types without a message log nothing.
+     */
+    private enum BeforeProcessMessage {
+        SCHEDULER_STARTED(false),
+        SDS_TRIGGER_STARTED(false),
+        LINKED_CHAIN_CALL(true),
+        TRIGGER_REQUEST(true),
+        HTTP_REQUEST(true),
+        QUEUE_REQUEST(true),
+        NONE(false);
+
+        private final boolean withPayload;
+
+        BeforeProcessMessage(boolean withPayload) {
+            this.withPayload = withPayload;
+        }
+    }
+
+    /**
+     * Message logged by {@link #logAfterProcess}. Element types without a message log failures only.
+     */
+    private enum AfterProcessMessage {
+        HTTP_RESPONSE(true),
+        QUEUE_RESPONSE(true),
+        CHECKPOINT_PASSED(false),
+        FAILURE(false);
+
+        private final boolean withPayload;
+
+        AfterProcessMessage(boolean withPayload) {
+            this.withPayload = withPayload;
+        }
+    }
+
+    private static final Map<ChainElementType, BeforeProcessMessage> BEFORE_PROCESS_MESSAGES =
+            new EnumMap<>(ChainElementType.class);
+    private static final Map<ChainElementType, AfterProcessMessage> AFTER_PROCESS_MESSAGES =
+            new EnumMap<>(ChainElementType.class);
+
+    static {
+        putAll(BEFORE_PROCESS_MESSAGES, BeforeProcessMessage.SCHEDULER_STARTED,
+                ChainElementType.SCHEDULER, ChainElementType.QUARTZ_SCHEDULER);
+        putAll(BEFORE_PROCESS_MESSAGES, BeforeProcessMessage.SDS_TRIGGER_STARTED, ChainElementType.SDS_TRIGGER);
+        putAll(BEFORE_PROCESS_MESSAGES, BeforeProcessMessage.LINKED_CHAIN_CALL, ChainElementType.CHAIN_CALL);
+        putAll(BEFORE_PROCESS_MESSAGES, BeforeProcessMessage.TRIGGER_REQUEST,
+                ChainElementType.JMS_TRIGGER, ChainElementType.SFTP_TRIGGER, ChainElementType.SFTP_TRIGGER_2,
+                ChainElementType.HTTP_TRIGGER, ChainElementType.KAFKA_TRIGGER, ChainElementType.KAFKA_TRIGGER_2,
+                ChainElementType.RABBITMQ_TRIGGER, ChainElementType.RABBITMQ_TRIGGER_2,
+                ChainElementType.ASYNCAPI_TRIGGER, ChainElementType.PUBSUB_TRIGGER);
+        putAll(BEFORE_PROCESS_MESSAGES, BeforeProcessMessage.HTTP_REQUEST, ChainElementType.HTTP_SENDER);
+        // SERVICE_CALL is logged by logBuildStepStartedByType to start from "Request" step (after "Prepare request")
+        putAll(BEFORE_PROCESS_MESSAGES, BeforeProcessMessage.QUEUE_REQUEST,
+                ChainElementType.GRAPHQL_SENDER, ChainElementType.JMS_SENDER, ChainElementType.MAIL_SENDER,
+                ChainElementType.KAFKA_SENDER, ChainElementType.KAFKA_SENDER_2,
+                ChainElementType.RABBITMQ_SENDER, ChainElementType.RABBITMQ_SENDER_2,
+                ChainElementType.PUBSUB_SENDER);
+
+        putAll(AFTER_PROCESS_MESSAGES, AfterProcessMessage.HTTP_RESPONSE,
+                ChainElementType.HTTP_SENDER, ChainElementType.SERVICE_CALL);
+        putAll(AFTER_PROCESS_MESSAGES, AfterProcessMessage.QUEUE_RESPONSE,
+                ChainElementType.KAFKA_SENDER, ChainElementType.KAFKA_SENDER_2,
+                ChainElementType.RABBITMQ_SENDER, ChainElementType.RABBITMQ_SENDER_2,
+                ChainElementType.PUBSUB_SENDER);
+        putAll(AFTER_PROCESS_MESSAGES, AfterProcessMessage.CHECKPOINT_PASSED, ChainElementType.CHECKPOINT);
+    }
+
+    private static <T> void putAll(Map<ChainElementType, T> messages, T message, ChainElementType... types) {
+        for (ChainElementType type : types) {
+            messages.put(type, message);
+        }
+    }
+
     private final TracingService tracingService;
     private final Optional<OriginatingBusinessIdProvider> originatingBusinessIdProvider;
     private final PayloadExtractor payloadExtractor;
@@ -118,6 +192,36 @@ public void error(String format, Object... arguments) {
         chainLogger.error(format, arguments);
     }
 
+    /**
+     * Tells whether {@link #logBeforeProcess} will read the payload for an element of the given type.
+     */
+    public static boolean isPayloadLoggedBeforeProcess(LogLoggingLevel logLoggingLevel, ChainElementType type) {
+        return logLoggingLevel.isInfoLevel() && beforeProcessMessage(type).withPayload;
+    }
+
+    /**
+     * Tells whether {@link #logAfterProcess} will read the payload for an element of the given type.
+     */
+    public static boolean isPayloadLoggedAfterProcess(
+            LogLoggingLevel logLoggingLevel,
+            ChainElementType type,
+            boolean failedOperation
+    ) {
+        AfterProcessMessage message = afterProcessMessage(type);
+        if (failedOperation) {
+            return message != AfterProcessMessage.CHECKPOINT_PASSED;
+        }
+        return logLoggingLevel.isInfoLevel() && message.withPayload;
+    }
+
+    private static BeforeProcessMessage beforeProcessMessage(ChainElementType type) {
+        return BEFORE_PROCESS_MESSAGES.getOrDefault(type, BeforeProcessMessage.NONE);
+    }
+
+    private static AfterProcessMessage afterProcessMessage(ChainElementType type) {
+        return AFTER_PROCESS_MESSAGES.getOrDefault(type, AfterProcessMessage.FAILURE);
+    }
+
     public void logBeforeProcess(
         Exchange exchange,
         ChainRuntimeProperties runtimeProperties,
@@ -130,36 +234,32 @@ public void logBeforeProcess(
         }
 
         ElementInfo elementInfo = MetadataUtil.getBeanForElement(exchange, nodeId, ElementInfo.class);
-        ChainElementType type = ChainElementType.fromString(elementInfo.getType());
-        LoggedPayloadValues loggedPayloadValues = getLoggedPayloadValues(payload, runtimeProperties);
-
-        switch (type) {
-            case SCHEDULER, QUARTZ_SCHEDULER -> chainLogger.info("Scheduled chain trigger started");
-            case SDS_TRIGGER -> chainLogger.info("Scheduled SDS trigger started");
-            case CHAIN_CALL -> chainLogger.info("Executing a linked chain. Headers: {}, body: {}, exchange properties: {}",
+        BeforeProcessMessage message = beforeProcessMessage(ChainElementType.fromString(elementInfo.getType()));
+        LoggedPayloadValues loggedPayloadValues = message.withPayload
+                ? getLoggedPayloadValues(payload, runtimeProperties)
+                : null;
+
+        switch (message) {
+            case SCHEDULER_STARTED -> chainLogger.info("Scheduled chain trigger started");
+            case SDS_TRIGGER_STARTED -> chainLogger.info("Scheduled SDS trigger started");
+            case LINKED_CHAIN_CALL -> chainLogger.info("Executing a linked chain. Headers: {}, body: {}, exchange properties: {}",
                     loggedPayloadValues.getHeaders(),
                     loggedPayloadValues.getBody(),
                     loggedPayloadValues.getProperties());
-            case JMS_TRIGGER, SFTP_TRIGGER, SFTP_TRIGGER_2, HTTP_TRIGGER, KAFKA_TRIGGER,
-                KAFKA_TRIGGER_2, RABBITMQ_TRIGGER, RABBITMQ_TRIGGER_2, ASYNCAPI_TRIGGER,
-                 PUBSUB_TRIGGER ->
+            case TRIGGER_REQUEST ->
                 chainLogger.info(
                     "Get request from trigger. Headers: {}, body: {}, exchange properties: {}",
                     loggedPayloadValues.getHeaders(),
                     loggedPayloadValues.getBody(),
                     loggedPayloadValues.getProperties());
-            case HTTP_SENDER -> logRequest(exchange, loggedPayloadValues, null, null);
-            case GRAPHQL_SENDER, JMS_SENDER, MAIL_SENDER, KAFKA_SENDER, KAFKA_SENDER_2, RABBITMQ_SENDER,
-                RABBITMQ_SENDER_2, PUBSUB_SENDER -> chainLogger.info(
+            case HTTP_REQUEST -> logRequest(exchange, loggedPayloadValues, null, null);
+            case QUEUE_REQUEST -> chainLogger.info(
                 "Send request to queue. Headers: {}, body: {}, exchange properties: {}",
                 loggedPayloadValues.getHeaders(),
                 loggedPayloadValues.getBody(),
                 loggedPayloadValues.getProperties()
             );
-            // SERVICE_CALL moved to logBuildStepStartedByType to start from "Request" step (after "Prepare request")
-            case SERVICE_CALL, UNKNOWN -> {
-            }
-            default -> {
+            case NONE -> {
             }
         }
     }
@@ -175,11 +275,13 @@ public void logAfterProcess(
         if (runtimeProperties.getLogLoggingLevel().isInfoLevel() || failedOperation) {
             ElementInfo elementInfo = MetadataUtil.getBeanForElement(exchange, nodeId, ElementInfo.class);
             ChainElementType type = ChainElementType.fromString(elementInfo.getType());
-            LoggedPayloadValues loggedPayloadValues = getLoggedPayloadValues(payload, runtimeProperties);
+            LoggedPayloadValues loggedPayloadValues =
+                    isPayloadLoggedAfterProcess(runtimeProperties.getLogLoggingLevel(), type, failedOperation)
+                            ? getLoggedPayloadValues(payload, runtimeProperties)
+                            : null;
 
-            switch (type) {
-                case HTTP_SENDER:
-                case SERVICE_CALL:
+            switch (afterProcessMessage(type)) {
+                case HTTP_RESPONSE:
                     Map<String, Object> headers = exchange.getMessage().getHeaders();
 
                     if (failedOperation) {
@@ -228,11 +330,7 @@ public void logAfterProcess(
                         }
                     }
                     break;
-                case KAFKA_SENDER:
-                case KAFKA_SENDER_2:
-                case RABBITMQ_SENDER:
-                case RABBITMQ_SENDER_2:
-                case PUBSUB_SENDER:
+                case QUEUE_RESPONSE:
                     if (failedOperation) {
                         setLoggerContext(exchange, nodeId, tracingService.isTracingEnabled());
                         chainLogger.error(ErrorCode.match(exchange.getException()),
@@ -249,14 +347,14 @@ public void logAfterProcess(
                             loggedPayloadValues.getProperties());
                     }
                     break;
-                case CHECKPOINT:
+                case CHECKPOINT_PASSED:
                     // detect checkpoint context saver
                     if (!exchange.getProperty(Properties.CHECKPOINT_IS_TRIGGER_STEP, false,
                         Boolean.class)) {
                         chainLogger.info("Session checkpoint passed");
                     }
                     break;
-                case UNKNOWN:
+                case FAILURE:
                 default:
                     if (failedOperation) {
                         setLoggerContext(exchange, nodeId, tracingService.isTracingEnabled());
@@ -16,43 +16,47 @@
 
 package org.qubership.integration.platform.engine.service.debugger.masking;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.node.TextNode;
 import io.smallrye.common.annotation.Identifier;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.NotSupportedException;
 import jakarta.ws.rs.core.MediaType;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.qubership.integration.platform.engine.errorhandling.LoggingMaskingException;
 import org.qubership.integration.platform.engine.model.SessionElementProperty;
 import org.qubership.integration.platform.engine.model.constants.CamelConstants;
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
+import org.qubership.integration.platform.engine.util.BoundedStringWriter;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.StringReader;
-import java.io.StringWriter;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
+/**
+ * Masks fields in payloads. Documents are masked in a single streaming pass, without building
+ * a tree, and the output stops growing at the configured size: a larger output is truncated
+ * and ends with {@link BoundedStringWriter#TRUNCATED_SUFFIX}.
+ */
 @Slf4j
 @ApplicationScoped
 public class MaskingService {
@@ -60,11 +64,45 @@ public class MaskingService {
     private static final MediaType JSON_PATCH_JSON_CONTENT_TYPE = MediaType.valueOf("application/json-patch+json");
     private static final MediaType X_WWW_FORM_URLENCODED_CONTENT_TYPE = MediaType.valueOf("application/x-www-form-urlencoded");
 
+    // the declaration the DOM transformer used to write, whatever the declaration of the payload is
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+    private static final String XML_ENTITY_EXPANSION_LIMIT = "2500";
+    private static final String XML_MAX_GENERAL_ENTITY_SIZE_LIMIT = "65536";
+    private static final String XML_TOTAL_ENTITY_SIZE_LIMIT = "1048576";
+
+    // StAX factories are not guaranteed to be thread safe. The JDK implementations are used,
+    // so the entity limits below are applied whatever StAX provider is on the classpath.
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY =
+            ThreadLocal.withInitial(MaskingService::createXmlInputFactory);
+    private static final ThreadLocal<XMLOutputFactory> XML_OUTPUT_FACTORY =
+            ThreadLocal.withInitial(XMLOutputFactory::newDefaultFactory);
+
     private final ObjectMapper objectMapper;
+    private final int maxOutputSize;
 
     @Inject
-    public MaskingService(@Identifier("jsonMapper") ObjectMapper objectMapper) {
+    public MaskingService(
+            @Identifier("jsonMapper") ObjectMapper objectMapper,
+            @ConfigProperty(name = "qip.sessions.masking.max-output-size-kb", defaultValue = "10240") int maxOutputSizeKb
+    ) {
         this.objectMapper = objectMapper;
+        this.maxOutputSize = (int) Math.min(Integer.MAX_VALUE, maxOutputSizeKb * 1024L);
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+        // names are matched as written, and undeclared prefixes are accepted, as they were by the DOM parser
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        // documents with an internal DTD are masked, external DTDs and entities are never loaded
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, true);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setXMLResolver((publicId, systemId, baseUri, namespace) -> new ByteArrayInputStream(new byte[0]));
+        // internal entities can't blow up the document
+        factory.setProperty("jdk.xml.entityExpansionLimit", XML_ENTITY_EXPANSION_LIMIT);
+        factory.setProperty("jdk.xml.maxGeneralEntitySizeLimit", XML_MAX_GENERAL_ENTITY_SIZE_LIMIT);
+        factory.setProperty("jdk.xml.totalEntitySizeLimit", XML_TOTAL_ENTITY_SIZE_LIMIT);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
     }
 
     public String maskFields(String target, Set<String> fields, MediaType contentType)
@@ -126,32 +164,43 @@ public void maskPropertiesFields(Map<String, SessionElementProperty> target, Set
     }
 
     public String maskJSON(String target, Set<String> fields) throws JsonProcessingException {
-        JsonNode jsonNode = objectMapper.readTree(target);
-        modifyJsonTree(jsonNode, fields);
-        return objectMapper.writeValueAsString(jsonNode);
+        BoundedStringWriter output = new BoundedStringWriter(maxOutputSize);
+        try (JsonParser parser = objectMapper.createParser(target);
+             JsonGenerator generator = objectMapper.writer().createGenerator(output)) {
+            maskJsonTokens(parser, generator, fields);
+        } catch (JsonProcessingException e) {
+            if (!output.isLimitExceeded()) {
+                throw e;
+            }
+        } catch (IOException e) {
+            if (!output.isLimitExceeded()) {
+                throw JsonMappingException.fromUnexpectedIOE(e);
+            }
+        }
+        return output.getResult();
     }
 
-    private String maskXML(String target, Set<String> fields) throws Exception {
-        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-        documentBuilderFactory.setValidating(false);
-        documentBuilderFactory.setExpandEntityReferences(false);
-        documentBuilderFactory.setXIncludeAware(false);
-        documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-        documentBuilderFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-        documentBuilderFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-        DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
-        Document document = documentBuilder.parse(new InputSource(new StringReader(target)));
-        document.getDocumentElement().normalize();
-        Node root = document.getDocumentElement();
-
-        modifyXmlTree(root, fields);
-
-        Transformer transformer = TransformerFactory.newInstance().newTransformer();
-        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
-        transformer.setOutputProperty(OutputKeys.STANDALONE, "yes");
-        StringWriter writer = new StringWriter();
-        transformer.transform(new DOMSource(document), new StreamResult(writer));
-        return writer.getBuffer().toString();
+    private String maskXML(String target, Set<String> fields) throws XMLStreamException, IOException {
+        BoundedStringWriter output = new BoundedStringWriter(maxOutputSize);
+        XMLStreamReader reader = XML_INPUT_FACTORY.get().createXMLStreamReader(new StringReader(target));
+        XMLStreamWriter writer = null;
+        try {
+            // StAX writers can't write the standalone pseudo-attribute
+            output.write(XML_DECLARATION);
+            writer = XML_OUTPUT_FACTORY.get().createXMLStreamWriter(output);
+            maskXmlEvents(reader, writer, fields);
+            writer.flush();
+        } catch (XMLStreamException | IOException e) {
+            if (!output.isLimitExceeded()) {
+                throw e;
+            }
+        } finally {
+            reader.close();
+            if (writer != null && !output.isLimitExceeded()) {
+                writer.close();
+            }
+        }
+        return output.getResult();
     }
 
     private String maskXwwwUrlencoded(String target, Set<String> fields) {
@@ -171,68 +220,142 @@ private String maskXwwwUrlencoded(String target, Set<String> fields) {
             .collect(Collectors.joining("&"));
     }
 
-    private void modifyJsonTree(JsonNode root, Set<String> maskedFields) {
-        modifyJsonTree(root, maskedFields, false);
-    }
+    /**
+     * Copies the first JSON value from the parser, replacing values of masked fields.
+     * A scalar value of a masked field is replaced, as well as scalar items of a masked array.
+     */
+    private void maskJsonTokens(JsonParser parser, JsonGenerator generator, Set<String> maskedFields)
+            throws IOException {
+        // for every open array: whether its scalar items are masked
+        Deque<Boolean> arrayMasks = new ArrayDeque<>();
+        boolean fieldMatches = false;
+        int depth = 0;
 
-    private void modifyJsonTree(JsonNode root, Set<String> maskedFields, boolean maskArray) {
-        if (root.isObject()) {
-            Iterator<String> fields = root.fieldNames();
-
-            while (fields.hasNext()) {
-                String fieldName = fields.next();
-                JsonNode fieldValue = root.get(fieldName);
-                boolean fieldMatches = maskedFields.contains(fieldName);
-                if (fieldValue.isValueNode() && fieldMatches) {
-                    ((ObjectNode) root).set(fieldName, new TextNode(CamelConstants.MASKING_TEMPLATE));
-                } else {
-                    modifyJsonTree(fieldValue, maskedFields, fieldMatches);
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            switch (token) {
+                case FIELD_NAME -> {
+                    fieldMatches = maskedFields.contains(parser.currentName());
+                    generator.copyCurrentEvent(parser);
+                }
+                case START_OBJECT -> {
+                    depth++;
+                    generator.copyCurrentEvent(parser);
+                }
+                case START_ARRAY -> {
+                    depth++;
+                    arrayMasks.push(fieldMatches && parser.getParsingContext().getParent().inObject());
+                    generator.copyCurrentEvent(parser);
+                }
+                case END_OBJECT -> {
+                    depth--;
+                    generator.copyCurrentEvent(parser);
+                }
+                case END_ARRAY -> {
+                    depth--;
+                    arrayMasks.pop();
+                    generator.copyCurrentEvent(parser);
                 }
+                default -> {
+                    JsonStreamContext context = parser.getParsingContext();
+                    boolean masked = context.inObject()
+                            ? fieldMatches
+                            : context.inArray() && Boolean.TRUE.equals(arrayMasks.peek());
+                    if (masked) {
+                        generator.writeString(CamelConstants.MASKING_TEMPLATE);
+                    } else {
+                        generator.copyCurrentEvent(parser);
+                    }
+                }
+            }
+            if (depth == 0) {
+                break;
             }
-        } else if (root.isArray()) {
-            ArrayNode arrayNode = (ArrayNode) root;
-            for (int i = 0; i < arrayNode.size(); i++) {
-                JsonNode arrayElement = arrayNode.get(i);
-                if (arrayElement.isValueNode() && maskArray) {
-                    arrayNode.set(i, new TextNode(CamelConstants.MASKING_TEMPLATE));
-                } else {
-                    modifyJsonTree(arrayElement, maskedFields, false);
+        }
+    }
+
+    /**
+     * Copies the XML document from the reader, replacing masked attributes and the text of
+     * masked elements that have text as their only child.
+     */
+    private void maskXmlEvents(XMLStreamReader reader, XMLStreamWriter writer, Set<String> maskedFields)
+            throws XMLStreamException {
+        int event = reader.next();
+        while (true) {
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    writeStartElement(reader, writer, maskedFields);
+                    if (maskedFields.contains(qualifiedName(reader.getName()))) {
+                        event = maskSingleTextChild(reader, writer);
+                        continue;
+                    }
+                }
+                case XMLStreamConstants.END_ELEMENT -> writer.writeEndElement();
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE -> writer.writeCharacters(
+                        reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                case XMLStreamConstants.CDATA -> writer.writeCData(reader.getText());
+                case XMLStreamConstants.COMMENT -> writer.writeComment(reader.getText());
+                case XMLStreamConstants.PROCESSING_INSTRUCTION ->
+                        writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                // entities are replaced in the text, their declarations would show masked values
+                case XMLStreamConstants.DTD -> {
+                }
+                case XMLStreamConstants.ENTITY_REFERENCE -> writer.writeEntityRef(reader.getLocalName());
+                case XMLStreamConstants.END_DOCUMENT -> {
+                    writer.writeEndDocument();
+                    return;
+                }
+                default -> {
                 }
             }
+            event = reader.next();
         }
     }
 
-    private void modifyXmlTree(Node root, Set<String> maskedFields) {
-        if (root.getNodeType() != Node.ELEMENT_NODE) {
-            return;
+    /**
+     * Called right after the start of a masked element. Masks its text if the text is the only child.
+     *
+     * @return the next event that is not written yet
+     */
+    private int maskSingleTextChild(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+        StringBuilder text = null;
+        int event = reader.next();
+        while (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE) {
+            if (text == null) {
+                text = new StringBuilder();
+            }
+            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            event = reader.next();
         }
 
-        if (root.hasAttributes()) {
-            maskAttributes(root, maskedFields);
+        if (text != null && event == XMLStreamConstants.END_ELEMENT) {
+            writer.writeCharacters(CamelConstants.MASKING_TEMPLATE);
+            writer.writeEndElement();
+            return reader.next();
+        }
+        if (text != null) {
+            writer.writeCharacters(text.toString());
         }
+        return event;
+    }
 
-        NodeList children = root.getChildNodes();
-        for (int i = 0; i < children.getLength(); i++) {
-            Node child = children.item(i);
+    private void writeStartElement(XMLStreamReader reader, XMLStreamWriter writer, Set<String> maskedFields)
+            throws XMLStreamException {
+        // the reader isn't namespace aware, namespace declarations are attributes
+        writer.writeStartElement(qualifiedName(reader.getName()));
 
-            if (child.getNodeType() == Node.TEXT_NODE && children.getLength() == 1) {
-                if (maskedFields.contains(root.getNodeName())) {
-                    child.setTextContent(CamelConstants.MASKING_TEMPLATE);
-                }
-            } else {
-                modifyXmlTree(child, maskedFields);
-            }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String name = qualifiedName(reader.getAttributeName(i));
+            String value = maskedFields.contains(name)
+                    ? CamelConstants.MASKING_TEMPLATE
+                    : reader.getAttributeValue(i);
+            writer.writeAttribute(name, value);
         }
     }
 
-    private void maskAttributes(Node root, Set<String> maskedFields) {
-        NamedNodeMap namedNodeMap = root.getAttributes();
-        maskedFields.forEach(mf -> {
-            Node childAttribute = namedNodeMap.getNamedItem(mf);
-            if (childAttribute != null) {
-                childAttribute.setTextContent(CamelConstants.MASKING_TEMPLATE);
-            }
-        });
+    private static String qualifiedName(QName name) {
+        return StringUtils.isEmpty(name.getPrefix())
+                ? name.getLocalPart()
+                : name.getPrefix() + ":" + name.getLocalPart();
     }
-
 }
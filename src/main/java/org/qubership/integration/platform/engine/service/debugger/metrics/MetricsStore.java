@@ -39,6 +39,7 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Stores metrics
@@ -64,6 +65,19 @@ public class MetricsStore {
     private static final String CHAIN_SESSION_SIZE = "chain.session.size";
     private static final String CHAIN_CHECKPOINT_SIZE = "chain.checkpoint.size";
 
+    private static final String SESSIONS_WRITER_QUEUE_SIZE_NAME = "sessions.writer.queue.size";
+    private static final String SESSIONS_WRITER_QUEUE_BYTES_NAME = "sessions.writer.queue.bytes";
+    private static final String SESSIONS_WRITER_SPILLED_NAME = "sessions.writer.spilled";
+    private static final String SESSIONS_WRITER_DROPPED_NAME = "sessions.writer.dropped";
+    private static final String SESSIONS_WRITER_BULK_DURATION_NAME = "sessions.writer.bulk.duration";
+    private static final String SESSIONS_WRITER_BULK_BYTES_NAME = "sessions.writer.bulk.bytes";
+
+    private static final String JSON_SCHEMA_CACHE_LOOKUPS_NAME = "validation.json.schema.cache.lookups";
+    private static final String JSON_VALIDATION_DURATION_NAME = "validation.json.duration";
+
+    private static final String IDEMPOTENCY_CLEANUP_DURATION_NAME = "idempotency.cleanup.duration";
+    private static final String IDEMPOTENCY_CLEANUP_DELETED_NAME = "idempotency.cleanup.deleted";
+
     private static final String EXECUTION_STATUS_TAG = "execution_status";
     private static final String CHAIN_STATUS_CODE_TAG = "chain_status_code";
     private static final String CHAIN_STATUS_REASON_TAG = "chain_status_reason";
@@ -75,6 +89,9 @@ public class MetricsStore {
     public static final String ELEMENT_TYPE_TAG = "element_type";
     public static final String ENGINE_DOMAIN_TAG = "engine_domain";
     private static final String RESPONSE_CODE_TAG = "response_code";
+    private static final String OVERFLOW_POLICY_TAG = "overflow_policy";
+    private static final String FAILED_TAG = "failed";
+    private static final String CACHE_HIT_TAG = "hit";
 
     public static final String MAAS_CLASSIFIER = "maas_classifier";
 
@@ -134,6 +151,9 @@ public class MetricsStore {
     // <chainId__chainName, <AtomicLong (Gauge reference) >
     private final ConcurrentMap<String, AtomicLong> checkpointsSizeGauges;
 
+    // <overflowPolicy, counter>
+    private final ConcurrentMap<String, Counter> sessionsWriterDroppedCounters;
+
     private final EngineInfo engineInfo;
 
     @Inject
@@ -154,6 +174,7 @@ public MetricsStore(
         this.httpPayloadSizeDistributionSummary = Maps.newConcurrentMap();
         this.sessionSizeGauges = Maps.newConcurrentMap();
         this.checkpointsSizeGauges = Maps.newConcurrentMap();
+        this.sessionsWriterDroppedCounters = Maps.newConcurrentMap();
         this.namePrefix = appPrefix + ".engine.";
     }
 
@@ -270,6 +291,84 @@ public void processChainCheckpointsSize(List<ChainDataAllocationSize> chainCheck
         }
     }
 
+    public void registerSessionsWriterQueueGauges(
+            Supplier<Number> queueSize,
+            Supplier<Number> queueBytes,
+            Supplier<Number> spilledElements
+    ) {
+        if (metricsEnabled) {
+            Gauge.builder(namePrefix + SESSIONS_WRITER_QUEUE_SIZE_NAME, queueSize)
+                    .tag(ENGINE_DOMAIN_TAG, engineInfo.getDomain())
+                    .register(meterRegistry);
+            Gauge.builder(namePrefix + SESSIONS_WRITER_QUEUE_BYTES_NAME, queueBytes)
+                    .tag(ENGINE_DOMAIN_TAG, engineInfo.getDomain())
+                    .baseUnit(BaseUnits.BYTES)
+                    .register(meterRegistry);
+            Gauge.builder(namePrefix + SESSIONS_WRITER_SPILLED_NAME, spilledElements)
+                    .tag(ENGINE_DOMAIN_TAG, engineInfo.getDomain())
+                    .register(meterRegistry);
+        }
+    }
+
+    public void processSessionsWriterDrop(String overflowPolicy) {
+        if (metricsEnabled) {
+            sessionsWriterDroppedCounters.computeIfAbsent(overflowPolicy, policy ->
+                    Counter.builder(namePrefix + SESSIONS_WRITER_DROPPED_NAME)
+                            .tag(OVERFLOW_POLICY_TAG, policy)
+                            .tag(ENGINE_DOMAIN_TAG, engineInfo.getDomain())
+                            .register(meterRegistry))
+                    .increment();
+        }
+    }
+
+    public void processSessionsWriterBulk(long durationNanos, long bytes, boolean failed) {
+        if (metricsEnabled) {
+            Timer.builder(namePrefix + SESSIONS_WRITER_BULK_DURATION_NAME)
+                    .tag(FAILED_TAG, String.valueOf(failed))
+                    .tag(ENGINE_DOMAIN_TAG, engineInfo.getDomain())
+                    .register(meterRegistry)
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+            Counter.builder(namePrefix + SESSIONS_WRITER_BULK_BYTES_NAME)
+                    .tag(ENGINE_DOMAIN_TAG, engineInfo.getDomain())
+                    .baseUnit(BaseUnits.BYTES)
+                    .register(meterRegistry)
+                    .increment(bytes);
+        }
+    }
+
+    public void processJsonSchemaCacheLookup(boolean hit) {
+        if (metricsEnabled) {
+            Counter.builder(namePrefix + JSON_SCHEMA_CACHE_LOOKUPS_NAME)
+                    .tag(CACHE_HIT_TAG, String.valueOf(hit))
+                    .tag(ENGINE_DOMAIN_TAG, engineInfo.getDomain())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    public void processJsonValidation(long durationNanos) {
+        if (metricsEnabled) {
+            Timer.builder(namePrefix + JSON_VALIDATION_DURATION_NAME)
+                    .tag(ENGINE_DOMAIN_TAG, engineInfo.getDomain())
+                    .register(meterRegistry)
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void processIdempotencyCleanup(long durationNanos, long deletedRows, boolean failed) {
+        if (metricsEnabled) {
+            Timer.builder(namePrefix + IDEMPOTENCY_CLEANUP_DURATION_NAME)
+                    .tag(FAILED_TAG, String.valueOf(failed))
+                    .tag(ENGINE_DOMAIN_TAG, engineInfo.getDomain())
+                    .register(meterRegistry)
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+            Counter.builder(namePrefix + IDEMPOTENCY_CLEANUP_DELETED_NAME)
+                    .tag(ENGINE_DOMAIN_TAG, engineInfo.getDomain())
+                    .register(meterRegistry)
+                    .increment(deletedRows);
+        }
+    }
+
     public void removeChainsDeployments(String deploymentId) {
         if (metricsEnabled) {
             for (Map.Entry<String, ConcurrentMap<String, Gauge>> chainsDeploymentGauge : chainsDeploymentsGauges.entrySet()) {
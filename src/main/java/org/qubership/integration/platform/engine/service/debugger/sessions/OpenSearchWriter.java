@@ -2,10 +2,12 @@
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.qubership.integration.platform.engine.model.Session;
 import org.qubership.integration.platform.engine.model.opensearch.SessionElementElastic;
 import org.qubership.integration.platform.engine.service.ExecutionStatus;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -25,9 +27,24 @@ public abstract class OpenSearchWriter {
     private final ConcurrentMap<String, ConcurrentMap<String, SessionElementElastic>> sessionElementsCache = new ConcurrentHashMap<>();
     // <sessionId, last_element>
     private final ConcurrentMap<String, SessionElementElastic> singleElementCache = new ConcurrentHashMap<>();
+    // <sessionId, <elementId, time of the first deferred update in millis>>
+    private final ConcurrentMap<String, ConcurrentMap<String, Long>> deferredElements = new ConcurrentHashMap<>();
 
+    /**
+     * When enabled, updates of elements of a live session are only cached and the element
+     * is written once, when the session finishes or when it stays deferred longer than the flush window.
+     */
+    @ConfigProperty(name = "qip.sessions.coalescing.enabled", defaultValue = "false")
+    boolean coalescingEnabled;
 
-    public abstract void scheduleElementToLog(SessionElementElastic element);
+    @ConfigProperty(name = "qip.sessions.coalescing.flush-window", defaultValue = "30s")
+    Duration coalescingFlushWindow;
+
+
+    public void scheduleElementToLog(SessionElementElastic element) {
+        removeDeferredElement(element);
+        scheduleElementToLog(element, false);
+    }
 
     protected abstract void scheduleElementToLog(SessionElementElastic element, boolean addToCache);
 
@@ -37,7 +54,11 @@ public void scheduleElementToLogAndCache(SessionElementElastic element) {
             sessionPair.getLeft().readLock().lock();
             try {
                 if (sessionsCache.containsKey(element.getSessionId())) {
-                    scheduleElementToLog(element, true);
+                    if (coalescingEnabled) {
+                        deferElement(element);
+                    } else {
+                        scheduleElementToLog(element, true);
+                    }
                 } else {
                     element.setExecutionStatus(ExecutionStatus.CANCELLED_OR_UNKNOWN);
                     scheduleElementToLog(element, false);
@@ -103,12 +124,80 @@ public SessionElementElastic moveFromSingleElementCacheToElementCache(String ses
         return elementRef.get();
     }
 
+    /**
+     * Takes the session write lock, so elements being deferred under the read lock
+     * are either flushed here or see the session as finished.
+     */
     public void clearSessionCache(String sessionId) {
+        Pair<ReadWriteLock, Session> sessionPair = sessionsCache.get(sessionId);
+        if (sessionPair == null) {
+            removeSessionCache(sessionId);
+            return;
+        }
+        sessionPair.getLeft().writeLock().lock();
+        try {
+            removeSessionCache(sessionId);
+        } finally {
+            sessionPair.getLeft().writeLock().unlock();
+        }
+    }
+
+    private void removeSessionCache(String sessionId) {
         sessionsCache.remove(sessionId);
+        // elements which were not written on session finish must not be lost with the cache
+        Map<String, Long> deferred = deferredElements.remove(sessionId);
+        if (deferred != null) {
+            for (String elementId : deferred.keySet()) {
+                SessionElementElastic element = getSessionElementFromCache(sessionId, elementId);
+                if (element != null) {
+                    scheduleElementToLog(element, false);
+                }
+            }
+        }
         sessionElementsCache.remove(sessionId);
         singleElementCache.remove(sessionId);
     }
 
+    /**
+     * Writes elements of live sessions that have been deferred longer than the flush window,
+     * so long-running sessions are visible before they finish.
+     */
+    public void flushDeferredElements() {
+        if (deferredElements.isEmpty() || coalescingFlushWindow == null) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() - coalescingFlushWindow.toMillis();
+        for (Map.Entry<String, ConcurrentMap<String, Long>> sessionEntry : deferredElements.entrySet()) {
+            String sessionId = sessionEntry.getKey();
+            Map<String, Long> deferred = sessionEntry.getValue();
+            for (Map.Entry<String, Long> elementEntry : deferred.entrySet()) {
+                if (elementEntry.getValue() > deadline) {
+                    continue;
+                }
+                String elementId = elementEntry.getKey();
+                runWithSessionReadLock(sessionId, () -> {
+                    SessionElementElastic element = getSessionElementFromCache(sessionId, elementId);
+                    if (deferred.remove(elementId) != null && element != null) {
+                        scheduleElementToLog(element, false);
+                    }
+                });
+            }
+        }
+    }
+
+    private void deferElement(SessionElementElastic element) {
+        putSessionElementToCache(element);
+        deferredElements.computeIfAbsent(element.getSessionId(), id -> new ConcurrentHashMap<>())
+                .putIfAbsent(element.getId(), System.currentTimeMillis());
+    }
+
+    private void removeDeferredElement(SessionElementElastic element) {
+        Map<String, Long> deferred = deferredElements.get(element.getSessionId());
+        if (deferred != null) {
+            deferred.remove(element.getId());
+        }
+    }
+
     protected void runWithSessionReadLock(String sessionId, Runnable runnable) {
         Pair<ReadWriteLock, Session> sessionPair = sessionsCache.get(sessionId);
         if (sessionPair != null) {
@@ -35,40 +35,50 @@
 import org.qubership.integration.platform.engine.model.opensearch.QueueElement;
 import org.qubership.integration.platform.engine.model.opensearch.SessionElementElastic;
 import org.qubership.integration.platform.engine.opensearch.OpenSearchClientSupplier;
+import org.qubership.integration.platform.engine.opensearch.PreSerializedDocument;
+import org.qubership.integration.platform.engine.service.debugger.metrics.MetricsStore;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.List;
+import java.nio.file.Path;
+import java.util.*;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Writes session elements to OpenSearch with a pool of writer threads. Elements are partitioned
+ * by session id, so the updates of an element are always indexed in the order they were scheduled.
+ * Partitions send bulk requests concurrently, limited by the number of in-flight requests.
+ */
 @Slf4j
 @ApplicationScoped
 @DefaultBean
 @IfBuildProperty(name = "qip.opensearch.kafka-client.enabled", stringValue = "false")
-public class OpenSearchWriterDefault extends OpenSearchWriter implements Runnable {
+public class OpenSearchWriterDefault extends OpenSearchWriter {
 
     private final int queueMaxSizeBytes;
     private final int bulkRequestMaxSizeBytes;
     private final int bulkRequestPayloadSizeThresholdBytes;
     private final int bulkRequestElementsCountThreshold;
+    private final QueueOverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
 
     private final OpenSearchProperties openSearchProperties;
     private final OpenSearchClientSupplier openSearchClientSupplier;
     private final ObjectMapper mapper;
+    private final MetricsStore metricsStore;
 
-    private final BlockingQueue<QueueElement> sessionElementsQueue;
+    private final List<Partition> partitions;
+    private final Semaphore inFlightRequests;
     // total queue bodyBefore+bodyAfter size in bytes
     private final AtomicLong queueTotalPayloadSize = new AtomicLong(0);
 
-    private long currentWriteTimeout = 0;
-
     private String indexName;
 
     private static final int EXCEPTION_COOLDOWN_DELAY = 10000;
+    private static final int SPILL_CHECK_INTERVAL = 1000;
 
     private static final int WRITE_TIMEOUT_MULTIPLIER = 2;
     private static final int ERROR_MESSAGE_COUNT_THRESHOLD = 3;
@@ -80,15 +90,24 @@ public class OpenSearchWriterDefault extends OpenSearchWriter implements Runnabl
     public OpenSearchWriterDefault(
             @ConfigProperty(name = "qip.sessions.queue.capacity") int sessionBufferCapacity,
             @ConfigProperty(name = "qip.sessions.queue.max-size-mb") int queueMaxSizeMb,
+            @ConfigProperty(name = "qip.sessions.queue.overflow-policy", defaultValue = "drop-newest")
+            QueueOverflowPolicy overflowPolicy,
+            @ConfigProperty(name = "qip.sessions.queue.block-timeout-ms", defaultValue = "100") long blockTimeoutMs,
+            @ConfigProperty(name = "qip.sessions.queue.spill-directory", defaultValue = "/tmp/sessions-spill")
+            String spillDirectory,
+            @ConfigProperty(name = "qip.sessions.writer.workers", defaultValue = "1") int workers,
+            @ConfigProperty(name = "qip.sessions.writer.max-in-flight-requests", defaultValue = "1") int maxInFlightRequests,
             @ConfigProperty(name = "qip.sessions.bulk-request.max-size-kb") int bulkRequestMaxSizeKb,
             @ConfigProperty(name = "qip.sessions.bulk-request.payload-size-threshold-kb") int bulkRequestPayloadSizeThresholdKb,
             @ConfigProperty(name = "qip.sessions.bulk-request.elements-count-threshold") int bulkRequestElementsCountThreshold,
             OpenSearchProperties openSearchProperties,
             OpenSearchClientSupplier openSearchClientSupplier,
-            @Identifier("jsonMapper") ObjectMapper mapper
+            @Identifier("jsonMapper") ObjectMapper mapper,
+            MetricsStore metricsStore
     ) {
-        sessionElementsQueue = new LinkedBlockingQueue<>(sessionBufferCapacity);
         this.queueMaxSizeBytes = (int) (queueMaxSizeMb * 1024 * 1024 * REPEATED_ELEMENTS_RATIO);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
 
         this.bulkRequestMaxSizeBytes = bulkRequestMaxSizeKb * 1024;
         this.bulkRequestPayloadSizeThresholdBytes = bulkRequestPayloadSizeThresholdKb * 1024;
@@ -98,131 +117,317 @@ public OpenSearchWriterDefault(
         this.openSearchProperties = openSearchProperties;
         this.openSearchClientSupplier = openSearchClientSupplier;
         this.mapper = mapper;
+        this.metricsStore = metricsStore;
+
+        int partitionCount = Math.max(1, workers);
+        int partitionCapacity = Math.max(1, sessionBufferCapacity / partitionCount);
+        this.inFlightRequests = new Semaphore(Math.max(1, maxInFlightRequests));
+        List<Partition> createdPartitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            createdPartitions.add(new Partition(i, partitionCapacity, createSpillFile(spillDirectory, i)));
+        }
+        this.partitions = Collections.unmodifiableList(createdPartitions);
+
+        metricsStore.registerSessionsWriterQueueGauges(
+                () -> partitions.stream().mapToInt(partition -> partition.queue.size()).sum(),
+                queueTotalPayloadSize::get,
+                () -> partitions.stream().mapToLong(Partition::getSpilledCount).sum());
 
-        // start permanent writer thread
-        new Thread(this).start();
+        // start permanent writer threads
+        for (Partition partition : partitions) {
+            Thread thread = new Thread(partition, "sessions-writer-" + partition.index);
+            thread.start();
+        }
+    }
+
+    private SessionElementsSpillFile createSpillFile(String spillDirectory, int partitionIndex) {
+        if (overflowPolicy != QueueOverflowPolicy.SPILL_TO_DISK) {
+            return null;
+        }
+        try {
+            return new SessionElementsSpillFile(Path.of(spillDirectory), "session-elements-" + partitionIndex);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create session elements spill file in " + spillDirectory, e);
+        }
     }
 
     @Override
-    public void run() {
-        List<QueueElement> elementsToSave = new ArrayList<>(openSearchProperties.write().batch().count());
-        resetWriteTimeout();
+    protected void scheduleElementToLog(SessionElementElastic element, boolean addToCache) {
+        long payloadSize = calculatePayloadSizeInBytes(element);
+        QueueElement queueElement = QueueElement.builder()
+                .element(element)
+                .calculatedPayloadSize(payloadSize)
+                .build();
+        if (!partitionFor(element).enqueue(queueElement)) {
+            log.error("Queue of opensearch elements is full, element is not added");
+            metricsStore.processSessionsWriterDrop(overflowPolicy.name());
+        }
 
-        while (true) {
-            try {
-                try {
-                    // Wait for any element
-                    elementsToSave.add(sessionElementsQueue.take());
-                } catch (InterruptedException ignored) {
-                    continue;
-                }
-                sessionElementsQueue.drainTo(elementsToSave, openSearchProperties.write().batch().count() - 1);
-                elementsToSave.forEach(element -> queueTotalPayloadSize.addAndGet(
-                        -element.getCalculatedPayloadSize()));
-                LinkedHashSet<QueueElement> filteredElements = new LinkedHashSet<>(elementsToSave);
+        if (addToCache) {
+            putSessionElementToCache(element);
+        }
+    }
 
-                if (!filteredElements.isEmpty()) {
-                    saveElements(filteredElements);
-                }
+    private Partition partitionFor(SessionElementElastic element) {
+        return partitions.get(Math.floorMod(Objects.hashCode(element.getSessionId()), partitions.size()));
+    }
 
-                elementsToSave.clear();
-            } catch (Exception e) {
-                log.error("Failed to commit sessions to opensearch", e);
-                try {
-                    Thread.sleep(EXCEPTION_COOLDOWN_DELAY);
-                } catch (InterruptedException ex) {
-                    throw new RuntimeException(ex);
-                }
+    private boolean isQueueMemoryExceeded() {
+        return queueTotalPayloadSize.get() >= queueMaxSizeBytes;
+    }
+
+    private record IndexedDocument(String id, PreSerializedDocument document) {}
+
+    private class Partition implements Runnable {
+        private final int index;
+        private final BlockingQueue<QueueElement> queue;
+        private final SessionElementsSpillFile spillFile;
+        private long currentWriteTimeout = 0;
+
+        Partition(int index, int capacity, SessionElementsSpillFile spillFile) {
+            this.index = index;
+            this.queue = new LinkedBlockingQueue<>(capacity);
+            this.spillFile = spillFile;
+        }
+
+        long getSpilledCount() {
+            return spillFile == null ? 0 : spillFile.getPendingCount();
+        }
+
+        boolean enqueue(QueueElement element) {
+            return switch (overflowPolicy) {
+                case DROP_NEWEST -> !isQueueMemoryExceeded() && offer(element);
+                case DROP_OLDEST -> offerDroppingOldest(element);
+                case BLOCK -> offerBlocking(element);
+                case SPILL_TO_DISK -> offerOrSpill(element);
+            };
+        }
+
+        private boolean offer(QueueElement element) {
+            if (queue.offer(element)) {
+                queueTotalPayloadSize.addAndGet(element.getCalculatedPayloadSize());
+                return true;
             }
+            return false;
         }
-    }
 
-    private void saveElements(LinkedHashSet<QueueElement> sessionElements) {
-        int currentRetry = 0;
-        int bulkRequestSize = 0;
+        private boolean offerDroppingOldest(QueueElement element) {
+            while (isQueueMemoryExceeded() || !offer(element)) {
+                QueueElement oldest = queue.poll();
+                if (oldest == null) {
+                    return false;
+                }
+                queueTotalPayloadSize.addAndGet(-oldest.getCalculatedPayloadSize());
+                metricsStore.processSessionsWriterDrop(overflowPolicy.name());
+            }
+            return true;
+        }
 
-        byte[] payload;
-        int payloadSize;
-        boolean needToExecuteBulk = false;
-        List<BulkOperation> updateRequests = new ArrayList<>();
+        private boolean offerBlocking(QueueElement element) {
+            if (isQueueMemoryExceeded()) {
+                return false;
+            }
+            try {
+                if (queue.offer(element, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    queueTotalPayloadSize.addAndGet(element.getCalculatedPayloadSize());
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
 
-        Iterator<QueueElement> iterator = sessionElements.iterator();
-        while (iterator.hasNext()) {
-            SessionElementElastic element = iterator.next().getElement();
+        private boolean offerOrSpill(QueueElement element) {
+            // once something is spilled, keep spilling until the file is drained to preserve element order
+            if (spillFile.isEmpty() && !isQueueMemoryExceeded() && offer(element)) {
+                return true;
+            }
+            SessionElementElastic sessionElement = element.getElement();
             try {
-                payload = mapper.writeValueAsBytes(element);
+                return spillFile.append(sessionElement.getId(), mapper.writeValueAsBytes(sessionElement));
             } catch (JsonProcessingException e) {
-                log.error("Failed to parse sessions write request. Element skipped");
-                resetWriteTimeout();
-                continue;
+                log.error("Failed to serialize session element {} for spilling", sessionElement.getId());
+                return false;
             }
+        }
 
-            payloadSize = payload.length;
-            BulkOperation request = new BulkOperation.Builder()
-                    .index(IndexOperation.of(io -> io
-                            .index(openSearchClientSupplier.normalize(indexName))
-                            .id(element.getId())
-                            .requireAlias(true)
-                            .document(element)
-                    ))
-                    .build();
+        @Override
+        public void run() {
+            List<QueueElement> elementsToSave = new ArrayList<>(openSearchProperties.write().batch().count());
+            resetWriteTimeout();
 
-            do {
+            while (true) {
                 try {
-                    if (payloadSize >= bulkRequestPayloadSizeThresholdBytes || sessionElements.size() <= bulkRequestElementsCountThreshold) {
-                        waitBeforeRequest();
-                        executeBulk(new ArrayList<>(List.of(request)));
-                    } else {
-                        if (currentRetry == 0) {
-                            updateRequests.add(request);
-                            bulkRequestSize += payloadSize;
+                    QueueElement first;
+                    try {
+                        // Wait for any element
+                        first = spillFile == null
+                                ? queue.take()
+                                : queue.poll(SPILL_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException ignored) {
+                        continue;
+                    }
+                    if (first != null) {
+                        elementsToSave.add(first);
+                        queue.drainTo(elementsToSave, openSearchProperties.write().batch().count() - 1);
+                        elementsToSave.forEach(element -> queueTotalPayloadSize.addAndGet(
+                                -element.getCalculatedPayloadSize()));
+                        LinkedHashSet<QueueElement> filteredElements = new LinkedHashSet<>(elementsToSave);
+
+                        if (!filteredElements.isEmpty()) {
+                            saveElements(filteredElements);
                         }
+
+                        elementsToSave.clear();
+                    }
+                    if (spillFile != null && queue.isEmpty() && !spillFile.isEmpty()) {
+                        drainSpillFile();
+                    }
+                } catch (Exception e) {
+                    log.error("Failed to commit sessions to opensearch", e);
+                    try {
+                        Thread.sleep(EXCEPTION_COOLDOWN_DELAY);
+                    } catch (InterruptedException ex) {
+                        throw new RuntimeException(ex);
                     }
+                }
+            }
+        }
 
-                    needToExecuteBulk =
-                            bulkRequestSize >= bulkRequestMaxSizeBytes
-                                    || (!iterator.hasNext() && !updateRequests.isEmpty());
+        private void drainSpillFile() throws IOException {
+            spillFile.drain(openSearchProperties.write().batch().count(), spilledElements -> sendDocuments(
+                    spilledElements.stream()
+                            .map(spilled -> new IndexedDocument(spilled.id(), new PreSerializedDocument(spilled.json())))
+                            .toList()));
+        }
+
+        private void saveElements(LinkedHashSet<QueueElement> sessionElements) {
+            List<IndexedDocument> documents = new ArrayList<>(sessionElements.size());
+            for (QueueElement queueElement : sessionElements) {
+                SessionElementElastic element = queueElement.getElement();
+                try {
+                    // serialized once: the same bytes are used for size accounting and sent in the bulk request
+                    documents.add(new IndexedDocument(
+                            element.getId(), new PreSerializedDocument(mapper.writeValueAsBytes(element))));
+                } catch (JsonProcessingException e) {
+                    log.error("Failed to parse sessions write request. Element skipped");
+                    resetWriteTimeout();
+                }
+            }
+            sendDocuments(documents);
+        }
 
-                    if (needToExecuteBulk) {
-                        waitBeforeRequest();
-                        if (executeBulk(updateRequests)) {
-                            throw new RuntimeException();
+        private void sendDocuments(List<IndexedDocument> documents) {
+            int currentRetry = 0;
+            int bulkRequestSize = 0;
+
+            int payloadSize;
+            boolean needToExecuteBulk = false;
+            List<BulkOperation> updateRequests = new ArrayList<>();
+
+            Iterator<IndexedDocument> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                IndexedDocument document = iterator.next();
+                payloadSize = document.document().size();
+                BulkOperation request = new BulkOperation.Builder()
+                        .index(IndexOperation.of(io -> io
+                                .index(openSearchClientSupplier.normalize(indexName))
+                                .id(document.id())
+                                .requireAlias(true)
+                                .document(document.document())
+                        ))
+                        .build();
+
+                do {
+                    try {
+                        if (payloadSize >= bulkRequestPayloadSizeThresholdBytes || documents.size() <= bulkRequestElementsCountThreshold) {
+                            waitBeforeRequest();
+                            executeBulk(new ArrayList<>(List.of(request)), payloadSize);
+                        } else {
+                            if (currentRetry == 0) {
+                                updateRequests.add(request);
+                                bulkRequestSize += payloadSize;
+                            }
                         }
-                        bulkRequestSize = 0;
-                        needToExecuteBulk = false;
-                    }
-                } catch (Exception e) {
-                    log.error("While sessions writing an error has occurred", e);
-                    increaseWriteTimeout();
-                    if (currentRetry < RETRY_COUNT_ON_WRITE_ERROR) {
-                        currentRetry++;
-                        continue;
-                    } else {
+
+                        needToExecuteBulk =
+                                bulkRequestSize >= bulkRequestMaxSizeBytes
+                                        || (!iterator.hasNext() && !updateRequests.isEmpty());
+
                         if (needToExecuteBulk) {
+                            waitBeforeRequest();
+                            if (executeBulk(updateRequests, bulkRequestSize)) {
+                                throw new RuntimeException();
+                            }
                             bulkRequestSize = 0;
-                            updateRequests.clear();
                             needToExecuteBulk = false;
                         }
+                    } catch (Exception e) {
+                        log.error("While sessions writing an error has occurred", e);
+                        increaseWriteTimeout();
+                        if (currentRetry < RETRY_COUNT_ON_WRITE_ERROR) {
+                            currentRetry++;
+                            continue;
+                        } else {
+                            if (needToExecuteBulk) {
+                                bulkRequestSize = 0;
+                                updateRequests.clear();
+                                needToExecuteBulk = false;
+                            }
+                        }
                     }
-                }
 
-                if (currentRetry < RETRY_COUNT_ON_WRITE_ERROR) {
-                    resetWriteTimeout();
-                }
-                currentRetry = 0;
-            } while (currentRetry > 0);
+                    if (currentRetry < RETRY_COUNT_ON_WRITE_ERROR) {
+                        resetWriteTimeout();
+                    }
+                    currentRetry = 0;
+                } while (currentRetry > 0);
+            }
         }
-    }
 
-    private boolean executeBulk(List<BulkOperation> updateRequests) throws IOException {
-        BulkRequest bulkRequest = new BulkRequest.Builder()
-                .index(openSearchClientSupplier.normalize(indexName))
-                .requireAlias(true)
-                .operations(updateRequests)
-                .build();
-        BulkResponse bulk = openSearchClientSupplier.getClient().bulk(bulkRequest);
-        updateRequests.clear();
-        return checkAndLogFailedElements(bulk);
+        private boolean executeBulk(List<BulkOperation> updateRequests, long requestSize) throws IOException, InterruptedException {
+            BulkRequest bulkRequest = new BulkRequest.Builder()
+                    .index(openSearchClientSupplier.normalize(indexName))
+                    .requireAlias(true)
+                    .operations(updateRequests)
+                    .build();
+            long startTime = System.nanoTime();
+            boolean failed = true;
+            inFlightRequests.acquire();
+            try {
+                BulkResponse bulk = openSearchClientSupplier.getClient().bulk(bulkRequest);
+                updateRequests.clear();
+                failed = checkAndLogFailedElements(bulk);
+                return failed;
+            } finally {
+                inFlightRequests.release();
+                metricsStore.processSessionsWriterBulk(System.nanoTime() - startTime, requestSize, failed);
+            }
+        }
+
+        private void resetWriteTimeout() {
+            currentWriteTimeout = openSearchProperties.write().retry().timeout().minimum();
+            log.trace("OpenSearch write timeout has been reset to {}", currentWriteTimeout);
+        }
+
+        private void increaseWriteTimeout() {
+            if (currentWriteTimeout == openSearchProperties.write().retry().timeout().maximum()) {
+                return;
+            }
+            currentWriteTimeout = Math.max(openSearchProperties.write().retry().timeout().minimum(), currentWriteTimeout);
+            currentWriteTimeout *= WRITE_TIMEOUT_MULTIPLIER;
+            currentWriteTimeout = Math.min(openSearchProperties.write().retry().timeout().maximum(), currentWriteTimeout);
+            log.info("OpenSearch write timeout has been increased to {}", currentWriteTimeout);
+        }
+
+        @SuppressWarnings("checkstyle:EmptyCatchBlock")
+        private void waitBeforeRequest() {
+            try {
+                Thread.sleep(currentWriteTimeout);
+            } catch (InterruptedException ignored) {
+            }
+        }
     }
 
     private boolean checkAndLogFailedElements(BulkResponse response) {
@@ -250,52 +455,6 @@ private boolean checkAndLogFailedElements(BulkResponse response) {
         return errCount > 0;
     }
 
-    private void resetWriteTimeout() {
-        currentWriteTimeout = openSearchProperties.write().retry().timeout().minimum();
-        log.trace("OpenSearch write timeout has been reset to {}", currentWriteTimeout);
-    }
-
-    private void increaseWriteTimeout() {
-        if (currentWriteTimeout == openSearchProperties.write().retry().timeout().maximum()) {
-            return;
-        }
-        currentWriteTimeout = Math.max(openSearchProperties.write().retry().timeout().minimum(), currentWriteTimeout);
-        currentWriteTimeout *= WRITE_TIMEOUT_MULTIPLIER;
-        currentWriteTimeout = Math.min(openSearchProperties.write().retry().timeout().maximum(), currentWriteTimeout);
-        log.info("OpenSearch write timeout has been increased to {}", currentWriteTimeout);
-    }
-
-    @SuppressWarnings("checkstyle:EmptyCatchBlock")
-    private void waitBeforeRequest() {
-        try {
-            Thread.sleep(currentWriteTimeout);
-        } catch (InterruptedException ignored) {
-        }
-    }
-
-    @Override
-    public void scheduleElementToLog(SessionElementElastic element) {
-        scheduleElementToLog(element, false);
-    }
-
-    protected void scheduleElementToLog(SessionElementElastic element, boolean addToCache) {
-        long payloadSize = calculatePayloadSizeInBytes(element);
-        if (queueTotalPayloadSize.get() >= queueMaxSizeBytes
-                || !sessionElementsQueue.offer(
-                QueueElement.builder()
-                        .element(element)
-                        .calculatedPayloadSize(payloadSize)
-                        .build())) {
-            log.error("Queue of opensearch elements is full, element is not added");
-        } else {
-            queueTotalPayloadSize.addAndGet(payloadSize);
-        }
-
-        if (addToCache) {
-            putSessionElementToCache(element);
-        }
-    }
-
     private long calculatePayloadSizeInBytes(SessionElementElastic element) {
         long size = 0;
 
@@ -46,10 +46,6 @@ private void sendToKafka(SessionElementElastic element) {
     }
 
     @Override
-    public void scheduleElementToLog(SessionElementElastic element) {
-        scheduleElementToLog(element, false);
-    }
-
     protected void scheduleElementToLog(SessionElementElastic element, boolean addToCache) {
         sendToKafka(element);
 
@@ -0,0 +1,23 @@
+package org.qubership.integration.platform.engine.service.debugger.sessions;
+
+/**
+ * What the session elements writer does when a partition queue is full.
+ */
+public enum QueueOverflowPolicy {
+    /**
+     * Discard the element being scheduled.
+     */
+    DROP_NEWEST,
+    /**
+     * Discard the oldest queued elements to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Wait for free space up to the configured timeout, then discard the element being scheduled.
+     */
+    BLOCK,
+    /**
+     * Write elements to a local file and index them once the partition queue is drained.
+     */
+    SPILL_TO_DISK
+}
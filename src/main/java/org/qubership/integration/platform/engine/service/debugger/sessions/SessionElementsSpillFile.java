@@ -0,0 +1,122 @@
+package org.qubership.integration.platform.engine.service.debugger.sessions;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only file for serialized session elements that didn't fit into a writer partition queue.
+ * Each line is {@code <element id>\t<element json>}. The file is detached as a whole before
+ * reading, so appending and reading never touch the same file. Files left from a previous run
+ * are picked up on start.
+ */
+@Slf4j
+class SessionElementsSpillFile {
+    record SpilledElement(String id, byte[] json) {}
+
+    private static final char SEPARATOR = '\t';
+    private static final byte LINE_END = '\n';
+
+    private final Path file;
+    private final Path detachedFile;
+    private OutputStream output;
+    private long pendingCount;
+
+    SessionElementsSpillFile(Path directory, String name) throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve(name + ".ndjson");
+        this.detachedFile = directory.resolve(name + ".draining.ndjson");
+        this.pendingCount = Files.exists(file) || Files.exists(detachedFile) ? 1 : 0;
+    }
+
+    synchronized boolean isEmpty() {
+        return pendingCount == 0;
+    }
+
+    synchronized long getPendingCount() {
+        return pendingCount;
+    }
+
+    synchronized boolean append(String id, byte[] json) {
+        try {
+            if (output == null) {
+                output = new BufferedOutputStream(Files.newOutputStream(file,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE));
+            }
+            output.write(id.getBytes(StandardCharsets.UTF_8));
+            output.write((byte) SEPARATOR);
+            output.write(json);
+            output.write(LINE_END);
+            output.flush();
+            pendingCount++;
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to spill session element {} to {}", id, file, e);
+            return false;
+        }
+    }
+
+    /**
+     * Reads spilled elements in chunks of {@code chunkSize} and removes them from disk once all
+     * chunks are handled. A file left detached by a failed attempt is read again first.
+     */
+    void drain(int chunkSize, Consumer<List<SpilledElement>> chunkConsumer) throws IOException {
+        synchronized (this) {
+            if (!Files.exists(detachedFile)) {
+                closeOutput();
+                if (!Files.exists(file)) {
+                    pendingCount = 0;
+                    return;
+                }
+                Files.move(file, detachedFile, StandardCopyOption.ATOMIC_MOVE);
+                pendingCount = 0;
+            }
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(detachedFile, StandardCharsets.UTF_8)) {
+            List<SpilledElement> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separatorIndex = line.indexOf(SEPARATOR);
+                if (separatorIndex <= 0) {
+                    continue;
+                }
+                chunk.add(new SpilledElement(
+                        line.substring(0, separatorIndex),
+                        line.substring(separatorIndex + 1).getBytes(StandardCharsets.UTF_8)));
+                if (chunk.size() >= chunkSize) {
+                    chunkConsumer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(chunk);
+            }
+        }
+        Files.deleteIfExists(detachedFile);
+        synchronized (this) {
+            // a file left from a previous run is not counted line by line
+            if (pendingCount == 0 && Files.exists(file)) {
+                pendingCount = 1;
+            }
+        }
+    }
+
+    private void closeOutput() throws IOException {
+        if (output != null) {
+            output.close();
+            output = null;
+        }
+    }
+}
@@ -35,14 +35,17 @@
 import org.qubership.integration.platform.engine.model.SessionElementProperty;
 import org.qubership.integration.platform.engine.model.constants.CamelConstants.Headers;
 import org.qubership.integration.platform.engine.model.logging.CachingPayloadSupplierWrapper;
+import org.qubership.integration.platform.engine.model.logging.CachingSupplier;
 import org.qubership.integration.platform.engine.model.logging.Payload;
 import org.qubership.integration.platform.engine.service.debugger.ChainRuntimePropertiesService;
 import org.qubership.integration.platform.engine.service.debugger.masking.MaskingService;
 import org.qubership.integration.platform.engine.util.ExchangeUtils;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -67,14 +70,23 @@ public PayloadExtractor(
     }
 
     public Payload extractPayload(Exchange exchange) {
-        ChainRuntimeProperties chainRuntimeProperties = chainRuntimePropertiesService.getRuntimeProperties(exchange);
-        Set<String> maskedFields = MaskedFieldUtils.getMaskedFields(exchange);
+        return extractPayload(exchange, chainRuntimePropertiesService.getRuntimeProperties(exchange));
+    }
+
+    /**
+     * Creates a lazy payload snapshot. Nothing is read from the exchange until a part of
+     * the payload is requested; masked fields are resolved once and only if masking is enabled.
+     */
+    public Payload extractPayload(Exchange exchange, ChainRuntimeProperties chainRuntimeProperties) {
         boolean isMaskingEnabled = chainRuntimeProperties.isMaskingEnabled();
+        Supplier<Set<String>> maskedFields = isMaskingEnabled
+                ? new CachingSupplier<>(() -> MaskedFieldUtils.getMaskedFields(exchange))
+                : Collections::emptySet;
         return new CachingPayloadSupplierWrapper(
-                () -> extractHeaders(exchange, maskedFields, isMaskingEnabled),
-                () -> extractContext(maskedFields, isMaskingEnabled),
-                () -> extractExchangeProperties(exchange, maskedFields, isMaskingEnabled),
-                () -> extractBody(exchange, maskedFields, isMaskingEnabled)
+                () -> extractHeaders(exchange, maskedFields.get(), isMaskingEnabled),
+                () -> extractContext(maskedFields.get(), isMaskingEnabled),
+                () -> extractExchangeProperties(exchange, maskedFields.get(), isMaskingEnabled),
+                () -> extractBody(exchange, maskedFields.get(), isMaskingEnabled)
         );
     }
 
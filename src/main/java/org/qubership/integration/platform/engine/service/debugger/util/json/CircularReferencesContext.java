@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.engine.service.debugger.util.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.qubership.integration.platform.engine.service.debugger.util.json.IdentitySetHelper.createIdentitySet;
+
+/**
+ * State of a single {@link CircularReferencesSerializer} run.
+ *
+ * <p>An object that turns out to reference itself is only known to be circular once its
+ * serialization is already in progress. Its output range is recorded, and the
+ * {@code {"@json-id":...,"reference":...}} wrapper is inserted into the output when the run completes.
+ */
+class CircularReferencesContext {
+    private static final SerializationConfig DELEGATE_CONFIG = new ObjectMapper().getSerializationConfig()
+            .without(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    // shared by all runs, so serializers found for a class are cached across calls
+    private static final DefaultSerializerProvider DELEGATE_PROVIDER_BLUEPRINT = new DefaultSerializerProvider.Impl();
+
+    private record Insertion(int position, String text, boolean afterSeparator) {}
+
+    private final StringBuilder output;
+    private final SerializerProvider delegateProvider;
+    // objects being serialized at the moment
+    private final Set<Object> scope = createIdentitySet();
+    private final Map<Object, UUID> idMap = new IdentityHashMap<>();
+    private final List<Insertion> insertions = new ArrayList<>();
+
+    CircularReferencesContext(StringBuilder output) {
+        this.output = output;
+        this.delegateProvider = DELEGATE_PROVIDER_BLUEPRINT.createInstance(
+                DELEGATE_CONFIG, BeanSerializerFactory.instance);
+    }
+
+    JsonSerializer<Object> getSerializer(Object value) throws JsonMappingException {
+        return delegateProvider.findTypedValueSerializer(value.getClass(), true, null);
+    }
+
+    UUID getId(Object value) {
+        return idMap.get(value);
+    }
+
+    boolean isInScope(Object value) {
+        return scope.contains(value);
+    }
+
+    UUID markCircular(Object value) {
+        return idMap.computeIfAbsent(value, v -> UUID.randomUUID());
+    }
+
+    int enter(Object value, JsonGenerator gen) throws IOException {
+        scope.add(value);
+        return position(gen);
+    }
+
+    void exit(Object value, int start, JsonGenerator gen) throws IOException {
+        scope.remove(value);
+        UUID id = idMap.get(value);
+        if (id != null) {
+            insertions.add(new Insertion(start, "{\"@json-id\":\"" + id + "\",\"reference\":", true));
+            insertions.add(new Insertion(position(gen), "}", false));
+        }
+    }
+
+    /**
+     * Inserts wrappers of circular objects. Must be called after the generator is flushed.
+     */
+    void complete() {
+        // a separator is written together with the value that follows it, so wrappers go after it
+        List<Insertion> resolved = new ArrayList<>(insertions.size());
+        for (Insertion insertion : insertions) {
+            int position = insertion.position();
+            if (insertion.afterSeparator() && position < output.length()
+                    && (output.charAt(position) == ':' || output.charAt(position) == ',')) {
+                position++;
+            }
+            resolved.add(new Insertion(position, insertion.text(), false));
+        }
+        resolved.sort(Comparator.comparingInt(Insertion::position).reversed());
+        for (Insertion insertion : resolved) {
+            output.insert(insertion.position(), insertion.text());
+        }
+        insertions.clear();
+    }
+
+    private int position(JsonGenerator gen) throws IOException {
+        int buffered = gen.getOutputBuffered();
+        if (buffered < 0) {
+            gen.flush();
+            buffered = 0;
+        }
+        return output.length() + buffered;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.engine.service.debugger.util.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Serializes an object graph in a single pass. The first occurrence of an object that
+ * references itself is wrapped into {@code {"@json-id":<id>,"reference":<object>}},
+ * any other occurrence of it is written as the id.
+ *
+ * <p>The serializer is stateless, the state of a run is taken from the
+ * {@link #CONTEXT_ATTRIBUTE} attribute of the serializer provider.
+ */
+class CircularReferencesSerializer extends JsonSerializer<Object> {
+    static final Object CONTEXT_ATTRIBUTE = CircularReferencesContext.class;
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        CircularReferencesContext context = (CircularReferencesContext) serializers.getAttribute(CONTEXT_ATTRIBUTE);
+        JsonSerializer<Object> serializer = context.getSerializer(value);
+        if (isScalar(value)) {
+            serializer.serialize(value, gen, serializers);
+            return;
+        }
+
+        UUID id = context.getId(value);
+        if (id == null && context.isInScope(value)) {
+            id = context.markCircular(value);
+        }
+        if (id != null) {
+            gen.writeString(id.toString());
+            return;
+        }
+
+        int start = context.enter(value, gen);
+        serializer.serialize(value, gen, serializers);
+        context.exit(value, start, gen);
+    }
+
+    // values that can't reference other objects
+    private static boolean isScalar(Object value) {
+        return value instanceof CharSequence
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof Character
+                || value instanceof Enum<?>;
+    }
+}
@@ -14,36 +14,63 @@
  * limitations under the License.
  */
 
+
 package org.qubership.integration.platform.engine.service.debugger.util.json;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.Version;
-import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.qubership.integration.platform.engine.util.BoundedStringWriter;
 
-import java.util.Set;
-
-import static org.qubership.integration.platform.engine.service.debugger.util.json.IdentitySetHelper.createIdentitySet;
+import java.io.IOException;
 
 public class JsonSerializationHelper {
-    private static String serialize(Object value, JsonSerializer<Object> serializer) throws JsonProcessingException {
+    public static final String TRUNCATED_SUFFIX = BoundedStringWriter.TRUNCATED_SUFFIX;
+    // values are serialized for session logging, a larger output is of no use there
+    public static final int DEFAULT_MAX_LENGTH = 1024 * 1024;
+
+    private static final ObjectWriter WRITER = createWriter();
+
+    private static ObjectWriter createWriter() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
         SimpleModule module = new SimpleModule("module", Version.unknownVersion());
-        module.addSerializer(Object.class, serializer);
+        module.addSerializer(Object.class, new CircularReferencesSerializer());
         objectMapper.registerModule(module);
         objectMapper.registerModule(new JavaTimeModule());
-        return objectMapper.writeValueAsString(value);
+        return objectMapper.writer();
     }
 
     public static String serializeJson(Object value) throws JsonProcessingException {
-        Set<Object> selfReferencedObjects = createIdentitySet();
-        String serializedValue = serialize(value, new CircularReferencesFinderSerializer(selfReferencedObjects::add));
-        return selfReferencedObjects.isEmpty()
-                ? serializedValue
-                : serialize(value, new CircularReferencesAwareSerializer(selfReferencedObjects));
+        return serializeJson(value, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Serializes the value, stopping as soon as the result exceeds {@code maxLength} characters.
+     * A truncated result is not a valid JSON and ends with {@link #TRUNCATED_SUFFIX}.
+     */
+    public static String serializeJson(Object value, int maxLength) throws JsonProcessingException {
+        BoundedStringWriter writer = new BoundedStringWriter(maxLength);
+        CircularReferencesContext context = new CircularReferencesContext(writer.getBuffer());
+        try {
+            WRITER.withAttribute(CircularReferencesSerializer.CONTEXT_ATTRIBUTE, context).writeValue(writer, value);
+        } catch (JsonProcessingException e) {
+            if (!writer.isLimitExceeded()) {
+                throw e;
+            }
+        } catch (IOException e) {
+            if (!writer.isLimitExceeded()) {
+                throw JsonMappingException.fromUnexpectedIOE(e);
+            }
+        }
+        if (!writer.isLimitExceeded()) {
+            context.complete();
+        }
+        return writer.getResult();
     }
 }
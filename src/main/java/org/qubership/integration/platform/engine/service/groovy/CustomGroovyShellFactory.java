@@ -19,6 +19,7 @@
 import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyShell;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Exchange;
 import org.apache.camel.language.groovy.GroovyShellFactory;
@@ -30,10 +31,29 @@
 @Slf4j
 @ApplicationScoped
 public class CustomGroovyShellFactory implements GroovyShellFactory {
+    @Inject
+    GroovyScriptCompiler groovyScriptCompiler;
+
     @Override
     public GroovyShell createGroovyShell(Exchange exchange) {
         log.debug("Requesting groovy shell for {}", isNull(exchange) ? Collections.emptyMap() : exchange.getProperties());
-        GroovyClassLoader groovyClassLoader = new GroovyClassLoader(getClass().getClassLoader());
+        GroovyClassLoader groovyClassLoader = new CachingGroovyClassLoader(getClass().getClassLoader());
         return new GroovyShell(groovyClassLoader);
     }
+
+    /**
+     * Takes classes of scripts compiled on deployment from the class cache, scripts first
+     * seen at runtime are compiled without being cached.
+     */
+    private class CachingGroovyClassLoader extends GroovyClassLoader {
+        private CachingGroovyClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public Class parseClass(String text) {
+            return groovyScriptCompiler.parse(text);
+        }
+    }
 }
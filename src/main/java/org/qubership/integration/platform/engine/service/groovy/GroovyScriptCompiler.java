@@ -0,0 +1,470 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.engine.service.groovy;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+import groovy.lang.Script;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.tools.GroovyClass;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.*;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Compiles groovy scripts on a bounded pool. Each script gets its own class loader, as with
+ * {@link groovy.lang.GroovyShell#parse}, so classes of removed chains can be unloaded.
+ *
+ * <p>When the class cache is enabled, bytecode of scripts compiled on deployment is kept in a local
+ * directory keyed by the script text, Groovy and Java versions and the engine and dependency jars, so
+ * unchanged scripts are loaded instead of compiled after a restart or redeploy. Classes are defined from
+ * that directory, so it is used only when no other user can write to it, and a cached file is used only
+ * when its content digest matches. Cached scripts not used for longer than the configured max age are
+ * deleted on startup.
+ */
+@Slf4j
+@ApplicationScoped
+public class GroovyScriptCompiler {
+    private static final int CACHE_FORMAT_VERSION = 2;
+    private static final String CACHE_FILE_SUFFIX = ".classes";
+    private static final String CLASS_NAME_PREFIX = "Script_";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int DIGEST_LENGTH = 32;
+    private static final Set<PosixFilePermission> PRIVATE_DIRECTORY_PERMISSIONS =
+            PosixFilePermissions.fromString("rwx------");
+
+    private volatile boolean cacheEnabled;
+    private final Path cacheDirectory;
+    private final Duration cacheMaxAge;
+    private final ExecutorService executor;
+    private final String fingerprint;
+
+    private record CompiledScript(String mainClassName, Map<String, byte[]> classes) {
+    }
+
+    @Inject
+    public GroovyScriptCompiler(
+            @ConfigProperty(name = "qip.groovy.compilation.threads", defaultValue = "4") int threads,
+            @ConfigProperty(name = "qip.groovy.class-cache.enabled", defaultValue = "false") boolean cacheEnabled,
+            @ConfigProperty(name = "qip.groovy.class-cache.directory", defaultValue = "/tmp/groovy-classes")
+            String cacheDirectory,
+            @ConfigProperty(name = "qip.groovy.class-cache.max-age", defaultValue = "30d") Duration cacheMaxAge
+    ) {
+        this.cacheEnabled = cacheEnabled;
+        this.cacheDirectory = Path.of(cacheDirectory);
+        this.cacheMaxAge = cacheMaxAge;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "groovy-compiler-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fingerprint = classpathFingerprint();
+    }
+
+    @PostConstruct
+    void init() {
+        if (cacheEnabled && !isPrivateDirectory(cacheDirectory)) {
+            log.warn("Groovy class cache directory {} is not private to the engine user, class cache is disabled",
+                    cacheDirectory);
+            cacheEnabled = false;
+        }
+        if (cacheEnabled) {
+            executor.execute(this::pruneCache);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Compiles scripts in parallel.
+     *
+     * @return script classes by script text
+     * @throws org.codehaus.groovy.control.CompilationFailedException if any of the scripts fails to compile
+     */
+    public Map<String, Class<Script>> compile(Collection<String> texts) {
+        Map<String, Future<Class<Script>>> futures = new LinkedHashMap<>();
+        for (String text : texts) {
+            futures.computeIfAbsent(text, key -> executor.submit(() -> compile(key)));
+        }
+        Map<String, Class<Script>> scriptClasses = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, Future<Class<Script>>> entry : futures.entrySet()) {
+                scriptClasses.put(entry.getKey(), entry.getValue().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while compiling groovy scripts", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException exception) {
+                throw exception;
+            }
+            throw new IllegalStateException("Failed to compile groovy script", e.getCause());
+        } finally {
+            futures.values().forEach(future -> future.cancel(true));
+        }
+        return scriptClasses;
+    }
+
+    /**
+     * Compiles the script or loads it from the class cache.
+     *
+     * @throws org.codehaus.groovy.control.CompilationFailedException if the script fails to compile
+     */
+    public Class<Script> compile(String text) {
+        return compile(text, true);
+    }
+
+    /**
+     * Compiles a script parsed at runtime. It is loaded from the class cache when it was compiled
+     * on deployment, otherwise it is compiled without being written to the cache.
+     *
+     * @throws org.codehaus.groovy.control.CompilationFailedException if the script fails to compile
+     */
+    public Class<Script> parse(String text) {
+        return compile(text, false);
+    }
+
+    private Class<Script> compile(String text, boolean writeToCache) {
+        String key = key(text);
+        CompiledScript compiledScript = cacheEnabled ? readCached(key) : null;
+        if (compiledScript != null) {
+            try {
+                Class<Script> scriptClass = load(compiledScript);
+                log.debug("Loaded compiled groovy script {} from cache", key);
+                return scriptClass;
+            } catch (LinkageError e) {
+                log.warn("Failed to load compiled groovy script {} from cache, compiling it again", key, e);
+                deleteCached(key);
+            }
+        }
+        compiledScript = compile(key, text);
+        if (cacheEnabled && writeToCache) {
+            writeCached(key, compiledScript);
+        }
+        return load(compiledScript);
+    }
+
+    /**
+     * Deletes cached scripts not read or written for longer than the max age, and temporary files
+     * left by interrupted writes.
+     */
+    void pruneCache() {
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+        FileTime expiresBefore = FileTime.from(Instant.now().minus(cacheMaxAge));
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                try {
+                    if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).compareTo(expiresBefore) < 0
+                            && Files.deleteIfExists(file)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.debug("Failed to delete expired groovy class cache file {}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean up groovy class cache directory {}", cacheDirectory, e);
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} expired files from groovy class cache {}", deleted, cacheDirectory);
+        }
+    }
+
+    private CompiledScript compile(String key, String text) {
+        String className = CLASS_NAME_PREFIX + key.substring(0, 32);
+        CompilationUnit unit = new CompilationUnit(CompilerConfiguration.DEFAULT, null,
+                new GroovyClassLoader(getClass().getClassLoader()));
+        unit.addSource(className + ".groovy", text);
+        unit.compile(Phases.CLASS_GENERATION);
+
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (GroovyClass groovyClass : unit.getClasses()) {
+            classes.put(groovyClass.getName(), groovyClass.getBytes());
+        }
+        // a script of class declarations only has no class of its own
+        String mainClassName = classes.containsKey(className) ? className : classes.keySet().iterator().next();
+        return new CompiledScript(mainClassName, classes);
+    }
+
+    /**
+     * Defines all classes of the script and initializes the main class, so broken bytecode fails here
+     * with a {@link LinkageError} rather than when the script runs.
+     */
+    @SuppressWarnings("unchecked")
+    private Class<Script> load(CompiledScript compiledScript) {
+        ScriptClassLoader classLoader = new ScriptClassLoader(getClass().getClassLoader(), compiledScript.classes());
+        try {
+            for (String name : compiledScript.classes().keySet()) {
+                classLoader.loadClass(name);
+            }
+            return (Class<Script>) Class.forName(compiledScript.mainClassName(), true, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to load compiled groovy script", e);
+        }
+    }
+
+    /**
+     * @return the cached script, or {@code null} if it isn't cached or its file is not intact
+     */
+    CompiledScript readCached(String key) {
+        Path file = cacheDirectory.resolve(key + CACHE_FILE_SUFFIX);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            byte[] data = Files.readAllBytes(file);
+            int payloadOffset = Integer.BYTES + DIGEST_LENGTH;
+            if (data.length < payloadOffset
+                    || new DataInputStream(new ByteArrayInputStream(data)).readInt() != CACHE_FORMAT_VERSION) {
+                return null;
+            }
+            byte[] payload = Arrays.copyOfRange(data, payloadOffset, data.length);
+            if (!MessageDigest.isEqual(Arrays.copyOfRange(data, Integer.BYTES, payloadOffset), digest(payload))) {
+                log.warn("Digest of compiled groovy script {} doesn't match its content, compiling it again", file);
+                return null;
+            }
+            CompiledScript compiledScript = readPayload(payload);
+            touch(file);
+            return compiledScript;
+        } catch (IOException e) {
+            log.warn("Failed to read compiled groovy script from {}, compiling it again", file, e);
+            return null;
+        }
+    }
+
+    private static CompiledScript readPayload(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            String mainClassName = in.readUTF();
+            int count = in.readInt();
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                int length = in.readInt();
+                if (length < 0 || length > in.available()) {
+                    throw new EOFException("Invalid class length: " + length);
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                classes.put(name, bytes);
+            }
+            return new CompiledScript(mainClassName, classes);
+        }
+    }
+
+    // the modification time of a cache file is its last use, see pruneCache
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.debug("Failed to update modification time of {}", file, e);
+        }
+    }
+
+    private void deleteCached(String key) {
+        try {
+            Files.deleteIfExists(cacheDirectory.resolve(key + CACHE_FILE_SUFFIX));
+        } catch (IOException e) {
+            log.warn("Failed to delete compiled groovy script {} from cache", key, e);
+        }
+    }
+
+    private void writeCached(String key, CompiledScript compiledScript) {
+        try {
+            createPrivateDirectory(cacheDirectory);
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(payload)) {
+                out.writeUTF(compiledScript.mainClassName());
+                out.writeInt(compiledScript.classes().size());
+                for (Map.Entry<String, byte[]> entry : compiledScript.classes().entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            // written aside and moved, so that a concurrent reader never sees a partial file
+            Path temporary = Files.createTempFile(cacheDirectory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(CACHE_FORMAT_VERSION);
+                out.write(digest(payload.toByteArray()));
+                payload.writeTo(out);
+            }
+            Files.move(temporary, cacheDirectory.resolve(key + CACHE_FILE_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write compiled groovy script to {}", cacheDirectory, e);
+        }
+    }
+
+    private static void createPrivateDirectory(Path directory) throws IOException {
+        if (Files.isDirectory(directory)) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(PRIVATE_DIRECTORY_PERMISSIONS));
+        } catch (UnsupportedOperationException e) {
+            Files.createDirectories(directory);
+        }
+    }
+
+    /**
+     * @return {@code true} if the directory doesn't exist yet or only its owner, the engine user, can write to it
+     */
+    static boolean isPrivateDirectory(Path directory) {
+        if (!Files.exists(directory)) {
+            return true;
+        }
+        try {
+            PosixFileAttributes attributes = Files.readAttributes(directory, PosixFileAttributes.class);
+            if (attributes.permissions().contains(PosixFilePermission.GROUP_WRITE)
+                    || attributes.permissions().contains(PosixFilePermission.OTHERS_WRITE)) {
+                return false;
+            }
+            // user names may be unknown in containers, so the owner is compared with the one of a new file
+            Path probe = Files.createTempFile(directory, "owner", ".tmp");
+            try {
+                return attributes.owner().equals(Files.getOwner(probe));
+            } finally {
+                Files.deleteIfExists(probe);
+            }
+        } catch (UnsupportedOperationException e) {
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to check permissions of groovy class cache directory {}", directory, e);
+            return false;
+        }
+    }
+
+    private static byte[] digest(byte[] data) {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String key(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // changes when the engine or any jar it loads classes from is rebuilt or updated, or the Java version changes
+    private String classpathFingerprint() {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(GroovySystem.getVersion())
+                .append('|').append(Runtime.version().feature())
+                .append('|').append(System.getProperty("java.class.path", ""));
+        CodeSource codeSource = getClass().getProtectionDomain().getCodeSource();
+        if (codeSource != null && codeSource.getLocation() != null) {
+            fingerprint.append('|').append(codeSource.getLocation());
+            try {
+                File location = new File(codeSource.getLocation().toURI());
+                fingerprint.append('|').append(location.length()).append('|').append(location.lastModified());
+            } catch (Exception e) {
+                log.debug("Failed to get engine code source attributes", e);
+            }
+        }
+        try {
+            // every jar scripts can resolve classes from has a manifest
+            List<String> jars = new ArrayList<>();
+            Enumeration<URL> manifests = getClass().getClassLoader().getResources(JarFile.MANIFEST_NAME);
+            while (manifests.hasMoreElements()) {
+                jars.add(jarAttributes(manifests.nextElement()));
+            }
+            Collections.sort(jars);
+            jars.forEach(jar -> fingerprint.append('|').append(jar));
+        } catch (IOException e) {
+            log.warn("Failed to list engine dependency jars for groovy class cache key", e);
+        }
+        return fingerprint.toString();
+    }
+
+    private static String jarAttributes(URL manifest) {
+        try {
+            URLConnection connection = manifest.openConnection();
+            File file = connection instanceof JarURLConnection jarConnection
+                    ? new File(jarConnection.getJarFileURL().toURI())
+                    : new File(manifest.toURI());
+            return manifest + ":" + file.length() + ":" + file.lastModified();
+        } catch (Exception e) {
+            log.debug("Failed to get attributes of {}", manifest, e);
+            return manifest.toString();
+        }
+    }
+
+    /**
+     * Defines the classes of one compiled script on first use.
+     */
+    private static final class ScriptClassLoader extends GroovyClassLoader {
+        private final Map<String, byte[]> classes;
+
+        private ScriptClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            return bytes == null ? super.findClass(name) : defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
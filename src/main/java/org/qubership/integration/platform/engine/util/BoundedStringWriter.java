@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.qubership.integration.platform.engine.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer to a string that fails as soon as the output exceeds the limit.
+ * The output written up to the limit is kept, so a caller can stop producing a large
+ * document early and still use its beginning.
+ */
+public class BoundedStringWriter extends Writer {
+    public static final String TRUNCATED_SUFFIX = "...(truncated)";
+
+    private final StringBuilder buffer = new StringBuilder();
+    private final int limit;
+    private boolean limitExceeded;
+
+    public BoundedStringWriter(int limit) {
+        this.limit = limit;
+    }
+
+    public StringBuilder getBuffer() {
+        return buffer;
+    }
+
+    public boolean isLimitExceeded() {
+        return limitExceeded;
+    }
+
+    /**
+     * @return the output, ending with {@link #TRUNCATED_SUFFIX} if the limit was exceeded
+     */
+    public String getResult() {
+        return limitExceeded ? buffer + TRUNCATED_SUFFIX : buffer.toString();
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        if (limitExceeded) {
+            throw new IOException("Output exceeds " + limit + " characters");
+        }
+        int available = limit - buffer.length();
+        if (length > available) {
+            buffer.append(chars, offset, available);
+            limitExceeded = true;
+            throw new IOException("Output exceeds " + limit + " characters");
+        }
+        buffer.append(chars, offset, length);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.engine.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Extracts path variables from a URI by a URI template compiled once, e.g. {@code routes/orders/{id}}.
+ *
+ * <p>The template and the URI are split into the same tokens as the {@code (\/?\{?[^\/]*}?\/?)}
+ * pattern finds: a path segment with its trailing slash, and with a leading slash when the
+ * previous token didn't take it. A variable is a template token like {@code {name}}. Its value is
+ * the URI token at the same position among non-blank template tokens. Braces and slashes are
+ * removed from both names and values.
+ */
+public final class PathVariablesExtractor {
+    private record Variable(int tokenIndex, String name) {}
+
+    private static final PathVariablesExtractor EMPTY = new PathVariablesExtractor(List.of());
+
+    private final List<Variable> variables;
+
+    private PathVariablesExtractor(List<Variable> variables) {
+        this.variables = variables;
+    }
+
+    public static PathVariablesExtractor compile(String uriTemplate) {
+        List<Variable> variables = new ArrayList<>();
+        int tokenIndex = 0;
+        int start = 0;
+        while (start <= uriTemplate.length()) {
+            int end = tokenEnd(uriTemplate, start);
+            String token = uriTemplate.substring(start, end);
+            if (StringUtils.isNotBlank(token)) {
+                if (isVariable(token)) {
+                    variables.add(new Variable(tokenIndex, removeServiceSymbols(token)));
+                }
+                tokenIndex++;
+            }
+            start = nextTokenStart(start, end);
+        }
+        return variables.isEmpty() ? EMPTY : new PathVariablesExtractor(List.copyOf(variables));
+    }
+
+    /**
+     * Passes variable names and values found in the URI to the consumer, in template order.
+     * Variables without a non-blank value in the URI are skipped.
+     */
+    public void extract(String uri, BiConsumer<String, String> consumer) {
+        int variableIndex = 0;
+        int tokenIndex = 0;
+        int start = 0;
+        while (variableIndex < variables.size() && start <= uri.length()) {
+            int end = tokenEnd(uri, start);
+            Variable variable = variables.get(variableIndex);
+            if (variable.tokenIndex() == tokenIndex) {
+                String value = uri.substring(start, end);
+                if (StringUtils.isNotBlank(value)) {
+                    consumer.accept(variable.name(), removeServiceSymbols(value));
+                }
+                variableIndex++;
+            }
+            tokenIndex++;
+            start = nextTokenStart(start, end);
+        }
+    }
+
+    private static int tokenEnd(String str, int start) {
+        int length = str.length();
+        int position = start;
+        if (position < length && str.charAt(position) == '/') {
+            position++;
+        }
+        while (position < length && str.charAt(position) != '/') {
+            position++;
+        }
+        if (position < length && str.charAt(position) == '/') {
+            position++;
+        }
+        return position;
+    }
+
+    private static int nextTokenStart(int start, int end) {
+        // an empty token is found only at the end of the string and is the last one
+        return end > start ? end : end + 1;
+    }
+
+    private static boolean isVariable(String token) {
+        int start = token.startsWith("/") ? 1 : 0;
+        int end = token.length() > start && token.endsWith("/") ? token.length() - 1 : token.length();
+        return end - start >= 2 && token.charAt(start) == '{' && token.charAt(end - 1) == '}';
+    }
+
+    private static String removeServiceSymbols(String str) {
+        return str.replace("}", "")
+                .replace("{", "")
+                .replace("/", "");
+    }
+}
@@ -7,6 +7,8 @@
 import org.apache.commons.lang3.StringUtils;
 import org.qubership.integration.platform.engine.camel.components.kafka.factory.DefaultKafkaBGClientFactory;
 import org.qubership.integration.platform.engine.camel.components.kafka.factory.KafkaBGClientFactory;
+import org.qubership.integration.platform.engine.camel.components.kafka.factory.KafkaProducerMetricsBinder;
+import org.qubership.integration.platform.engine.camel.components.kafka.factory.KafkaProducerPool;
 import org.qubership.integration.platform.engine.camel.components.kafka.factory.TaggedMetricsKafkaBGClientFactory;
 import org.qubership.integration.platform.engine.service.MetricTagsHelper;
 import org.qubership.integration.platform.engine.service.debugger.metrics.MetricsStore;
@@ -66,6 +68,10 @@ public KafkaBGClientFactory build() {
         }
 
         MetricsStore metricsStore = CDI.current().select(MetricsStore.class).get();
+        KafkaProducerPool producerPool = CDI.current().select(KafkaProducerPool.class).get();
+        if (!producerPool.isEnabled()) {
+            producerPool = null;
+        }
 
         // For camel 'kafka' and 'kafka-custom' component
         return metricsStore.isMetricsEnabled()
@@ -73,8 +79,10 @@ public KafkaBGClientFactory build() {
                     defaultFactory,
                     metricsStore.getMeterRegistry(),
                     tags,
-                    blueGreenStatePublisher
+                    blueGreenStatePublisher,
+                    producerPool,
+                    CDI.current().select(KafkaProducerMetricsBinder.class).get()
                 )
-                : new DefaultKafkaBGClientFactory(defaultFactory, blueGreenStatePublisher);
+                : new DefaultKafkaBGClientFactory(defaultFactory, blueGreenStatePublisher, producerPool);
     }
 }
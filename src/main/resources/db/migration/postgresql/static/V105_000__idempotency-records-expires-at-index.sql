@@ -0,0 +1,2 @@
+create index if not exists idx_idempotency_records_expires_at
+    on idempotency_records (expires_at);
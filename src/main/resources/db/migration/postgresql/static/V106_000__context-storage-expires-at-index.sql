@@ -0,0 +1,2 @@
+create index if not exists idx_context_system_records_expires_at
+    on context_system_records (expires_at);
@@ -79,6 +79,19 @@ void shouldAppendNextBranchPayloadAndClearBranchNameWhenAdditionalExchangeAggreg
         assertNull(result.getProperty(Properties.SPLIT_ID_CHAIN));
     }
 
+    @Test
+    void shouldAttachBranchesToSameBodyNodeWhenExchangesAggregated() {
+        Exchange firstResult = strategy.aggregate(null, createBranchExchange("customerDetails", "{\"customerId\":\"C-100500\"}"));
+        JsonNode firstBody = (JsonNode) firstResult.getMessage().getBody();
+
+        Exchange result = strategy.aggregate(firstResult, createBranchExchange("orderSummary", "[1, 2]"));
+        result = strategy.aggregate(result, createBranchExchange("emptyResponse", ""));
+
+        assertSame(firstBody, result.getMessage().getBody());
+        assertEquals(2, firstBody.get("orderSummary").size());
+        assertTrue(firstBody.get("emptyResponse").isNull());
+    }
+
     @Test
     void shouldStoreTextNodeWhenBranchPayloadNotJson() {
         Exchange newExchange = createBranchExchange("customerDetails", "plain-text-response");
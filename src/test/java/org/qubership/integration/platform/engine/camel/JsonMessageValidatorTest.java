@@ -5,12 +5,17 @@
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.qubership.integration.platform.engine.errorhandling.ValidationException;
+import org.qubership.integration.platform.engine.service.debugger.metrics.MetricsStore;
 import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
 import org.qubership.integration.platform.engine.testutils.ObjectMappers;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
@@ -18,10 +23,13 @@ class JsonMessageValidatorTest {
 
     JsonMessageValidator validator;
 
+    @Mock
+    MetricsStore metricsStore;
+
     @BeforeEach
     void setUp() {
         ObjectMapper objectMapper = ObjectMappers.getObjectMapper();
-        validator = new JsonMessageValidator(objectMapper);
+        validator = new JsonMessageValidator(objectMapper, metricsStore, 256);
     }
 
     @Test
@@ -114,4 +122,34 @@ void shouldThrowValidationExceptionWhenMessageDoesNotMatchSchema() {
 
         assertTrue(exception.getMessage().startsWith(JsonMessageValidator.MESSAGE_VALIDATION_ERROR));
     }
+
+    @Test
+    void shouldCompileSchemaOnceForRepeatedValidations() {
+        String jsonSchema = """
+                {
+                  "$schema": "http://json-schema.org/draft-07/schema#",
+                  "type": "object"
+                }
+                """;
+
+        validator.validate("{}", jsonSchema);
+        validator.validate("{}", jsonSchema);
+
+        assertEquals(1, validator.getCachedSchemasCount());
+        verify(metricsStore).processJsonSchemaCacheLookup(false);
+        verify(metricsStore).processJsonSchemaCacheLookup(true);
+        verify(metricsStore, times(2)).processJsonValidation(anyLong());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedSchemaWhenCacheIsFull() {
+        validator = new JsonMessageValidator(ObjectMappers.getObjectMapper(), metricsStore, 2);
+
+        validator.validate("{}", "{\"type\": \"object\"}");
+        validator.validate("[]", "{\"type\": \"array\"}");
+        validator.validate("\"value\"", "{\"type\": \"string\"}");
+
+        assertEquals(2, validator.getCachedSchemasCount());
+        assertThrows(ValidationException.class, () -> validator.validate("{}", "{\"type\": \"string\"}"));
+    }
 }
@@ -0,0 +1,133 @@
+package org.qubership.integration.platform.engine.camel.components.kafka.consumer;
+
+import com.netcracker.cloud.bluegreen.api.model.NamespaceVersion;
+import com.netcracker.cloud.maas.bluegreen.kafka.CommitMarker;
+import com.netcracker.cloud.maas.bluegreen.kafka.Record;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.ExceptionHandler;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.qubership.integration.platform.engine.camel.components.kafka.cloudcore.BGKafkaConsumerExtended;
+import org.qubership.integration.platform.engine.camel.components.kafka.configuration.KafkaCustomConfiguration;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class KafkaBGRecordProcessorTest {
+
+    private static final String TOPIC = "topic";
+
+    @Mock
+    Processor processor;
+    @Mock
+    BGKafkaConsumerExtended<?, ?> consumer;
+    @Mock
+    ExceptionHandler exceptionHandler;
+
+    private KafkaCustomConfiguration configuration;
+    private KafkaBGRecordProcessor recordProcessor;
+    private Exchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new KafkaCustomConfiguration();
+        recordProcessor = new KafkaBGRecordProcessor(configuration, processor, consumer);
+        exchange = new DefaultExchange(new DefaultCamelContext());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDeliverBatchAsListOfRecordExchangesAndCommitIt() throws Exception {
+        CommitMarker marker = marker(2);
+
+        boolean breakOnErrorHit = recordProcessor.processBatchExchange(exchange,
+            List.of(record(0, "first"), record(1, "second")), marker, exceptionHandler);
+
+        assertFalse(breakOnErrorHit);
+        verify(processor).process(exchange);
+        verify(consumer).commitSync(eq(marker), any(Duration.class));
+
+        List<Exchange> exchanges = exchange.getMessage().getBody(List.class);
+        assertEquals(2, exchanges.size());
+        assertEquals(2, exchange.getProperty(Exchange.BATCH_SIZE));
+        assertEquals("second", exchanges.get(1).getMessage().getBody());
+        assertEquals(1L, exchanges.get(1).getMessage().getHeader(KafkaConstants.OFFSET));
+        assertEquals(TOPIC, exchanges.get(1).getMessage().getHeader(KafkaConstants.TOPIC));
+        assertArrayEquals("v1".getBytes(StandardCharsets.UTF_8),
+            exchanges.get(1).getMessage().getHeader("custom", byte[].class));
+    }
+
+    @Test
+    void shouldHandleExceptionAndCommitFailedBatch() throws Exception {
+        CommitMarker marker = marker(1);
+        RuntimeException failure = new RuntimeException("failure");
+        doThrow(failure).when(processor).process(exchange);
+
+        boolean breakOnErrorHit = recordProcessor.processBatchExchange(exchange,
+            List.of(record(0, "first")), marker, exceptionHandler);
+
+        assertFalse(breakOnErrorHit);
+        verify(exceptionHandler).handleException(any(), eq(exchange), eq(failure));
+        verify(consumer).commitSync(eq(marker), any(Duration.class));
+    }
+
+    @Test
+    void shouldNotCommitFailedBatchWhenBreakOnFirstError() throws Exception {
+        configuration.setBreakOnFirstError(true);
+        doThrow(new RuntimeException("failure")).when(processor).process(exchange);
+
+        boolean breakOnErrorHit = recordProcessor.processBatchExchange(exchange,
+            List.of(record(0, "first")), marker(1), exceptionHandler);
+
+        assertTrue(breakOnErrorHit);
+        verifyNoInteractions(exceptionHandler, consumer);
+    }
+
+    @Test
+    void shouldPropagateCustomHeadersOfRecordInLane() throws Exception {
+        ArgumentCaptor<Exchange> captor = ArgumentCaptor.forClass(Exchange.class);
+
+        assertTrue(recordProcessor.processExchangeInLane(exchange, record(3, "value"),
+            exceptionHandler));
+
+        verify(processor).process(captor.capture());
+        assertEquals("value", captor.getValue().getMessage().getBody());
+        assertEquals(3L, captor.getValue().getMessage().getHeader(KafkaConstants.OFFSET));
+        assertArrayEquals("v3".getBytes(StandardCharsets.UTF_8),
+            captor.getValue().getMessage().getHeader("custom", byte[].class));
+        verifyNoInteractions(consumer);
+    }
+
+    private static Record<Object, Object> record(long offset, String value) {
+        ConsumerRecord<Object, Object> consumerRecord = new ConsumerRecord<>(TOPIC, 0, offset, null, value);
+        consumerRecord.headers().add("custom", ("v" + offset).getBytes(StandardCharsets.UTF_8));
+        return new Record<>(consumerRecord, marker(offset + 1));
+    }
+
+    private static CommitMarker marker(long position) {
+        return new CommitMarker(mock(NamespaceVersion.class),
+            Map.of(new TopicPartition(TOPIC, 0), new OffsetAndMetadata(position)));
+    }
+}
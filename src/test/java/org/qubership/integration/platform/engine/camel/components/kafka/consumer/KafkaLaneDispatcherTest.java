@@ -0,0 +1,209 @@
+package org.qubership.integration.platform.engine.camel.components.kafka.consumer;
+
+import com.netcracker.cloud.bluegreen.api.model.NamespaceVersion;
+import com.netcracker.cloud.maas.bluegreen.kafka.CommitMarker;
+import com.netcracker.cloud.maas.bluegreen.kafka.Record;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class KafkaLaneDispatcherTest {
+
+    private static final String TOPIC = "topic";
+    private static final long TIMEOUT_MS = 10000;
+
+    private final NamespaceVersion version = mock(NamespaceVersion.class);
+    private ExecutorService workerPool;
+
+    @BeforeEach
+    void setUp() {
+        workerPool = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workerPool.shutdownNow();
+    }
+
+    @Test
+    void shouldProcessRecordsOfPartitionInOrder() {
+        KafkaLaneDispatcher dispatcher = createDispatcher(KafkaProcessingMode.PARTITION, 1000);
+        Map<Integer, List<Long>> processed = new ConcurrentHashMap<>();
+
+        for (long offset = 0; offset < 100; offset++) {
+            for (int partition = 0; partition < 3; partition++) {
+                dispatcher.dispatch(record(partition, offset, "key" + offset), r -> {
+                    processed.computeIfAbsent(r.getConsumerRecord().partition(),
+                            p -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(r.getConsumerRecord().offset());
+                    return true;
+                });
+            }
+        }
+
+        assertTrue(dispatcher.close(TIMEOUT_MS));
+        for (int partition = 0; partition < 3; partition++) {
+            List<Long> offsets = processed.get(partition);
+            assertEquals(100, offsets.size());
+            List<Long> sorted = new ArrayList<>(offsets);
+            Collections.sort(sorted);
+            assertEquals(sorted, offsets);
+        }
+
+        Map<TopicPartition, OffsetAndMetadata> position = dispatcher.takeCommitMarker(true)
+            .map(CommitMarker::getPosition).orElseThrow();
+        assertEquals(3, position.size());
+        position.values().forEach(offset -> assertEquals(100, offset.offset()));
+    }
+
+    @Test
+    void shouldCommitOnlyContiguousCompletedOffsets() throws InterruptedException {
+        KafkaLaneDispatcher dispatcher = createDispatcher(KafkaProcessingMode.KEY, 1000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch othersDone = new CountDownLatch(3);
+
+        dispatcher.dispatch(record(0, 0, "a"), r -> true);
+        dispatcher.dispatch(record(0, 1, "a"), r -> {
+            started.countDown();
+            return await(release);
+        });
+        for (long offset = 2; offset < 5; offset++) {
+            dispatcher.dispatch(record(0, offset, "b"), r -> {
+                othersDone.countDown();
+                return true;
+            });
+        }
+
+        assertTrue(started.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(othersDone.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(1, positionOf(dispatcher.takeCommitMarker(true), 0));
+
+        release.countDown();
+        assertTrue(dispatcher.close(TIMEOUT_MS));
+        assertEquals(5, positionOf(dispatcher.takeCommitMarker(true), 0));
+    }
+
+    @Test
+    void shouldPauseAndResumePartitionWithTooManyInFlightRecords() {
+        KafkaLaneDispatcher dispatcher = createDispatcher(KafkaProcessingMode.PARTITION, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        TopicPartition topicPartition = new TopicPartition(TOPIC, 0);
+
+        for (long offset = 0; offset < 4; offset++) {
+            dispatcher.dispatch(record(0, offset, null), r -> await(release));
+        }
+
+        assertEquals(Set.of(topicPartition), dispatcher.getPartitionsToPause(Set.of()));
+        assertTrue(dispatcher.getPartitionsToResume(Set.of(topicPartition)).isEmpty());
+
+        release.countDown();
+        assertTrue(dispatcher.close(TIMEOUT_MS));
+        assertTrue(dispatcher.getPartitionsToPause(Set.of()).isEmpty());
+        assertEquals(Set.of(topicPartition), dispatcher.getPartitionsToResume(Set.of(topicPartition)));
+    }
+
+    @Test
+    void shouldCommitCompletedOffsetsAndSkipQueuedRecordsOfRevokedPartition()
+        throws InterruptedException {
+        KafkaLaneDispatcher dispatcher = createDispatcher(KafkaProcessingMode.PARTITION, 1000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> processed = Collections.synchronizedList(new ArrayList<>());
+
+        dispatcher.dispatch(record(0, 0, null), r -> {
+            processed.add(0L);
+            return true;
+        });
+        dispatcher.dispatch(record(0, 1, null), r -> {
+            started.countDown();
+            processed.add(1L);
+            return await(release);
+        });
+        dispatcher.dispatch(record(0, 2, null), r -> processed.add(2L));
+
+        assertTrue(started.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(1, positionOf(dispatcher.revoke(List.of(new TopicPartition(TOPIC, 0))), 0));
+        assertFalse(dispatcher.hasPartitions());
+
+        release.countDown();
+        assertTrue(dispatcher.close(TIMEOUT_MS));
+        assertEquals(List.of(0L, 1L), processed);
+        assertTrue(dispatcher.takeCommitMarker(true).isEmpty());
+    }
+
+    @Test
+    void shouldStopProcessingAndKeepFailedOffsetWhenBreakOnErrorHit() {
+        KafkaLaneDispatcher dispatcher = createDispatcher(KafkaProcessingMode.PARTITION, 1000);
+        List<Long> processed = Collections.synchronizedList(new ArrayList<>());
+
+        for (long offset = 0; offset < 10; offset++) {
+            dispatcher.dispatch(record(0, offset, null), r -> {
+                long current = r.getConsumerRecord().offset();
+                processed.add(current);
+                return current != 5;
+            });
+        }
+
+        assertFalse(dispatcher.close(TIMEOUT_MS));
+        assertTrue(dispatcher.isBreakOnErrorHit());
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L), processed);
+        assertEquals(5, positionOf(dispatcher.takeCommitMarker(true), 0));
+    }
+
+    @Test
+    void shouldBuildCommitMarkerOnlyWhenBatchSizeReached() {
+        KafkaLaneDispatcher dispatcher = new KafkaLaneDispatcher(KafkaProcessingMode.PARTITION,
+            workerPool, 1, 1000, Long.MAX_VALUE, 3);
+
+        dispatcher.dispatch(record(0, 0, null), r -> true);
+        dispatcher.dispatch(record(0, 1, null), r -> true);
+        assertTrue(dispatcher.close(TIMEOUT_MS));
+        assertTrue(dispatcher.takeCommitMarker(false).isEmpty());
+
+        KafkaLaneDispatcher next = new KafkaLaneDispatcher(KafkaProcessingMode.PARTITION,
+            workerPool, 1, 1000, Long.MAX_VALUE, 3);
+        for (long offset = 0; offset < 3; offset++) {
+            next.dispatch(record(0, offset, null), r -> true);
+        }
+        assertTrue(next.close(TIMEOUT_MS));
+        assertEquals(3, positionOf(next.takeCommitMarker(false), 0));
+    }
+
+    private KafkaLaneDispatcher createDispatcher(KafkaProcessingMode mode, int maxInFlight) {
+        return new KafkaLaneDispatcher(mode, workerPool, 1024, maxInFlight, Long.MAX_VALUE,
+            Integer.MAX_VALUE);
+    }
+
+    private Record<Object, Object> record(int partition, long offset, String key) {
+        TopicPartition topicPartition = new TopicPartition(TOPIC, partition);
+        return new Record<>(
+            new ConsumerRecord<>(TOPIC, partition, offset, key, "value" + offset),
+            new CommitMarker(version, Map.of(topicPartition, new OffsetAndMetadata(offset + 1))));
+    }
+
+    private static long positionOf(Optional<CommitMarker> marker, int partition) {
+        return marker.orElseThrow().getPosition().get(new TopicPartition(TOPIC, partition)).offset();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.qubership.integration.platform.engine.camel.components.kafka.consumer;
+
+import com.netcracker.cloud.bluegreen.api.model.NamespaceVersion;
+import com.netcracker.cloud.maas.bluegreen.kafka.CommitMarker;
+import com.netcracker.cloud.maas.bluegreen.kafka.Record;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class KafkaRecordBatchTest {
+
+    private static final String TOPIC = "topic";
+
+    private final NamespaceVersion version = mock(NamespaceVersion.class);
+
+    @Test
+    void shouldBeFullWhenMaxRecordsReached() {
+        KafkaRecordBatch batch = new KafkaRecordBatch(2, 0, 0);
+
+        batch.add(record(version, 0, 0, 1024));
+        assertFalse(batch.isFull());
+        batch.add(record(version, 0, 1, 1024));
+        assertTrue(batch.isFull());
+    }
+
+    @Test
+    void shouldBeFullWhenMaxBytesReached() {
+        KafkaRecordBatch batch = new KafkaRecordBatch(100, 3000, 0);
+
+        batch.add(record(version, 0, 0, 1024));
+        batch.add(record(version, 0, 1, 1024));
+        assertFalse(batch.isFull());
+        batch.add(record(version, 0, 2, 1024));
+        assertTrue(batch.isFull());
+    }
+
+    @Test
+    void shouldExpireLingerRightAwayWhenLingerIsZero() {
+        KafkaRecordBatch batch = new KafkaRecordBatch(100, 0, 0);
+        assertFalse(batch.isLingerExpired());
+
+        batch.add(record(version, 0, 0, 1024));
+        assertTrue(batch.isLingerExpired());
+        assertEquals(Duration.ofMillis(5000), batch.getPollDuration(5000));
+    }
+
+    @Test
+    void shouldShortenPollDurationToRemainingLinger() {
+        KafkaRecordBatch batch = new KafkaRecordBatch(100, 0, 60000);
+        assertEquals(Duration.ofMillis(5000), batch.getPollDuration(5000));
+
+        batch.add(record(version, 0, 0, 1024));
+        assertFalse(batch.isLingerExpired());
+        assertEquals(Duration.ofMillis(5000), batch.getPollDuration(5000));
+        assertTrue(batch.getPollDuration(Long.MAX_VALUE).toMillis() <= 60000);
+    }
+
+    @Test
+    void shouldCoverAllPartitionsOfBatchInCommitMarker() {
+        KafkaRecordBatch batch = new KafkaRecordBatch(100, 0, 0);
+
+        batch.add(record(version, 0, 10, 1024));
+        batch.add(record(version, 1, 20, 1024));
+        batch.add(record(version, 0, 11, 1024));
+
+        CommitMarker marker = batch.getCommitMarker();
+        assertSame(version, marker.getVersion());
+        assertEquals(Map.of(
+                new TopicPartition(TOPIC, 0), new OffsetAndMetadata(12),
+                new TopicPartition(TOPIC, 1), new OffsetAndMetadata(21)),
+            marker.getPosition());
+    }
+
+    @Test
+    void shouldDropRecordsOfRemovedPartitions() {
+        KafkaRecordBatch batch = new KafkaRecordBatch(100, 2048, 0);
+
+        batch.add(record(version, 0, 10, 1024));
+        batch.add(record(version, 1, 20, 1024));
+        assertTrue(batch.isFull());
+
+        assertEquals(1, batch.removePartitions(List.of(new TopicPartition(TOPIC, 1))));
+
+        assertEquals(1, batch.size());
+        assertFalse(batch.isFull());
+        assertEquals(Map.of(new TopicPartition(TOPIC, 0), new OffsetAndMetadata(11)),
+            batch.getCommitMarker().getPosition());
+    }
+
+    @Test
+    void shouldNotAcceptRecordOfAnotherVersion() {
+        KafkaRecordBatch batch = new KafkaRecordBatch(100, 0, 0);
+        Record<Object, Object> other = record(mock(NamespaceVersion.class), 0, 1, 1024);
+
+        assertTrue(batch.accepts(other));
+        batch.add(record(version, 0, 0, 1024));
+        assertFalse(batch.accepts(other));
+
+        batch.clear();
+        assertTrue(batch.isEmpty());
+        assertTrue(batch.accepts(other));
+        assertTrue(batch.getCommitMarker().getPosition().isEmpty());
+    }
+
+    private static Record<Object, Object> record(NamespaceVersion version, int partition, long offset,
+        int valueSize) {
+        ConsumerRecord<Object, Object> consumerRecord = new ConsumerRecord<>(TOPIC, partition, offset,
+            0L, TimestampType.CREATE_TIME, -1, valueSize, null, "value", new RecordHeaders(),
+            Optional.empty());
+        return new Record<>(consumerRecord, new CommitMarker(version,
+            Map.of(new TopicPartition(TOPIC, partition), new OffsetAndMetadata(offset + 1))));
+    }
+}
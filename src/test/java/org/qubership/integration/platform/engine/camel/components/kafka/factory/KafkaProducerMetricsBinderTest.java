@@ -0,0 +1,58 @@
+package org.qubership.integration.platform.engine.camel.components.kafka.factory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.kafka.KafkaClientMetrics;
+import org.apache.kafka.clients.producer.Producer;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class KafkaProducerMetricsBinderTest {
+
+    private final KafkaProducerMetricsBinder binder = new KafkaProducerMetricsBinder();
+    private final MeterRegistry meterRegistry = mock(MeterRegistry.class);
+    private final Producer<?, ?> producer = mock(Producer.class);
+
+    @Test
+    void shouldKeepSharedMetricsUntilLastEndpointReleasesThem() {
+        try (MockedConstruction<KafkaClientMetrics> construction = mockConstruction(KafkaClientMetrics.class)) {
+            Runnable first = binder.bind(producer, meterRegistry, List.of(Tag.of("chainId", "1")));
+            Runnable second = binder.bind(producer, meterRegistry, List.of(Tag.of("chainId", "1")));
+
+            assertEquals(1, construction.constructed().size());
+            KafkaClientMetrics metrics = construction.constructed().get(0);
+            verify(metrics).bindTo(meterRegistry);
+
+            first.run();
+            first.run();
+            verify(metrics, never()).close();
+            assertEquals(1, binder.size());
+
+            second.run();
+            verify(metrics).close();
+            assertEquals(0, binder.size());
+        }
+    }
+
+    @Test
+    void shouldBindMetricsPerTags() {
+        try (MockedConstruction<KafkaClientMetrics> construction = mockConstruction(KafkaClientMetrics.class)) {
+            Runnable first = binder.bind(producer, meterRegistry, List.of(Tag.of("chainId", "1")));
+            binder.bind(producer, meterRegistry, List.of(Tag.of("chainId", "2")));
+
+            assertEquals(2, construction.constructed().size());
+
+            first.run();
+            verify(construction.constructed().get(0)).close();
+            verify(construction.constructed().get(1), never()).close();
+        }
+    }
+}
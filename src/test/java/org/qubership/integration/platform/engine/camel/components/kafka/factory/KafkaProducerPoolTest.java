@@ -0,0 +1,112 @@
+package org.qubership.integration.platform.engine.camel.components.kafka.factory;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class KafkaProducerPoolTest {
+
+    private static final int ENDPOINTS = 200;
+    private static final long BUFFER_MEMORY = 33554432L;
+    private static final long SECOND_CLUSTER_BUFFER_MEMORY = 16777216L;
+
+    private final List<Producer<?, ?>> created = new ArrayList<>();
+    private final List<Properties> createdWith = new ArrayList<>();
+    private final KafkaProducerPool pool = new KafkaProducerPool(true);
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void shouldShareProducersBetweenEndpointsWithIdenticalProperties() {
+        List<Pair<Producer, Runnable>> acquired = new ArrayList<>();
+        long unpooledBufferMemory = 0;
+        for (int i = 0; i < ENDPOINTS; i++) {
+            // two clusters, most of the chains send to the first one
+            Properties props = i % 4 == 0
+                    ? props("kafka-2:9092", SECOND_CLUSTER_BUFFER_MEMORY)
+                    : props("kafka-1:9092", BUFFER_MEMORY);
+            unpooledBufferMemory += bufferMemory(props);
+            acquired.add(pool.acquire(props, this::createProducer));
+        }
+
+        assertEquals(2, acquired.stream().map(Pair::getLeft).distinct().count());
+        assertEquals(2, created.size());
+        assertEquals(2, pool.size());
+        assertSame(acquired.get(1).getLeft(), acquired.get(2).getLeft());
+        assertNotSame(acquired.get(0).getLeft(), acquired.get(1).getLeft());
+
+        // each producer reserves buffer.memory, so only one buffer per cluster is reserved instead of one per endpoint
+        long pooledBufferMemory = createdWith.stream().mapToLong(KafkaProducerPoolTest::bufferMemory).sum();
+        assertEquals(BUFFER_MEMORY + SECOND_CLUSTER_BUFFER_MEMORY, pooledBufferMemory);
+        assertTrue(pooledBufferMemory < unpooledBufferMemory);
+
+        acquired.subList(1, ENDPOINTS).forEach(pair -> pair.getRight().run());
+        verify(acquired.get(0).getLeft(), never()).close();
+        verify(acquired.get(1).getLeft()).close();
+        assertEquals(1, pool.size());
+
+        acquired.get(0).getRight().run();
+        verify(acquired.get(0).getLeft()).close();
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void shouldIgnoreRepeatedRelease() {
+        Pair<Producer, Runnable> first = pool.acquire(props("kafka-1:9092"), this::createProducer);
+        Pair<Producer, Runnable> second = pool.acquire(props("kafka-1:9092"), this::createProducer);
+
+        first.getRight().run();
+        first.getRight().run();
+
+        verify(second.getLeft()).flush();
+        verify(second.getLeft(), never()).close();
+        second.getRight().run();
+        verify(second.getLeft()).close();
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void shouldCreateNewProducerAfterLastRelease() {
+        Pair<Producer, Runnable> first = pool.acquire(props("kafka-1:9092"), this::createProducer);
+        first.getRight().run();
+
+        Pair<Producer, Runnable> second = pool.acquire(props("kafka-1:9092"), this::createProducer);
+
+        assertEquals(2, created.size());
+        assertNotSame(first.getLeft(), second.getLeft());
+    }
+
+    private Producer<?, ?> createProducer(Properties props) {
+        Producer<?, ?> producer = mock(Producer.class);
+        created.add(producer);
+        createdWith.add(props);
+        return producer;
+    }
+
+    private static Properties props(String brokers) {
+        return props(brokers, BUFFER_MEMORY);
+    }
+
+    private static Properties props(String brokers, long bufferMemory) {
+        Properties props = new Properties();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers);
+        props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        return props;
+    }
+
+    private static long bufferMemory(Properties props) {
+        return (Long) props.get(ProducerConfig.BUFFER_MEMORY_CONFIG);
+    }
+}
@@ -0,0 +1,142 @@
+package org.qubership.integration.platform.engine.camel.components.servlet;
+
+import org.apache.camel.http.common.HttpConsumer;
+import org.apache.camel.support.RestConsumerContextPathMatcher.ConsumerPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class ConsumerPathTrieTest {
+
+    private ConsumerPathTrie trie;
+    private List<ConsumerPath<HttpConsumer>> paths;
+    private long creationTime;
+
+    @BeforeEach
+    void setUp() {
+        trie = new ConsumerPathTrie();
+        paths = new ArrayList<>();
+        creationTime = 0;
+    }
+
+    @Test
+    void shouldMatchSameConsumersAsFullScan() {
+        add("/orders", "GET");
+        add("/orders", "GET");
+        add("/orders/{id}", "GET,POST");
+        add("/orders/{id}/details", null);
+        add("/orders/{id}/{section}", "GET");
+        add("/Customers/{id}", "GET");
+        add("/customers/vip", "DELETE");
+        add("/", null);
+
+        List<String> methods = List.of("GET", "POST", "DELETE", "OPTIONS", "PATCH");
+        List<String> requestPaths = List.of("/orders", "/orders/", "/ORDERS/42", "/orders/42/details",
+                "/orders/42/history", "/customers/vip", "/customers/7", "/", "/unknown/path");
+        for (String method : methods) {
+            for (String requestPath : requestPaths) {
+                assertSame(
+                        RestConsumerContextPathCustomMatcher.matchBestPath(method, requestPath, paths),
+                        trie.matchBestPath(method, requestPath),
+                        method + " " + requestPath);
+            }
+        }
+    }
+
+    @Test
+    void shouldTellPathsWithAndWithoutTrailingSlashApart() {
+        ConsumerPath<HttpConsumer> path = add("/orders", "GET");
+        ConsumerPath<HttpConsumer> slashPath = add("/orders/", "GET");
+
+        for (String requestPath : List.of("/orders", "/orders/", "/orders//")) {
+            assertSame(RestConsumerContextPathCustomMatcher.matchBestPath("GET", requestPath, paths),
+                    trie.matchBestPath("GET", requestPath), requestPath);
+        }
+        assertSame(path, trie.matchBestPath("GET", "/orders"));
+        assertSame(slashPath, trie.matchBestPath("GET", "/orders/"));
+        assertNull(trie.matchBestPath("GET", "/orders//"));
+
+        trie.remove(slashPath.getConsumer());
+        paths.remove(slashPath);
+        assertNull(trie.matchBestPath("GET", "/orders/"));
+        assertNull(RestConsumerContextPathCustomMatcher.matchBestPath("GET", "/orders/", paths));
+    }
+
+    @Test
+    void shouldMatchConsumerOnUriPrefix() {
+        ConsumerPath<HttpConsumer> prefixPath = add("/files", "GET", true);
+
+        assertSame(prefixPath, trie.matchBestPath("GET", "/files/docs/report.pdf"));
+        assertSame(RestConsumerContextPathCustomMatcher.matchBestPath("GET", "/files/docs/report.pdf", paths),
+                trie.matchBestPath("GET", "/files/docs/report.pdf"));
+    }
+
+    @Test
+    void shouldStopMatchingRemovedConsumer() {
+        ConsumerPath<HttpConsumer> olderPath = add("/orders/{id}", "GET");
+        ConsumerPath<HttpConsumer> newerPath = add("/orders/{id}", "GET");
+        assertSame(newerPath, trie.matchBestPath("GET", "/orders/42"));
+
+        trie.remove(newerPath.getConsumer());
+        assertSame(olderPath, trie.matchBestPath("GET", "/orders/42"));
+
+        trie.remove(olderPath.getConsumer());
+        assertNull(trie.matchBestPath("GET", "/orders/42"));
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void shouldReplaceConsumerAddedAgain() {
+        ConsumerPath<HttpConsumer> path = add("/orders", "GET");
+        ConsumerPath<HttpConsumer> movedPath = consumerPath("/customers", "GET", false, path.getConsumer());
+
+        trie.add(movedPath);
+
+        assertEquals(1, trie.size());
+        assertNull(trie.matchBestPath("GET", "/orders"));
+        assertSame(movedPath, trie.matchBestPath("GET", "/customers"));
+    }
+
+    private ConsumerPath<HttpConsumer> add(String consumerPath, String restrictMethod) {
+        return add(consumerPath, restrictMethod, false);
+    }
+
+    private ConsumerPath<HttpConsumer> add(String consumerPath, String restrictMethod, boolean matchOnUriPrefix) {
+        ServletCustomConsumer consumer = mock(ServletCustomConsumer.class, withSettings().lenient());
+        lenient().when(consumer.getCreationTime()).thenReturn(++creationTime);
+
+        ConsumerPath<HttpConsumer> path = consumerPath(consumerPath, restrictMethod, matchOnUriPrefix, consumer);
+        paths.add(path);
+        trie.add(path);
+        return path;
+    }
+
+    private static ConsumerPath<HttpConsumer> consumerPath(
+            String consumerPath,
+            String restrictMethod,
+            boolean matchOnUriPrefix,
+            HttpConsumer consumer
+    ) {
+        @SuppressWarnings("unchecked")
+        ConsumerPath<HttpConsumer> path = mock(ConsumerPath.class, withSettings().lenient());
+
+        lenient().when(path.getConsumerPath()).thenReturn(consumerPath);
+        lenient().when(path.getRestrictMethod()).thenReturn(restrictMethod);
+        lenient().when(path.isMatchOnUriPrefix()).thenReturn(matchOnUriPrefix);
+        lenient().when(path.getConsumer()).thenReturn(consumer);
+
+        return path;
+    }
+}
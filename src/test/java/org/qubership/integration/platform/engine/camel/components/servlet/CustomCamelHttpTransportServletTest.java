@@ -75,6 +75,16 @@ void shouldReturnUnmodifiableConsumersMap() {
         assertThrows(UnsupportedOperationException.class, () -> consumers.put("another", mock(HttpConsumer.class)));
     }
 
+    @Test
+    void shouldReturnSameConsumersMapOnEveryCall() {
+        Map<String, HttpConsumer> consumers = servlet.getConsumers();
+
+        servlet.connect(consumer);
+
+        assertSame(consumers, servlet.getConsumers());
+        assertEquals(1, consumers.size());
+    }
+
     @Test
     void shouldThrowWhenConsumerEndpointIsNotServletEndpoint() {
         HttpCommonEndpoint httpCommonEndpoint = mock(HttpCommonEndpoint.class);
@@ -8,6 +8,7 @@
 import org.junit.jupiter.api.Test;
 import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -50,6 +51,24 @@ void shouldReturnNullWhenNoConsumerMatchesPathOrMethod() {
         assertNull(result);
     }
 
+    @Test
+    void shouldResolveConsumersOfEachServletSeparately() {
+        HttpConsumer ordersConsumer = consumer("/orders", "GET", false);
+        HttpConsumer customersConsumer = consumer("/customers", "GET", false);
+        Map<String, HttpConsumer> firstServletConsumers = new HashMap<>(Map.of("orders", ordersConsumer));
+        Map<String, HttpConsumer> secondServletConsumers = new HashMap<>(Map.of("customers", customersConsumer));
+        strategy.addConsumer(firstServletConsumers, ordersConsumer);
+        strategy.addConsumer(secondServletConsumers, customersConsumer);
+
+        assertSame(ordersConsumer, strategy.resolvePath("/orders", "GET", firstServletConsumers));
+        assertNull(strategy.resolvePath("/customers", "GET", firstServletConsumers));
+        assertSame(customersConsumer, strategy.resolvePath("/customers", "GET", secondServletConsumers));
+        assertNull(strategy.resolvePath("/orders", "GET", secondServletConsumers));
+
+        strategy.removeConsumers(firstServletConsumers);
+        assertSame(ordersConsumer, strategy.resolvePath("/orders", "GET", firstServletConsumers));
+    }
+
     @Test
     void shouldResolveUsingRequestPathInfoWhenDoResolveCalled() {
         ExposedCustomHttpRestServletResolveConsumerStrategy strategy =
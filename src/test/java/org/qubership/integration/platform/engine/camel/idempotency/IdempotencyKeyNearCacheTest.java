@@ -0,0 +1,80 @@
+package org.qubership.integration.platform.engine.camel.idempotency;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class IdempotencyKeyNearCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    void shouldExpireKeyBeforeRecordWithTtlCountedFromInsertTime() {
+        IdempotencyKeyNearCache cache = new IdempotencyKeyNearCache(10, clock::get);
+
+        cache.put("key-1", clock.get() - 1000, 10);
+
+        clock.addAndGet(8999 - IdempotencyKeyNearCache.EXPIRY_MARGIN_MILLIS);
+        assertTrue(cache.contains("key-1"));
+        clock.addAndGet(1);
+        assertFalse(cache.contains("key-1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldEvictExpiredKeysFromHead() {
+        IdempotencyKeyNearCache cache = new IdempotencyKeyNearCache(10, clock::get);
+
+        cache.put("key-1", clock.get(), 2);
+        cache.put("key-2", clock.get(), 2);
+        cache.put("key-3", clock.get(), 10);
+
+        clock.addAndGet(1000);
+        cache.put("key-4", clock.get(), 10);
+        assertEquals(2, cache.size());
+        assertTrue(cache.contains("key-3"));
+        assertTrue(cache.contains("key-4"));
+    }
+
+    @Test
+    void shouldEvictOldestKeyWhenFull() {
+        IdempotencyKeyNearCache cache = new IdempotencyKeyNearCache(2, clock::get);
+
+        cache.put("key-1", clock.get(), 10);
+        cache.put("key-2", clock.get(), 10);
+        cache.put("key-1", clock.get(), 10);
+        cache.put("key-3", clock.get(), 10);
+
+        assertEquals(2, cache.size());
+        assertFalse(cache.contains("key-2"));
+        assertTrue(cache.contains("key-1"));
+        assertTrue(cache.contains("key-3"));
+    }
+
+    @Test
+    void shouldNotCacheKeysWithTtlWithinExpiryMargin() {
+        IdempotencyKeyNearCache cache = new IdempotencyKeyNearCache(10, clock::get);
+
+        cache.put("key-1", clock.get(), 1);
+
+        assertFalse(cache.contains("key-1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldNotCacheKeysWhenDisabled() {
+        IdempotencyKeyNearCache cache = new IdempotencyKeyNearCache(0, clock::get);
+
+        cache.put("key-1", clock.get(), 10);
+
+        assertFalse(cache.isEnabled());
+        assertFalse(cache.contains("key-1"));
+    }
+}
@@ -11,10 +11,14 @@
 import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
 import org.qubership.integration.platform.engine.testutils.MockExchanges;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.qubership.integration.platform.engine.model.constants.CamelConstants.SYSTEM_PROPERTY_PREFIX;
@@ -25,6 +29,8 @@ class PostgresIdempotentRepositoryTest {
 
     private static final String EXPIRY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "keyExpiry";
 
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
     private PostgresIdempotentRepository repository;
 
     @Mock
@@ -32,7 +38,8 @@ class PostgresIdempotentRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        repository = new PostgresIdempotentRepository(idempotencyRecordService);
+        repository = new PostgresIdempotentRepository(idempotencyRecordService,
+                new IdempotencyKeyNearCache(100, clock::get));
     }
 
     @Test
@@ -108,6 +115,64 @@ void shouldReturnDeleteResultWhenRemoveCalled() {
         verify(idempotencyRecordService).delete("key-1");
     }
 
+    @Test
+    void shouldReturnFalseForKeyAddedByThisEngineWithoutDatabaseCall() {
+        when(idempotencyRecordService.insertIfNotExists("key-1", 600)).thenReturn(true);
+
+        assertTrue(repository.add("key-1"));
+        assertFalse(repository.add("key-1"));
+        assertTrue(repository.contains("key-1"));
+
+        verify(idempotencyRecordService).insertIfNotExists("key-1", 600);
+        verify(idempotencyRecordService, never()).exists("key-1");
+    }
+
+    @Test
+    void shouldAskDatabaseForKeyAddedByAnotherReplica() {
+        when(idempotencyRecordService.insertIfNotExists("key-1", 600)).thenReturn(false);
+
+        assertFalse(repository.add("key-1"));
+        assertFalse(repository.add("key-1"));
+
+        verify(idempotencyRecordService, times(2)).insertIfNotExists("key-1", 600);
+    }
+
+    @Test
+    void shouldAskDatabaseWhenCachedKeyExpired() {
+        Exchange exchange = MockExchanges.basic();
+        exchange.setProperty(EXPIRY_PROPERTY, 120);
+        when(idempotencyRecordService.insertIfNotExists("key-1", 120)).thenReturn(true);
+
+        assertTrue(repository.add(exchange, "key-1"));
+        clock.addAndGet(120_000L);
+        assertTrue(repository.add(exchange, "key-1"));
+
+        verify(idempotencyRecordService, times(2)).insertIfNotExists("key-1", 120);
+    }
+
+    @Test
+    void shouldEvictKeyFromCacheWhenRemoveCalled() {
+        when(idempotencyRecordService.insertIfNotExists("key-1", 600)).thenReturn(true);
+        when(idempotencyRecordService.delete("key-1")).thenReturn(true);
+
+        repository.add("key-1");
+        repository.remove("key-1");
+
+        assertTrue(repository.add("key-1"));
+        verify(idempotencyRecordService, times(2)).insertIfNotExists("key-1", 600);
+    }
+
+    @Test
+    void shouldNotCacheKeysWhenCacheDisabled() {
+        repository = new PostgresIdempotentRepository(idempotencyRecordService, 0);
+        when(idempotencyRecordService.insertIfNotExists("key-1", 600)).thenReturn(true);
+
+        repository.add("key-1");
+        repository.add("key-1");
+
+        verify(idempotencyRecordService, times(2)).insertIfNotExists("key-1", 600);
+    }
+
     @Test
     void shouldDoNothingWhenClearCalled() {
         assertDoesNotThrow(() -> repository.clear());
@@ -318,11 +318,10 @@ void shouldThrowUnsupportedOperationExceptionWhenUnsupportedErrorPresent() throw
     }
 
     @Test
-    void shouldSerializeVariablesAndFallbackToTextNodeWhenInvalidJson() throws Exception {
+    void shouldPassVariablesTreeAndFallbackToTextNodeWhenInvalidJson() throws Exception {
         ObjectMapper objectMapper = spy(ObjectMappers.getObjectMapper());
         AtlasMapping mapping = mappingWithExtraSource("variables");
         doReturn(mapping).when(objectMapper).readValue(any(Reader.class), eq(AtlasMapping.class));
-        doThrow(new JsonProcessingException("bad") { }).when(objectMapper).readTree("abc");
 
         MapperProcessor processor = processor(objectMapper, false);
 
@@ -332,19 +331,22 @@ void shouldSerializeVariablesAndFallbackToTextNodeWhenInvalidJson() throws Excep
 
         HashMap<String, String> vars = new HashMap<>();
         vars.put("plainVal", "abc");
+        vars.put("brokenVal", "{\"x\":");
         vars.put("jsonVal", "{\"x\":2}");
         when(exchange.getProperty("variables")).thenReturn(vars);
 
-        ArgumentCaptor<String> docCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<JsonNode> docCaptor = ArgumentCaptor.forClass(JsonNode.class);
 
         try (MockedConstruction<CustomAtlasContext> ignored = mockAtlasContext()) {
             processor.process(exchange);
         }
 
         verify(session).setSourceDocument(eq("variables"), docCaptor.capture());
+        verify(objectMapper, never()).readTree("abc");
 
-        JsonNode doc = ObjectMappers.getObjectMapper().readTree(docCaptor.getValue());
+        JsonNode doc = docCaptor.getValue();
         assertEquals("abc", doc.get("plainVal").asText());
+        assertEquals("{\"x\":", doc.get("brokenVal").asText());
         assertEquals(2, doc.get("jsonVal").get("x").asInt());
     }
 
@@ -382,7 +384,7 @@ void shouldThrowRuntimeExceptionWhenUnableToSerializeComplexProperty() throws Ex
 
         Object bad = new Object();
         when(exchange.getProperty("badProp")).thenReturn(bad);
-        doThrow(new JsonProcessingException("boom") { }).when(objectMapper).writeValueAsString(same(bad));
+        doThrow(new JsonProcessingException("boom") { }).when(objectMapper).writeValueAsBytes(same(bad));
 
         when(session.getMapping()).thenReturn(mapping);
 
@@ -0,0 +1,179 @@
+package org.qubership.integration.platform.engine.camel.processors.checkpoint;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class CheckpointCodecTest {
+
+    @Test
+    void shouldRoundTripValuesKeepingTheirClasses() throws Exception {
+        LinkedHashMap<String, Object> value = new LinkedHashMap<>();
+        value.put("string", "value");
+        value.put("boolean", true);
+        value.put("integer", 42);
+        value.put("long", 42L);
+        value.put("double", 4.2);
+        value.put("decimal", new BigDecimal("42.000"));
+        value.put("bytes", new byte[] {1, 2, 3});
+        value.put("list", new ArrayList<>(List.of("one", "two")));
+        value.put("map", new HashMap<>(Map.of("key", 1)));
+        value.put("null", null);
+        value.put("other", OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = (Map<String, Object>) CheckpointCodec.decodeProperty(
+                CheckpointCodec.encodeProperty(value));
+
+        assertSame(LinkedHashMap.class, result.getClass());
+        assertEquals(List.copyOf(value.keySet()), List.copyOf(result.keySet()));
+        assertArrayEquals((byte[]) value.remove("bytes"), (byte[]) result.remove("bytes"));
+        assertEquals(value, result);
+        assertSame(ArrayList.class, result.get("list").getClass());
+        assertSame(HashMap.class, result.get("map").getClass());
+        assertEquals(new BigDecimal("42.000").scale(), ((BigDecimal) result.get("decimal")).scale());
+    }
+
+    @Test
+    void shouldReadJavaSerializedPropertiesWrittenBeforeCodec() throws Exception {
+        ArrayList<String> list = new ArrayList<>(List.of("one", "two"));
+        HashMap<String, Object> map = new HashMap<>(Map.of("key", "value", "count", 3));
+
+        assertEquals("value", CheckpointCodec.decodeProperty(javaSerialize("value")));
+        assertEquals(list, CheckpointCodec.decodeProperty(javaSerialize(list)));
+        assertEquals(map, CheckpointCodec.decodeProperty(javaSerialize(map)));
+    }
+
+    @Test
+    void shouldFailOnNotSerializableValue() {
+        ArrayList<Object> value = new ArrayList<>(List.of(new Object()));
+
+        assertThrows(NotSerializableException.class, () -> CheckpointCodec.encodeProperty(value));
+    }
+
+    @Test
+    void shouldFailOnUnknownFormatVersion() throws Exception {
+        byte[] data = CheckpointCodec.encodeProperty("value");
+        data[1] = 2;
+
+        assertThrows(IOException.class, () -> CheckpointCodec.decodeProperty(data));
+    }
+
+    @Test
+    void shouldKeepCyclesAndSharedReferences() throws Exception {
+        ArrayList<Object> shared = new ArrayList<>(List.of("shared"));
+        ArrayList<Object> value = new ArrayList<>(List.of(shared, shared));
+        value.add(value);
+
+        @SuppressWarnings("unchecked")
+        List<Object> result = (List<Object>) CheckpointCodec.decodeProperty(CheckpointCodec.encodeProperty(value));
+
+        assertSame(result.get(0), result.get(1));
+        assertSame(result, result.get(2));
+    }
+
+    @Test
+    void shouldRoundTripDeeplyNestedValues() throws Exception {
+        ArrayList<Object> value = new ArrayList<>();
+        ArrayList<Object> innermost = value;
+        for (int i = 0; i < CheckpointCodec.MAX_NATIVE_DEPTH * 2; i++) {
+            ArrayList<Object> next = new ArrayList<>();
+            innermost.add(next);
+            innermost = next;
+        }
+        innermost.add("leaf");
+
+        assertEquals(value, CheckpointCodec.decodeProperty(CheckpointCodec.encodeProperty(value)));
+    }
+
+    @Test
+    void shouldFailOnCorruptedLength() throws Exception {
+        byte[] data = CheckpointCodec.encodeProperty("x".repeat(CheckpointCodec.COMPRESSION_THRESHOLD));
+        data[3] = 0x7F;
+
+        assertThrows(IOException.class, () -> CheckpointCodec.decodeProperty(data));
+    }
+
+    @Test
+    void shouldStoreRealisticPropertiesSmallerThanJavaSerialization() throws Exception {
+        int encodedSize = 0;
+        int serializedSize = 0;
+        for (Object value : realisticProperties().values()) {
+            encodedSize += CheckpointCodec.encodeProperty(value).length;
+            serializedSize += javaSerialize((Serializable) value).length;
+        }
+
+        assertTrue(encodedSize * 2 < serializedSize, encodedSize + " vs " + serializedSize);
+    }
+
+    @Test
+    void shouldCompressLargePropertiesAndBodies() throws Exception {
+        String payload = "{\"id\":\"42\",\"status\":\"ACTIVE\"},".repeat(1000);
+
+        byte[] property = CheckpointCodec.encodeProperty(payload);
+        byte[] body = CheckpointCodec.encodeBody(payload);
+
+        assertTrue(property.length < payload.length() / 10);
+        assertTrue(body.length < payload.length() / 10);
+        assertEquals(payload, CheckpointCodec.decodeProperty(property));
+        assertEquals(payload, CheckpointCodec.decodeBody(body));
+    }
+
+    @Test
+    void shouldKeepSmallBodiesAsPlainText() throws Exception {
+        byte[] body = CheckpointCodec.encodeBody("{\"key\":\"\u0437\u043d\u0430\u0447\u0435\u043d\u0438\u0435\"}");
+
+        assertArrayEquals("{\"key\":\"\u0437\u043d\u0430\u0447\u0435\u043d\u0438\u0435\"}".getBytes(StandardCharsets.UTF_8), body);
+        assertEquals("{\"key\":\"\u0437\u043d\u0430\u0447\u0435\u043d\u0438\u0435\"}", CheckpointCodec.decodeBody(body));
+    }
+
+    @Test
+    void shouldReadPlainTextBodiesWrittenBeforeCodec() throws Exception {
+        String body = "<root>" + "x".repeat(CheckpointCodec.COMPRESSION_THRESHOLD) + "</root>";
+
+        assertEquals(body, CheckpointCodec.decodeBody(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Map<String, Object> realisticProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("orderId", UUID.randomUUID().toString());
+        properties.put("customerId", "customer-1042");
+        properties.put("retryCount", 3);
+        properties.put("amount", new BigDecimal("199.99"));
+        properties.put("createdAt", 1735689600000L);
+        properties.put("isPriority", Boolean.TRUE);
+        properties.put("tags", new ArrayList<>(List.of("mobile", "eu-west", "promo")));
+        properties.put("routing", new HashMap<>(Map.of(
+                "region", "eu-west",
+                "partition", 7,
+                "targets", new ArrayList<>(List.of("billing", "shipping")))));
+        return properties;
+    }
+
+    private static byte[] javaSerialize(Serializable value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+}
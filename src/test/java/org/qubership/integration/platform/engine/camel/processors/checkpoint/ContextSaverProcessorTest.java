@@ -19,14 +19,13 @@
 import org.qubership.integration.platform.engine.persistence.shared.entity.Checkpoint;
 import org.qubership.integration.platform.engine.persistence.shared.entity.Property;
 import org.qubership.integration.platform.engine.service.CheckpointSessionService;
+import org.qubership.integration.platform.engine.service.checkpoints.CheckpointWriteBehindService;
 import org.qubership.integration.platform.engine.service.debugger.util.MessageHelper;
 import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
 import org.qubership.integration.platform.engine.testutils.MockExchanges;
 import org.qubership.integration.platform.engine.testutils.ObjectMappers;
 import org.qubership.integration.platform.engine.util.InjectUtil;
 
-import java.io.ByteArrayInputStream;
-import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -55,6 +54,8 @@ class ContextSaverProcessorTest {
     @Mock
     CheckpointSessionService checkpointSessionService;
     @Mock
+    CheckpointWriteBehindService checkpointWriteBehindService;
+    @Mock
     ContextOperationsWrapper contextOperations;
     @Mock
     private Exchange exchange;
@@ -149,6 +150,32 @@ void shouldSkipCheckpointSaveWhenChainCallTriggeredSession() throws Exception {
         verify(checkpointSessionService, never()).saveAndAssignCheckpoint(any(), any());
     }
 
+    @Test
+    void shouldHandCheckpointToWriteBehindWhenEnabled() throws Exception {
+        processor = processor(
+                checkpointSessionService,
+                checkpointMapper,
+                Optional.empty()
+        );
+
+        exchange.setProperty(CamelConstants.Properties.CHECKPOINT_ELEMENT_ID, "9f8fe5db-e713-4f49-8b4f-4f7a0cfef9be");
+        exchange.setProperty(CamelConstants.Properties.SESSION_ID, "497db4d8-4a3b-4e2e-8f65-2ca018a72240");
+        when(checkpointWriteBehindService.isEnabled()).thenReturn(true);
+
+        try (MockedStatic<MessageHelper> messageHelperMock = mockStatic(MessageHelper.class)) {
+            messageHelperMock.when(() -> MessageHelper.extractBody(exchange))
+                    .thenReturn("body-value");
+
+            processor.process(exchange);
+        }
+
+        verify(checkpointWriteBehindService).saveAndAssignCheckpoint(
+                any(Checkpoint.class),
+                org.mockito.ArgumentMatchers.eq("497db4d8-4a3b-4e2e-8f65-2ca018a72240")
+        );
+        verify(checkpointSessionService, never()).saveAndAssignCheckpoint(any(), any());
+    }
+
     @Test
     void shouldThrowRuntimeExceptionWhenCheckpointSaveFails() throws Exception {
         processor = processor(
@@ -192,7 +219,7 @@ void shouldCreatePropertiesForSave() {
     }
 
     @Test
-    void shouldSerializeSerializablePropertyWithIoLibrary() {
+    void shouldSerializeSerializablePropertyWithCodec() {
         processor = processor(
                 checkpointSessionService,
                 checkpointMapper,
@@ -220,7 +247,7 @@ void shouldSerializeNonSerializablePropertyWithObjectMapper() throws Exception {
     }
 
     @Test
-    void shouldFallbackToObjectMapperWhenSerializablePropertyCannotBeSerializedWithIoLibrary() throws Exception {
+    void shouldFallbackToObjectMapperWhenSerializablePropertyCannotBeSerializedWithCodec() throws Exception {
         ObjectMapper mockCheckpointMapper = mock(ObjectMapper.class);
         ContextSaverProcessor processor = processor(
                 checkpointSessionService,
@@ -289,36 +316,64 @@ void shouldThrowRuntimeExceptionWhenSerializeWithObjectMapperFails() throws Exce
     }
 
     @Test
-    void shouldSerializeWithIoLibrary() throws Exception {
+    void shouldSerializeWithCodec() throws Exception {
         processor = processor(
                 checkpointSessionService,
                 checkpointMapper,
                 Optional.empty()
         );
 
-        byte[] result = processor.serializeWithIOLibrary("value");
+        byte[] result = processor.serializeWithCodec("value");
 
         assertEquals("value", deserialize(result));
+        assertEquals((byte) 0xAC, result[0]);
+        assertEquals((byte) 0xED, result[1]);
+    }
+
+    @Test
+    void shouldWriteCodecFormatWhenBinaryFormatEnabled() throws Exception {
+        processor = processor(
+                checkpointSessionService,
+                checkpointMapper,
+                Optional.empty(),
+                true
+        );
+        String body = "x".repeat(CheckpointCodec.COMPRESSION_THRESHOLD);
+
+        byte[] property = processor.serializeWithCodec("value");
+
+        assertEquals((byte) 0xC1, property[0]);
+        assertEquals("value", deserialize(property));
+        assertArrayEquals(CheckpointCodec.encodeBody(body), processor.serializeBody(body));
     }
 
-    private static ContextSaverProcessor processor(
+    private ContextSaverProcessor processor(
             CheckpointSessionService checkpointSessionService,
             ObjectMapper checkpointMapper,
             Optional<ContextOperationsWrapper> contextOperations
+    ) {
+        return processor(checkpointSessionService, checkpointMapper, contextOperations, false);
+    }
+
+    private ContextSaverProcessor processor(
+            CheckpointSessionService checkpointSessionService,
+            ObjectMapper checkpointMapper,
+            Optional<ContextOperationsWrapper> contextOperations,
+            boolean binaryFormatEnabled
     ) {
         @SuppressWarnings("unchecked")
         Instance<ContextOperationsWrapper> instance = mock(Instance.class);
 
         try (MockedStatic<InjectUtil> injectUtilMock = mockStatic(InjectUtil.class)) {
             injectUtilMock.when(() -> InjectUtil.injectOptional(instance)).thenReturn(contextOperations);
-            return new ContextSaverProcessor(checkpointSessionService, checkpointMapper, instance);
+            return new ContextSaverProcessor(checkpointSessionService, checkpointWriteBehindService,
+                    checkpointMapper, instance, binaryFormatEnabled);
         }
     }
 
     private static Object deserialize(byte[] bytes) {
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
-             ObjectInputStream in = new ObjectInputStream(bis)) {
-            return in.readObject();
+        try {
+            return CheckpointCodec.decodeProperty(bytes);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
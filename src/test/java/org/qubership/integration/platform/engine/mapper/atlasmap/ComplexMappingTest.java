@@ -26,9 +26,11 @@
 import org.qubership.integration.platform.mapper.ComplexField;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ComplexMappingTest {
@@ -71,12 +73,23 @@ private enum Format {
         XML
     }
 
-    private record MapResult(String document, List<Audit> audits) {}
+    private static final String SOURCE_DOCUMENT_PROPERTY = "Atlas.SourceDocument." + SOURCE_ID;
+
+    private record MapResult(String document, List<Audit> audits, Map<String, Object> sourceProperties) {}
 
     private MapResult doMap(
             Format sourceFormat,
             Format targetFormat,
             Mappings mappings
+    ) throws Exception {
+        return doMap(sourceFormat, targetFormat, mappings, sourceFormat.equals(Format.JSON) ? JSON_SOURCE : XML_SOURCE);
+    }
+
+    private MapResult doMap(
+            Format sourceFormat,
+            Format targetFormat,
+            Mappings mappings,
+            String source
     ) throws Exception {
         AtlasMapping atlasMapping = new AtlasMapping();
         atlasMapping.setName("testObjectMapping");
@@ -104,11 +117,11 @@ private MapResult doMap(
 
         AtlasContext context = contextFactory.createContext(atlasMapping);
         AtlasSession session = context.createSession();
-        session.setDefaultSourceDocument(sourceFormat.equals(Format.JSON) ? JSON_SOURCE : XML_SOURCE);
+        session.setDefaultSourceDocument(source);
         context.process(session);
         Object target = session.getTargetDocument(TARGET_ID);
 
-        return new MapResult(target.toString(), session.getAudits().getAudit());
+        return new MapResult(target.toString(), session.getAudits().getAudit(), session.getSourceProperties());
     }
 
     private void assertThereIsNoErrors(List<Audit> audits) {
@@ -118,6 +131,10 @@ private void assertThereIsNoErrors(List<Audit> audits) {
     }
 
     private MapResult doMappingWithoutSchema(Format sourceFormat, Format targetFormat) throws Exception {
+        return doMappingWithoutSchema(sourceFormat, targetFormat, sourceFormat.equals(Format.JSON) ? JSON_SOURCE : XML_SOURCE);
+    }
+
+    private MapResult doMappingWithoutSchema(Format sourceFormat, Format targetFormat, String source) throws Exception {
         Mappings mappings = new Mappings();
 
         Mapping mapping = new Mapping();
@@ -141,7 +158,7 @@ private MapResult doMappingWithoutSchema(Format sourceFormat, Format targetForma
 
         mappings.getMapping().add(mapping);
 
-        MapResult result = doMap(sourceFormat, targetFormat, mappings);
+        MapResult result = doMap(sourceFormat, targetFormat, mappings, source);
 
         assertThereIsNoErrors(result.audits());
 
@@ -169,6 +186,65 @@ void testJsonToJsonMapping() throws Exception {
         assertEquals(OBJECT_MAPPER.readTree(expected), OBJECT_MAPPER.readTree(result.document()));
     }
 
+    @Test
+    void testJsonToJsonMappingWithNestedArrays() throws Exception {
+        String source = """
+                {
+                    "data": {
+                        "orders": [
+                            { "id": "1", "items": [{ "sku": "a" }, { "sku": "b" }] },
+                            { "id": "2", "items": [{ "sku": "c" }] }
+                        ]
+                    }
+                }
+                """;
+        MapResult result = doMappingWithoutSchema(Format.JSON, Format.JSON, source);
+
+        String expected = """
+                {
+                    "result": {
+                        "message": {
+                            "orders": [
+                                { "id": "1", "items": [{ "sku": "a" }, { "sku": "b" }] },
+                                { "id": "2", "items": [{ "sku": "c" }] }
+                            ]
+                        }
+                    }
+                }
+                """;
+        assertEquals(OBJECT_MAPPER.readTree(expected), OBJECT_MAPPER.readTree(result.document()));
+    }
+
+    @Test
+    void testJsonToJsonMappingWithPolymorphicArrayItems() throws Exception {
+        String source = """
+                {
+                    "data": {
+                        "events": [
+                            { "type": "click", "x": "10" },
+                            { "type": "view", "page": "home" }
+                        ]
+                    }
+                }
+                """;
+        MapResult result = doMappingWithoutSchema(Format.JSON, Format.JSON, source);
+
+        String expected = """
+                {
+                    "result": {
+                        "message": {
+                            "events": [
+                                { "type": "click", "x": "10" },
+                                { "type": "view", "page": "home" }
+                            ]
+                        }
+                    }
+                }
+                """;
+        assertEquals(OBJECT_MAPPER.readTree(expected), OBJECT_MAPPER.readTree(result.document()));
+        assertTrue(result.sourceProperties().containsKey(SOURCE_DOCUMENT_PROPERTY));
+    }
+
     @Test
     void testJsonToXmlMapping() throws Exception {
         MapResult result = doMappingWithoutSchema(Format.JSON, Format.XML);
@@ -283,6 +359,7 @@ void testMappingWithSourceSchema() throws Exception {
                 }
                 """;
         assertEquals(OBJECT_MAPPER.readTree(expected), OBJECT_MAPPER.readTree(result.document()));
+        assertFalse(result.sourceProperties().containsKey(SOURCE_DOCUMENT_PROPERTY));
     }
 
     @Test
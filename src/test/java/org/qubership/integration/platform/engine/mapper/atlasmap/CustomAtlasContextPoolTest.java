@@ -0,0 +1,53 @@
+package org.qubership.integration.platform.engine.mapper.atlasmap;
+
+import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.v2.AtlasMapping;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class CustomAtlasContextPoolTest {
+
+    private final DefaultAtlasContextFactory factory = mock(DefaultAtlasContextFactory.class);
+    private final AtlasMapping mapping = new AtlasMapping();
+
+    @Test
+    void shouldReuseReleasedContext() {
+        CustomAtlasContextPool pool = new CustomAtlasContextPool(factory, mapping, 2);
+
+        CustomAtlasContext context = pool.borrow();
+        pool.release(context);
+
+        assertSame(context, pool.borrow());
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    void shouldCreateNewContextWhenAllContextsAreBorrowed() {
+        CustomAtlasContextPool pool = new CustomAtlasContextPool(factory, mapping, 2);
+
+        CustomAtlasContext first = pool.borrow();
+        CustomAtlasContext second = pool.borrow();
+
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void shouldKeepNoMoreThanMaxIdleContexts() {
+        CustomAtlasContextPool pool = new CustomAtlasContextPool(factory, mapping, 1);
+        CustomAtlasContext first = pool.borrow();
+        CustomAtlasContext second = pool.borrow();
+
+        pool.release(first);
+        pool.release(second);
+
+        assertEquals(1, pool.getIdleCount());
+        assertSame(first, pool.borrow());
+    }
+}
@@ -25,15 +25,18 @@
 import org.qubership.integration.platform.engine.mapper.atlasmap.json.QipAtlasJsonFieldReader;
 import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
 
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mockStatic;
@@ -138,6 +141,27 @@ void shouldSetJsonFieldReaderInPreSourceExecutionWhenSourceDocumentIsString() th
         verify(session).setFieldReader(eq("doc1"), any(QipAtlasJsonFieldReader.class));
     }
 
+    @Test
+    void shouldShareParsedSourceDocumentBetweenReaderAndInspection() throws Exception {
+        ObjectNode sourceDocument = new ObjectMapper().createObjectNode();
+        sourceDocument.put("name", "Alex");
+        AtomicReference<QipAtlasJsonFieldReader> reader = new AtomicReference<>();
+
+        when(session.getSourceDocument("doc1")).thenReturn(sourceDocument);
+        doAnswer(invocation -> {
+            reader.set(invocation.getArgument(1));
+            return null;
+        }).when(session).setFieldReader(eq("doc1"), any(QipAtlasJsonFieldReader.class));
+        when(session.getFieldReader("doc1", QipAtlasJsonFieldReader.class)).thenAnswer(invocation -> reader.get());
+
+        module.processPreSourceExecution(session);
+        Document document = module.inspectSourceDocument(session, sourceDocument);
+
+        assertSame(sourceDocument, reader.get().getDocument());
+        assertEquals(1, document.getFields().getField().size());
+        assertEquals("/name", document.getFields().getField().get(0).getPath());
+    }
+
     @Test
     void shouldSerializeTargetDocumentToStringWhenOptionEnabled() throws Exception {
         ObjectMapper objectMapper = new ObjectMapper();
@@ -0,0 +1,42 @@
+package org.qubership.integration.platform.engine.mapper.atlasmap.expressions;
+
+import io.atlasmap.expression.Expression;
+import io.atlasmap.expression.ExpressionException;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class ParsedExpressionCacheTest {
+
+    @Test
+    void shouldReuseParsedExpression() throws Exception {
+        Expression expression = CustomExpression.parse("1 + 2", null);
+
+        assertSame(expression, CustomExpression.parse("1 + 2", null));
+    }
+
+    @Test
+    void shouldReuseParseError() {
+        ExpressionException exception = assertThrows(ExpressionException.class,
+                () -> CustomExpression.parse("1 +", null));
+
+        assertSame(exception, assertThrows(ExpressionException.class, () -> CustomExpression.parse("1 +", null)));
+    }
+
+    @Test
+    void shouldClearWhenFull() {
+        for (int i = ParsedExpressionCache.size(); i < ParsedExpressionCache.MAX_SIZE; i++) {
+            ParsedExpressionCache.put("expression " + i, "result");
+        }
+        assertEquals(ParsedExpressionCache.MAX_SIZE, ParsedExpressionCache.size());
+
+        ParsedExpressionCache.put("last", "last result");
+
+        assertEquals(1, ParsedExpressionCache.size());
+        assertEquals("last result", ParsedExpressionCache.get("last"));
+        assertNull(ParsedExpressionCache.get("expression " + (ParsedExpressionCache.MAX_SIZE - 1)));
+    }
+}
@@ -18,8 +18,16 @@
 import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
 import org.qubership.integration.platform.engine.testutils.MapperTestUtils;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -633,6 +641,90 @@ void shouldSortCollectionByDefaultComparatorWhenFieldTypeIsNone() throws Excepti
         }
     }
 
+    @Test
+    void shouldKeepOriginalOrderOfElementsWithEqualKeys() {
+        SimpleField first = MapperTestUtils.simpleField("/items<0>", "first", FieldType.INTEGER, 2);
+        SimpleField second = MapperTestUtils.simpleField("/items<1>", "second", FieldType.INTEGER, 1);
+        SimpleField third = MapperTestUtils.simpleField("/items<2>", "third", FieldType.INTEGER, 2);
+        SimpleField fourth = MapperTestUtils.simpleField("/items<3>", "fourth", FieldType.INTEGER, 1);
+
+        List<Field> sorted = SortFunctionFactory.sort(List.of(first, second, third, fourth), Function.identity());
+
+        assertEquals(List.of(second, fourth, first, third), sorted);
+    }
+
+    @Test
+    void shouldEvaluateSortingKeyOncePerElement() {
+        List<Field> collection = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            collection.add(MapperTestUtils.simpleField("/items<" + i + ">", "item" + i, FieldType.INTEGER, (i * 7919) % 1000));
+        }
+        AtomicInteger evaluations = new AtomicInteger();
+
+        List<Field> sorted = SortFunctionFactory.sort(collection, f -> {
+            evaluations.incrementAndGet();
+            return f;
+        });
+
+        assertEquals(1000, evaluations.get());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i, sorted.get(i).getValue());
+        }
+    }
+
+    @Test
+    void shouldOrderMixedTypesAndNullsAsBefore() {
+        Random random = new Random(42);
+        Object[] numbers = {0, 1, -1, 7, 0.5, -0.0, 0.0, 2.25, 0.1f, "3", "-0.75"};
+        Object[] untyped = {null, 3, -2, 0.5, 1.5f, "a", "b"};
+        List<Field> collection = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            FieldType type = switch (random.nextInt(4)) {
+                case 0 -> FieldType.INTEGER;
+                case 1 -> FieldType.NUMBER;
+                case 2 -> FieldType.STRING;
+                default -> null;
+            };
+            Object value = switch (type == null ? FieldType.NONE : type) {
+                case INTEGER -> random.nextInt(21) - 10;
+                case NUMBER -> numbers[random.nextInt(numbers.length)];
+                case STRING -> random.nextBoolean() ? null : "s" + random.nextInt(10);
+                default -> untyped[random.nextInt(untyped.length)];
+            };
+            collection.add(MapperTestUtils.simpleField("/items<" + i + ">", "item" + i, type, value));
+        }
+        // some elements have no sorting key
+        Function<Field, Field> sortingKeyGetter = f -> f.getName().hashCode() % 3 == 0 ? null : f;
+
+        List<Field> expected = collection.stream()
+                .sorted(Comparator.comparing(sortingKeyGetter, referenceComparator()))
+                .toList();
+
+        assertEquals(expected, SortFunctionFactory.sort(collection, sortingKeyGetter));
+    }
+
+    /**
+     * Ordering rules of the comparator-based implementation for scalar keys.
+     */
+    private static Comparator<Field> referenceComparator() {
+        Function<Field, FieldType> fieldType = field -> Optional.ofNullable(field.getFieldType())
+                .orElseGet(() -> field.getValue() instanceof Integer ? FieldType.INTEGER
+                        : field.getValue() instanceof Double || field.getValue() instanceof Float ? FieldType.NUMBER
+                        : field.getValue() instanceof String ? FieldType.STRING
+                        : FieldType.NONE);
+        Comparator<Field> valueComparator = (field1, field2) -> {
+            Comparator<Object> comparator = switch (fieldType.apply(field1)) {
+                case INTEGER -> Comparator.comparing(value -> (Integer) value);
+                case NUMBER -> Comparator.comparing(value -> new BigDecimal(String.valueOf(value)));
+                default -> Comparator.comparing(String::valueOf);
+            };
+            return Comparator.comparing(Field::getValue, Comparator.comparing(Objects::nonNull).thenComparing(comparator))
+                    .compare(field1, field2);
+        };
+        Comparator<Field> keyComparator = Comparator.comparing(fieldType).thenComparing(valueComparator);
+        return Comparator.nullsLast(keyComparator);
+    }
+
     private Expression currentItemExpression(String variableName) {
         return ctx -> ctx.getVariable(variableName);
     }
@@ -1,5 +1,7 @@
 package org.qubership.integration.platform.engine.mapper.atlasmap.json;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.core.AtlasUtil;
@@ -25,6 +27,7 @@
 import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
 import org.qubership.integration.platform.engine.testutils.MapperTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -102,6 +105,30 @@ void shouldReadSingleScalarField() throws Exception {
         assertNull(sourceField.getStatus());
     }
 
+    @Test
+    void shouldReadFieldFromUtf8BytesDocument() throws Exception {
+        JsonField sourceField = MapperTestUtils.jsonField("/name");
+        stubSessionField(sourceField);
+        reader.setDocument("{\"name\":\"Harry\"}".getBytes(StandardCharsets.UTF_8));
+
+        reader.read(session);
+
+        assertEquals("Harry", sourceField.getValue());
+    }
+
+    @Test
+    void shouldReadFieldFromParsedDocumentWithoutCopying() throws Exception {
+        JsonField sourceField = MapperTestUtils.jsonField("/name");
+        stubSessionField(sourceField);
+        ObjectNode document = new ObjectMapper().createObjectNode().put("name", "Harry");
+        reader.setDocument(document);
+
+        reader.read(session);
+
+        assertSame(document, reader.getDocument());
+        assertEquals("Harry", sourceField.getValue());
+    }
+
     @Test
     void shouldPeelOffRootedObjectWhenPathDoesNotStartWithRootName() throws Exception {
         JsonField sourceField = MapperTestUtils.jsonField("/orderId");
@@ -0,0 +1,71 @@
+package org.qubership.integration.platform.engine.opensearch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.json.stream.JsonGenerator;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class PreSerializedDocumentTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String serialize(Object value) {
+        JsonpMapper mapper = new JacksonJsonpMapper(objectMapper);
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(writer)) {
+            mapper.serialize(value, generator);
+        }
+        return writer.toString();
+    }
+
+    @Test
+    void shouldWriteSameJsonAsDocumentObject() throws Exception {
+        Map<String, Object> element = Map.of(
+                "id", "e1",
+                "bodyBefore", "{\"name\":\"\\u0416\"}",
+                "duration", 15);
+        byte[] json = objectMapper.writeValueAsBytes(element);
+
+        JsonNode expected = objectMapper.readTree(serialize(element));
+        JsonNode actual = objectMapper.readTree(serialize(new PreSerializedDocument(json)));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shouldReportSizeInBytes() {
+        byte[] json = "{\"name\":\"Ж\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(json.length, new PreSerializedDocument(json).size());
+    }
+
+    @Test
+    void shouldWriteBytesAsIsToByteGenerator() {
+        String json = "{\"name\":\"Ж\",\"body\":\"\\u0416\"}";
+        PreSerializedDocument document = new PreSerializedDocument(json.getBytes(StandardCharsets.UTF_8));
+        JsonpMapper mapper = new JacksonJsonpMapper(objectMapper);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(out)) {
+            generator.writeStartArray();
+            document.serialize(generator, mapper);
+            document.serialize(generator, mapper);
+            generator.writeEnd();
+        }
+
+        assertArrayEquals(("[" + json + "," + json + "]").getBytes(StandardCharsets.UTF_8), out.toByteArray());
+    }
+}
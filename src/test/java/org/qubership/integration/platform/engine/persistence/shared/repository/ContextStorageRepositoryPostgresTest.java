@@ -0,0 +1,203 @@
+package org.qubership.integration.platform.engine.persistence.shared.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.qubership.integration.platform.engine.persistence.ExpiredRecordsCleaner;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+import org.qubership.integration.platform.engine.testutils.ObjectMappers;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the native statements of {@link ContextStorageRepository} against PostgreSQL.
+ */
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class ContextStorageRepositoryPostgresTest {
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile("(?<![:\\w]):(\\w+)");
+    private static final String MIGRATION = "db/migration/postgresql/static/V103_000__context-storage.sql";
+
+    private static PostgreSQLContainer<?> pg;
+
+    private final ObjectMapper mapper = ObjectMappers.getObjectMapper();
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+        pg = new PostgreSQLContainer<>("postgres:17.2");
+        pg.start();
+        try (InputStream migration = ContextStorageRepositoryPostgresTest.class.getClassLoader()
+                .getResourceAsStream(MIGRATION);
+             Connection connection = connect();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create schema engine");
+            statement.execute("set search_path to engine");
+            statement.execute(new String(migration.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (pg != null) {
+            pg.stop();
+        }
+    }
+
+    @BeforeEach
+    void clean() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("truncate engine.context_system_records");
+        }
+    }
+
+    @Test
+    void upsertShouldMergeKeysIntoExistingContext() throws Exception {
+        try (Connection connection = connect()) {
+            upsert(connection, "first", "ctx", "a", "1", 60);
+            upsert(connection, "second", "ctx", "b", "2", 60);
+            upsert(connection, "third", "ctx", "a", "3", 60);
+            upsert(connection, "other", "other-ctx", "c", "4", 60);
+        }
+
+        assertEquals(Map.of("a", "3", "b", "2"), context("ctx"));
+        assertEquals(Map.of("c", "4"), context("other-ctx"));
+        assertEquals("first", queryString("select id from engine.context_system_records where context_id = 'ctx'"));
+    }
+
+    @Test
+    void upsertShouldKeepOtherFieldsOfStoredValue() throws Exception {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                insert into engine.context_system_records (id, value, context_service_id, context_id)
+                values ('legacy', '{"context": {"a": "1"}, "version": 2}', 'svc', 'ctx'),
+                       ('empty', null, 'svc', 'empty-ctx')
+            """);
+            upsert(connection, "new", "ctx", "b", "2", 60);
+            upsert(connection, "new", "empty-ctx", "b", "2", 60);
+        }
+
+        assertEquals(Map.of("a", "1", "b", "2"), context("ctx"));
+        assertEquals(Map.of("b", "2"), context("empty-ctx"));
+        assertEquals("2", queryString("select value ->> 'version' from engine.context_system_records where id = 'legacy'"));
+    }
+
+    @Test
+    void concurrentUpsertsShouldNotLoseKeys() throws Exception {
+        int threads = 8;
+        int keysPerThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = connect()) {
+                        start.await();
+                        for (int k = 0; k < keysPerThread; k++) {
+                            upsert(connection, thread + "-" + k, "ctx", "key-" + thread + "-" + k, "value", 60);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * keysPerThread, context("ctx").size());
+    }
+
+    @Test
+    void deleteExpiredShouldDeleteAtMostLimitExpiredRecords() throws Exception {
+        try (Connection connection = connect()) {
+            for (int i = 0; i < 3; i++) {
+                upsert(connection, "expired-" + i, "expired-" + i, "a", "1", -60);
+            }
+            upsert(connection, "alive", "alive", "a", "1", 60);
+
+            assertEquals(2, deleteExpired(connection, 2));
+            assertEquals(1, deleteExpired(connection, 2));
+            assertEquals(0, deleteExpired(connection, 2));
+        }
+
+        assertEquals("alive", queryString("select string_agg(id, ',') from engine.context_system_records"));
+    }
+
+    private static void upsert(
+            Connection connection,
+            String id,
+            String contextId,
+            String key,
+            String value,
+            long ttl
+    ) throws SQLException {
+        execute(connection, ContextStorageRepository.UPSERT_CONTEXT_VALUE_SQL, Map.of(
+                "id", id,
+                "contextServiceId", "svc",
+                "contextId", contextId,
+                "contextKey", key,
+                "contextValue", value,
+                "ttl", ttl));
+    }
+
+    private static int deleteExpired(Connection connection, int limit) throws SQLException {
+        return execute(connection, ExpiredRecordsCleaner.deleteExpiredChunkSql("engine.context_system_records"),
+                Map.of("limit", limit));
+    }
+
+    // binds the named parameters of a native query the way Hibernate does
+    private static int execute(Connection connection, String sql, Map<String, Object> parameters) throws SQLException {
+        List<Object> values = new ArrayList<>();
+        Matcher matcher = NAMED_PARAMETER.matcher(sql);
+        StringBuilder jdbcSql = new StringBuilder();
+        while (matcher.find()) {
+            values.add(parameters.get(matcher.group(1)));
+            matcher.appendReplacement(jdbcSql, "?");
+        }
+        matcher.appendTail(jdbcSql);
+        try (PreparedStatement statement = connection.prepareStatement(jdbcSql.toString())) {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i));
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    private Map<String, String> context(String contextId) throws Exception {
+        String value = queryString(
+                "select value::text from engine.context_system_records where context_id = '" + contextId + "'");
+        JsonNode context = mapper.readTree(value).get("context");
+        return mapper.convertValue(context, mapper.getTypeFactory().constructMapType(Map.class, String.class, String.class));
+    }
+
+    private static String queryString(String sql) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            assertTrue(resultSet.next());
+            return resultSet.getString(1);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(pg.getJdbcUrl(), pg.getUsername(), pg.getPassword());
+    }
+}
@@ -17,13 +17,13 @@
 package org.qubership.integration.platform.engine.persistence.shared.repository;
 
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.qubership.integration.platform.engine.persistence.shared.entity.ContextSystemRecords;
 
-import java.sql.Timestamp;
-import java.time.Instant;
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -62,29 +62,38 @@ void deleteRecordByContextServiceIdAndContextIdShouldDelegateToPanacheDelete() {
     }
 
     @Test
-    void findAllByExpiresAtBeforeShouldDelegateToPanacheList() {
+    void upsertContextValueShouldMergeKeyInOneNativeStatement() {
         ContextStorageRepository repo = Mockito.spy(new ContextStorageRepository());
-
-        Timestamp ts = Timestamp.from(Instant.now());
-        List<ContextSystemRecords> expected = List.of(mock(ContextSystemRecords.class));
-
-        doReturn(expected).when(repo).list("expiresAt < ?1", ts);
-
-        List<ContextSystemRecords> result = repo.findAllByExpiresAtBefore(ts);
-        assertEquals(1, result.size());
-
-        verify(repo).list("expiresAt < ?1", ts);
+        EntityManager entityManager = mock(EntityManager.class);
+        Query query = mock(Query.class);
+        doReturn(entityManager).when(repo).getEntityManager();
+        when(entityManager.createNativeQuery(anyString(), eq(ContextSystemRecords.class))).thenReturn(query);
+
+        repo.upsertContextValue("id", "svc", "ctx", "k", "v", 60L);
+
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createNativeQuery(sqlCaptor.capture(), eq(ContextSystemRecords.class));
+        assertTrue(sqlCaptor.getValue().contains("on conflict (context_service_id, context_id) do update"));
+        verify(query).setParameter("id", "id");
+        verify(query).setParameter("contextServiceId", "svc");
+        verify(query).setParameter("contextId", "ctx");
+        verify(query).setParameter("contextKey", "k");
+        verify(query).setParameter("contextValue", "v");
+        verify(query).setParameter("ttl", 60L);
+        verify(query).executeUpdate();
     }
 
     @Test
-    void deleteByIdsShouldDelegateToPanacheDeleteInQuery() {
+    void deleteExpiredShouldDeleteLimitedChunkWithoutLoadingEntities() {
         ContextStorageRepository repo = Mockito.spy(new ContextStorageRepository());
+        EntityManager entityManager = mock(EntityManager.class);
+        Query query = mock(Query.class);
+        doReturn(entityManager).when(repo).getEntityManager();
+        when(entityManager.createNativeQuery(anyString(), eq(ContextSystemRecords.class))).thenReturn(query);
+        when(query.executeUpdate()).thenReturn(42);
 
-        List<String> ids = List.of("1", "2", "3");
-        doReturn(3L).when(repo).delete("id in (?1)", ids);
-
-        repo.deleteByIds(ids);
+        assertEquals(42, repo.deleteExpired(500));
 
-        verify(repo).delete("id in (?1)", ids);
+        verify(query).setParameter("limit", 500);
     }
 }
@@ -18,16 +18,21 @@
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.qubership.integration.platform.engine.persistence.ExpiredRecordsCleaner;
+import org.qubership.integration.platform.engine.persistence.TransactionHandler;
 import org.qubership.integration.platform.engine.persistence.shared.repository.IdempotencyRecordRepository;
+import org.qubership.integration.platform.engine.service.debugger.metrics.MetricsStore;
 import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -41,9 +46,20 @@ class IdempotencyRecordServiceTest {
     @Mock
     IdempotencyRecordRepository idempotencyRecordRepository;
 
-    @InjectMocks
+    @Mock
+    TransactionHandler transactionHandler;
+
+    @Mock
+    MetricsStore metricsStore;
+
     IdempotencyRecordService service;
 
+    @BeforeEach
+    void setUp() {
+        service = new IdempotencyRecordService(objectMapper, idempotencyRecordRepository,
+                new ExpiredRecordsCleaner(transactionHandler), metricsStore, 100, Duration.ZERO);
+    }
+
     @Test
     void shouldReturnTrueWhenInsertIfNotExistsOrUpdateIfExpiredReturnsPositive() throws Exception {
         when(objectMapper.writeValueAsString(any())).thenReturn("{\"status\":\"RECEIVED\"}");
@@ -124,10 +140,33 @@ void shouldReturnFalseWhenDeleteByKeyAndNotExpiredReturnsZero() {
     }
 
     @Test
-    void shouldDeleteExpiredByCallingRepository() {
+    void shouldDeleteExpiredInChunksUntilChunkIsNotFull() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(transactionHandler).runInNewSchedulerTransaction(any());
+        when(idempotencyRecordRepository.deleteExpired(100)).thenReturn(100, 100, 42);
+
         service.deleteExpired();
 
-        verify(idempotencyRecordRepository).deleteExpired();
+        verify(idempotencyRecordRepository, times(3)).deleteExpired(100);
+        verify(transactionHandler, times(3)).runInNewSchedulerTransaction(any());
+        verify(metricsStore).processIdempotencyCleanup(anyLong(), eq(242L), eq(false));
         verifyNoInteractions(objectMapper);
     }
+
+    @Test
+    void shouldReportFailedCleanupWithRowsDeletedBeforeFailure() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(transactionHandler).runInNewSchedulerTransaction(any());
+        when(idempotencyRecordRepository.deleteExpired(100))
+                .thenReturn(100)
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        assertThrows(IllegalStateException.class, () -> service.deleteExpired());
+
+        verify(metricsStore).processIdempotencyCleanup(anyLong(), eq(100L), eq(true));
+    }
 }
@@ -0,0 +1,189 @@
+package org.qubership.integration.platform.engine.service;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class MergedVariablesMapTest {
+
+    private final Map<String, String> snapshot = snapshot(Map.of("namespace", "dev", "host", "localhost"));
+
+    @Test
+    void shouldReadThroughToSnapshot() {
+        MergedVariablesMap<String, Object> variables = MergedVariablesMap.overlay(snapshot);
+
+        assertEquals("dev", variables.get("namespace"));
+        assertEquals("fallback", variables.getOrDefault("missing", "fallback"));
+        assertTrue(variables.containsKey("host"));
+        assertFalse(variables.containsKey("missing"));
+    }
+
+    @Test
+    void shouldKeepWritesInOverlay() {
+        MergedVariablesMap<String, Object> first = MergedVariablesMap.overlay(snapshot);
+        MergedVariablesMap<String, Object> second = MergedVariablesMap.overlay(snapshot);
+
+        assertEquals("dev", first.put("namespace", "prod"));
+        assertNull(first.put("port", 8080));
+        assertEquals("localhost", first.remove("host"));
+        assertNull(first.remove("host"));
+
+        assertEquals("prod", first.get("namespace"));
+        assertEquals(8080, first.get("port"));
+        assertFalse(first.containsKey("host"));
+        assertEquals("dev", second.get("namespace"));
+        assertEquals("localhost", second.get("host"));
+        assertEquals(Map.of("namespace", "dev", "host", "localhost"), snapshot);
+    }
+
+    @Test
+    void shouldBehaveAsCopyInBulkOperations() {
+        MergedVariablesMap<String, Object> variables = MergedVariablesMap.overlay(snapshot);
+        variables.put("port", 8080);
+        variables.remove("host");
+        variables.put("host", "remote");
+
+        Map<String, Object> expected = Map.of("namespace", "dev", "host", "remote", "port", 8080);
+        assertEquals(3, variables.size());
+        assertEquals(expected, variables);
+        assertEquals(expected, new HashMap<>(variables));
+        assertEquals(expected.hashCode(), variables.hashCode());
+
+        variables.put("user", "admin");
+        assertEquals(4, variables.size());
+        assertEquals("dev", variables.get("namespace"));
+    }
+
+    @Test
+    void shouldChangeMapThroughViews() {
+        MergedVariablesMap<String, Object> variables = MergedVariablesMap.overlay(snapshot);
+        variables.put("port", 8080);
+
+        Iterator<Map.Entry<String, Object>> entries = variables.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Object> entry = entries.next();
+            if (entry.getKey().equals("namespace")) {
+                entry.setValue("prod");
+            } else if (entry.getKey().equals("host")) {
+                entries.remove();
+            }
+        }
+        variables.keySet().remove("port");
+
+        assertEquals(Map.of("namespace", "prod"), variables);
+        assertEquals(Map.of("namespace", "dev", "host", "localhost"), snapshot);
+    }
+
+    @Test
+    void shouldKeepSizeWhenOverridingEntriesAreRemoved() {
+        MergedVariablesMap<String, Object> variables = MergedVariablesMap.overlay(snapshot);
+        variables.put("namespace", "prod");
+        variables.put("port", 8080);
+        assertEquals(3, variables.size());
+
+        variables.entrySet().removeIf(entry -> !entry.getKey().equals("host"));
+
+        assertEquals(1, variables.size());
+        assertEquals(Map.of("host", "localhost"), variables);
+        assertFalse(variables.containsKey("namespace"));
+
+        variables.put("namespace", "test");
+        assertEquals(2, variables.size());
+        assertEquals(Map.of("namespace", "test", "host", "localhost"), variables);
+    }
+
+    @Test
+    void shouldReadConcurrentlyWithoutChangingMap() throws Exception {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            values.put("variable-" + i, "value-" + i);
+        }
+        MergedVariablesMap<String, Object> variables = MergedVariablesMap.overlay(snapshot(values));
+        variables.put("own", "value");
+        Map<String, Object> expected = new HashMap<>(values);
+        expected.put("own", "value");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                readers.add(executor.submit(() -> {
+                    for (int round = 0; round < 20; round++) {
+                        assertEquals(1001, variables.size());
+                        assertEquals(expected, new HashMap<>(variables));
+                        assertTrue(variables.containsValue("value-999"));
+                        for (int i = 0; i < 1000; i++) {
+                            assertEquals("value-" + i, variables.get("variable-" + i));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(expected, variables);
+    }
+
+    @Test
+    void shouldForgetSnapshotWhenCleared() {
+        MergedVariablesMap<String, Object> variables = MergedVariablesMap.overlay(snapshot);
+
+        variables.clear();
+
+        assertTrue(variables.isEmpty());
+        assertNull(variables.get("namespace"));
+    }
+
+    @Test
+    void shouldSerializeSnapshotEntries() throws Exception {
+        MergedVariablesMap<String, Object> variables = MergedVariablesMap.overlay(snapshot);
+        variables.put("port", 8080);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(variables);
+        }
+        Object restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = in.readObject();
+        }
+
+        assertEquals(Map.of("namespace", "dev", "host", "localhost", "port", 8080), restored);
+    }
+
+    @Test
+    void shouldMaskSecuredSnapshotVariables() {
+        MergedVariablesMap<String, String> secured = new MergedVariablesMap<>();
+        secured.putAll(Map.of("password", "secret"), true);
+
+        MergedVariablesMap<String, Object> variables = MergedVariablesMap.overlay(secured);
+
+        assertEquals("secret", variables.get("password"));
+        assertEquals("{password=***}", variables.toString());
+    }
+
+    private static Map<String, String> snapshot(Map<String, String> values) {
+        MergedVariablesMap<String, String> snapshot = new MergedVariablesMap<>();
+        snapshot.putAll(values);
+        return snapshot;
+    }
+}
@@ -0,0 +1,128 @@
+package org.qubership.integration.platform.engine.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.qubership.integration.platform.engine.configuration.ApplicationConfiguration;
+import org.qubership.integration.platform.engine.configuration.camel.StartupErrorHandlingConfiguration;
+import org.qubership.integration.platform.engine.consul.updates.UpdateGetterHelper;
+import org.qubership.integration.platform.engine.errorhandling.DeploymentRetriableException;
+import org.qubership.integration.platform.engine.kubernetes.KubeOperator;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class VariablesServiceTest {
+
+    private static final String SECRET_NAME = "qip-secured-variables-v2";
+
+    @Mock
+    KubeOperator operator;
+    @Mock
+    ApplicationConfiguration applicationConfiguration;
+    @Mock
+    UpdateGetterHelper<Map<String, String>> commonVariablesUpdateGetter;
+    @Mock
+    StartupErrorHandlingConfiguration startupErrorHandlingConfiguration;
+
+    private VariablesService variablesService;
+
+    @BeforeEach
+    void setUp() {
+        variablesService = new VariablesService(operator, applicationConfiguration, commonVariablesUpdateGetter,
+                "secured", SECRET_NAME, startupErrorHandlingConfiguration, 16);
+    }
+
+    @Test
+    void shouldResolveVariablesAsSubstitutor() {
+        setVariables(Map.of(
+                "host", "localhost",
+                "port", "8080",
+                "blank", "  ",
+                "dollar", "price$",
+                "xml", "<a href=\"x?a=1&b=2\">"
+        ), Map.of("password", "p&ss", "empty", ""));
+
+        List<String> texts = List.of(
+                "http://#{host}:#{port}/path?pwd=#{password}",
+                "<to uri=\"kafka:topic?brokers=#{host}&amp;groupId=#{blank}&amp;acks=all&amp;key={empty}\"/>",
+                "#{missing:-9090} #{host:-other} p=#{blank:-x} p={host}",
+                "$#{host} $$#{port} #{a #{host} #{unterminated",
+                "<value>#{xml}</value><value>#{namespace}</value>",
+                "#{dollar}#{host}",
+                "$p=#{blank}#{host}",
+                "#p={empty}{host}",
+                "#{host p=#{blank}",
+                "q=p={empty}#{blank}&amp;x",
+                "no variables at all"
+        );
+        for (String text : texts) {
+            for (boolean escape : List.of(false, true)) {
+                assertResolvedAsSubstitutor(text, escape);
+            }
+        }
+    }
+
+    @Test
+    void shouldResolveLargeRouteAsSubstitutor() {
+        Map<String, String> variables = new HashMap<>();
+        StringBuilder route = new StringBuilder("<routes>");
+        for (int i = 0; i < 1000; i++) {
+            variables.put("variable-" + i, i % 10 == 0 ? "" : "value-" + i + "&<>");
+            route.append("<route id=\"route-").append(i).append("\"><from uri=\"direct:#{variable-").append(i)
+                    .append("}\"/><to uri=\"http://host/path?a=#{variable-").append(i)
+                    .append("}&amp;b=#{variable-").append((i + 1) % 1000).append("}\"/></route>");
+        }
+        route.append("</routes>");
+        setVariables(variables, Map.of());
+
+        for (boolean escape : List.of(false, true)) {
+            assertResolvedAsSubstitutor(route.toString(), escape);
+        }
+    }
+
+    @Test
+    void shouldReplaceVariablesInCachedText() {
+        setVariables(Map.of("host", "localhost"), Map.of());
+        assertEquals("http://localhost", variablesService.injectVariables("http://#{host}"));
+
+        setVariables(Map.of("host", "remote"), Map.of());
+        assertEquals("http://remote", variablesService.injectVariables("http://#{host}"));
+    }
+
+    private void assertResolvedAsSubstitutor(String text, boolean escape) {
+        String expected = variablesService.substituteVariables(text, escape);
+        if (expected.matches("(?s).*#\\{[a-zA-Z0-9:._-]+}.*")) {
+            assertThrows(DeploymentRetriableException.class, () -> variablesService.injectVariables(text, escape));
+        } else {
+            assertEquals(expected, variablesService.injectVariables(text, escape), text);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setVariables(Map<String, String> common, Map<String, String> secured) {
+        when(applicationConfiguration.getNamespace()).thenReturn("dev");
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(new HashMap<>(common));
+            return null;
+        }).when(commonVariablesUpdateGetter).checkForUpdates(any());
+        when(operator.getAllSecretsWithLabel(any())).thenReturn(Map.of(SECRET_NAME, secured));
+
+        variablesService.refreshSecuredVariables();
+        variablesService.refreshCommonVariables();
+    }
+}
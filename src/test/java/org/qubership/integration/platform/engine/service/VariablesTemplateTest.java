@@ -0,0 +1,69 @@
+package org.qubership.integration.platform.engine.service;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class VariablesTemplateTest {
+
+    private static final Map<String, String> VARIABLES = Map.of(
+            "host", "localhost",
+            "port", "8080",
+            "secret:password", "p&ss",
+            "blank", " ",
+            "dollar", "price$"
+    );
+    private static final Set<String> BLANK = Set.of("blank");
+
+    @Test
+    void shouldSubstituteVariables() {
+        assertEquals("http://localhost:8080/path?pwd=p&ss",
+                render("http://#{host}:#{port}/path?pwd=#{secret:password}"));
+    }
+
+    @Test
+    void shouldKeepUndefinedAndEscapedPlaceholders() {
+        assertEquals("#{missing} $#{host} #{a #{host}", render("#{missing} $#{host} #{a #{host}"));
+        assertEquals("#{unterminated", render("#{unterminated"));
+    }
+
+    @Test
+    void shouldUseDefaultValueOfUndefinedVariable() {
+        assertEquals("9090 localhost", render("#{missing:-9090} #{host:-other}"));
+    }
+
+    @Test
+    void shouldDropParametersOfBlankVariables() {
+        assertEquals("kafka:topic?brokers=localhost&amp;acks=all",
+                render("kafka:topic?brokers=#{host}&amp;groupId=#{blank}&amp;acks=all"));
+        assertEquals("http://host?&amp;a=1", render("http://host?key={blank}&amp;a=1"));
+        assertEquals("p=localhost p={host} p= ", render("p=#{host} p={host} p=#{blank:-x}"));
+    }
+
+    @Test
+    void shouldNotRenderTextParsedDifferentlyAfterSubstitution() {
+        assertNull(render("#{dollar}#{host}"));
+        assertNull(render("$p=#{blank}#{host}"));
+        assertNull(render("#{host p=#{blank}"));
+        assertNull(render("q=p={blank}#{blank}"));
+    }
+
+    @Test
+    void shouldReplacePlainPlaceholders() {
+        VariablesTemplate template = VariablesTemplate.compile("%%{route}/a %%{missing}/b %%{x %%{route}}", "%%{");
+
+        assertEquals("/gateway/a %%{missing}/b %%{x /gateway}",
+                template.render(Map.of("route", "/gateway"), Set.of()));
+    }
+
+    private static String render(String text) {
+        return VariablesTemplate.compile(text).render(VARIABLES, BLANK);
+    }
+}
@@ -0,0 +1,162 @@
+package org.qubership.integration.platform.engine.service.checkpoints;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.integration.platform.engine.persistence.shared.entity.Checkpoint;
+import org.qubership.integration.platform.engine.persistence.shared.entity.Property;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class CheckpointJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldDeleteSegmentWhenAllEntriesReleasedAndSegmentRotated() throws Exception {
+        CheckpointJournal journal = new CheckpointJournal(directory, 1);
+
+        CheckpointJournal.Segment first = journal.append(List.of(bytes("a"), bytes("b")));
+        CheckpointJournal.Segment second = journal.append(List.of(bytes("c")));
+        assertNotSame(first, second);
+        assertEquals(2, segmentCount());
+
+        journal.release(first, 1);
+        assertEquals(2, segmentCount());
+        journal.release(first, 1);
+        assertEquals(1, segmentCount());
+
+        journal.release(second, 1);
+        journal.close();
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void shouldRecoverUnreleasedEntriesOfPreviousRun() throws Exception {
+        CheckpointJournal previousRun = new CheckpointJournal(directory, 1024 * 1024);
+        previousRun.append(List.of(bytes("a"), bytes("b")));
+        previousRun.append(List.of(bytes("c")));
+        previousRun.close();
+
+        CheckpointJournal journal = new CheckpointJournal(directory, 1024 * 1024);
+        assertTrue(journal.hasPreviousSegments());
+        List<String> recovered = new ArrayList<>();
+        journal.recover(2, chunk -> collect(chunk, recovered));
+
+        assertEquals(List.of("a", "b", "c"), recovered);
+        assertFalse(journal.hasPreviousSegments());
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void shouldKeepEntriesNotHandledOnRecoveryForNextStart() throws Exception {
+        CheckpointJournal previousRun = new CheckpointJournal(directory, 1024 * 1024);
+        previousRun.append(List.of(bytes("a"), bytes("b"), bytes("c")));
+        previousRun.close();
+
+        new CheckpointJournal(directory, 1024 * 1024).recover(2, chunk -> {
+            boolean[] handled = new boolean[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                handled[i] = new String(chunk.get(i), StandardCharsets.UTF_8).equals("b");
+            }
+            return handled;
+        });
+        assertEquals(1, segmentCount());
+
+        List<String> recovered = new ArrayList<>();
+        CheckpointJournal journal = new CheckpointJournal(directory, 1024 * 1024);
+        journal.recover(10, chunk -> collect(chunk, recovered));
+
+        assertEquals(List.of("a", "c"), recovered);
+        assertFalse(journal.hasPreviousSegments());
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void shouldIgnoreTornEntryAtEndOfSegment() throws Exception {
+        CheckpointJournal previousRun = new CheckpointJournal(directory, 1024 * 1024);
+        previousRun.append(List.of(bytes("a")));
+        previousRun.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            Path segment = files.findFirst().orElseThrow();
+            Files.write(segment, new byte[] {0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+        }
+
+        List<String> recovered = new ArrayList<>();
+        new CheckpointJournal(directory, 1024 * 1024)
+                .recover(10, chunk -> collect(chunk, recovered));
+
+        assertEquals(List.of("a"), recovered);
+    }
+
+    @Test
+    void shouldContinueSequenceOfPreviousRun() throws Exception {
+        CheckpointJournal previousRun = new CheckpointJournal(directory, 1024 * 1024);
+        previousRun.append(List.of(bytes("a")));
+        previousRun.close();
+
+        CheckpointJournal journal = new CheckpointJournal(directory, 1024 * 1024);
+        journal.append(List.of(bytes("b")));
+
+        assertEquals(2, segmentCount());
+    }
+
+    @Test
+    void shouldRestoreCheckpointFromEntry() throws Exception {
+        Checkpoint checkpoint = Checkpoint.builder()
+                .checkpointElementId("element-1")
+                .headers("{\"h\":\"v\"}")
+                .body(bytes("body"))
+                .properties(new ArrayList<>(List.of(Property.builder()
+                        .name("p")
+                        .type(String.class.getName())
+                        .value(bytes("value"))
+                        .build())))
+                .build();
+
+        JournaledCheckpoint restored = JournaledCheckpoint.fromBytes(
+                new JournaledCheckpoint("session-1", checkpoint).toBytes());
+
+        assertEquals("session-1", restored.sessionId());
+        Checkpoint result = restored.checkpoint();
+        assertEquals(checkpoint.getId(), result.getId());
+        assertEquals("element-1", result.getCheckpointElementId());
+        assertEquals("{\"h\":\"v\"}", result.getHeaders());
+        assertNull(result.getContextData());
+        assertArrayEquals(bytes("body"), result.getBody());
+        assertEquals(checkpoint.getTimestamp().getTime(), result.getTimestamp().getTime());
+        Property property = result.getProperties().getFirst();
+        assertEquals(checkpoint.getProperties().getFirst().getId(), property.getId());
+        assertEquals("p", property.getName());
+        assertArrayEquals(bytes("value"), property.getValue());
+    }
+
+    private long segmentCount() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static boolean[] collect(List<byte[]> chunk, List<String> recovered) {
+        chunk.forEach(entry -> recovered.add(new String(entry, StandardCharsets.UTF_8)));
+        boolean[] handled = new boolean[chunk.size()];
+        Arrays.fill(handled, true);
+        return handled;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
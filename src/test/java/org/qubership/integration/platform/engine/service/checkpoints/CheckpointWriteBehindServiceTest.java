@@ -0,0 +1,199 @@
+package org.qubership.integration.platform.engine.service.checkpoints;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.qubership.integration.platform.engine.persistence.TransactionHandler;
+import org.qubership.integration.platform.engine.persistence.shared.entity.Checkpoint;
+import org.qubership.integration.platform.engine.persistence.shared.entity.SessionInfo;
+import org.qubership.integration.platform.engine.service.CheckpointSessionService;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class CheckpointWriteBehindServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    CheckpointSessionService checkpointSessionService;
+
+    @Mock
+    TransactionHandler transactionHandler;
+
+    private CheckpointWriteBehindService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void shouldWriteJournaledCheckpointsToDatabaseAndDeleteJournal() throws Exception {
+        runTransactionCallbacks();
+        service = createService(true);
+        service.start();
+
+        Checkpoint first = Checkpoint.builder().checkpointElementId("element-1").build();
+        Checkpoint second = Checkpoint.builder().checkpointElementId("element-2").build();
+        service.saveAndAssignCheckpoint(first, "session-1");
+        service.saveAndAssignCheckpoint(second, "session-1");
+        assertTrue(service.awaitWritten("session-1"));
+
+        verify(checkpointSessionService).saveAndAssignCheckpoint(first, "session-1");
+        verify(checkpointSessionService).saveAndAssignCheckpoint(second, "session-1");
+        verify(checkpointSessionService, never()).checkpointExists(any());
+
+        service.stop();
+        assertEquals(0, journalSegmentCount());
+    }
+
+    @Test
+    void shouldKeepFailedCheckpointInJournalAndWriteItOnNextStart() throws Exception {
+        runTransactionCallbacks();
+        // the batch and the retry of the single checkpoint fail
+        doThrow(new IllegalStateException("database is down"))
+                .doThrow(new IllegalStateException("database is down"))
+                .doNothing()
+                .when(checkpointSessionService).saveAndAssignCheckpoint(any(), eq("session-1"));
+        service = createService(true);
+        service.start();
+
+        Checkpoint checkpoint = Checkpoint.builder().checkpointElementId("element-1").build();
+        service.saveAndAssignCheckpoint(checkpoint, "session-1");
+        assertFalse(service.awaitWritten("session-1"));
+        service.stop();
+        assertEquals(1, journalSegmentCount());
+
+        when(checkpointSessionService.checkpointExists(checkpoint.getId())).thenReturn(false);
+        when(checkpointSessionService.findSession("session-1")).thenReturn(new SessionInfo());
+        service = createService(true);
+        service.start();
+
+        verify(checkpointSessionService).checkpointExists(checkpoint.getId());
+        verify(checkpointSessionService, times(3)).saveAndAssignCheckpoint(
+                argThat(restored -> restored.getId().equals(checkpoint.getId())), eq("session-1"));
+    }
+
+    @Test
+    void shouldKeepJournalWhenDatabaseIsDownOnRecovery() throws Exception {
+        runTransactionCallbacks();
+        Checkpoint checkpoint = Checkpoint.builder().checkpointElementId("element-1").build();
+        CheckpointJournal previousRun = new CheckpointJournal(directory, 1024 * 1024);
+        previousRun.append(List.of(new JournaledCheckpoint("session-1", checkpoint).toBytes()));
+        previousRun.close();
+        when(checkpointSessionService.checkpointExists(checkpoint.getId()))
+                .thenThrow(new IllegalStateException("database is down"));
+
+        service = createService(true);
+        service.start();
+        service.stop();
+
+        assertEquals(1, journalSegmentCount());
+        reset(checkpointSessionService);
+        runTransactionCallbacks();
+        when(checkpointSessionService.findSession("session-1")).thenReturn(new SessionInfo());
+
+        service = createService(true);
+        service.start();
+
+        verify(checkpointSessionService).saveAndAssignCheckpoint(
+                argThat(restored -> restored.getId().equals(checkpoint.getId())), eq("session-1"));
+        assertEquals(0, journalSegmentCount());
+    }
+
+    @Test
+    void shouldSkipRecoveredCheckpointOfDeletedSession() throws Exception {
+        runTransactionCallbacks();
+        Checkpoint checkpoint = Checkpoint.builder().checkpointElementId("element-1").build();
+        CheckpointJournal previousRun = new CheckpointJournal(directory, 1024 * 1024);
+        previousRun.append(List.of(new JournaledCheckpoint("session-1", checkpoint).toBytes()));
+        previousRun.close();
+
+        service = createService(true);
+        service.start();
+
+        verify(checkpointSessionService, never()).saveAndAssignCheckpoint(any(), any());
+        assertEquals(0, journalSegmentCount());
+    }
+
+    @Test
+    void shouldSaveSynchronouslyCheckpointNotJournaledInTime() throws Exception {
+        runTransactionCallbacks();
+        service = new CheckpointWriteBehindService(checkpointSessionService, transactionHandler, true,
+                directory.toString(), 100, 10, 64, Duration.ZERO);
+        service.start();
+
+        Checkpoint checkpoint = Checkpoint.builder().checkpointElementId("element-1").build();
+        service.saveAndAssignCheckpoint(checkpoint, "session-1");
+        service.stop();
+
+        // either journaled and written behind, or withdrawn and saved synchronously, never both
+        verify(checkpointSessionService).saveAndAssignCheckpoint(checkpoint, "session-1");
+    }
+
+    @Test
+    void shouldSkipRecoveredCheckpointAlreadyInDatabase() throws Exception {
+        runTransactionCallbacks();
+        Checkpoint checkpoint = Checkpoint.builder().checkpointElementId("element-1").build();
+        CheckpointJournal previousRun = new CheckpointJournal(directory, 1024 * 1024);
+        previousRun.append(List.of(new JournaledCheckpoint("session-1", checkpoint).toBytes()));
+        previousRun.close();
+        when(checkpointSessionService.checkpointExists(checkpoint.getId())).thenReturn(true);
+
+        service = createService(true);
+        service.start();
+
+        verify(checkpointSessionService, never()).saveAndAssignCheckpoint(any(), any());
+        assertEquals(0, journalSegmentCount());
+    }
+
+    @Test
+    void shouldSaveSynchronouslyWhenNotStarted() throws Exception {
+        service = createService(false);
+        service.start();
+
+        Checkpoint checkpoint = Checkpoint.builder().checkpointElementId("element-1").build();
+        service.saveAndAssignCheckpoint(checkpoint, "session-1");
+
+        verify(checkpointSessionService).saveAndAssignCheckpoint(checkpoint, "session-1");
+        verifyNoInteractions(transactionHandler);
+        assertEquals(0, journalSegmentCount());
+    }
+
+    private void runTransactionCallbacks() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(transactionHandler).runInNewCheckpointTransaction(any());
+    }
+
+    private CheckpointWriteBehindService createService(boolean enabled) {
+        return new CheckpointWriteBehindService(checkpointSessionService, transactionHandler, enabled,
+                directory.toString(), 100, 10, 64, Duration.ofSeconds(10));
+    }
+
+    private long journalSegmentCount() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -25,12 +25,15 @@
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.qubership.integration.platform.engine.errorhandling.ContextStorageException;
+import org.qubership.integration.platform.engine.persistence.ExpiredRecordsCleaner;
+import org.qubership.integration.platform.engine.persistence.TransactionHandler;
 import org.qubership.integration.platform.engine.persistence.shared.entity.ContextSystemRecords;
 import org.qubership.integration.platform.engine.persistence.shared.repository.ContextStorageRepository;
 import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
 import org.qubership.integration.platform.engine.testutils.ObjectMappers;
 
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -47,77 +50,44 @@ class ContextStorageServiceTest {
     @Mock
     private ContextStorageRepository repository;
 
+    @Mock
+    private TransactionHandler transactionHandler;
+
     ObjectMapper mapper;
 
     @BeforeEach
     void setUp() {
         repository = mock(ContextStorageRepository.class);
+        transactionHandler = mock(TransactionHandler.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(transactionHandler).runInNewSchedulerTransaction(any());
         mapper = ObjectMappers.getObjectMapper();
-        service = new ContextStorageService(repository, mapper);
+        service = new ContextStorageService(repository, new ExpiredRecordsCleaner(transactionHandler),
+                mapper, 100, Duration.ZERO);
     }
 
     @Test
-    void storeValueShouldCreateNewRecordWhenNoOldRecordAndNoExistingStorage() {
-        when(repository.findByContextServiceIdAndContextId("svc", "ctx"))
-                .thenReturn(Optional.empty());
-
-        long ttl = 60;
-
-        service.storeValue("k1", "v1", "svc", "ctx", ttl);
-
-        ArgumentCaptor<ContextSystemRecords> captor = ArgumentCaptor.forClass(ContextSystemRecords.class);
-        verify(repository).persist(captor.capture());
-
-        ContextSystemRecords saved = captor.getValue();
-        assertNotNull(saved.getId());
-        assertEquals("svc", saved.getContextServiceId());
-        assertEquals("ctx", saved.getContextId());
-        assertNotNull(saved.getCreatedAt());
-        assertNotNull(saved.getUpdatedAt());
-        assertNotNull(saved.getExpiresAt());
-
-        Instant now = Instant.now();
-        Instant exp = saved.getExpiresAt().toInstant();
-        assertTrue(exp.isAfter(now.minusSeconds(5)));
-        assertTrue(exp.isBefore(now.plusSeconds(ttl + 10)));
-
-        JsonNode valueNode = saved.getValue();
-        assertNotNull(valueNode);
-        assertTrue(valueNode.has("context"));
-        assertEquals("v1", valueNode.get("context").get("k1").asText());
+    void storeValueShouldUpsertKeyInOneStatement() {
+        service.storeValue("k1", "v1", "svc", "ctx", 60);
 
-        verify(repository, times(2)).findByContextServiceIdAndContextId("svc", "ctx");
+        ArgumentCaptor<String> idCaptor = ArgumentCaptor.forClass(String.class);
+        verify(repository).upsertContextValue(idCaptor.capture(), eq("svc"), eq("ctx"), eq("k1"), eq("v1"), eq(60L));
+        assertNotNull(idCaptor.getValue());
+        verify(repository, never()).findByContextServiceIdAndContextId(anyString(), anyString());
+        verify(repository, never()).persist(any(ContextSystemRecords.class));
     }
 
     @Test
-    void storeValueShouldReuseIdAndCreatedAtAndUpdateExistingKey() throws Exception {
-        ObjectMapper om = new ObjectMapper();
-
-        JsonNode existingValue = om.readTree("""
-            { "context": { "a": "1", "b": "2" } }
-        """);
-
-        ContextSystemRecords old = mock(ContextSystemRecords.class);
-        when(old.getId()).thenReturn("fixed-id");
-        Timestamp createdAt = Timestamp.from(Instant.now().minusSeconds(3600));
-        when(old.getCreatedAt()).thenReturn(createdAt);
-        when(old.getValue()).thenReturn(existingValue);
-
-        when(repository.findByContextServiceIdAndContextId("svc", "ctx"))
-                .thenReturn(Optional.of(old));
-
-        service.storeValue("b", "NEW", "svc", "ctx", 120);
-
-        ArgumentCaptor<ContextSystemRecords> captor = ArgumentCaptor.forClass(ContextSystemRecords.class);
-        verify(repository).persist(captor.capture());
-
-        ContextSystemRecords saved = captor.getValue();
-        assertEquals("fixed-id", saved.getId());
-        assertEquals(createdAt, saved.getCreatedAt());
-
-        JsonNode ctx = saved.getValue().get("context");
-        assertEquals("1", ctx.get("a").asText());
-        assertEquals("NEW", ctx.get("b").asText());
+    void storeValueShouldUseNewIdForEveryCall() {
+        service.storeValue("a", "1", "svc", "ctx", 60);
+        service.storeValue("b", "2", "svc", "ctx", 60);
+
+        ArgumentCaptor<String> idCaptor = ArgumentCaptor.forClass(String.class);
+        verify(repository, times(2)).upsertContextValue(idCaptor.capture(), eq("svc"), eq("ctx"),
+                anyString(), anyString(), eq(60L));
+        assertNotEquals(idCaptor.getAllValues().get(0), idCaptor.getAllValues().get(1));
     }
 
     @Test
@@ -169,7 +139,8 @@ void getValueShouldThrowRuntimeExceptionWhenJsonProcessingExceptionOccurs() thro
 
         ObjectMapper mapper = mock(ObjectMapper.class);
 
-        ContextStorageService service = new ContextStorageService(repo, mapper);
+        ContextStorageService service = new ContextStorageService(repo, new ExpiredRecordsCleaner(transactionHandler),
+                mapper, 100, Duration.ZERO);
 
         ContextSystemRecords rec = mock(ContextSystemRecords.class);
         when(rec.getExpiresAt()).thenReturn(Timestamp.from(Instant.now().plusSeconds(60)));
@@ -208,33 +179,27 @@ void deleteValueShouldWrapExceptionIntoContextStorageException() {
     }
 
     @Test
-    void deleteOldRecordsShouldDeleteWhenOldRecordsExist() {
-        ContextSystemRecords r1 = mock(ContextSystemRecords.class);
-        ContextSystemRecords r2 = mock(ContextSystemRecords.class);
-        when(r1.getId()).thenReturn("1");
-        when(r2.getId()).thenReturn("2");
-
-        when(repository.findAllByExpiresAtBefore(any(Timestamp.class)))
-                .thenReturn(List.of(r1, r2));
+    void deleteOldRecordsShouldDeleteInChunksUntilChunkIsNotFull() {
+        when(repository.deleteExpired(100)).thenReturn(100, 100, 7);
 
         service.deleteOldRecords();
 
-        verify(repository).deleteByIds(List.of("1", "2"));
+        verify(repository, times(3)).deleteExpired(100);
+        verify(transactionHandler, times(3)).runInNewSchedulerTransaction(any());
     }
 
     @Test
-    void deleteOldRecordsShouldNotDeleteWhenNoOldRecords() {
-        when(repository.findAllByExpiresAtBefore(any(Timestamp.class)))
-                .thenReturn(List.of());
+    void deleteOldRecordsShouldRunOneChunkWhenNoOldRecords() {
+        when(repository.deleteExpired(100)).thenReturn(0);
 
         service.deleteOldRecords();
 
-        verify(repository, never()).deleteByIds(anyList());
+        verify(repository).deleteExpired(100);
     }
 
     @Test
     void deleteOldRecordsShouldWrapExceptionIntoContextStorageException() {
-        when(repository.findAllByExpiresAtBefore(any(Timestamp.class)))
+        when(repository.deleteExpired(100))
                 .thenThrow(new RuntimeException("boom"));
 
         ContextStorageException ex = assertThrows(ContextStorageException.class,
@@ -245,42 +210,9 @@ void deleteOldRecordsShouldWrapExceptionIntoContextStorageException() {
     }
 
     @Test
-    void storeValueShouldCreateNewContextWhenExistingRecordValueIsNull() {
-        ContextStorageRepository repo = mock(ContextStorageRepository.class);
-        ObjectMapper mapper = new ObjectMapper();
-        ContextStorageService service = new ContextStorageService(repo, mapper);
-
-        ContextSystemRecords old = mock(ContextSystemRecords.class);
-        when(old.getId()).thenReturn("fixed-id");
-        Timestamp createdAt = Timestamp.from(Instant.now().minusSeconds(100));
-        when(old.getCreatedAt()).thenReturn(createdAt);
-        when(old.getValue()).thenReturn(null);
-
-        when(repo.findByContextServiceIdAndContextId("svc", "ctx"))
-                .thenReturn(Optional.of(old), Optional.of(old));
-
-        service.storeValue("k1", "v1", "svc", "ctx", 60);
-
-        ArgumentCaptor<ContextSystemRecords> captor = ArgumentCaptor.forClass(ContextSystemRecords.class);
-        verify(repo).persist(captor.capture());
-
-        ContextSystemRecords saved = captor.getValue();
-        assertEquals("fixed-id", saved.getId());
-        assertEquals(createdAt, saved.getCreatedAt());
-
-        JsonNode ctx = saved.getValue().get("context");
-        assertEquals("v1", ctx.get("k1").asText());
-    }
-
-    @Test
-    void storeValueShouldThrowContextStorageExceptionWhenRepositoryFailsInsideContextKeyExits() {
-        ContextStorageRepository repo = mock(ContextStorageRepository.class);
-        ObjectMapper mapper = new ObjectMapper();
-        ContextStorageService service = new ContextStorageService(repo, mapper);
-
-        when(repo.findByContextServiceIdAndContextId("svc", "ctx"))
-                .thenReturn(Optional.empty())
-                .thenThrow(new RuntimeException("db is down"));
+    void storeValueShouldThrowContextStorageExceptionWhenUpsertFails() {
+        doThrow(new RuntimeException("db is down"))
+                .when(repository).upsertContextValue(anyString(), eq("svc"), eq("ctx"), eq("k"), eq("v"), eq(60L));
 
         ContextStorageException ex = assertThrows(ContextStorageException.class,
                 () -> service.storeValue("k", "v", "svc", "ctx", 60));
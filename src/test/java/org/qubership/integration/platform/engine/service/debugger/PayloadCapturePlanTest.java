@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.engine.service.debugger;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.model.ChainElementType;
+import org.qubership.integration.platform.engine.model.ChainRuntimeProperties;
+import org.qubership.integration.platform.engine.model.logging.LogLoggingLevel;
+import org.qubership.integration.platform.engine.model.logging.SessionsLoggingLevel;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class PayloadCapturePlanTest {
+
+    private static ChainRuntimeProperties properties(LogLoggingLevel logLoggingLevel) {
+        return ChainRuntimeProperties.builder()
+                .logLoggingLevel(logLoggingLevel)
+                .build();
+    }
+
+    @Test
+    void shouldNotCaptureBeforeProcessWhenSessionsOffAndLoggingBelowInfo() {
+        PayloadCapturePlan plan = PayloadCapturePlan.beforeProcess(
+                properties(LogLoggingLevel.WARN), SessionsLoggingLevel.OFF, true,
+                ChainElementType.HTTP_SENDER, false);
+
+        assertFalse(plan.isCaptureRequired());
+    }
+
+    @Test
+    void shouldNotCaptureBeforeProcessWhenInfoLoggingDoesNotPrintPayloadForElement() {
+        PayloadCapturePlan plan = PayloadCapturePlan.beforeProcess(
+                properties(LogLoggingLevel.INFO), SessionsLoggingLevel.OFF, true,
+                ChainElementType.SCHEDULER, false);
+
+        assertFalse(plan.isCaptureRequired());
+    }
+
+    @Test
+    void shouldCaptureBeforeProcessForLoggingWhenInfoLevelAndSender() {
+        PayloadCapturePlan plan = PayloadCapturePlan.beforeProcess(
+                properties(LogLoggingLevel.INFO), SessionsLoggingLevel.OFF, false,
+                ChainElementType.KAFKA_SENDER_2, false);
+
+        assertTrue(plan.logging());
+        assertFalse(plan.sessionElement());
+    }
+
+    @Test
+    void shouldCaptureBeforeProcessForSingleElementCacheOnErrorAndInfoSessions() {
+        for (SessionsLoggingLevel level : List.of(SessionsLoggingLevel.ERROR, SessionsLoggingLevel.INFO)) {
+            PayloadCapturePlan plan = PayloadCapturePlan.beforeProcess(
+                    properties(LogLoggingLevel.ERROR), level, false,
+                    ChainElementType.UNKNOWN, false);
+
+            assertTrue(plan.sessionElement());
+        }
+    }
+
+    @Test
+    void shouldCaptureBeforeProcessOnDebugSessionsOnlyWhenSessionSampled() {
+        assertTrue(PayloadCapturePlan.beforeProcess(
+                properties(LogLoggingLevel.ERROR), SessionsLoggingLevel.DEBUG, true,
+                ChainElementType.UNKNOWN, false).sessionElement());
+        assertFalse(PayloadCapturePlan.beforeProcess(
+                properties(LogLoggingLevel.ERROR), SessionsLoggingLevel.DEBUG, false,
+                ChainElementType.UNKNOWN, false).sessionElement());
+    }
+
+    @Test
+    void shouldNotCaptureBeforeProcessForSessionsWhenStep() {
+        PayloadCapturePlan plan = PayloadCapturePlan.beforeProcess(
+                properties(LogLoggingLevel.ERROR), SessionsLoggingLevel.DEBUG, true,
+                ChainElementType.UNKNOWN, true);
+
+        assertFalse(plan.isCaptureRequired());
+    }
+
+    @Test
+    void shouldCaptureAfterProcessOnInfoSessionsOnlyForSessionsLevelElements() {
+        assertTrue(PayloadCapturePlan.afterProcess(
+                properties(LogLoggingLevel.ERROR), SessionsLoggingLevel.INFO, true,
+                ChainElementType.HTTP_SENDER, false).sessionElement());
+        assertFalse(PayloadCapturePlan.afterProcess(
+                properties(LogLoggingLevel.ERROR), SessionsLoggingLevel.INFO, true,
+                ChainElementType.UNKNOWN, false).sessionElement());
+    }
+
+    @Test
+    void shouldNotCaptureAfterProcessOnErrorSessionsWithoutFailure() {
+        PayloadCapturePlan plan = PayloadCapturePlan.afterProcess(
+                properties(LogLoggingLevel.WARN), SessionsLoggingLevel.ERROR, true,
+                ChainElementType.HTTP_SENDER, false);
+
+        assertFalse(plan.isCaptureRequired());
+    }
+
+    @Test
+    void shouldCaptureAfterProcessForLoggingWhenOperationFailed() {
+        assertTrue(PayloadCapturePlan.afterProcess(
+                properties(LogLoggingLevel.ERROR), SessionsLoggingLevel.OFF, false,
+                ChainElementType.UNKNOWN, true).logging());
+        assertFalse(PayloadCapturePlan.afterProcess(
+                properties(LogLoggingLevel.ERROR), SessionsLoggingLevel.OFF, false,
+                ChainElementType.CHECKPOINT, true).logging());
+    }
+}
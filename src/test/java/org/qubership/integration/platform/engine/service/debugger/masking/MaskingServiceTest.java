@@ -30,6 +30,7 @@
 import org.qubership.integration.platform.engine.model.constants.CamelConstants;
 import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
 import org.qubership.integration.platform.engine.testutils.ObjectMappers;
+import org.qubership.integration.platform.engine.util.BoundedStringWriter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -41,6 +42,8 @@
 @DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
 class MaskingServiceTest {
 
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+
     private MaskingService service;
 
     private ObjectMapper mapper;
@@ -48,7 +51,7 @@ class MaskingServiceTest {
     @BeforeEach
     void setUp() {
         mapper = ObjectMappers.getObjectMapper();
-        service = new MaskingService(mapper);
+        service = new MaskingService(mapper, 10240);
     }
 
     @Test
@@ -142,6 +145,100 @@ void shouldMaskXmlElementsAndAttributesWhenXml() {
         assertTrue(masked.contains("<user>bob</user>"));
     }
 
+    @Test
+    void shouldMaskNamespacedXmlByQualifiedName() {
+        String xml = """
+                <soap:Envelope xmlns:soap="http://schemas.xmlsoap.org/soap/envelope/">
+                  <soap:Body>
+                    <soap:password>123</soap:password>
+                    <password>456</password>
+                  </soap:Body>
+                </soap:Envelope>
+                """;
+
+        String masked = service.maskFields(xml, Set.of("soap:password"), MediaType.TEXT_XML_TYPE);
+
+        assertTrue(masked.contains("<soap:password>" + CamelConstants.MASKING_TEMPLATE + "</soap:password>"));
+        assertTrue(masked.contains("<password>456</password>"));
+        assertTrue(masked.contains("xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\""));
+    }
+
+    @Test
+    void shouldMaskXmlWithInternalDtdWithoutDeclarations() {
+        String xml = "<!DOCTYPE r [<!ENTITY pw \"secret\">]><r><password>&pw;</password><user>bob</user></r>";
+
+        String out = service.maskFields(xml, Set.of("password"), MediaType.APPLICATION_XML_TYPE);
+
+        assertEquals(XML_DECLARATION + "<r><password>" + CamelConstants.MASKING_TEMPLATE + "</password><user>bob</user></r>", out);
+    }
+
+    @Test
+    void shouldWriteStandaloneXmlDeclaration() {
+        String xml = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><r><password>123</password></r>";
+
+        String out = service.maskFields(xml, Set.of("password"), MediaType.APPLICATION_XML_TYPE);
+
+        assertEquals(XML_DECLARATION + "<r><password>" + CamelConstants.MASKING_TEMPLATE + "</password></r>", out);
+    }
+
+    @Test
+    void shouldMaskXmlWithUndeclaredPrefixes() {
+        String xml = "<ns:r xmlns=\"urn:default\"><ns:password a:id=\"1\">123</ns:password></ns:r>";
+
+        String out = service.maskFields(xml, Set.of("ns:password", "a:id"), MediaType.APPLICATION_XML_TYPE);
+
+        assertEquals(XML_DECLARATION + "<ns:r xmlns=\"urn:default\"><ns:password a:id=\""
+                + CamelConstants.MASKING_TEMPLATE + "\">" + CamelConstants.MASKING_TEMPLATE + "</ns:password></ns:r>", out);
+    }
+
+    @Test
+    void shouldRejectXmlWithExponentialEntityExpansion() {
+        StringBuilder xml = new StringBuilder("<!DOCTYPE r [<!ENTITY e0 \"lol\">");
+        for (int i = 1; i < 10; i++) {
+            xml.append("<!ENTITY e").append(i).append(" \"")
+                    .append(("&e" + (i - 1) + ";").repeat(10)).append("\">");
+        }
+        xml.append("]><r>&e9;</r>");
+
+        assertThrows(LoggingMaskingException.class, () ->
+                service.maskFields(xml.toString(), Set.of("password"), MediaType.APPLICATION_XML_TYPE)
+        );
+    }
+
+    @Test
+    void shouldNotLoadExternalXmlEntities() {
+        String xml = "<!DOCTYPE r [<!ENTITY ext SYSTEM \"file:///etc/passwd\">]><r><user>&ext;</user></r>";
+
+        String out = service.maskFields(xml, Set.of("password"), MediaType.APPLICATION_XML_TYPE);
+
+        assertFalse(out.contains("root:"));
+    }
+
+    @Test
+    void shouldNotMaskXmlElementWithNestedElements() {
+        String xml = "<root><password>text<inner>value</inner></password></root>";
+
+        String masked = service.maskFields(xml, Set.of("password"), MediaType.APPLICATION_XML_TYPE);
+
+        assertTrue(masked.contains("<password>text<inner>value</inner></password>"));
+    }
+
+    @Test
+    void shouldTruncateMaskedOutputExceedingMaxSize() throws JsonProcessingException {
+        MaskingService boundedService = new MaskingService(mapper, 1);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 10_000; i++) {
+            json.append("{\"password\":\"secret\"},");
+        }
+        json.append("{}]");
+
+        String masked = boundedService.maskJSON(json.toString(), Set.of("password"));
+
+        assertEquals(1024 + BoundedStringWriter.TRUNCATED_SUFFIX.length(), masked.length());
+        assertTrue(masked.endsWith(BoundedStringWriter.TRUNCATED_SUFFIX));
+        assertFalse(masked.contains("secret"));
+    }
+
     @Test
     void shouldWrapXmlErrorsWhenInvalidXml() {
         String brokenXml = "<root><password>123</password>";
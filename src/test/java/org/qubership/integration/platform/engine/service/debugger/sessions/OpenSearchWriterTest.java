@@ -0,0 +1,139 @@
+package org.qubership.integration.platform.engine.service.debugger.sessions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.model.Session;
+import org.qubership.integration.platform.engine.model.opensearch.SessionElementElastic;
+import org.qubership.integration.platform.engine.service.ExecutionStatus;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class OpenSearchWriterTest {
+
+    private static final String SESSION_ID = "session-1";
+
+    private RecordingWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new RecordingWriter();
+        writer.coalescingEnabled = true;
+        writer.coalescingFlushWindow = Duration.ofHours(1);
+        writer.putSessionToCache(Session.builder().id(SESSION_ID).build());
+    }
+
+    @Test
+    void shouldWriteLiveSessionElementOnceOnFinish() {
+        SessionElementElastic element = element("element-1");
+
+        writer.scheduleElementToLogAndCache(element);
+        writer.scheduleElementToLogAndCache(element);
+        assertTrue(writer.written.isEmpty());
+        assertSame(element, writer.getSessionElementFromCache(SESSION_ID, "element-1"));
+
+        // what SessionsService.finishSession does
+        writer.getSessionElementsFromCache(SESSION_ID).forEach(writer::scheduleElementToLog);
+        writer.clearSessionCache(SESSION_ID);
+
+        assertEquals(List.of(element), writer.written);
+    }
+
+    @Test
+    void shouldWriteDeferredElementsWhenCacheIsClearedWithoutFinish() {
+        SessionElementElastic element = element("element-1");
+        writer.scheduleElementToLogAndCache(element);
+
+        writer.clearSessionCache(SESSION_ID);
+
+        assertEquals(List.of(element), writer.written);
+    }
+
+    @Test
+    void shouldClearCacheUnderSessionWriteLock() throws InterruptedException {
+        SessionElementElastic element = element("element-1");
+        writer.scheduleElementToLogAndCache(element);
+        ReadWriteLock lock = writer.getSessionFromCache(SESSION_ID).getLeft();
+
+        Thread clearing = new Thread(() -> writer.clearSessionCache(SESSION_ID));
+        lock.readLock().lock();
+        try {
+            clearing.start();
+            clearing.join(200);
+            assertTrue(clearing.isAlive());
+            assertTrue(writer.written.isEmpty());
+        } finally {
+            lock.readLock().unlock();
+        }
+        clearing.join();
+
+        assertEquals(List.of(element), writer.written);
+        assertNull(writer.getSessionElementFromCache(SESSION_ID, "element-1"));
+    }
+
+    @Test
+    void shouldFlushElementsDeferredLongerThanWindow() {
+        SessionElementElastic element = element("element-1");
+        writer.scheduleElementToLogAndCache(element);
+
+        writer.flushDeferredElements();
+        assertTrue(writer.written.isEmpty());
+
+        writer.coalescingFlushWindow = Duration.ZERO;
+        writer.flushDeferredElements();
+        writer.flushDeferredElements();
+        assertEquals(List.of(element), writer.written);
+    }
+
+    @Test
+    void shouldWriteEveryUpdateWhenCoalescingIsDisabled() {
+        writer.coalescingEnabled = false;
+        SessionElementElastic element = element("element-1");
+
+        writer.scheduleElementToLogAndCache(element);
+        writer.scheduleElementToLogAndCache(element);
+
+        assertEquals(List.of(element, element), writer.written);
+    }
+
+    @Test
+    void shouldWriteElementOfUnknownSessionImmediately() {
+        SessionElementElastic element = element("element-1");
+        element.setSessionId("unknown");
+
+        writer.scheduleElementToLogAndCache(element);
+
+        assertEquals(List.of(element), writer.written);
+        assertEquals(ExecutionStatus.CANCELLED_OR_UNKNOWN, element.getExecutionStatus());
+    }
+
+    private static SessionElementElastic element(String id) {
+        return SessionElementElastic.builder()
+                .id(id)
+                .sessionId(SESSION_ID)
+                .executionStatus(ExecutionStatus.IN_PROGRESS)
+                .build();
+    }
+
+    private static class RecordingWriter extends OpenSearchWriter {
+        private final List<SessionElementElastic> written = new ArrayList<>();
+
+        @Override
+        protected void scheduleElementToLog(SessionElementElastic element, boolean addToCache) {
+            written.add(element);
+            if (addToCache) {
+                putSessionElementToCache(element);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.qubership.integration.platform.engine.service.debugger.sessions;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class SessionElementsSpillFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldDrainAppendedElementsInOrderAndInChunks() throws IOException {
+        SessionElementsSpillFile spillFile = new SessionElementsSpillFile(directory, "partition-0");
+        assertTrue(spillFile.isEmpty());
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(spillFile.append("id-" + i, json("{\"n\":" + i + "}")));
+        }
+        assertEquals(5, spillFile.getPendingCount());
+
+        List<List<SessionElementsSpillFile.SpilledElement>> chunks = new ArrayList<>();
+        spillFile.drain(2, chunks::add);
+
+        assertEquals(List.of(2, 2, 1), chunks.stream().map(List::size).toList());
+        List<SessionElementsSpillFile.SpilledElement> elements = chunks.stream().flatMap(List::stream).toList();
+        for (int i = 0; i < 5; i++) {
+            assertEquals("id-" + i, elements.get(i).id());
+            assertEquals("{\"n\":" + i + "}", new String(elements.get(i).json(), StandardCharsets.UTF_8));
+        }
+        assertTrue(spillFile.isEmpty());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void shouldKeepElementsAppendedWhileDraining() throws IOException {
+        SessionElementsSpillFile spillFile = new SessionElementsSpillFile(directory, "partition-0");
+        spillFile.append("first", json("{}"));
+
+        List<String> drained = new ArrayList<>();
+        spillFile.drain(10, chunk -> {
+            chunk.forEach(element -> drained.add(element.id()));
+            spillFile.append("second", json("{}"));
+        });
+
+        assertEquals(List.of("first"), drained);
+        assertFalse(spillFile.isEmpty());
+
+        spillFile.drain(10, chunk -> chunk.forEach(element -> drained.add(element.id())));
+        assertEquals(List.of("first", "second"), drained);
+        assertTrue(spillFile.isEmpty());
+    }
+
+    @Test
+    void shouldReadDetachedFileAgainAfterFailedDrain() throws IOException {
+        SessionElementsSpillFile spillFile = new SessionElementsSpillFile(directory, "partition-0");
+        spillFile.append("first", json("{}"));
+
+        assertThrows(IllegalStateException.class, () -> spillFile.drain(10, chunk -> {
+            throw new IllegalStateException("OpenSearch is unavailable");
+        }));
+
+        SessionElementsSpillFile restored = new SessionElementsSpillFile(directory, "partition-0");
+        assertFalse(restored.isEmpty());
+
+        List<String> drained = new ArrayList<>();
+        restored.drain(10, chunk -> chunk.forEach(element -> drained.add(element.id())));
+        assertEquals(List.of("first"), drained);
+        assertTrue(restored.isEmpty());
+    }
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
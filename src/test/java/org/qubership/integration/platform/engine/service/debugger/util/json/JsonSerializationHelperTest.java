@@ -22,6 +22,9 @@
 import org.junit.jupiter.api.Test;
 import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
@@ -30,6 +33,7 @@ class JsonSerializationHelperTest {
     static class Node {
         public String name;
         public Node next;
+        public List<Node> children = new ArrayList<>();
 
         public Node(String name) {
             this.name = name;
@@ -88,4 +92,67 @@ void shouldReplaceBackReferenceWithIdWhenTwoNodesReferenceEachOther() throws Exc
         assertEquals("b", bNode.get("name").asText());
         assertEquals(id, bNode.get("next").asText());
     }
+
+    @Test
+    void shouldWrapEachSelfReferencingSiblingSeparately() throws Exception {
+        Node root = new Node("root");
+        for (int i = 0; i < 3; i++) {
+            Node child = new Node("child" + i);
+            child.next = child;
+            root.children.add(child);
+        }
+
+        String json = JsonSerializationHelper.serializeJson(root);
+        JsonNode children = new ObjectMapper().readTree(json).get("children");
+
+        assertEquals(3, children.size());
+        for (int i = 0; i < 3; i++) {
+            JsonNode child = children.get(i);
+            assertEquals("child" + i, child.get("reference").get("name").asText());
+            assertEquals(child.get("@json-id").asText(), child.get("reference").get("next").asText());
+        }
+    }
+
+    @Test
+    void shouldWriteSharedObjectWithoutCyclesInFull() throws Exception {
+        Node shared = new Node("shared");
+        Node root = new Node("root");
+        root.next = shared;
+        root.children.add(shared);
+
+        String json = JsonSerializationHelper.serializeJson(root);
+        JsonNode rootNode = new ObjectMapper().readTree(json);
+
+        assertEquals("shared", rootNode.get("next").get("name").asText());
+        assertEquals("shared", rootNode.get("children").get(0).get("name").asText());
+    }
+
+    @Test
+    void shouldWriteIdForObjectReferencedAgainAfterItsCycleIsClosed() throws Exception {
+        Node a = new Node("a");
+        a.next = a;
+        Node root = new Node("root");
+        root.children.add(a);
+        root.children.add(a);
+
+        String json = JsonSerializationHelper.serializeJson(root);
+        JsonNode children = new ObjectMapper().readTree(json).get("children");
+
+        String id = children.get(0).get("@json-id").asText();
+        assertEquals(id, children.get(1).asText());
+    }
+
+    @Test
+    void shouldTruncateValueExceedingMaxLength() throws Exception {
+        Node root = new Node("root");
+        for (int i = 0; i < 10_000; i++) {
+            root.children.add(new Node("child" + i));
+        }
+
+        String json = JsonSerializationHelper.serializeJson(root, 100);
+
+        assertEquals(100 + JsonSerializationHelper.TRUNCATED_SUFFIX.length(), json.length());
+        assertTrue(json.startsWith("{\"name\":\"root\""));
+        assertTrue(json.endsWith(JsonSerializationHelper.TRUNCATED_SUFFIX));
+    }
 }
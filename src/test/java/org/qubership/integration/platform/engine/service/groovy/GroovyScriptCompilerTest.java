@@ -0,0 +1,193 @@
+package org.qubership.integration.platform.engine.service.groovy;
+
+import groovy.lang.Binding;
+import groovy.lang.Script;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class GroovyScriptCompilerTest {
+
+    private static final String SCRIPT = "def values = [1, 2, 3].collect { it * factor }\nvalues.sum()";
+
+    @TempDir
+    Path cacheDirectory;
+
+    private final List<GroovyScriptCompiler> compilers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        compilers.forEach(GroovyScriptCompiler::stop);
+    }
+
+    @Test
+    void shouldCompileScriptsInParallel() {
+        GroovyScriptCompiler compiler = compiler(true);
+
+        Map<String, Class<Script>> scriptClasses = compiler.compile(List.of("1 + 1", "2 + 2", "1 + 1"));
+
+        assertEquals(List.of("1 + 1", "2 + 2"), List.copyOf(scriptClasses.keySet()));
+        assertEquals(4, run(scriptClasses.get("2 + 2"), Map.of()));
+    }
+
+    @Test
+    void shouldLoadCachedScriptWithClosures() throws Exception {
+        compiler(true).compile(SCRIPT);
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            assertEquals(1, files.count());
+        }
+
+        Class<Script> scriptClass = compiler(true).compile(SCRIPT);
+
+        assertEquals(12, run(scriptClass, Map.of("factor", 2)));
+    }
+
+    @Test
+    void shouldNotWriteClassesWhenCacheIsDisabled() throws Exception {
+        Class<Script> scriptClass = compiler(false).compile(SCRIPT);
+
+        assertEquals(6, run(scriptClass, Map.of("factor", 1)));
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void shouldCompileAgainWhenCachedFileIsBroken() throws Exception {
+        compiler(true).compile(SCRIPT);
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            Files.write(files.findFirst().orElseThrow(), new byte[] {0, 0, 0, 1, 0});
+        }
+
+        Class<Script> scriptClass = compiler(true).compile(SCRIPT);
+
+        assertEquals(6, run(scriptClass, Map.of("factor", 1)));
+    }
+
+    @Test
+    void shouldCompileAgainWhenCachedClassCannotBeLoaded() throws Exception {
+        compiler(true).compile(SCRIPT);
+        Path file;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            file = files.findFirst().orElseThrow();
+        }
+        String className = "Script_" + file.getFileName().toString().substring(0, 32);
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(payload)) {
+            out.writeUTF(className);
+            out.writeInt(1);
+            out.writeUTF(className);
+            out.writeInt(4);
+            out.write(new byte[] {1, 2, 3, 4});
+        }
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(2);
+            out.write(MessageDigest.getInstance("SHA-256").digest(payload.toByteArray()));
+            payload.writeTo(out);
+        }
+
+        Class<Script> scriptClass = compiler(true).compile(SCRIPT);
+
+        assertEquals(6, run(scriptClass, Map.of("factor", 1)));
+        assertTrue(Files.size(file) > 100);
+    }
+
+    @Test
+    void shouldNotLoadCachedFileWithMismatchingDigest() throws Exception {
+        compiler(true).compile(SCRIPT);
+        Path file;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            file = files.findFirst().orElseThrow();
+        }
+        String key = file.getFileName().toString().replace(".classes", "");
+        assertNotNull(compiler(true).readCached(key));
+
+        byte[] data = Files.readAllBytes(file);
+        data[data.length - 1] ^= 1;
+        Files.write(file, data);
+
+        assertNull(compiler(true).readCached(key));
+    }
+
+    @Test
+    void shouldNotWriteScriptsParsedAtRuntimeToCache() throws Exception {
+        Class<Script> scriptClass = compiler(true).parse(SCRIPT);
+
+        assertEquals(6, run(scriptClass, Map.of("factor", 1)));
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void shouldDisableCacheInDirectoryWritableByOtherUsers() throws Exception {
+        Files.setPosixFilePermissions(cacheDirectory, PosixFilePermissions.fromString("rwxrwxrwx"));
+        GroovyScriptCompiler compiler = compiler(true);
+
+        compiler.init();
+        compiler.compile(SCRIPT);
+
+        assertFalse(GroovyScriptCompiler.isPrivateDirectory(cacheDirectory));
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void shouldDeleteCachedScriptsNotUsedForMaxAge() throws Exception {
+        compiler(true).compile(SCRIPT);
+        compiler(true).compile("1 + 1");
+        Path expired;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            expired = files.findFirst().orElseThrow();
+        }
+        Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(Duration.ofDays(31))));
+
+        compiler(true).pruneCache();
+
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            assertEquals(1, files.count());
+        }
+        assertFalse(Files.exists(expired));
+    }
+
+    @Test
+    void shouldThrowCompilationErrors() {
+        GroovyScriptCompiler compiler = compiler(true);
+
+        CompilationFailedException exception = assertThrows(CompilationFailedException.class,
+                () -> compiler.compile(List.of("1 + 1", "new UnknownClass()")));
+        assertTrue(exception.getMessage().contains("unable to resolve class"));
+    }
+
+    private GroovyScriptCompiler compiler(boolean cacheEnabled) {
+        GroovyScriptCompiler compiler = new GroovyScriptCompiler(2, cacheEnabled, cacheDirectory.toString(), Duration.ofDays(30));
+        compilers.add(compiler);
+        return compiler;
+    }
+
+    private static Object run(Class<Script> scriptClass, Map<String, Object> variables) {
+        return InvokerHelper.createScript(scriptClass, new Binding(variables)).run();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024-2025 NetCracker Technology Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.qubership.integration.platform.engine.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.Test;
+import org.qubership.integration.platform.engine.testutils.DisplayNameUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayNameGeneration(DisplayNameUtils.ReplaceCamelCase.class)
+class PathVariablesExtractorTest {
+
+    private static final Pattern URI_REGEXP = Pattern.compile("(\\/?\\{?[^\\/]*}?\\/?)");
+    private static final Pattern VARIABLE_REGEXP = Pattern.compile("^\\/?\\{[^\\/]*}\\/?$");
+    private static final String[] TEMPLATE_PARTS = {"/", "orders", "{id}", "{a}{b}", "{}", "{", "}", " ", "x{y}", "{y}x", "ID"};
+    private static final String[] URI_PARTS = {"/", "orders", "42", "{42}", " ", "a b", "ID", ""};
+
+    @Test
+    void shouldExtractPathVariables() {
+        PathVariablesExtractor extractor = PathVariablesExtractor.compile("routes/customers/{customerId}/orders/{orderId}");
+
+        assertEquals(
+                List.of("customerId=123", "orderId=456"),
+                extract(extractor, "routes/customers/123/orders/456"));
+    }
+
+    @Test
+    void shouldSkipVariablesMissingInUri() {
+        PathVariablesExtractor extractor = PathVariablesExtractor.compile("routes/customers/{customerId}/orders/{orderId}");
+
+        assertEquals(List.of("customerId=123"), extract(extractor, "routes/customers/123"));
+    }
+
+    @Test
+    void shouldExtractSameVariablesAsRegularExpressions() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            String template = randomPath(random, TEMPLATE_PARTS);
+            String uri = randomPath(random, URI_PARTS);
+
+            assertEquals(
+                    extractWithRegularExpressions(template, uri),
+                    extract(PathVariablesExtractor.compile(template), uri),
+                    () -> "template: '" + template + "', uri: '" + uri + "'");
+        }
+    }
+
+    private static String randomPath(Random random, String[] parts) {
+        StringBuilder path = new StringBuilder();
+        int length = random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            path.append(parts[random.nextInt(parts.length)]);
+        }
+        return path.toString();
+    }
+
+    private static List<String> extract(PathVariablesExtractor extractor, String uri) {
+        List<String> variables = new ArrayList<>();
+        extractor.extract(uri, (name, value) -> variables.add(name + "=" + value));
+        return variables;
+    }
+
+    // the way path variables were extracted before the extractor
+    private static List<String> extractWithRegularExpressions(String template, String uri) {
+        List<String> variables = new ArrayList<>();
+        Matcher templateMatcher = URI_REGEXP.matcher(template);
+        Matcher valuesMatcher = URI_REGEXP.matcher(uri);
+        while (templateMatcher.find()) {
+            String name = templateMatcher.group();
+            if (StringUtils.isNotBlank(name)) {
+                boolean isParam = VARIABLE_REGEXP.matcher(name).find();
+                boolean foundValue = valuesMatcher.find();
+                if (isParam && foundValue) {
+                    String value = valuesMatcher.group();
+                    if (StringUtils.isNotBlank(value)) {
+                        variables.add(removeServiceSymbols(name) + "=" + removeServiceSymbols(value));
+                    }
+                }
+            }
+        }
+        return variables;
+    }
+
+    private static String removeServiceSymbols(String str) {
+        return str.replace("}", "")
+                .replace("{", "")
+                .replace("/", "");
+    }
+}